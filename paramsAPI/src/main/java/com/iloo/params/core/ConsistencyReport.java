@@ -0,0 +1,33 @@
+package com.iloo.params.core;
+
+import java.util.List;
+
+/**
+ * The result of a check of a forest by a {@link ParameterConsistencyChecker}.
+ *
+ * @param checkedCount the number of checked categories.
+ * @param violations   the inconsistencies found, in the order of the checked
+ *                     categories.
+ */
+public record ConsistencyReport(int checkedCount, List<ConsistencyViolation> violations) {
+
+	/**
+	 * Returns {@code true} if no inconsistency was found.
+	 *
+	 * @return {@code true} if no inconsistency was found, {@code false}
+	 *         otherwise.
+	 */
+	public boolean isConsistent() {
+		return violations.isEmpty();
+	}
+
+	/**
+	 * Returns the inconsistencies of the given kind.
+	 *
+	 * @param kind the kind of inconsistency.
+	 * @return the inconsistencies of the kind.
+	 */
+	public List<ConsistencyViolation> getViolations(ConsistencyViolation.Kind kind) {
+		return violations.stream().filter(violation -> violation.kind() == kind).toList();
+	}
+}
@@ -0,0 +1,47 @@
+package com.iloo.params.core;
+
+/**
+ * An inconsistency of a forest found by a {@link ParameterConsistencyChecker}.
+ *
+ * @param kind     the kind of inconsistency.
+ * @param category the inconsistent category.
+ * @param message  a description of the inconsistency.
+ */
+public record ConsistencyViolation(Kind kind, IParameterCategory category, String message) {
+
+	/**
+	 * The kinds of inconsistency.
+	 */
+	public enum Kind {
+		/**
+		 * A category has the same label as one of its ancestors.
+		 */
+		DUPLICATE_ANCESTOR_LABEL,
+
+		/**
+		 * A category is linked to a category missing from the checked list.
+		 */
+		ORPHAN,
+
+		/**
+		 * The level of a category does not match its depth or its number of
+		 * children.
+		 */
+		LEVEL_MISMATCH,
+
+		/**
+		 * A parent and a child do not reference each other exactly once.
+		 */
+		LINK_ASYMMETRY,
+
+		/**
+		 * A category is deeper than the allowed maximum depth.
+		 */
+		DEPTH_LIMIT,
+
+		/**
+		 * The ancestors of a category form a cycle.
+		 */
+		CYCLE
+	}
+}
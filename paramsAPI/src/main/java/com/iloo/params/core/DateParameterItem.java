@@ -0,0 +1,205 @@
+package com.iloo.params.core;
+
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Date;
+import java.util.Objects;
+
+import org.eclipse.jdt.annotation.NonNull;
+
+import com.iloo.params.core.ParameterTreeEvent.EventType;
+import com.iloo.params.utils.VoidResult;
+
+/**
+ * Represents a date-valued parameter item storing its date as an epoch offset
+ * rather than as a mutable {@link Date}.
+ *
+ * The type of the date is kept so that {@link #getValue()} returns a copy of
+ * the same type, including the nanoseconds of a {@link Timestamp}. Dates of any
+ * other subtype of {@link Date} are kept as a private copy, cloned on each
+ * read.
+ *
+ * @param <T> the type of the date.
+ */
+final class DateParameterItem<T extends Date> implements IDateParameterItem<T> {
+
+	/**
+	 * The nanoseconds of a date which is not a {@link Timestamp}.
+	 */
+	private static final int NO_NANOS = -1;
+
+	/**
+	 * The tree this item belongs to.
+	 */
+	private final ParameterTree tree;
+
+	/**
+	 * The label of this item.
+	 */
+	private final String label;
+
+	/**
+	 * The date, in milliseconds since the epoch.
+	 */
+	private final long epochMillis;
+
+	/**
+	 * The nanoseconds of a {@link Timestamp}, or {@link #NO_NANOS}.
+	 */
+	private final int nanos;
+
+	/**
+	 * The type of the date.
+	 */
+	private final Class<?> type;
+
+	/**
+	 * A private copy of a date of another type, or {@code null}.
+	 */
+	private final Date prototype;
+
+	/**
+	 * The activeness of this item.
+	 */
+	private volatile boolean active;
+
+	/**
+	 * Creates a new date parameter item.
+	 *
+	 * @param tree   the tree this item belongs to.
+	 * @param label  the label for this item.
+	 * @param value  the date for this item, copied.
+	 * @param active {@code true} if this item is active, {@code false} otherwise.
+	 */
+	DateParameterItem(@NonNull ParameterTree tree, @NonNull String label, @NonNull T value, boolean active) {
+		this.tree = tree;
+		this.label = label;
+		this.epochMillis = value.getTime();
+		this.type = value.getClass();
+		this.nanos = value instanceof Timestamp timestamp ? timestamp.getNanos() : NO_NANOS;
+		this.prototype = isKnownType(type) ? null : (Date) value.clone();
+		this.active = active;
+	}
+
+	/**
+	 * Returns the label for this item.
+	 *
+	 * @return the label for this item.
+	 */
+	@Override
+	public String getLabel() {
+		return label;
+	}
+
+	/**
+	 * Returns a new copy of the date of this item.
+	 *
+	 * @return a new copy of the date of this item.
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public T getValue() {
+		if (type == Date.class) {
+			return (T) new Date(epochMillis);
+		}
+		if (type == java.sql.Date.class) {
+			return (T) new java.sql.Date(epochMillis);
+		}
+		if (type == Time.class) {
+			return (T) new Time(epochMillis);
+		}
+		if (type == Timestamp.class) {
+			Timestamp timestamp = new Timestamp(epochMillis);
+			timestamp.setNanos(nanos);
+			return (T) timestamp;
+		}
+		return (T) prototype.clone();
+	}
+
+	@Override
+	public long getEpochMillis() {
+		return epochMillis;
+	}
+
+	@Override
+	public Instant getInstant() {
+		if (nanos == NO_NANOS) {
+			return Instant.ofEpochMilli(epochMillis);
+		}
+		return Instant.ofEpochSecond(Math.floorDiv(epochMillis, 1000), nanos);
+	}
+
+	@Override
+	public ZonedDateTime atZone(@NonNull ZoneId zone) {
+		return getInstant().atZone(Objects.requireNonNull(zone, "Zone cannot be null"));
+	}
+
+	@Override
+	public LocalDate getLocalDate(@NonNull ZoneId zone) {
+		return atZone(zone).toLocalDate();
+	}
+
+	@Override
+	public LocalDateTime getLocalDateTime(@NonNull ZoneId zone) {
+		return atZone(zone).toLocalDateTime();
+	}
+
+	/**
+	 * Sets the active status of this item.
+	 *
+	 * @param active {@code true} if this item is active, {@code false} otherwise.
+	 * @return {@code VoidResult}
+	 */
+	@Override
+	public VoidResult setActive(boolean active) {
+		tree.write(() -> {
+			boolean changed = this.active != active;
+			this.active = active;
+			return changed;
+		}, EventType.ITEM_ACTIVATION_CHANGED, null, null, this);
+
+		return VoidResult.ok();
+	}
+
+	/**
+	 * Returns {@code true} if this item is active, {@code false} otherwise.
+	 *
+	 * @return {@code true} if this item is active, {@code false} otherwise.
+	 */
+	@Override
+	public boolean isActive() {
+		return active;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(active, label, type, epochMillis, nanos);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (obj == null) {
+			return false;
+		}
+		if (getClass() != obj.getClass()) {
+			return false;
+		}
+		DateParameterItem<?> other = (DateParameterItem<?>) obj;
+		return (active == other.active) && label.equals(other.label) && (type == other.type)
+				&& (epochMillis == other.epochMillis) && (nanos == other.nanos)
+				&& Objects.equals(prototype, other.prototype);
+	}
+
+	private static boolean isKnownType(Class<?> type) {
+		return (type == Date.class) || (type == java.sql.Date.class) || (type == Time.class)
+				|| (type == Timestamp.class);
+	}
+}
@@ -0,0 +1,57 @@
+package com.iloo.params.core;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Date;
+
+/**
+ * This interface represents a date-valued parameter item. The date is stored as
+ * an epoch offset: {@link #getValue()} returns a new copy on each call, so that
+ * mutating the returned date does not change the item.
+ *
+ * @param <T> the type of the date, such as {@link Date} or
+ *            {@link java.sql.Timestamp}
+ */
+public interface IDateParameterItem<T extends Date> extends IParameterItem<T> {
+
+	/**
+	 * Returns the date as milliseconds since the epoch.
+	 *
+	 * @return the date as milliseconds since the epoch
+	 */
+	long getEpochMillis();
+
+	/**
+	 * Returns the date as an instant.
+	 *
+	 * @return the date as an instant
+	 */
+	Instant getInstant();
+
+	/**
+	 * Returns the date in the given time zone.
+	 *
+	 * @param zone the time zone
+	 * @return the date in the given time zone
+	 */
+	ZonedDateTime atZone(ZoneId zone);
+
+	/**
+	 * Returns the local date in the given time zone.
+	 *
+	 * @param zone the time zone
+	 * @return the local date in the given time zone
+	 */
+	LocalDate getLocalDate(ZoneId zone);
+
+	/**
+	 * Returns the local date and time in the given time zone.
+	 *
+	 * @param zone the time zone
+	 * @return the local date and time in the given time zone
+	 */
+	LocalDateTime getLocalDateTime(ZoneId zone);
+}
@@ -61,6 +61,18 @@ public interface IParameterCategory {
 	 */
 	Map<String, IParameterItem<?>> getParameterItems();
 
+	/**
+	 *
+	 * Returns the parameter items of the category like
+	 * {@link #getParameterItems()}, without counting an item lookup in the metrics
+	 * of the tree. Used by the reads made by the library itself.
+	 *
+	 * @return a map of parameter items in the category
+	 */
+	default Map<String, IParameterItem<?>> peekParameterItems() {
+		return getParameterItems();
+	}
+
 	/**
 	 *
 	 * Returns an optional containing the parent category of this category, or an
@@ -89,6 +101,37 @@ public interface IParameterCategory {
 	 */
 	VoidResult setParentCategory(@NonNull IParameterCategory parentCategory);
 
+	/**
+	 *
+	 * Moves this category, with its whole subtree, under another parent category.
+	 * This category is removed from the children of its current parent, and the
+	 * levels are only recomputed inside the moved subtree.
+	 *
+	 * @param parentCategory the new parent category
+	 * @return {@code VoidResult}
+	 */
+	VoidResult moveTo(@NonNull IParameterCategory parentCategory);
+
+	/**
+	 *
+	 * Removes a child category of this category, with its whole subtree. Nothing
+	 * is removed if the given category is not a child of this category.
+	 *
+	 * @param childCategory the child category to remove
+	 * @return {@code VoidResult}, an error if the given category is not a child of
+	 *         this category or is already removed
+	 */
+	VoidResult removeChildCategory(@NonNull IParameterCategory childCategory);
+
+	/**
+	 *
+	 * Removes this category, with its whole subtree, from its factory. The removed
+	 * categories release their items and can no longer be mutated.
+	 *
+	 * @return {@code VoidResult}, an error if this category is already removed
+	 */
+	VoidResult removeSubtree();
+
 	/**
 	 *
 	 * Returns true if this category is the root category, false otherwise.
@@ -126,6 +169,17 @@ public interface IParameterCategory {
 	 */
 	ParamaterLevel getLevel();
 
+	/**
+	 *
+	 * Returns the depth of this category in the hierarchy, i.e. the vertical value
+	 * of its level.
+	 *
+	 * @return the depth of this category, {@code 1} for a root category
+	 */
+	default int getDepth() {
+		return getLevel().getVertical();
+	}
+
 	/**
 	 *
 	 * Returns a list of all parent categories of this category, in order from the
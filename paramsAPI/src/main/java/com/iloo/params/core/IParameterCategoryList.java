@@ -1,11 +1,13 @@
 package com.iloo.params.core;
 
+import java.time.Instant;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * This interface represents a list of parameter categories.
  */
-public sealed interface IParameterCategoryList permits ParameterCategoryList {
+public sealed interface IParameterCategoryList permits ParameterCategoryList, PartitionedParameterCategoryList {
 
 	/**
 	 * Returns the list of parameter categories.
@@ -28,4 +30,34 @@ public sealed interface IParameterCategoryList permits ParameterCategoryList {
 	 */
 	boolean isEmpty();
 
+	/**
+	 * Returns the version of the categories. The version is incremented on each
+	 * mutation of a category or item of the list, so that an unchanged version
+	 * guarantees unchanged contents.
+	 *
+	 * @return the version of the categories
+	 */
+	long getVersion();
+
+	/**
+	 * Finds a category by its path, i.e. the labels of a root category and of its
+	 * descendants down to the searched category.
+	 *
+	 * @param path the labels from the root category to the searched category
+	 * @return an optional containing the category, or an empty optional if no
+	 *         category matches the path
+	 */
+	Optional<IParameterCategory> findCategory(List<String> path);
+
+	/**
+	 * Returns the date items held by the categories whose date is in the given
+	 * range, in date order. The items are looked up in a sorted index, and an
+	 * item held by several categories is returned once.
+	 *
+	 * @param from the start of the range, inclusive
+	 * @param to   the end of the range, exclusive
+	 * @return the date items whose date is in the range
+	 */
+	List<IDateParameterItem<?>> findDateItemsBetween(Instant from, Instant to);
+
 }
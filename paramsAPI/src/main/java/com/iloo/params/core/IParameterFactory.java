@@ -1,5 +1,15 @@
 package com.iloo.params.core;
 
+import java.time.Duration;
+import java.util.Date;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import com.iloo.params.exceptions.InvalidParameterCategoryException;
+import com.iloo.params.utils.MemoizingSupplier;
+import com.iloo.params.utils.VoidResult;
+
 /**
  * Interface factory for creating parameter categories and items.
  */
@@ -25,10 +35,173 @@ public sealed interface IParameterFactory permits ParameterFactory {
 	 */
 	<T> IParameterItem<T> createParameterItem(String label, T value, boolean active);
 
+	/**
+	 * Creates a new date-valued parameter item, storing the given date as an
+	 * epoch offset. {@link #createParameterItem(String, Object, boolean)} delegates
+	 * to this method for date values.
+	 *
+	 * @param label  the label for this item.
+	 * @param value  the date for this item, copied.
+	 * @param active {@code true} if this item is active, {@code false} otherwise.
+	 * @param <T>    the type of the date.
+	 * @return a new date parameter item.
+	 */
+	<T extends Date> IDateParameterItem<T> createDateParameterItem(String label, T value, boolean active);
+
+	/**
+	 * Creates a new parameter item whose value is stored outside the Java heap.
+	 * The item only keeps a compact handle and decodes the value on each
+	 * {@link IParameterItem#getValue()} call, which suits large String payloads
+	 * such as templates or certificates.
+	 *
+	 * @param label  the label for this item.
+	 * @param value  the String or Number value for this item.
+	 * @param active {@code true} if this item is active, {@code false} otherwise.
+	 * @param <T>    the type of the value stored in this item.
+	 * @return a new off-heap parameter item.
+	 */
+	<T> IParameterItem<T> createOffHeapParameterItem(String label, T value, boolean active);
+
+	/**
+	 * Creates a new supplier-valued parameter item whose supplier memoizes the
+	 * value of the given one for the given time to live and refreshes it in the
+	 * background, see {@link MemoizingSupplier}.
+	 *
+	 * @param label    the label for this item.
+	 * @param supplier the supplier computing the value.
+	 * @param ttl      the time to live of a computed value.
+	 * @param active   {@code true} if this item is active, {@code false}
+	 *                 otherwise.
+	 * @param <T>      the type of the supplied value.
+	 * @return a new parameter item holding a memoizing supplier.
+	 */
+	<T> IParameterItem<Supplier<T>> createMemoizingSupplierItem(String label, Supplier<T> supplier, Duration ttl,
+			boolean active);
+
+	/**
+	 * Creates a new supplier-valued parameter item whose supplier memoizes the
+	 * value of the given one for the given time to live and refreshes it on the
+	 * given executor, see {@link MemoizingSupplier}.
+	 *
+	 * @param label    the label for this item.
+	 * @param supplier the supplier computing the value.
+	 * @param ttl      the time to live of a computed value.
+	 * @param executor the executor running the refreshes.
+	 * @param active   {@code true} if this item is active, {@code false}
+	 *                 otherwise.
+	 * @param <T>      the type of the supplied value.
+	 * @return a new parameter item holding a memoizing supplier.
+	 */
+	<T> IParameterItem<Supplier<T>> createMemoizingSupplierItem(String label, Supplier<T> supplier, Duration ttl,
+			Executor executor, boolean active);
+
 	/**
 	 * Gets the list of parameter categories.
 	 *
 	 * @return the {@link IParameterCategoryList}
 	 */
 	IParameterCategoryList getParameterCategoryList();
+
+	/**
+	 * Adds a listener notified of every mutation of the categories and items
+	 * created by this factory.
+	 *
+	 * @param listener the listener to add.
+	 */
+	void addTreeListener(IParameterTreeListener listener);
+
+	/**
+	 * Removes a listener added by {@link #addTreeListener(IParameterTreeListener)}.
+	 *
+	 * @param listener the listener to remove.
+	 */
+	void removeTreeListener(IParameterTreeListener listener);
+
+	/**
+	 * Describes the current tree to the given listener as a sequence of synthetic
+	 * events: the creation of every category, then every link, then every item
+	 * addition. No mutation can happen during the replay, so that a listener
+	 * registered from within its last event misses no subsequent mutation.
+	 *
+	 * @param listener   the listener receiving the synthetic events.
+	 * @param onReplayed the action run once the replay is complete, before any
+	 *                   further mutation.
+	 */
+	void replayTree(IParameterTreeListener listener, Runnable onReplayed);
+
+	/**
+	 * Restricts the mutations of the categories and items created by this factory
+	 * to the given thread. Mutations attempted by other threads throw an
+	 * {@link InvalidParameterCategoryException}.
+	 *
+	 * @param owner the only thread allowed to mutate the tree, or {@code null} to
+	 *              allow every thread.
+	 */
+	void restrictWritesTo(Thread owner);
+
+	/**
+	 * Pins the current version of the tree. The returned snapshot answers every
+	 * read as of that version while writers keep mutating the tree, until it is
+	 * closed.
+	 *
+	 * @return a snapshot of the current version.
+	 */
+	IParameterSnapshot readLatest();
+
+	/**
+	 * Pins the given version of the tree. The version must be the current one, or
+	 * a version not older than a version still pinned by another snapshot.
+	 *
+	 * @param version the version to pin, as returned by
+	 *                {@link IParameterCategoryList#getVersion()}.
+	 * @return a snapshot of the given version.
+	 * @throws InvalidParameterCategoryException if the version is no longer
+	 *                                           available.
+	 */
+	IParameterSnapshot readAt(long version);
+
+	/**
+	 * Runs a transaction with at most
+	 * {@link IParameterTransaction#DEFAULT_MAX_ATTEMPTS} attempts.
+	 *
+	 * @param body the body staging the mutations, run once per attempt.
+	 * @return the result of the commit.
+	 * @see #runTransaction(Consumer, int)
+	 */
+	VoidResult runTransaction(Consumer<IParameterTransaction> body);
+
+	/**
+	 * Runs a transaction: the body stages mutations of the categories and items
+	 * created by this factory, which are then committed atomically. The body is
+	 * run again, on a new transaction, as long as a concurrent writer changed a
+	 * category or item it read or touched. The write lock is only held by the
+	 * commit, never while the body runs.
+	 *
+	 * @param body        the body staging the mutations, run once per attempt.
+	 * @param maxAttempts the maximum number of attempts.
+	 * @return the result of the commit, or an error if a staged mutation cannot
+	 *         be applied, in which case none is, or if every attempt conflicted.
+	 */
+	VoidResult runTransaction(Consumer<IParameterTransaction> body, int maxAttempts);
+
+	/**
+	 * Runs the given mutations as a batch: they are serialized with the other
+	 * writers and share a single version, so that a snapshot sees either none or
+	 * all of them. Unlike a transaction, the mutations are applied as they run and
+	 * are not undone if one of them fails. A batch run from within another one
+	 * joins it.
+	 *
+	 * @param mutations the mutations to run.
+	 * @throws InvalidParameterCategoryException if the tree is restricted to
+	 *                                           another thread.
+	 */
+	void runBatch(Runnable mutations);
+
+	/**
+	 * Returns the metrics of the tree, which can be registered in the platform
+	 * MBean server with {@link ParameterMetrics#register(String)}.
+	 *
+	 * @return the metrics of the tree.
+	 */
+	ParameterMetrics getMetrics();
 }
@@ -0,0 +1,173 @@
+package com.iloo.params.core;
+
+/**
+ * The management interface of the metrics of a parameter tree.
+ *
+ * Counts are exact, while durations are only measured for a sample of the
+ * calls, one in {@link #getSampleRate()} on average. Duration histograms have
+ * one bucket per power of two nanoseconds: the bucket {@code i} counts the
+ * durations in [2^(i-1), 2^i) nanoseconds.
+ */
+public interface IParameterMetricsMXBean {
+
+	/**
+	 * Returns the number of calls of {@link IParameterCategory#getParameterItems()},
+	 * not counting the reads made by the library itself.
+	 *
+	 * @return the number of item lookups.
+	 */
+	long getItemLookupCount();
+
+	/**
+	 * Returns the number of calls of
+	 * {@link IParameterCategory#getAllParentParameterItems()}.
+	 *
+	 * @return the number of inherited lookups.
+	 */
+	long getInheritedLookupCount();
+
+	/**
+	 * Returns the mean duration of the sampled inherited lookups.
+	 *
+	 * @return the mean duration, in nanoseconds.
+	 */
+	double getInheritedLookupMeanNanos();
+
+	/**
+	 * Returns an upper bound of the 99th percentile of the durations of the
+	 * sampled inherited lookups.
+	 *
+	 * @return the 99th percentile, in nanoseconds.
+	 */
+	long getInheritedLookupP99Nanos();
+
+	/**
+	 * Returns the histogram of the durations of the sampled inherited lookups.
+	 *
+	 * @return the count of each bucket.
+	 */
+	long[] getInheritedLookupHistogram();
+
+	/**
+	 * Returns the histogram of the inheritance depth of the inherited lookups,
+	 * i.e. the number of categories merged, the last bucket counting the deeper
+	 * ones.
+	 *
+	 * @return the count of each depth, from {@code 1}.
+	 */
+	long[] getInheritanceDepthHistogram();
+
+	/**
+	 * Returns the number of depth-first and breadth-first traversals.
+	 *
+	 * @return the number of traversals.
+	 */
+	long getTraversalCount();
+
+	/**
+	 * Returns the number of categories visited by the traversals.
+	 *
+	 * @return the number of visited categories.
+	 */
+	long getTraversalNodesVisited();
+
+	/**
+	 * Returns the mean duration of the sampled traversals.
+	 *
+	 * @return the mean duration, in nanoseconds.
+	 */
+	double getTraversalMeanNanos();
+
+	/**
+	 * Returns an upper bound of the 99th percentile of the durations of the
+	 * sampled traversals.
+	 *
+	 * @return the 99th percentile, in nanoseconds.
+	 */
+	long getTraversalP99Nanos();
+
+	/**
+	 * Returns the histogram of the durations of the sampled traversals.
+	 *
+	 * @return the count of each bucket.
+	 */
+	long[] getTraversalHistogram();
+
+	/**
+	 * Returns the number of mutations of the tree.
+	 *
+	 * @return the number of mutations.
+	 */
+	long getMutationCount();
+
+	/**
+	 * Returns the number of mutations per second over the last ten complete
+	 * seconds, or over the complete seconds since the creation of the tree if it
+	 * is younger. Reading the rate does not reset it.
+	 *
+	 * @return the mutation rate, per second.
+	 */
+	double getMutationRate();
+
+	/**
+	 * Returns the number of categories of the tree.
+	 *
+	 * @return the number of categories.
+	 */
+	long getCategoryCount();
+
+	/**
+	 * Returns the number of items held by the categories of the tree.
+	 *
+	 * @return the number of items.
+	 */
+	long getItemCount();
+
+	/**
+	 * Returns the number of categories at each depth, computed on each call.
+	 *
+	 * @return the number of categories at each depth, from {@code 1}.
+	 */
+	long[] getDepthDistribution();
+
+	/**
+	 * Returns the number of cache hits of the function pipelines.
+	 *
+	 * @return the number of cache hits.
+	 */
+	long getCacheHitCount();
+
+	/**
+	 * Returns the number of cache misses of the function pipelines.
+	 *
+	 * @return the number of cache misses.
+	 */
+	long getCacheMissCount();
+
+	/**
+	 * Returns the ratio of cache hits of the function pipelines.
+	 *
+	 * @return the ratio of cache hits, or {@code 0} if the caches were never read.
+	 */
+	double getCacheHitRatio();
+
+	/**
+	 * Returns the sample rate of the durations.
+	 *
+	 * @return the average number of calls per measured call.
+	 */
+	int getSampleRate();
+
+	/**
+	 * Sets the sample rate of the durations.
+	 *
+	 * @param sampleRate the average number of calls per measured call,
+	 *                   {@code 1} to measure every call.
+	 */
+	void setSampleRate(int sampleRate);
+
+	/**
+	 * Clears the counters and histograms, except the tree size.
+	 */
+	void reset();
+}
@@ -0,0 +1,57 @@
+package com.iloo.params.core;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * A read-only view of a parameter tree pinned at a given version.
+ *
+ * The categories returned by a snapshot answer every read of
+ * {@link IParameterCategory}, including
+ * {@link IParameterCategory#getAllParentParameterItems()} and the searches, as
+ * of the pinned version, while writers keep mutating the live tree. Their
+ * mutators throw an
+ * {@link com.iloo.params.exceptions.InvalidParameterCategoryException}. The
+ * history retained for the pinned version is reclaimed once every snapshot
+ * pinning it is closed.
+ */
+public interface IParameterSnapshot extends AutoCloseable {
+
+	/**
+	 * Returns the version this snapshot is pinned at.
+	 *
+	 * @return the version this snapshot is pinned at
+	 */
+	long getVersion();
+
+	/**
+	 * Returns the categories existing at the pinned version.
+	 *
+	 * @return the categories existing at the pinned version
+	 */
+	List<IParameterCategory> getParameterCategories();
+
+	/**
+	 * Finds a category by its path at the pinned version.
+	 *
+	 * @param path the labels from the root category to the searched category
+	 * @return an optional containing the category, or an empty optional if no
+	 *         category matches the path
+	 */
+	Optional<IParameterCategory> findCategory(List<String> path);
+
+	/**
+	 * Returns the view of a live category at the pinned version.
+	 *
+	 * @param category the live category
+	 * @return an optional containing the view, or an empty optional if the
+	 *         category did not exist at the pinned version
+	 */
+	Optional<IParameterCategory> getCategory(IParameterCategory category);
+
+	/**
+	 * Releases the pinned version.
+	 */
+	@Override
+	void close();
+}
@@ -0,0 +1,81 @@
+package com.iloo.params.core;
+
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNull;
+
+import com.iloo.params.utils.VoidResult;
+
+/**
+ * Stages mutations of several categories, committed atomically by
+ * {@link IParameterFactory#runTransaction(java.util.function.Consumer)}.
+ *
+ * Nothing is applied while the mutations are staged. On commit, the categories
+ * read or touched by the transaction are checked against their version at the
+ * time they were first read: if a concurrent writer changed one of them, the
+ * transaction is discarded and its body is run again. Otherwise the staged
+ * mutations are applied in order and share a single tree version, so that an
+ * {@link IParameterSnapshot} sees either none or all of them.
+ */
+public interface IParameterTransaction {
+
+	/**
+	 * The default maximum number of attempts of a transaction.
+	 */
+	int DEFAULT_MAX_ATTEMPTS = 8;
+
+	/**
+	 * Reads the items of a category, never in the middle of a commit. The commit
+	 * then checks them for concurrent changes.
+	 *
+	 * @param category the category to read
+	 * @return a copy of the parameter items in the category
+	 */
+	Map<String, IParameterItem<?>> getParameterItems(@NonNull IParameterCategory category);
+
+	/**
+	 * Stages the addition of an item to a category.
+	 *
+	 * @param category      the category
+	 * @param parameterItem the parameter item to add
+	 * @return {@code VoidResult}
+	 */
+	VoidResult addParameterItem(@NonNull IParameterCategory category, @NonNull IParameterItem<?> parameterItem);
+
+	/**
+	 * Stages the removal of an item from a category.
+	 *
+	 * @param category      the category
+	 * @param parameterItem the parameter item to remove
+	 * @return {@code VoidResult}
+	 */
+	VoidResult removeParameterItem(@NonNull IParameterCategory category, @NonNull IParameterItem<?> parameterItem);
+
+	/**
+	 * Stages a change of the active state of an item. The commit checks that the
+	 * item still has the active state it had when the change was staged.
+	 *
+	 * @param parameterItem the parameter item
+	 * @param active        the new active state
+	 * @return {@code VoidResult}
+	 */
+	VoidResult setActive(@NonNull IParameterItem<?> parameterItem, boolean active);
+
+	/**
+	 * Stages the link of a category to a parent category. A category which already
+	 * has a parent is moved, with its subtree, see
+	 * {@link IParameterCategory#moveTo(IParameterCategory)}.
+	 *
+	 * @param childCategory  the child category
+	 * @param parentCategory the parent category
+	 * @return {@code VoidResult}
+	 */
+	VoidResult link(@NonNull IParameterCategory childCategory, @NonNull IParameterCategory parentCategory);
+
+	/**
+	 * Returns the number of staged mutations.
+	 *
+	 * @return the number of staged mutations
+	 */
+	int getOperationCount();
+}
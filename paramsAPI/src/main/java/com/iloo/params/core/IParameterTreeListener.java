@@ -0,0 +1,29 @@
+package com.iloo.params.core;
+
+/**
+ * Listener notified of the mutations of a parameter tree.
+ *
+ * Listeners are notified synchronously, in mutation order, by the thread
+ * performing the mutation and while the tree is locked for writing. They must
+ * therefore be fast and must not mutate the tree themselves.
+ */
+@FunctionalInterface
+public interface IParameterTreeListener {
+
+	/**
+	 * Called after a mutation of the tree.
+	 *
+	 * @param event the description of the mutation
+	 */
+	void onEvent(ParameterTreeEvent event);
+
+	/**
+	 * Called once every mutation sharing a version was notified: after a
+	 * mutation, or at the end of a batch that changed the tree.
+	 *
+	 * @param version the version committed.
+	 */
+	default void onCommit(long version) {
+		// Nothing to do by default
+	}
+}
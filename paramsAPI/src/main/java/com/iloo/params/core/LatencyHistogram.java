@@ -0,0 +1,111 @@
+package com.iloo.params.core;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock-free histogram of durations, with one bucket per power of two
+ * nanoseconds.
+ */
+final class LatencyHistogram {
+
+	/**
+	 * The number of buckets, the last one holding the durations of 2^38
+	 * nanoseconds (about 4.5 minutes) and more.
+	 */
+	static final int BUCKET_COUNT = 40;
+
+	/**
+	 * The bucket {@code i} counts the durations in [2^(i-1), 2^i) nanoseconds.
+	 */
+	private final LongAdder[] buckets = new LongAdder[BUCKET_COUNT];
+
+	/**
+	 * The number of recorded durations.
+	 */
+	private final LongAdder count = new LongAdder();
+
+	/**
+	 * The sum of the recorded durations, in nanoseconds.
+	 */
+	private final LongAdder total = new LongAdder();
+
+	/**
+	 * Constructs a new empty histogram.
+	 */
+	LatencyHistogram() {
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			buckets[i] = new LongAdder();
+		}
+	}
+
+	/**
+	 * Records a duration.
+	 *
+	 * @param nanos the duration, in nanoseconds.
+	 */
+	void record(long nanos) {
+		long duration = Math.max(0, nanos);
+		buckets[Math.min(BUCKET_COUNT - 1, 64 - Long.numberOfLeadingZeros(duration))].increment();
+		count.increment();
+		total.add(duration);
+	}
+
+	/**
+	 * Returns the count of each bucket.
+	 *
+	 * @return the count of each bucket.
+	 */
+	long[] getBuckets() {
+		long[] counts = new long[BUCKET_COUNT];
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			counts[i] = buckets[i].sum();
+		}
+		return counts;
+	}
+
+	/**
+	 * Returns the mean of the recorded durations.
+	 *
+	 * @return the mean, in nanoseconds, or {@code 0} if nothing was recorded.
+	 */
+	double getMean() {
+		long recorded = count.sum();
+		return recorded == 0 ? 0 : (double) total.sum() / recorded;
+	}
+
+	/**
+	 * Returns an upper bound of the given percentile of the recorded durations,
+	 * i.e. the upper bound of the bucket holding it.
+	 *
+	 * @param percentile the percentile, between {@code 0} and {@code 100}.
+	 * @return the upper bound, in nanoseconds, or {@code 0} if nothing was
+	 *         recorded.
+	 */
+	long getPercentile(double percentile) {
+		long[] counts = getBuckets();
+		long recorded = 0;
+		for (long bucketCount : counts) {
+			recorded += bucketCount;
+		}
+		long rank = (long) Math.ceil(recorded * percentile / 100);
+		long seen = 0;
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			seen += counts[i];
+			if ((seen >= rank) && (seen > 0)) {
+				return 1L << i;
+			}
+		}
+		return 0;
+	}
+
+	/**
+	 * Clears the histogram.
+	 */
+	void reset() {
+		for (LongAdder bucket : buckets) {
+			bucket.reset();
+		}
+		count.reset();
+		total.reset();
+	}
+}
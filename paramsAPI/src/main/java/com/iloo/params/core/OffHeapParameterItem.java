@@ -0,0 +1,193 @@
+package com.iloo.params.core;
+
+import java.util.Objects;
+
+import org.eclipse.jdt.annotation.NonNull;
+
+import com.iloo.params.core.ParameterTreeEvent.EventType;
+import com.iloo.params.exceptions.InvalidParameterItemException;
+import com.iloo.params.utils.VoidResult;
+
+/**
+ * Represents a parameter item whose value lives in an
+ * {@link OffHeapValueStore}. The item only keeps a compact handle and decodes
+ * the value on each {@link #getValue()} call.
+ *
+ * The off-heap entry lives as long as the item belongs to a category: the value
+ * stays on the heap until the item is first added, and when the item leaves its
+ * last category, the value is moved back to the heap and the entry is freed.
+ *
+ * @param <T> the type of the value for this parameter item.
+ */
+class OffHeapParameterItem<T> implements IParameterItem<T> {
+
+	/**
+	 * The handle of a value moved to the heap.
+	 */
+	private static final long RELEASED = -1;
+
+	/**
+	 * The tree this item belongs to.
+	 */
+	private final ParameterTree tree;
+
+	/**
+	 * The label of this item.
+	 */
+	private final String label;
+
+	/**
+	 * The store holding the value of this item.
+	 */
+	private final OffHeapValueStore store;
+
+	/**
+	 * The handle of the value in {@link #store}, or {@link #RELEASED} while the
+	 * value is on the heap.
+	 */
+	private volatile long handle;
+
+	/**
+	 * The value while it is on the heap, {@code null} otherwise.
+	 */
+	private volatile T heapValue;
+
+	/**
+	 * The number of categories holding this item. Guarded by the tree write lock.
+	 */
+	private int attachments;
+
+	/**
+	 * The activeness of this item.
+	 */
+	private volatile boolean active;
+
+	/**
+	 * Creates a new off-heap parameter item with the given label, value and active
+	 * status.
+	 *
+	 * @param tree   the tree this item belongs to.
+	 * @param store  the store holding the value.
+	 * @param label  the label for this item.
+	 * @param value  the value for this item.
+	 * @param active {@code true} if this item is active, {@code false} otherwise.
+	 * @throws InvalidParameterItemException if the value is not a String or a
+	 *                                       supported Number.
+	 */
+	OffHeapParameterItem(@NonNull ParameterTree tree, @NonNull OffHeapValueStore store, @NonNull String label,
+			@NonNull T value, boolean active) {
+		this.tree = tree;
+		this.label = label;
+		this.store = store;
+		OffHeapValueStore.checkStorable(ParameterItemValueValidator.validateValueType(value));
+		// Stored off-heap once added to a category, so that an item never added holds no entry
+		this.handle = RELEASED;
+		this.heapValue = value;
+		this.active = active;
+	}
+
+	/**
+	 * Returns the label for this item.
+	 *
+	 * @return the label for this item.
+	 */
+	@Override
+	public String getLabel() {
+		return label;
+	}
+
+	/**
+	 * Returns the value for this item, decoded from the off-heap store.
+	 *
+	 * @return the value for this item.
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public T getValue() {
+		while (true) {
+			// A dropped chunk or a value moved back off-heap means that the handle changed
+			long current = handle;
+			Object value = current == RELEASED ? heapValue : store.load(current);
+			if (value != null) {
+				return (T) value;
+			}
+		}
+	}
+
+	/**
+	 * Records that a category holds this item, storing the value off-heap again
+	 * if it was on the heap. Called under the tree write lock.
+	 */
+	void attach() {
+		if ((attachments++ == 0) && (handle == RELEASED)) {
+			store.store(heapValue, this::relocate);
+			heapValue = null;
+		}
+	}
+
+	/**
+	 * Records that a category no longer holds this item, moving the value to the
+	 * heap and freeing its off-heap entry when no category holds it anymore.
+	 * Called under the tree write lock.
+	 */
+	void detach() {
+		if ((attachments > 0) && (--attachments == 0)) {
+			long released = handle;
+			heapValue = getValue();
+			handle = RELEASED;
+			store.free(released);
+		}
+	}
+
+	private void relocate(long relocatedHandle) {
+		handle = relocatedHandle;
+	}
+
+	/**
+	 * Sets the active status of this item.
+	 *
+	 * @param active {@code true} if this item is active, {@code false} otherwise.
+	 * @return {@code VoidResult}
+	 */
+	@Override
+	public VoidResult setActive(boolean active) {
+		tree.write(() -> {
+			boolean changed = this.active != active;
+			this.active = active;
+			return changed;
+		}, EventType.ITEM_ACTIVATION_CHANGED, null, null, this);
+
+		return VoidResult.ok();
+	}
+
+	/**
+	 * Returns {@code true} if this item is active, {@code false} otherwise.
+	 *
+	 * @return {@code true} if this item is active, {@code false} otherwise.
+	 */
+	@Override
+	public boolean isActive() {
+		return active;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(active, label, getValue());
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (obj == null) {
+			return false;
+		}
+		if (getClass() != obj.getClass()) {
+			return false;
+		}
+		OffHeapParameterItem<?> other = (OffHeapParameterItem<?>) obj;
+		return (active == other.active) && Objects.deepEquals(label, other.label)
+				&& Objects.deepEquals(getValue(), other.getValue());
+	}
+}
@@ -0,0 +1,392 @@
+package com.iloo.params.core;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongConsumer;
+
+import org.eclipse.jdt.annotation.NonNull;
+
+import com.iloo.params.exceptions.InvalidParameterItemException;
+
+/**
+ * Stores String and Number values outside the Java heap.
+ *
+ * Values are encoded into direct {@link ByteBuffer} chunks allocated with
+ * {@link ByteBuffer#allocateDirect(int)} and are addressed by a {@code long}
+ * handle (chunk index in the high 32 bits, offset in the low 32 bits). Each
+ * entry is laid out as a one byte type tag, a four bytes payload length and the
+ * payload itself.
+ *
+ * Chunks are append-only and an entry is never overwritten, so that a reader
+ * never decodes a partially rewritten entry. A freed entry is reclaimed with its
+ * chunk: a chunk left without live entries is dropped, and the live entries of
+ * a chunk which falls below a quarter of its capacity are moved to the current
+ * chunk, their owners being notified of their new handle. A handle is never
+ * reused: loading the handle of a dropped chunk returns {@code null}.
+ */
+final class OffHeapValueStore {
+
+	/**
+	 * Default size of a chunk, in bytes.
+	 */
+	static final int DEFAULT_CHUNK_SIZE = 1 << 20;
+
+	/**
+	 * Default number of decoded values kept on the heap.
+	 */
+	static final int DEFAULT_CACHE_SIZE = 64;
+
+	/**
+	 * Size of the entry header (type tag and payload length), in bytes.
+	 */
+	private static final int HEADER_SIZE = Byte.BYTES + Integer.BYTES;
+
+	/**
+	 * The fraction of its capacity under which the live entries of a chunk are
+	 * moved to the current chunk.
+	 */
+	private static final int COMPACTION_RATIO = 4;
+
+	/**
+	 * Type tag of a String value.
+	 */
+	private static final byte TAG_STRING = 0;
+
+	/**
+	 * Type tag of an Integer value.
+	 */
+	private static final byte TAG_INTEGER = 1;
+
+	/**
+	 * Type tag of a Long value.
+	 */
+	private static final byte TAG_LONG = 2;
+
+	/**
+	 * Type tag of a Double value.
+	 */
+	private static final byte TAG_DOUBLE = 3;
+
+	/**
+	 * Type tag of a Float value.
+	 */
+	private static final byte TAG_FLOAT = 4;
+
+	/**
+	 * Type tag of a Short value.
+	 */
+	private static final byte TAG_SHORT = 5;
+
+	/**
+	 * Type tag of a Byte value.
+	 */
+	private static final byte TAG_BYTE = 6;
+
+	/**
+	 * Type tag of a BigDecimal value.
+	 */
+	private static final byte TAG_BIG_DECIMAL = 7;
+
+	/**
+	 * Type tag of a BigInteger value.
+	 */
+	private static final byte TAG_BIG_INTEGER = 8;
+
+	/**
+	 * The size of a regular chunk, in bytes.
+	 */
+	private final int chunkSize;
+
+	/**
+	 * The chunks not dropped yet, by the high part of a handle.
+	 */
+	private final Map<Integer, Chunk> chunks = new ConcurrentHashMap<>();
+
+	/**
+	 * The chunk currently used for appending, or {@code null} before the first
+	 * write. Guarded by this store.
+	 */
+	private Chunk currentChunk;
+
+	/**
+	 * The index of the next allocated chunk. Guarded by this store.
+	 */
+	private int nextChunkIndex;
+
+	/**
+	 * The small on-heap cache of decoded values, or {@code null} if disabled.
+	 */
+	private final Map<Long, Object> cache;
+
+	/**
+	 * Constructs a new store with the default chunk and cache sizes.
+	 */
+	OffHeapValueStore() {
+		this(DEFAULT_CHUNK_SIZE, DEFAULT_CACHE_SIZE);
+	}
+
+	/**
+	 * Constructs a new store.
+	 *
+	 * @param chunkSize the size of a regular chunk, in bytes.
+	 * @param cacheSize the number of decoded values kept on the heap, {@code 0} to
+	 *                  disable the cache.
+	 */
+	OffHeapValueStore(int chunkSize, int cacheSize) {
+		if (chunkSize <= HEADER_SIZE) {
+			throw new IllegalArgumentException("Chunk size must be greater than " + HEADER_SIZE);
+		}
+		this.chunkSize = chunkSize;
+		this.cache = cacheSize > 0 ? new LinkedHashMap<>(16, 0.75f, true) {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Long, Object> eldest) {
+				return size() > cacheSize;
+			}
+		} : null;
+	}
+
+	/**
+	 * Encodes the given value into the store.
+	 *
+	 * @param value the value to store.
+	 * @param owner the action notified, under the lock of this store, of the
+	 *              handle of the value once stored and each time its chunk is
+	 *              compacted.
+	 * @throws InvalidParameterItemException if the value type cannot be stored
+	 *                                       off-heap.
+	 */
+	void store(@NonNull Object value, @NonNull LongConsumer owner) {
+		byte[] payload = encode(value);
+		byte tag = tagOf(value);
+
+		synchronized (this) {
+			owner.accept(append(tag, payload, owner));
+		}
+	}
+
+	/**
+	 * Frees the entry addressed by the given handle, and reclaims its chunk if it
+	 * is no longer the current one and has too few live entries left.
+	 *
+	 * @param handle the handle of the entry.
+	 */
+	synchronized void free(long handle) {
+		int chunkIndex = (int) (handle >>> Integer.SIZE);
+		Chunk chunk = chunks.get(chunkIndex);
+		if ((chunk == null) || (chunk.owners.remove((int) handle) == null)) {
+			return;
+		}
+		chunk.liveBytes -= HEADER_SIZE + chunk.buffer.getInt((int) handle + Byte.BYTES);
+		evict(handle);
+		if (chunk == currentChunk) {
+			return;
+		}
+		if (chunk.liveBytes == 0) {
+			chunks.remove(chunkIndex);
+		} else if (chunk.liveBytes < (chunk.buffer.capacity() / COMPACTION_RATIO)) {
+			compact(chunk);
+		}
+	}
+
+	/**
+	 * Decodes the value addressed by the given handle.
+	 *
+	 * @param handle the handle of the value.
+	 * @return the decoded value, or {@code null} if the chunk of the value was
+	 *         dropped.
+	 */
+	Object load(long handle) {
+		if (cache != null) {
+			synchronized (cache) {
+				Object cached = cache.get(handle);
+				if (cached != null) {
+					return cached;
+				}
+			}
+		}
+
+		Chunk chunk = chunks.get((int) (handle >>> Integer.SIZE));
+		if (chunk == null) {
+			return null;
+		}
+		int offset = (int) handle;
+		byte tag = chunk.buffer.get(offset);
+		byte[] payload = new byte[chunk.buffer.getInt(offset + Byte.BYTES)];
+		chunk.buffer.get(offset + HEADER_SIZE, payload);
+		Object value = decode(tag, payload);
+
+		if (cache != null) {
+			synchronized (cache) {
+				cache.put(handle, value);
+			}
+		}
+		return value;
+	}
+
+	/**
+	 * Returns the number of bytes reserved outside the heap by this store.
+	 *
+	 * @return the number of reserved bytes.
+	 */
+	long getReservedBytes() {
+		return chunks.values().stream().mapToLong(chunk -> chunk.buffer.capacity()).sum();
+	}
+
+	/**
+	 * Checks that the given value can be stored.
+	 *
+	 * @param value the value to check.
+	 * @throws InvalidParameterItemException if the value type cannot be stored
+	 *                                       off-heap.
+	 */
+	static void checkStorable(@NonNull Object value) {
+		tagOf(value);
+	}
+
+	/**
+	 * Appends an entry to the current chunk, allocating a new one if it is full.
+	 *
+	 * @param tag     the type tag of the value.
+	 * @param payload the encoded value.
+	 * @param owner   the action notified of the new handles of the entry.
+	 * @return the handle of the entry.
+	 */
+	private long append(byte tag, byte[] payload, LongConsumer owner) {
+		int length = HEADER_SIZE + payload.length;
+		if ((currentChunk == null) || (currentChunk.buffer.remaining() < length)) {
+			Chunk retired = currentChunk;
+			currentChunk = new Chunk(nextChunkIndex++, ByteBuffer.allocateDirect(Math.max(chunkSize, length)));
+			chunks.put(currentChunk.index, currentChunk);
+			if ((retired != null) && (retired.liveBytes == 0)) {
+				chunks.remove(retired.index);
+			}
+		}
+		int offset = currentChunk.buffer.position();
+		currentChunk.buffer.put(tag).putInt(payload.length).put(payload);
+		currentChunk.owners.put(offset, owner);
+		currentChunk.liveBytes += length;
+		return ((long) currentChunk.index << Integer.SIZE) | offset;
+	}
+
+	/**
+	 * Moves the live entries of a chunk to the current chunk, then drops it.
+	 *
+	 * @param chunk the chunk.
+	 */
+	private void compact(Chunk chunk) {
+		for (Map.Entry<Integer, LongConsumer> entry : chunk.owners.entrySet()) {
+			int offset = entry.getKey();
+			byte[] payload = new byte[chunk.buffer.getInt(offset + Byte.BYTES)];
+			chunk.buffer.get(offset + HEADER_SIZE, payload);
+			long handle = append(chunk.buffer.get(offset), payload, entry.getValue());
+			evict(((long) chunk.index << Integer.SIZE) | offset);
+			entry.getValue().accept(handle);
+		}
+		chunks.remove(chunk.index);
+	}
+
+	private void evict(long handle) {
+		if (cache != null) {
+			synchronized (cache) {
+				cache.remove(handle);
+			}
+		}
+	}
+
+	private static byte tagOf(Object value) {
+		if (value instanceof String) {
+			return TAG_STRING;
+		} else if (value instanceof Integer) {
+			return TAG_INTEGER;
+		} else if (value instanceof Long) {
+			return TAG_LONG;
+		} else if (value instanceof Double) {
+			return TAG_DOUBLE;
+		} else if (value instanceof Float) {
+			return TAG_FLOAT;
+		} else if (value instanceof Short) {
+			return TAG_SHORT;
+		} else if (value instanceof Byte) {
+			return TAG_BYTE;
+		} else if (value instanceof BigDecimal) {
+			return TAG_BIG_DECIMAL;
+		} else if (value instanceof BigInteger) {
+			return TAG_BIG_INTEGER;
+		}
+		throw InvalidParameterItemException.forUnsupportedOffHeapType();
+	}
+
+	private static byte[] encode(Object value) {
+		return switch (tagOf(value)) {
+		case TAG_INTEGER -> ByteBuffer.allocate(Integer.BYTES).putInt((Integer) value).array();
+		case TAG_LONG -> ByteBuffer.allocate(Long.BYTES).putLong((Long) value).array();
+		case TAG_DOUBLE -> ByteBuffer.allocate(Double.BYTES).putDouble((Double) value).array();
+		case TAG_FLOAT -> ByteBuffer.allocate(Float.BYTES).putFloat((Float) value).array();
+		case TAG_SHORT -> ByteBuffer.allocate(Short.BYTES).putShort((Short) value).array();
+		case TAG_BYTE -> new byte[] { (Byte) value };
+		default -> value.toString().getBytes(StandardCharsets.UTF_8);
+		};
+	}
+
+	private static Object decode(byte tag, byte[] payload) {
+		ByteBuffer buffer = ByteBuffer.wrap(payload);
+		return switch (tag) {
+		case TAG_INTEGER -> buffer.getInt();
+		case TAG_LONG -> buffer.getLong();
+		case TAG_DOUBLE -> buffer.getDouble();
+		case TAG_FLOAT -> buffer.getFloat();
+		case TAG_SHORT -> buffer.getShort();
+		case TAG_BYTE -> buffer.get();
+		case TAG_BIG_DECIMAL -> new BigDecimal(new String(payload, StandardCharsets.UTF_8));
+		case TAG_BIG_INTEGER -> new BigInteger(new String(payload, StandardCharsets.UTF_8));
+		default -> new String(payload, StandardCharsets.UTF_8);
+		};
+	}
+
+	/**
+	 * A direct buffer and the bookkeeping of its live entries, guarded by the
+	 * store.
+	 */
+	private static final class Chunk {
+
+		/**
+		 * The index of the chunk, the high part of the handles of its entries.
+		 */
+		private final int index;
+
+		/**
+		 * The off-heap memory of the chunk.
+		 */
+		private final ByteBuffer buffer;
+
+		/**
+		 * The owners of the live entries, by offset.
+		 */
+		private final Map<Integer, LongConsumer> owners = new HashMap<>();
+
+		/**
+		 * The number of bytes used by the live entries.
+		 */
+		private int liveBytes;
+
+		/**
+		 * Constructs a new empty chunk.
+		 *
+		 * @param index  the index of the chunk.
+		 * @param buffer the off-heap memory of the chunk.
+		 */
+		Chunk(int index, ByteBuffer buffer) {
+			this.index = index;
+			this.buffer = buffer;
+		}
+	}
+}
@@ -1,8 +1,9 @@
 package com.iloo.params.core;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashMap;
+import java.util.Deque;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -10,11 +11,11 @@ import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.function.Predicate;
-import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import org.eclipse.jdt.annotation.NonNull;
 
+import com.iloo.params.core.ParameterTreeEvent.EventType;
 import com.iloo.params.exceptions.InvalidParameterCategoryException;
 import com.iloo.params.utils.VoidResult;
 
@@ -22,6 +23,11 @@ import com.iloo.params.utils.VoidResult;
  * Represents a category of parameters.
  */
 class ParameterCategory implements IParameterCategory {
+	/**
+	 * The tree this category belongs to.
+	 */
+	private final ParameterTree tree;
+
 	/**
 	 * The label for this category.
 	 */
@@ -52,14 +58,33 @@ class ParameterCategory implements IParameterCategory {
 	 */
 	private final List<IParameterCategory> childCategoryList;
 
+	/**
+	 * The newest state of the history kept for the pinned snapshots, or
+	 * {@code null} if no snapshot was ever pinned.
+	 */
+	private volatile ParameterVersionStore.CategoryState versionedState;
+
+	/**
+	 * Whether this category was removed from its tree.
+	 */
+	private volatile boolean removed;
+
+	/**
+	 * The version of the tree at the last mutation of this category, checked by
+	 * the transactions.
+	 */
+	private volatile long modificationVersion;
+
 	/**
 	 * Creates a new parameter category with the given label and description.
 	 *
+	 * @param tree        the tree this category belongs to.
 	 * @param label       the label for this category.
 	 * @param description the description for this category.
 	 * @throws NullPointerException if the label or description {@code null}.
 	 */
-	ParameterCategory(@NonNull String label, @NonNull String description) {
+	ParameterCategory(@NonNull ParameterTree tree, @NonNull String label, @NonNull String description) {
+		this.tree = tree;
 		this.label = label;
 		this.description = description;
 		this.parameterItems = new ConcurrentHashMap<>();
@@ -78,12 +103,19 @@ class ParameterCategory implements IParameterCategory {
 	public VoidResult addParameterItem(@NonNull IParameterItem<?> parameterItem) {
 		Objects.requireNonNull(parameterItem, "Parameter item cannot be null");
 
-		parameterItems.computeIfPresent(parameterItem.getLabel(), (lbl, existingItem) -> {
-			throw InvalidParameterCategoryException.forInvalidParameterItem(parameterItem,
-					"Parameter item already exists in the category");
-		});
+		tree.write(() -> {
+			checkNotRemoved(this);
+			parameterItems.computeIfPresent(parameterItem.getLabel(), (lbl, existingItem) -> {
+				throw InvalidParameterCategoryException.forInvalidParameterItem(parameterItem,
+						"Parameter item already exists in the category");
+			});
 
-		parameterItems.put(parameterItem.getLabel(), parameterItem);
+			parameterItems.put(parameterItem.getLabel(), parameterItem);
+			if (parameterItem instanceof OffHeapParameterItem<?> offHeapItem) {
+				offHeapItem.attach();
+			}
+			return true;
+		}, EventType.ITEM_ADDED, this, null, parameterItem);
 		return VoidResult.ok();
 	}
 
@@ -97,7 +129,16 @@ class ParameterCategory implements IParameterCategory {
 	@Override
 	public VoidResult removeParameterItem(@NonNull IParameterItem<?> parameterItem) {
 		Objects.requireNonNull(parameterItem, "Parameter item cannot be null");
-		parameterItems.remove(parameterItem.getLabel(), parameterItem);
+		tree.write(() -> {
+			checkNotRemoved(this);
+			if (!parameterItems.remove(parameterItem.getLabel(), parameterItem)) {
+				return false;
+			}
+			if (parameterItem instanceof OffHeapParameterItem<?> offHeapItem) {
+				offHeapItem.detach();
+			}
+			return true;
+		}, EventType.ITEM_REMOVED, this, null, parameterItem);
 
 		return VoidResult.ok();
 	}
@@ -129,6 +170,18 @@ class ParameterCategory implements IParameterCategory {
 	 */
 	@Override
 	public Map<String, IParameterItem<?>> getParameterItems() {
+		tree.getMetrics().recordItemLookup();
+		return Collections.unmodifiableMap(parameterItems);
+	}
+
+	/**
+	 * Returns a map of the parameter items belonging to this category, without
+	 * counting an item lookup.
+	 *
+	 * @return a map of the parameter items belonging to this category.
+	 */
+	@Override
+	public Map<String, IParameterItem<?>> peekParameterItems() {
 		return Collections.unmodifiableMap(parameterItems);
 	}
 
@@ -152,10 +205,8 @@ class ParameterCategory implements IParameterCategory {
 	 */
 	@Override
 	public VoidResult setChildCategory(@NonNull IParameterCategory childCategory) {
-		childCategory.setParentCategory(this);
-		this.childCategoryList.add(childCategory);
-
-		return VoidResult.ok();
+		// Linking the child registers it in the children of this category
+		return childCategory.setParentCategory(this);
 	}
 
 	/**
@@ -167,13 +218,216 @@ class ParameterCategory implements IParameterCategory {
 	 */
 	@Override
 	public VoidResult setParentCategory(@NonNull IParameterCategory parentCategory) {
-		setSubCategory(parentCategory);
-		ParameterCategory parameterCategory = (ParameterCategory) parentCategory;
-		parameterCategory.getDirectChildCategoryList().add(this);
+		tree.write(() -> {
+			checkNotRemoved(this);
+			checkNotRemoved(parentCategory);
+			setSubCategory(parentCategory);
+			ParameterCategory parameterCategory = (ParameterCategory) parentCategory;
+			parameterCategory.getDirectChildCategoryList().add(this);
+			return true;
+		}, EventType.CATEGORY_LINKED, this, parentCategory, null);
+
+		return VoidResult.ok();
+	}
+
+	/**
+	 * Moves this category, with its whole subtree, under another parent category.
+	 *
+	 * The cycle and label checks walk the ancestors of the new parent only, and
+	 * the vertical levels are only recomputed inside the moved subtree.
+	 *
+	 * @param parentCategory the new parent category.
+	 * @throws NullPointerException              if {@code parentCategory} is
+	 *                                           {@code null}.
+	 * @throws InvalidParameterCategoryException if the new parent belongs to
+	 *                                           another tree, is in the moved
+	 *                                           subtree or has an ancestor with
+	 *                                           the label of this category.
+	 * @return {@code VoidResult}
+	 */
+	@Override
+	public VoidResult moveTo(@NonNull IParameterCategory parentCategory) {
+		Objects.requireNonNull(parentCategory, "Parameter category cannot be null");
+		if (!(parentCategory instanceof ParameterCategory newParent) || (newParent.getTree() != tree)) {
+			throw InvalidParameterCategoryException.forForeignCategory(parentCategory.getLabel());
+		}
+
+		tree.write(() -> {
+			checkNotRemoved(this);
+			checkNotRemoved(newParent);
+			Optional<IParameterCategory> oldParent = parentCategoryOp;
+			if (oldParent.isPresent() && (oldParent.get() == newParent)) {
+				return false;
+			}
+
+			// Walk up from the new parent: reaching this category would create a cycle
+			IParameterCategory ancestor = newParent;
+			while (ancestor != null) {
+				if (ancestor == this) {
+					throw InvalidParameterCategoryException.forCircularDependency();
+				}
+				if (label.equals(ancestor.getLabel())) {
+					throw InvalidParameterCategoryException.forInvalidLabelValue(label,
+							"Child category cannot have the same label as any of its parent categories");
+				}
+				ancestor = ancestor.getParentCategory().orElse(null);
+			}
+
+			oldParent.ifPresent(parent -> {
+				ParameterCategory previous = (ParameterCategory) parent;
+				previous.getDirectChildCategoryList().removeIf(child -> child == this);
+				previous.getLevel().setHorizontal(previous.getLevel().getHorizontal() - 1);
+			});
+			parentCategoryOp = Optional.of(newParent);
+			newParent.getLevel().incrementHorizontal();
+			newParent.getDirectChildCategoryList().add(this);
+
+			Deque<ParameterCategory> pending = new ArrayDeque<>();
+			level.setVertical(newParent.getLevel().getVertical() + 1);
+			pending.push(this);
+			while (!pending.isEmpty()) {
+				ParameterCategory moved = pending.pop();
+				for (IParameterCategory child : moved.getDirectChildCategoryList()) {
+					child.getLevel().setVertical(moved.getLevel().getVertical() + 1);
+					pending.push((ParameterCategory) child);
+				}
+			}
+			return true;
+		}, EventType.CATEGORY_MOVED, this, newParent, null);
 
 		return VoidResult.ok();
 	}
 
+	/**
+	 * Removes a child category of this category, with its whole subtree.
+	 *
+	 * @param childCategory the child category to remove.
+	 * @throws NullPointerException if {@code childCategory} is {@code null}.
+	 * @return {@code VoidResult}, an error if {@code childCategory} is not a child
+	 *         of this category or is already removed.
+	 */
+	@Override
+	public VoidResult removeChildCategory(@NonNull IParameterCategory childCategory) {
+		Objects.requireNonNull(childCategory, "Parameter category cannot be null");
+		if (!(childCategory instanceof ParameterCategory child)) {
+			return VoidResult.error("Category '" + childCategory.getLabel() + "' is not a child of '" + label + "'");
+		}
+		return child.removeSubtree(this);
+	}
+
+	/**
+	 * Removes this category, with its whole subtree, from its tree.
+	 *
+	 * The subtree is unlinked from its parent and dropped from the registry in a
+	 * single mutation, published as one {@link EventType#SUBTREE_REMOVED} event.
+	 * Once the listeners are notified, the items and links of the removed
+	 * categories are released, and any later mutation of them is rejected.
+	 *
+	 * @return {@code VoidResult}, an error if this category is already removed.
+	 */
+	@Override
+	public VoidResult removeSubtree() {
+		return removeSubtree(null);
+	}
+
+	/**
+	 * Removes this category, with its whole subtree, if it is still a child of
+	 * the expected parent.
+	 *
+	 * @param expectedParent the expected parent, or {@code null} to remove this
+	 *                       category whatever its parent.
+	 * @return {@code VoidResult}, an error if this category is already removed or
+	 *         is not a child of {@code expectedParent}.
+	 */
+	private VoidResult removeSubtree(ParameterCategory expectedParent) {
+		VoidResult[] result = { VoidResult.ok() };
+		tree.runLocked(() -> {
+			IParameterCategory parent = parentCategoryOp.orElse(null);
+			if (removed) {
+				result[0] = VoidResult.error("Category '" + label + "' is already removed");
+				return;
+			}
+			if ((expectedParent != null) && (parent != expectedParent)) {
+				result[0] = VoidResult.error(
+						"Category '" + label + "' is not a child of '" + expectedParent.getLabel() + "'");
+				return;
+			}
+			List<ParameterCategory> subtree = new ArrayList<>();
+			tree.write(() -> {
+				if (parent != null) {
+					ParameterCategory parameterCategory = (ParameterCategory) parent;
+					parameterCategory.getDirectChildCategoryList().removeIf(child -> child == this);
+					parameterCategory.getLevel().setHorizontal(parameterCategory.getLevel().getHorizontal() - 1);
+				}
+				Deque<ParameterCategory> pending = new ArrayDeque<>();
+				pending.push(this);
+				while (!pending.isEmpty()) {
+					ParameterCategory category = pending.pop();
+					category.removed = true;
+					subtree.add(category);
+					category.getDirectChildCategoryList().forEach(child -> pending.push((ParameterCategory) child));
+				}
+				return true;
+			}, EventType.SUBTREE_REMOVED, this, parent, null);
+
+			// The listeners walked the subtree while it was intact: it can now be released
+			subtree.forEach(ParameterCategory::release);
+		});
+		return result[0];
+	}
+
+	/**
+	 * Releases the items and links of this removed category, freeing the off-heap
+	 * entries of the items it was the last category to hold.
+	 */
+	private void release() {
+		parameterItems.values().forEach(parameterItem -> {
+			if (parameterItem instanceof OffHeapParameterItem<?> offHeapItem) {
+				offHeapItem.detach();
+			}
+		});
+		parameterItems.clear();
+		childCategoryList.clear();
+		parentCategoryOp = Optional.empty();
+		level.setHorizontal(0);
+	}
+
+	/**
+	 * Returns the version of the tree at the last mutation of this category,
+	 * negated while a batch mutating it is in progress.
+	 *
+	 * @return the version of the last mutation of this category.
+	 */
+	long getModificationVersion() {
+		return modificationVersion;
+	}
+
+	/**
+	 * Sets the version of the tree at the last mutation of this category.
+	 *
+	 * @param modificationVersion the version of the last mutation of this
+	 *                            category.
+	 */
+	void setModificationVersion(long modificationVersion) {
+		this.modificationVersion = modificationVersion;
+	}
+
+	/**
+	 * Returns {@code true} if this category was removed from its tree,
+	 * {@code false} otherwise.
+	 *
+	 * @return {@code true} if this category was removed from its tree.
+	 */
+	boolean isRemoved() {
+		return removed;
+	}
+
+	private static void checkNotRemoved(IParameterCategory category) {
+		if ((category instanceof ParameterCategory parameterCategory) && parameterCategory.removed) {
+			throw InvalidParameterCategoryException.forRemovedCategory(category.getLabel());
+		}
+	}
+
 	private void setSubCategory(IParameterCategory subCategory) {
 		Objects.requireNonNull(subCategory, "Parameter category cannot be null");
 
@@ -209,6 +463,33 @@ class ParameterCategory implements IParameterCategory {
 		return level;
 	}
 
+	/**
+	 * Returns the newest state of the history kept for the pinned snapshots.
+	 *
+	 * @return the newest state, or {@code null} if no snapshot was ever pinned.
+	 */
+	ParameterVersionStore.CategoryState getVersionedState() {
+		return versionedState;
+	}
+
+	/**
+	 * Sets the newest state of the history kept for the pinned snapshots.
+	 *
+	 * @param versionedState the newest state.
+	 */
+	void setVersionedState(ParameterVersionStore.CategoryState versionedState) {
+		this.versionedState = versionedState;
+	}
+
+	/**
+	 * Returns the tree this category belongs to.
+	 *
+	 * @return the tree this category belongs to.
+	 */
+	ParameterTree getTree() {
+		return tree;
+	}
+
 	/**
 	 * Returns a list of direct category children.
 	 *
@@ -291,11 +572,22 @@ class ParameterCategory implements IParameterCategory {
 	 */
 	@Override
 	public Map<String, IParameterItem<?>> getAllParentParameterItems() {
-		Map<String, IParameterItem<?>> allParameterItems = new HashMap<>();
-		parentCategoryOp.ifPresent(parent -> allParameterItems.putAll(parent.getAllParentParameterItems()));
-		allParameterItems.putAll(parameterItems);
-		return allParameterItems.entrySet().stream().collect(
-				Collectors.toConcurrentMap(Map.Entry::getKey, Map.Entry::getValue, (existingItem, newItem) -> newItem));
+		long start = tree.getMetrics().startSample();
+		List<Map<String, IParameterItem<?>>> levels = new ArrayList<>();
+		levels.add(parameterItems);
+		Optional<IParameterCategory> parent = parentCategoryOp;
+		while (parent.isPresent()) {
+			levels.add(parent.get().peekParameterItems());
+			parent = parent.get().getParentCategory();
+		}
+
+		// Nearer categories override the items of their ancestors
+		Map<String, IParameterItem<?>> allParameterItems = new ConcurrentHashMap<>();
+		for (int i = levels.size() - 1; i >= 0; i--) {
+			allParameterItems.putAll(levels.get(i));
+		}
+		tree.getMetrics().recordInheritedLookup(levels.size(), start);
+		return allParameterItems;
 	}
 
 	/**
@@ -308,12 +600,28 @@ class ParameterCategory implements IParameterCategory {
 	 */
 	@Override
 	public List<IParameterCategory> depthFirstSearch(Predicate<IParameterCategory> predicate) {
+		long start = tree.getMetrics().startSample();
+		ParameterTraversalEvent event = new ParameterTraversalEvent();
+		event.begin();
 		List<IParameterCategory> resultList = new ArrayList<>();
-		if (predicate.test(this)) {
-			resultList.add(this);
+		Deque<IParameterCategory> stack = new ArrayDeque<>();
+		stack.push(this);
+		int visited = 0;
+
+		while (!stack.isEmpty()) {
+			IParameterCategory category = stack.pop();
+			visited++;
+			if (predicate.test(category)) {
+				resultList.add(category);
+			}
+			List<IParameterCategory> children = category.getChildCategoryList();
+			for (int i = children.size() - 1; i >= 0; i--) {
+				stack.push(children.get(i));
+			}
 		}
-		childCategoryList.forEach(childCategory -> resultList.addAll(childCategory.depthFirstSearch(predicate)));
 
+		tree.getMetrics().recordTraversal(visited, start);
+		commitTraversal(event, "DFS", visited, resultList.size());
 		return resultList;
 	}
 
@@ -327,21 +635,40 @@ class ParameterCategory implements IParameterCategory {
 	 */
 	@Override
 	public List<IParameterCategory> breadthFirstSearch(Predicate<IParameterCategory> predicate) {
+		long start = tree.getMetrics().startSample();
+		ParameterTraversalEvent event = new ParameterTraversalEvent();
+		event.begin();
 		List<IParameterCategory> resultList = new ArrayList<>();
-		List<IParameterCategory> queue = new ArrayList<>();
+		Deque<IParameterCategory> queue = new ArrayDeque<>();
 		queue.add(this);
+		int visited = 0;
 
 		while (!queue.isEmpty()) {
-			IParameterCategory category = queue.remove(0);
+			IParameterCategory category = queue.poll();
+			visited++;
 			if (predicate.test(category)) {
 				resultList.add(category);
 			}
 			queue.addAll(category.getChildCategoryList());
 		}
 
+		tree.getMetrics().recordTraversal(visited, start);
+		commitTraversal(event, "BFS", visited, resultList.size());
 		return resultList;
 	}
 
+	private void commitTraversal(ParameterTraversalEvent event, String kind, int visited, int matches) {
+		if (event.shouldCommit()) {
+			event.kind = kind;
+			event.categoryLabel = label;
+			event.depth = getDepth();
+			event.itemCount = parameterItems.size();
+			event.nodesVisited = visited;
+			event.matchCount = matches;
+			event.commit();
+		}
+	}
+
 	@Override
 	public int hashCode() {
 		return Objects.hash(description, label, parameterItems, parentCategoryOp);
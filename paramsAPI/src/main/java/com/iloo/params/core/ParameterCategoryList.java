@@ -1,25 +1,49 @@
 package com.iloo.params.core;
 
-import java.util.ArrayList;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import org.eclipse.jdt.annotation.NonNull;
 
+import com.iloo.params.core.ParameterTreeEvent.EventType;
+
 /**
  * Represents a list of parameter categories.
  */
 final class ParameterCategoryList implements IParameterCategoryList {
 
+	/**
+	 * The tree the categories belong to.
+	 */
+	private final ParameterTree tree;
+
 	/**
 	 * A list of {@link IParameterCategory}.
 	 */
-	private List<IParameterCategory> categoryList;
+	private final List<IParameterCategory> categoryList;
+
+	/**
+	 * The index of the date items held by the categories.
+	 */
+	private final ParameterTimeIndex timeIndex = new ParameterTimeIndex();
 
 	/**
 	 * Constructs a new ParameterCategoryList with an empty category list.
+	 *
+	 * @param tree the tree the categories belong to
 	 */
-	ParameterCategoryList() {
-		this.categoryList = new ArrayList<>();
+	ParameterCategoryList(@NonNull ParameterTree tree) {
+		this.tree = tree;
+		this.categoryList = new CopyOnWriteArrayList<>();
+		tree.addListener(timeIndex);
+		tree.addListener(this::onEvent);
+		tree.getMetrics().bind(this);
 	}
 
 	/**
@@ -28,7 +52,21 @@ final class ParameterCategoryList implements IParameterCategoryList {
 	 * @param parameterCategory the parameter category to add
 	 */
 	void addParameterCategory(@NonNull IParameterCategory parameterCategory) {
-		categoryList.add(parameterCategory);
+		tree.write(() -> categoryList.add(parameterCategory), EventType.CATEGORY_CREATED, parameterCategory, null,
+				null);
+	}
+
+	/**
+	 * Drops the categories of a removed subtree, with a single copy of the list.
+	 *
+	 * @param event the mutation.
+	 */
+	private void onEvent(ParameterTreeEvent event) {
+		if (event.type() == EventType.SUBTREE_REMOVED) {
+			Set<IParameterCategory> removed = Collections.newSetFromMap(new IdentityHashMap<>());
+			removed.addAll(ParameterTree.subtreeOf(event.category()));
+			categoryList.removeIf(removed::contains);
+		}
 	}
 
 	/**
@@ -60,4 +98,50 @@ final class ParameterCategoryList implements IParameterCategoryList {
 	public boolean isEmpty() {
 		return categoryList.isEmpty();
 	}
+
+	/**
+	 * Returns the version of the categories, incremented on each mutation.
+	 *
+	 * @return the version of the categories
+	 */
+	@Override
+	public long getVersion() {
+		return tree.getVersion();
+	}
+
+	/**
+	 * Finds a category by its path, i.e. the labels of a root category and of its
+	 * descendants down to the searched category.
+	 *
+	 * @param path the labels from the root category to the searched category
+	 * @return an optional containing the category, or an empty optional if no
+	 *         category matches the path
+	 */
+	@Override
+	public Optional<IParameterCategory> findCategory(List<String> path) {
+		if (path.isEmpty()) {
+			return Optional.empty();
+		}
+		Optional<IParameterCategory> category = categoryList.stream()
+				.filter(root -> root.isRoot() && root.getLabel().equals(path.get(0))).findFirst();
+		for (String label : path.subList(1, path.size())) {
+			category = category.flatMap(parent -> parent.getChildCategoryList().stream()
+					.filter(child -> child.getLabel().equals(label)).findFirst());
+		}
+		return category;
+	}
+
+	/**
+	 * Returns the date items held by the categories whose date is in the given
+	 * range, in date order.
+	 *
+	 * @param from the start of the range, inclusive
+	 * @param to   the end of the range, exclusive
+	 * @return the date items whose date is in the range
+	 */
+	@Override
+	public List<IDateParameterItem<?>> findDateItemsBetween(@NonNull Instant from, @NonNull Instant to) {
+		return timeIndex.findBetween(Objects.requireNonNull(from, "Start cannot be null"),
+				Objects.requireNonNull(to, "End cannot be null"));
+	}
 }
@@ -0,0 +1,229 @@
+package com.iloo.params.core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import org.eclipse.jdt.annotation.NonNull;
+
+import com.iloo.params.core.ConsistencyViolation.Kind;
+
+/**
+ * Verifies the consistency of a whole forest in parallel.
+ *
+ * Every category of the checked list is verified independently, on a
+ * fork-join pool: the labels and the depth of its ancestor chain, its level,
+ * the registration of its parent and children in the list, and the symmetry of
+ * its links with them. The inconsistencies are reported in the order of the
+ * checked categories.
+ */
+public final class ParameterConsistencyChecker {
+
+	/**
+	 * The default maximum depth of a category.
+	 */
+	public static final int DEFAULT_MAX_DEPTH = 64;
+
+	/**
+	 * The number of categories below which a task checks its range itself.
+	 */
+	private static final int THRESHOLD = 64;
+
+	/**
+	 * The maximum depth of a category.
+	 */
+	private final int maxDepth;
+
+	/**
+	 * The pool running the checks.
+	 */
+	private final ForkJoinPool pool;
+
+	/**
+	 * Constructs a new checker with the default maximum depth, running on the
+	 * common pool.
+	 */
+	public ParameterConsistencyChecker() {
+		this(DEFAULT_MAX_DEPTH, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Constructs a new checker.
+	 *
+	 * @param maxDepth the maximum depth of a category, {@code 1} for a root
+	 *                 category.
+	 * @param pool     the pool running the checks.
+	 */
+	public ParameterConsistencyChecker(int maxDepth, @NonNull ForkJoinPool pool) {
+		if (maxDepth <= 0) {
+			throw new IllegalArgumentException("Maximum depth must be positive");
+		}
+		this.maxDepth = maxDepth;
+		this.pool = Objects.requireNonNull(pool, "Pool cannot be null");
+	}
+
+	/**
+	 * Checks the categories of the given list.
+	 *
+	 * @param categoryList the categories to check.
+	 * @return the report of the check.
+	 */
+	public ConsistencyReport check(@NonNull IParameterCategoryList categoryList) {
+		Objects.requireNonNull(categoryList, "Parameter category list cannot be null");
+		List<IParameterCategory> categories = categoryList.getParameterCategories();
+		Set<IParameterCategory> registered = Collections.newSetFromMap(new IdentityHashMap<>());
+		registered.addAll(categories);
+		List<ConsistencyViolation> violations = pool
+				.invoke(new CheckTask(categories, registered, 0, categories.size()));
+		return new ConsistencyReport(categories.size(), List.copyOf(violations));
+	}
+
+	private void checkCategory(IParameterCategory category, Set<IParameterCategory> registered,
+			List<ConsistencyViolation> violations) {
+		int depth = checkAncestors(category, violations);
+		if (depth < 0) {
+			return;
+		}
+		if (depth > maxDepth) {
+			violations.add(new ConsistencyViolation(Kind.DEPTH_LIMIT, category,
+					"Depth " + depth + " exceeds the maximum depth " + maxDepth));
+		}
+		if (category.getLevel().getVertical() != depth) {
+			violations.add(new ConsistencyViolation(Kind.LEVEL_MISMATCH, category,
+					"Vertical level " + category.getLevel().getVertical() + " does not match depth " + depth));
+		}
+
+		Optional<IParameterCategory> parent = category.getParentCategory();
+		if (parent.isPresent()) {
+			if (!registered.contains(parent.get())) {
+				violations.add(new ConsistencyViolation(Kind.ORPHAN, category,
+						"Parent '" + parent.get().getLabel() + "' is not in the list"));
+			}
+			long listed = parent.get().getChildCategoryList().stream().filter(child -> child == category).count();
+			if (listed != 1) {
+				violations.add(new ConsistencyViolation(Kind.LINK_ASYMMETRY, category,
+						"Listed " + listed + " times by parent '" + parent.get().getLabel() + "'"));
+			}
+		}
+
+		Set<IParameterCategory> children = Collections.newSetFromMap(new IdentityHashMap<>());
+		for (IParameterCategory child : category.getChildCategoryList()) {
+			if (!children.add(child)) {
+				continue;
+			}
+			if (!registered.contains(child)) {
+				violations.add(new ConsistencyViolation(Kind.ORPHAN, category,
+						"Child '" + child.getLabel() + "' is not in the list"));
+			}
+			if (child.getParentCategory().orElse(null) != category) {
+				violations.add(new ConsistencyViolation(Kind.LINK_ASYMMETRY, category,
+						"Lists child '" + child.getLabel() + "' whose parent is another category"));
+			}
+		}
+		if (category.getLevel().getHorizontal() != children.size()) {
+			violations.add(new ConsistencyViolation(Kind.LEVEL_MISMATCH, category, "Horizontal level "
+					+ category.getLevel().getHorizontal() + " does not match " + children.size() + " children"));
+		}
+	}
+
+	/**
+	 * Checks the ancestor chain of a category.
+	 *
+	 * @param category   the category.
+	 * @param violations the found inconsistencies.
+	 * @return the depth of the category, or {@code -1} if its ancestors form a
+	 *         cycle.
+	 */
+	private static int checkAncestors(IParameterCategory category, List<ConsistencyViolation> violations) {
+		Set<IParameterCategory> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+		visited.add(category);
+		List<Integer> duplicateDistances = new ArrayList<>();
+		int distance = 0;
+		Optional<IParameterCategory> ancestor = category.getParentCategory();
+		while (ancestor.isPresent()) {
+			if (!visited.add(ancestor.get())) {
+				violations.add(new ConsistencyViolation(Kind.CYCLE, category,
+						"Ancestor '" + ancestor.get().getLabel() + "' is its own descendant"));
+				return -1;
+			}
+			distance++;
+			if (ancestor.get().getLabel().equals(category.getLabel())) {
+				duplicateDistances.add(distance);
+			}
+			ancestor = ancestor.get().getParentCategory();
+		}
+		int depth = distance + 1;
+		duplicateDistances.forEach(duplicate -> violations.add(new ConsistencyViolation(
+				Kind.DUPLICATE_ANCESTOR_LABEL, category,
+				"Label is also the label of the ancestor at depth " + (depth - duplicate))));
+		return depth;
+	}
+
+	/**
+	 * Checks a range of the categories, splitting it in two halves while it is
+	 * larger than the threshold.
+	 */
+	private final class CheckTask extends RecursiveTask<List<ConsistencyViolation>> {
+
+		private static final long serialVersionUID = 1L;
+
+		/**
+		 * The categories to check.
+		 */
+		private final transient List<IParameterCategory> categories;
+
+		/**
+		 * The categories of the checked list.
+		 */
+		private final transient Set<IParameterCategory> registered;
+
+		/**
+		 * The start of the range, inclusive.
+		 */
+		private final int from;
+
+		/**
+		 * The end of the range, exclusive.
+		 */
+		private final int to;
+
+		/**
+		 * Constructs a new task.
+		 *
+		 * @param categories the categories to check.
+		 * @param registered the categories of the checked list.
+		 * @param from       the start of the range, inclusive.
+		 * @param to         the end of the range, exclusive.
+		 */
+		CheckTask(List<IParameterCategory> categories, Set<IParameterCategory> registered, int from, int to) {
+			this.categories = categories;
+			this.registered = registered;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected List<ConsistencyViolation> compute() {
+			if ((to - from) <= THRESHOLD) {
+				List<ConsistencyViolation> violations = new ArrayList<>();
+				for (int i = from; i < to; i++) {
+					checkCategory(categories.get(i), registered, violations);
+				}
+				return violations;
+			}
+			int middle = (from + to) >>> 1;
+			CheckTask left = new CheckTask(categories, registered, from, middle);
+			left.fork();
+			List<ConsistencyViolation> rightViolations = new CheckTask(categories, registered, middle, to).compute();
+			List<ConsistencyViolation> violations = left.join();
+			violations.addAll(rightViolations);
+			return violations;
+		}
+	}
+}
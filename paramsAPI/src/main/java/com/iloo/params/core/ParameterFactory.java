@@ -1,6 +1,17 @@
 package com.iloo.params.core;
 
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import com.iloo.params.core.ParameterTreeEvent.EventType;
+import com.iloo.params.exceptions.InvalidParameterCategoryException;
+import com.iloo.params.utils.MemoizingSupplier;
+import com.iloo.params.utils.VoidResult;
 
 /**
  * Concrete implementation of IParameterFactory that creates instances of
@@ -8,14 +19,30 @@ import java.util.Objects;
  */
 public final class ParameterFactory implements IParameterFactory {
 
+	/**
+	 * The state shared by the categories and items of this factory.
+	 */
+	final ParameterTree tree = new ParameterTree();
+
 	/**
 	 * A list of {@link IParameterCategory}.
 	 */
-	final ParameterCategoryList parameterCategoryList = new ParameterCategoryList();
+	final ParameterCategoryList parameterCategoryList = new ParameterCategoryList(tree);
+
+	/**
+	 * The history kept for the pinned snapshots.
+	 */
+	private final ParameterVersionStore versionStore = new ParameterVersionStore(tree, parameterCategoryList);
+
+	/**
+	 * The off-heap store of the values created by
+	 * {@link #createOffHeapParameterItem(String, Object, boolean)}.
+	 */
+	private final OffHeapValueStore offHeapValueStore = new OffHeapValueStore();
 
 	@Override
 	public ParameterCategory createParameterCategory(String label, String description) {
-		ParameterCategory parameterCategory = new ParameterCategory(
+		ParameterCategory parameterCategory = new ParameterCategory(tree,
 				Objects.requireNonNull(label, "Label cannot be null"),
 				Objects.requireNonNull(description, "Description cannot be null"));
 		parameterCategoryList
@@ -24,13 +51,107 @@ public final class ParameterFactory implements IParameterFactory {
 	}
 
 	@Override
-	public <T> ParameterItem<T> createParameterItem(String label, T value, boolean active) {
-		return new ParameterItem<>(Objects.requireNonNull(label, "Label cannot be null"),
+	@SuppressWarnings("unchecked")
+	public <T> IParameterItem<T> createParameterItem(String label, T value, boolean active) {
+		if (value instanceof Date date) {
+			return (IParameterItem<T>) createDateParameterItem(label, date, active);
+		}
+		return new ParameterItem<>(tree, Objects.requireNonNull(label, "Label cannot be null"),
+				Objects.requireNonNull(value, "Value cannot be null"), active);
+	}
+
+	@Override
+	public <T extends Date> IDateParameterItem<T> createDateParameterItem(String label, T value, boolean active) {
+		return new DateParameterItem<>(tree, Objects.requireNonNull(label, "Label cannot be null"),
 				Objects.requireNonNull(value, "Value cannot be null"), active);
 	}
 
+	@Override
+	public <T> OffHeapParameterItem<T> createOffHeapParameterItem(String label, T value, boolean active) {
+		return new OffHeapParameterItem<>(tree, offHeapValueStore,
+				Objects.requireNonNull(label, "Label cannot be null"),
+				Objects.requireNonNull(value, "Value cannot be null"), active);
+	}
+
+	@Override
+	public <T> IParameterItem<Supplier<T>> createMemoizingSupplierItem(String label, Supplier<T> supplier,
+			Duration ttl, boolean active) {
+		return createParameterItem(label, new MemoizingSupplier<>(supplier, ttl), active);
+	}
+
+	@Override
+	public <T> IParameterItem<Supplier<T>> createMemoizingSupplierItem(String label, Supplier<T> supplier,
+			Duration ttl, Executor executor, boolean active) {
+		return createParameterItem(label, new MemoizingSupplier<>(supplier, ttl, executor), active);
+	}
+
 	@Override
 	public IParameterCategoryList getParameterCategoryList() {
 		return parameterCategoryList;
 	}
+
+	@Override
+	public void addTreeListener(IParameterTreeListener listener) {
+		tree.addListener(Objects.requireNonNull(listener, "Listener cannot be null"));
+	}
+
+	@Override
+	public void removeTreeListener(IParameterTreeListener listener) {
+		tree.removeListener(listener);
+	}
+
+	@Override
+	public void replayTree(IParameterTreeListener listener, Runnable onReplayed) {
+		Objects.requireNonNull(listener, "Listener cannot be null");
+		Objects.requireNonNull(onReplayed, "Action cannot be null");
+		tree.runLocked(() -> {
+			long version = tree.getVersion();
+			List<IParameterCategory> categories = parameterCategoryList.getParameterCategories();
+			categories.forEach(category -> listener
+					.onEvent(new ParameterTreeEvent(EventType.CATEGORY_CREATED, version, category, null, null)));
+			categories.forEach(parent -> parent.getChildCategoryList().forEach(child -> listener
+					.onEvent(new ParameterTreeEvent(EventType.CATEGORY_LINKED, version, child, parent, null))));
+			categories.forEach(category -> category.peekParameterItems().values().forEach(item -> listener
+					.onEvent(new ParameterTreeEvent(EventType.ITEM_ADDED, version, category, null, item))));
+			onReplayed.run();
+		});
+	}
+
+	@Override
+	public void restrictWritesTo(Thread owner) {
+		tree.setOwner(owner);
+	}
+
+	@Override
+	public IParameterSnapshot readLatest() {
+		return versionStore.pin(-1);
+	}
+
+	@Override
+	public IParameterSnapshot readAt(long version) {
+		if (version < 0) {
+			throw InvalidParameterCategoryException.forUnavailableVersion(version);
+		}
+		return versionStore.pin(version);
+	}
+
+	@Override
+	public VoidResult runTransaction(Consumer<IParameterTransaction> body) {
+		return runTransaction(body, IParameterTransaction.DEFAULT_MAX_ATTEMPTS);
+	}
+
+	@Override
+	public VoidResult runTransaction(Consumer<IParameterTransaction> body, int maxAttempts) {
+		return ParameterTransaction.run(tree, body, maxAttempts);
+	}
+
+	@Override
+	public void runBatch(Runnable mutations) {
+		tree.runBatch(Objects.requireNonNull(mutations, "Mutations cannot be null"));
+	}
+
+	@Override
+	public ParameterMetrics getMetrics() {
+		return tree.getMetrics();
+	}
 }
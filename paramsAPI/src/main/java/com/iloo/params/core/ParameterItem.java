@@ -4,6 +4,7 @@ import java.util.Objects;
 
 import org.eclipse.jdt.annotation.NonNull;
 
+import com.iloo.params.core.ParameterTreeEvent.EventType;
 import com.iloo.params.exceptions.InvalidParameterItemException;
 import com.iloo.params.utils.VoidResult;
 
@@ -14,6 +15,11 @@ import com.iloo.params.utils.VoidResult;
  */
 class ParameterItem<T> implements IParameterItem<T> {
 
+	/**
+	 * The tree this item belongs to.
+	 */
+	private final ParameterTree tree;
+
 	/**
 	 * The label of this item.
 	 */
@@ -27,12 +33,13 @@ class ParameterItem<T> implements IParameterItem<T> {
 	/**
 	 * The activeness of this item.
 	 */
-	private boolean active;
+	private volatile boolean active;
 
 	/**
 	 * Creates a new parameter item with the given label, value, category, and
 	 * active status.
 	 *
+	 * @param tree   the tree this item belongs to.
 	 * @param label  the label for this item.
 	 * @param value  the value for this item.
 	 * @param active {@code true} if this item is active, {@code false} otherwise.
@@ -40,7 +47,8 @@ class ParameterItem<T> implements IParameterItem<T> {
 	 * @throws InvalidParameterItemException if the value is not of type String,
 	 *                                       Number, Date, or Path.
 	 */
-	ParameterItem(@NonNull String label, @NonNull T value, boolean active) {
+	ParameterItem(@NonNull ParameterTree tree, @NonNull String label, @NonNull T value, boolean active) {
+		this.tree = tree;
 		this.label = label;
 		this.value = ParameterItemValueValidator.validateValueType(value);
 		this.active = active;
@@ -74,7 +82,11 @@ class ParameterItem<T> implements IParameterItem<T> {
 	 */
 	@Override
 	public VoidResult setActive(boolean active) {
-		this.active = active;
+		tree.write(() -> {
+			boolean changed = this.active != active;
+			this.active = active;
+			return changed;
+		}, EventType.ITEM_ACTIVATION_CHANGED, null, null, this);
 
 		return VoidResult.ok();
 	}
@@ -0,0 +1,443 @@
+package com.iloo.params.core;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.eclipse.jdt.annotation.NonNull;
+
+import com.iloo.params.utils.VoidResult;
+
+/**
+ * The metrics of a parameter tree, which can be exposed through the platform
+ * MBean server.
+ *
+ * Counters are {@link LongAdder}s and durations are only measured for a sample
+ * of the calls, so that the metrics can be left on permanently.
+ */
+public final class ParameterMetrics implements IParameterMetricsMXBean {
+
+	/**
+	 * The default sample rate of the durations.
+	 */
+	public static final int DEFAULT_SAMPLE_RATE = 16;
+
+	/**
+	 * The domain of the registered MBeans.
+	 */
+	public static final String DOMAIN = "com.iloo.params";
+
+	/**
+	 * The number of buckets of the inheritance depth histogram.
+	 */
+	private static final int DEPTH_BUCKET_COUNT = 16;
+
+	/**
+	 * The number of complete seconds the mutation rate is computed over.
+	 */
+	private static final int RATE_WINDOW_SECONDS = 10;
+
+	/**
+	 * The number of item lookups.
+	 */
+	private final LongAdder itemLookups = new LongAdder();
+
+	/**
+	 * The number of inherited lookups.
+	 */
+	private final LongAdder inheritedLookups = new LongAdder();
+
+	/**
+	 * The durations of the sampled inherited lookups.
+	 */
+	private final LatencyHistogram inheritedLookupLatency = new LatencyHistogram();
+
+	/**
+	 * The number of inherited lookups by inheritance depth.
+	 */
+	private final LongAdder[] inheritanceDepths = new LongAdder[DEPTH_BUCKET_COUNT];
+
+	/**
+	 * The number of traversals.
+	 */
+	private final LongAdder traversals = new LongAdder();
+
+	/**
+	 * The number of categories visited by the traversals.
+	 */
+	private final LongAdder nodesVisited = new LongAdder();
+
+	/**
+	 * The durations of the sampled traversals.
+	 */
+	private final LatencyHistogram traversalLatency = new LatencyHistogram();
+
+	/**
+	 * The number of mutations.
+	 */
+	private final LongAdder mutations = new LongAdder();
+
+	/**
+	 * The number of categories.
+	 */
+	private final LongAdder categories = new LongAdder();
+
+	/**
+	 * The number of items held by the categories.
+	 */
+	private final LongAdder items = new LongAdder();
+
+	/**
+	 * The number of cache hits.
+	 */
+	private final LongAdder cacheHits = new LongAdder();
+
+	/**
+	 * The number of cache misses.
+	 */
+	private final LongAdder cacheMisses = new LongAdder();
+
+	/**
+	 * The average number of calls per measured call.
+	 */
+	private volatile int sampleRate = DEFAULT_SAMPLE_RATE;
+
+	/**
+	 * The categories of the tree, used to compute the depth distribution.
+	 */
+	private volatile IParameterCategoryList categoryList;
+
+	/**
+	 * The time the metrics were created at, origin of the mutation rate seconds.
+	 */
+	private final long origin = System.nanoTime();
+
+	/**
+	 * The second counted by each slot of the mutation rate window, one slot more
+	 * than the window for the current second.
+	 */
+	private final AtomicLongArray rateSeconds = new AtomicLongArray(RATE_WINDOW_SECONDS + 1);
+
+	/**
+	 * The number of mutations of the second counted by each slot.
+	 */
+	private final AtomicLongArray rateCounts = new AtomicLongArray(RATE_WINDOW_SECONDS + 1);
+
+	/**
+	 * The name the metrics are registered under, or {@code null}.
+	 */
+	private ObjectName objectName;
+
+	/**
+	 * Constructs new empty metrics.
+	 */
+	ParameterMetrics() {
+		for (int i = 0; i < DEPTH_BUCKET_COUNT; i++) {
+			inheritanceDepths[i] = new LongAdder();
+		}
+		for (int i = 0; i <= RATE_WINDOW_SECONDS; i++) {
+			rateSeconds.set(i, -1);
+		}
+	}
+
+	/**
+	 * Registers the metrics in the platform MBean server under the name
+	 * {@code com.iloo.params:type=ParameterMetrics,name=<name>}.
+	 *
+	 * @param name the name of the tree.
+	 * @return the result of the operation.
+	 */
+	public synchronized VoidResult register(@NonNull String name) {
+		Objects.requireNonNull(name, "Name cannot be null");
+		if (objectName != null) {
+			return VoidResult.error("Metrics are already registered as '" + objectName + "'");
+		}
+		try {
+			ObjectName newName = new ObjectName(DOMAIN + ":type=ParameterMetrics,name=" + ObjectName.quote(name));
+			ManagementFactory.getPlatformMBeanServer().registerMBean(this, newName);
+			objectName = newName;
+			return VoidResult.ok();
+		} catch (JMException e) {
+			return VoidResult.error("Cannot register the metrics as '" + name + "'", e);
+		}
+	}
+
+	/**
+	 * Unregisters the metrics from the platform MBean server.
+	 *
+	 * @return the result of the operation.
+	 */
+	public synchronized VoidResult unregister() {
+		if (objectName == null) {
+			return VoidResult.error("Metrics are not registered");
+		}
+		MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+		try {
+			server.unregisterMBean(objectName);
+			objectName = null;
+			return VoidResult.ok();
+		} catch (JMException e) {
+			return VoidResult.error("Cannot unregister '" + objectName + "'", e);
+		}
+	}
+
+	@Override
+	public long getItemLookupCount() {
+		return itemLookups.sum();
+	}
+
+	@Override
+	public long getInheritedLookupCount() {
+		return inheritedLookups.sum();
+	}
+
+	@Override
+	public double getInheritedLookupMeanNanos() {
+		return inheritedLookupLatency.getMean();
+	}
+
+	@Override
+	public long getInheritedLookupP99Nanos() {
+		return inheritedLookupLatency.getPercentile(99);
+	}
+
+	@Override
+	public long[] getInheritedLookupHistogram() {
+		return inheritedLookupLatency.getBuckets();
+	}
+
+	@Override
+	public long[] getInheritanceDepthHistogram() {
+		return Arrays.stream(inheritanceDepths).mapToLong(LongAdder::sum).toArray();
+	}
+
+	@Override
+	public long getTraversalCount() {
+		return traversals.sum();
+	}
+
+	@Override
+	public long getTraversalNodesVisited() {
+		return nodesVisited.sum();
+	}
+
+	@Override
+	public double getTraversalMeanNanos() {
+		return traversalLatency.getMean();
+	}
+
+	@Override
+	public long getTraversalP99Nanos() {
+		return traversalLatency.getPercentile(99);
+	}
+
+	@Override
+	public long[] getTraversalHistogram() {
+		return traversalLatency.getBuckets();
+	}
+
+	@Override
+	public long getMutationCount() {
+		return mutations.sum();
+	}
+
+	@Override
+	public double getMutationRate() {
+		long second = currentSecond();
+		long count = 0;
+		for (int i = 0; i <= RATE_WINDOW_SECONDS; i++) {
+			long slotSecond = rateSeconds.get(i);
+			if ((slotSecond < second) && (slotSecond >= second - RATE_WINDOW_SECONDS)) {
+				count += rateCounts.get(i);
+			}
+		}
+		long seconds = Math.min(second, RATE_WINDOW_SECONDS);
+		return seconds == 0 ? 0 : (double) count / seconds;
+	}
+
+	@Override
+	public long getCategoryCount() {
+		return categories.sum();
+	}
+
+	@Override
+	public long getItemCount() {
+		return items.sum();
+	}
+
+	@Override
+	public long[] getDepthDistribution() {
+		IParameterCategoryList list = categoryList;
+		if (list == null) {
+			return new long[0];
+		}
+		long[] distribution = new long[0];
+		Deque<IParameterCategory> level = new ArrayDeque<>(
+				list.getParameterCategories().stream().filter(IParameterCategory::isRoot).toList());
+		while (!level.isEmpty()) {
+			distribution = Arrays.copyOf(distribution, distribution.length + 1);
+			distribution[distribution.length - 1] = level.size();
+			Deque<IParameterCategory> next = new ArrayDeque<>();
+			level.forEach(category -> next.addAll(category.getChildCategoryList()));
+			level = next;
+		}
+		return distribution;
+	}
+
+	@Override
+	public long getCacheHitCount() {
+		return cacheHits.sum();
+	}
+
+	@Override
+	public long getCacheMissCount() {
+		return cacheMisses.sum();
+	}
+
+	@Override
+	public double getCacheHitRatio() {
+		long hits = cacheHits.sum();
+		long reads = hits + cacheMisses.sum();
+		return reads == 0 ? 0 : (double) hits / reads;
+	}
+
+	@Override
+	public int getSampleRate() {
+		return sampleRate;
+	}
+
+	@Override
+	public void setSampleRate(int sampleRate) {
+		if (sampleRate <= 0) {
+			throw new IllegalArgumentException("Sample rate must be positive");
+		}
+		this.sampleRate = sampleRate;
+	}
+
+	@Override
+	public void reset() {
+		itemLookups.reset();
+		inheritedLookups.reset();
+		inheritedLookupLatency.reset();
+		Arrays.stream(inheritanceDepths).forEach(LongAdder::reset);
+		traversals.reset();
+		nodesVisited.reset();
+		traversalLatency.reset();
+		mutations.reset();
+		for (int i = 0; i <= RATE_WINDOW_SECONDS; i++) {
+			rateCounts.set(i, 0);
+		}
+		cacheHits.reset();
+		cacheMisses.reset();
+	}
+
+	/**
+	 * Binds the categories of the tree, used to compute the depth distribution.
+	 *
+	 * @param categoryList the categories of the tree.
+	 */
+	void bind(IParameterCategoryList categoryList) {
+		this.categoryList = categoryList;
+	}
+
+	/**
+	 * Starts measuring a call if it is sampled.
+	 *
+	 * @return the start time of the call, or {@code -1} if it is not sampled.
+	 */
+	long startSample() {
+		int rate = sampleRate;
+		if ((rate == 1) || (ThreadLocalRandom.current().nextInt(rate) == 0)) {
+			return System.nanoTime();
+		}
+		return -1;
+	}
+
+	/**
+	 * Records an item lookup.
+	 */
+	void recordItemLookup() {
+		itemLookups.increment();
+	}
+
+	/**
+	 * Records an inherited lookup.
+	 *
+	 * @param depth the number of merged categories.
+	 * @param start the value returned by {@link #startSample()}.
+	 */
+	void recordInheritedLookup(int depth, long start) {
+		inheritedLookups.increment();
+		inheritanceDepths[Math.min(DEPTH_BUCKET_COUNT, Math.max(1, depth)) - 1].increment();
+		if (start >= 0) {
+			inheritedLookupLatency.record(System.nanoTime() - start);
+		}
+	}
+
+	/**
+	 * Records a traversal.
+	 *
+	 * @param visited the number of visited categories.
+	 * @param start   the value returned by {@link #startSample()}.
+	 */
+	void recordTraversal(int visited, long start) {
+		traversals.increment();
+		nodesVisited.add(visited);
+		if (start >= 0) {
+			traversalLatency.record(System.nanoTime() - start);
+		}
+	}
+
+	/**
+	 * Records a mutation of the tree.
+	 *
+	 * @param event the mutation.
+	 */
+	void recordMutation(ParameterTreeEvent event) {
+		mutations.increment();
+		long second = currentSecond();
+		int slot = (int) (second % (RATE_WINDOW_SECONDS + 1));
+		if (rateSeconds.get(slot) != second) {
+			// The mutations are serialized by the tree lock: the slot is not reused concurrently
+			rateCounts.set(slot, 0);
+			rateSeconds.set(slot, second);
+		}
+		rateCounts.incrementAndGet(slot);
+		switch (event.type()) {
+		case CATEGORY_CREATED -> categories.increment();
+		case ITEM_ADDED -> items.increment();
+		case ITEM_REMOVED -> items.decrement();
+		case SUBTREE_REMOVED -> ParameterTree.subtreeOf(event.category()).forEach(category -> {
+			categories.decrement();
+			items.add(-category.peekParameterItems().size());
+		});
+		default -> {
+			// The size of the tree is unchanged
+		}
+		}
+	}
+
+	private long currentSecond() {
+		return TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - origin);
+	}
+
+	/**
+	 * Records a read of a cache built over the tree, such as the result cache of
+	 * a function pipeline.
+	 *
+	 * @param hit whether the value was cached.
+	 */
+	public void recordCacheRead(boolean hit) {
+		(hit ? cacheHits : cacheMisses).increment();
+	}
+}
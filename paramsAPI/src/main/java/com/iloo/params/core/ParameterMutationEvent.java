@@ -0,0 +1,58 @@
+package com.iloo.params.core;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A Flight Recorder event emitted for each mutation of a tree, disabled by
+ * default. Its duration includes the wait for the write lock.
+ */
+@Name("com.iloo.params.Mutation")
+@Label("Parameter Mutation")
+@Category("Parameters")
+@Description("A mutation of a parameter tree")
+@Enabled(false)
+@StackTrace(false)
+final class ParameterMutationEvent extends Event {
+
+	/**
+	 * The type of the mutation.
+	 */
+	@Label("Operation")
+	String operation;
+
+	/**
+	 * The label of the mutated category, or {@code null} for an item activation.
+	 */
+	@Label("Category")
+	String categoryLabel;
+
+	/**
+	 * The depth of the mutated category, {@code 1} for a root category.
+	 */
+	@Label("Depth")
+	int depth;
+
+	/**
+	 * The number of items held by the mutated category after the mutation.
+	 */
+	@Label("Item Count")
+	int itemCount;
+
+	/**
+	 * The label of the mutated item, if any.
+	 */
+	@Label("Item")
+	String itemLabel;
+
+	/**
+	 * Whether the mutation changed the tree.
+	 */
+	@Label("Applied")
+	boolean applied;
+}
@@ -0,0 +1,125 @@
+package com.iloo.params.core;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import com.iloo.params.core.ParameterVersionStore.CategoryState;
+
+/**
+ * Implementation of {@link IParameterSnapshot} reading the history kept by a
+ * {@link ParameterVersionStore}.
+ */
+final class ParameterSnapshot implements IParameterSnapshot {
+
+	/**
+	 * The store keeping the history.
+	 */
+	private final ParameterVersionStore store;
+
+	/**
+	 * The live categories of the tree.
+	 */
+	private final ParameterCategoryList categoryList;
+
+	/**
+	 * The pinned version.
+	 */
+	private final long version;
+
+	/**
+	 * Whether this snapshot is closed.
+	 */
+	private final AtomicBoolean closed = new AtomicBoolean();
+
+	/**
+	 * Constructs a new snapshot.
+	 *
+	 * @param store        the store keeping the history.
+	 * @param categoryList the live categories of the tree.
+	 * @param version      the pinned version.
+	 */
+	ParameterSnapshot(ParameterVersionStore store, ParameterCategoryList categoryList, long version) {
+		this.store = store;
+		this.categoryList = categoryList;
+		this.version = version;
+	}
+
+	@Override
+	public long getVersion() {
+		return version;
+	}
+
+	@Override
+	public List<IParameterCategory> getParameterCategories() {
+		checkOpen();
+		return Stream.concat(categoryList.getParameterCategories().stream(), store.getRemovedCategories().stream())
+				.map(this::getCategory).flatMap(Optional::stream).toList();
+	}
+
+	@Override
+	public Optional<IParameterCategory> findCategory(List<String> path) {
+		if (path.isEmpty()) {
+			return Optional.empty();
+		}
+		Optional<IParameterCategory> category = getParameterCategories().stream()
+				.filter(root -> root.isRoot() && root.getLabel().equals(path.get(0))).findFirst();
+		for (String label : path.subList(1, path.size())) {
+			category = category.flatMap(parent -> parent.getChildCategoryList().stream()
+					.filter(child -> child.getLabel().equals(label)).findFirst());
+		}
+		return category;
+	}
+
+	@Override
+	public Optional<IParameterCategory> getCategory(IParameterCategory category) {
+		checkOpen();
+		Objects.requireNonNull(category, "Parameter category cannot be null");
+		if (category instanceof ParameterSnapshotCategory view) {
+			category = view.getLiveCategory();
+		}
+		return Optional.ofNullable(view(category));
+	}
+
+	@Override
+	public void close() {
+		if (closed.compareAndSet(false, true)) {
+			store.release(version);
+		}
+	}
+
+	/**
+	 * Returns the view of a live category at the pinned version.
+	 *
+	 * @param category the live category.
+	 * @return the view, or {@code null} if the category did not exist at the
+	 *         pinned version.
+	 */
+	ParameterSnapshotCategory view(IParameterCategory category) {
+		if (!(category instanceof ParameterCategory parameterCategory)) {
+			return null;
+		}
+		CategoryState state = stateOf(parameterCategory);
+		return state == null ? null : new ParameterSnapshotCategory(this, parameterCategory);
+	}
+
+	/**
+	 * Returns the state of a live category at the pinned version.
+	 *
+	 * @param category the live category.
+	 * @return the state, or {@code null} if the category did not exist at the
+	 *         pinned version.
+	 */
+	CategoryState stateOf(ParameterCategory category) {
+		checkOpen();
+		return ParameterVersionStore.stateAt(category, version);
+	}
+
+	private void checkOpen() {
+		if (closed.get()) {
+			throw new IllegalStateException("Snapshot of version " + version + " is closed");
+		}
+	}
+}
@@ -0,0 +1,280 @@
+package com.iloo.params.core;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+import org.eclipse.jdt.annotation.NonNull;
+
+import com.iloo.params.core.ParameterVersionStore.CategoryState;
+import com.iloo.params.core.ParameterVersionStore.ItemState;
+import com.iloo.params.exceptions.InvalidParameterCategoryException;
+import com.iloo.params.utils.VoidResult;
+
+/**
+ * A read-only view of a parameter category at the version pinned by a
+ * {@link ParameterSnapshot}.
+ */
+final class ParameterSnapshotCategory implements IParameterCategory {
+
+	/**
+	 * The snapshot this view belongs to.
+	 */
+	private final ParameterSnapshot snapshot;
+
+	/**
+	 * The live category.
+	 */
+	private final ParameterCategory category;
+
+	/**
+	 * Constructs a new view.
+	 *
+	 * @param snapshot the snapshot this view belongs to.
+	 * @param category the live category.
+	 */
+	ParameterSnapshotCategory(ParameterSnapshot snapshot, ParameterCategory category) {
+		this.snapshot = snapshot;
+		this.category = category;
+	}
+
+	/**
+	 * Returns the live category.
+	 *
+	 * @return the live category.
+	 */
+	ParameterCategory getLiveCategory() {
+		return category;
+	}
+
+	@Override
+	public String getLabel() {
+		return category.getLabel();
+	}
+
+	@Override
+	public String getDescription() {
+		return category.getDescription();
+	}
+
+	/**
+	 * Always throws, since a snapshot is read-only.
+	 *
+	 * @param parameterItem ignored.
+	 * @return never returns.
+	 * @throws InvalidParameterCategoryException always.
+	 */
+	@Override
+	public VoidResult addParameterItem(@NonNull IParameterItem<?> parameterItem) {
+		throw InvalidParameterCategoryException.forReadOnlyTree();
+	}
+
+	/**
+	 * Always throws, since a snapshot is read-only.
+	 *
+	 * @param parameterItem ignored.
+	 * @return never returns.
+	 * @throws InvalidParameterCategoryException always.
+	 */
+	@Override
+	public VoidResult removeParameterItem(@NonNull IParameterItem<?> parameterItem) {
+		throw InvalidParameterCategoryException.forReadOnlyTree();
+	}
+
+	@Override
+	public Map<String, IParameterItem<?>> getParameterItems() {
+		Map<String, IParameterItem<?>> items = new HashMap<>();
+		state().items.forEach((label, itemState) -> items.put(label, toItem(itemState)));
+		return Collections.unmodifiableMap(items);
+	}
+
+	@Override
+	public Optional<IParameterCategory> getParentCategory() {
+		IParameterCategory parent = state().parent;
+		return parent == null ? Optional.empty() : Optional.ofNullable(snapshot.view(parent));
+	}
+
+	/**
+	 * Always throws, since a snapshot is read-only.
+	 *
+	 * @param childCategory ignored.
+	 * @return never returns.
+	 * @throws InvalidParameterCategoryException always.
+	 */
+	@Override
+	public VoidResult setChildCategory(@NonNull IParameterCategory childCategory) {
+		throw InvalidParameterCategoryException.forReadOnlyTree();
+	}
+
+	/**
+	 * Always throws, since a snapshot is read-only.
+	 *
+	 * @param parentCategory ignored.
+	 * @return never returns.
+	 * @throws InvalidParameterCategoryException always.
+	 */
+	@Override
+	public VoidResult setParentCategory(@NonNull IParameterCategory parentCategory) {
+		throw InvalidParameterCategoryException.forReadOnlyTree();
+	}
+
+	/**
+	 * Always throws, since a snapshot is read-only.
+	 *
+	 * @param parentCategory ignored.
+	 * @return never returns.
+	 * @throws InvalidParameterCategoryException always.
+	 */
+	@Override
+	public VoidResult moveTo(@NonNull IParameterCategory parentCategory) {
+		throw InvalidParameterCategoryException.forReadOnlyTree();
+	}
+
+	/**
+	 * Always throws, since a snapshot is read-only.
+	 *
+	 * @param childCategory ignored.
+	 * @return never returns.
+	 * @throws InvalidParameterCategoryException always.
+	 */
+	@Override
+	public VoidResult removeChildCategory(@NonNull IParameterCategory childCategory) {
+		throw InvalidParameterCategoryException.forReadOnlyTree();
+	}
+
+	/**
+	 * Always throws, since a snapshot is read-only.
+	 *
+	 * @return never returns.
+	 * @throws InvalidParameterCategoryException always.
+	 */
+	@Override
+	public VoidResult removeSubtree() {
+		throw InvalidParameterCategoryException.forReadOnlyTree();
+	}
+
+	@Override
+	public boolean isRoot() {
+		return state().parent == null;
+	}
+
+	@Override
+	public boolean isLeaf() {
+		CategoryState state = state();
+		return (state.parent != null) && state.children.isEmpty();
+	}
+
+	@Override
+	public boolean areSiblings(@NonNull IParameterCategory parameterCategory) {
+		Objects.requireNonNull(parameterCategory, "Parameter category cannot be null");
+		Optional<IParameterCategory> parent = getParentCategory();
+		Optional<IParameterCategory> otherParent = parameterCategory.getParentCategory();
+		return parent.isPresent() && otherParent.isPresent() && parent.get().equals(otherParent.get());
+	}
+
+	/**
+	 * Returns the level of the category at the pinned version, computed from its
+	 * ancestors and children.
+	 *
+	 * @return the level of the category at the pinned version.
+	 */
+	@Override
+	public ParamaterLevel getLevel() {
+		ParamaterLevel level = new ParamaterLevel();
+		level.setVertical(getAllParentCategories().size() + 1);
+		level.setHorizontal(state().children.size());
+		return level;
+	}
+
+	@Override
+	public List<IParameterCategory> getAllParentCategories() {
+		List<IParameterCategory> parents = new ArrayList<>();
+		Optional<IParameterCategory> parent = getParentCategory();
+		while (parent.isPresent()) {
+			parents.add(parent.get());
+			parent = parent.get().getParentCategory();
+		}
+		return List.copyOf(parents);
+	}
+
+	@Override
+	public List<IParameterCategory> getChildCategoryList() {
+		List<IParameterCategory> children = new ArrayList<>();
+		for (IParameterCategory child : state().children) {
+			ParameterSnapshotCategory view = snapshot.view(child);
+			if (view != null) {
+				children.add(view);
+			}
+		}
+		return List.copyOf(children);
+	}
+
+	@Override
+	public Map<String, IParameterItem<?>> getAllParentParameterItems() {
+		Map<String, IParameterItem<?>> allParameterItems = new HashMap<>();
+		getParentCategory().ifPresent(parent -> allParameterItems.putAll(parent.getAllParentParameterItems()));
+		allParameterItems.putAll(getParameterItems());
+		return allParameterItems;
+	}
+
+	@Override
+	public List<IParameterCategory> depthFirstSearch(Predicate<IParameterCategory> predicate) {
+		List<IParameterCategory> resultList = new ArrayList<>();
+		if (predicate.test(this)) {
+			resultList.add(this);
+		}
+		getChildCategoryList().forEach(child -> resultList.addAll(child.depthFirstSearch(predicate)));
+		return resultList;
+	}
+
+	@Override
+	public List<IParameterCategory> breadthFirstSearch(Predicate<IParameterCategory> predicate) {
+		List<IParameterCategory> resultList = new ArrayList<>();
+		Deque<IParameterCategory> queue = new ArrayDeque<>();
+		queue.add(this);
+
+		while (!queue.isEmpty()) {
+			IParameterCategory current = queue.poll();
+			if (predicate.test(current)) {
+				resultList.add(current);
+			}
+			queue.addAll(current.getChildCategoryList());
+		}
+		return resultList;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(System.identityHashCode(category), snapshot.getVersion());
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (obj == null) {
+			return false;
+		}
+		if (getClass() != obj.getClass()) {
+			return false;
+		}
+		ParameterSnapshotCategory other = (ParameterSnapshotCategory) obj;
+		return (category == other.category) && (snapshot.getVersion() == other.snapshot.getVersion());
+	}
+
+	private CategoryState state() {
+		return snapshot.stateOf(category);
+	}
+
+	private static IParameterItem<?> toItem(ItemState itemState) {
+		return new ParameterSnapshotItem<>(itemState.item(), itemState.active());
+	}
+}
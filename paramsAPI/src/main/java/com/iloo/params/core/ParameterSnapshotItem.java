@@ -0,0 +1,82 @@
+package com.iloo.params.core;
+
+import java.util.Objects;
+
+import com.iloo.params.exceptions.InvalidParameterCategoryException;
+import com.iloo.params.utils.VoidResult;
+
+/**
+ * A read-only view of a parameter item at a pinned version.
+ *
+ * @param <T> the type of the value for this parameter item.
+ */
+final class ParameterSnapshotItem<T> implements IParameterItem<T> {
+
+	/**
+	 * The live item.
+	 */
+	private final IParameterItem<T> item;
+
+	/**
+	 * The active state of the item at the pinned version.
+	 */
+	private final boolean active;
+
+	/**
+	 * Constructs a new view.
+	 *
+	 * @param item   the live item.
+	 * @param active the active state of the item at the pinned version.
+	 */
+	ParameterSnapshotItem(IParameterItem<T> item, boolean active) {
+		this.item = item;
+		this.active = active;
+	}
+
+	@Override
+	public String getLabel() {
+		return item.getLabel();
+	}
+
+	@Override
+	public T getValue() {
+		return item.getValue();
+	}
+
+	/**
+	 * Always throws, since a snapshot is read-only.
+	 *
+	 * @param active ignored.
+	 * @return never returns.
+	 * @throws InvalidParameterCategoryException always.
+	 */
+	@Override
+	public VoidResult setActive(boolean active) {
+		throw InvalidParameterCategoryException.forReadOnlyTree();
+	}
+
+	@Override
+	public boolean isActive() {
+		return active;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(active, System.identityHashCode(item));
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (obj == null) {
+			return false;
+		}
+		if (getClass() != obj.getClass()) {
+			return false;
+		}
+		ParameterSnapshotItem<?> other = (ParameterSnapshotItem<?>) obj;
+		return (active == other.active) && (item == other.item);
+	}
+}
@@ -0,0 +1,102 @@
+package com.iloo.params.core;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Indexes the date items held by the categories of a tree by date.
+ *
+ * The index is updated from the tree events, under the tree write lock, and
+ * read without locking. An item held by several categories is indexed once per
+ * category.
+ */
+final class ParameterTimeIndex implements IParameterTreeListener {
+
+	/**
+	 * The items held by the categories, keyed by epoch milliseconds.
+	 */
+	private final ConcurrentNavigableMap<Long, List<IDateParameterItem<?>>> items = new ConcurrentSkipListMap<>();
+
+	/**
+	 * Returns the items whose date is in the given range, in date order.
+	 *
+	 * @param from the start of the range, inclusive.
+	 * @param to   the end of the range, exclusive.
+	 * @return the items whose date is in the range.
+	 */
+	List<IDateParameterItem<?>> findBetween(Instant from, Instant to) {
+		long fromMillis = toEpochMillis(from);
+		long toMillis = toEpochMillis(to);
+		if (fromMillis >= toMillis) {
+			return List.of();
+		}
+		List<IDateParameterItem<?>> result = new ArrayList<>();
+		Set<IDateParameterItem<?>> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+		items.subMap(fromMillis, toMillis).values().forEach(dated -> dated.forEach(item -> {
+			if (seen.add(item)) {
+				result.add(item);
+			}
+		}));
+		return result;
+	}
+
+	@Override
+	public void onEvent(ParameterTreeEvent event) {
+		switch (event.type()) {
+		case ITEM_ADDED -> {
+			if (event.item() instanceof IDateParameterItem<?> item) {
+				add(item);
+			}
+		}
+		case ITEM_REMOVED -> {
+			if (event.item() instanceof IDateParameterItem<?> item) {
+				remove(item);
+			}
+		}
+		case SUBTREE_REMOVED -> ParameterTree.subtreeOf(event.category())
+				.forEach(category -> category.peekParameterItems().values().forEach(removed -> {
+					if (removed instanceof IDateParameterItem<?> item) {
+						remove(item);
+					}
+				}));
+		default -> {
+			// The date of an item never changes
+		}
+		}
+	}
+
+	private void add(IDateParameterItem<?> item) {
+		items.compute(item.getEpochMillis(), (millis, dated) -> {
+			List<IDateParameterItem<?>> added = dated == null ? new ArrayList<>(1) : new ArrayList<>(dated);
+			added.add(item);
+			return List.copyOf(added);
+		});
+	}
+
+	private void remove(IDateParameterItem<?> item) {
+		items.computeIfPresent(item.getEpochMillis(), (millis, dated) -> {
+			List<IDateParameterItem<?>> remaining = new ArrayList<>(dated);
+			for (int i = 0; i < remaining.size(); i++) {
+				if (remaining.get(i) == item) {
+					remaining.remove(i);
+					break;
+				}
+			}
+			return remaining.isEmpty() ? null : List.copyOf(remaining);
+		});
+	}
+
+	private static long toEpochMillis(Instant instant) {
+		try {
+			return instant.toEpochMilli();
+		} catch (ArithmeticException e) {
+			return instant.isBefore(Instant.EPOCH) ? Long.MIN_VALUE : Long.MAX_VALUE;
+		}
+	}
+}
@@ -0,0 +1,388 @@
+package com.iloo.params.core;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+import org.eclipse.jdt.annotation.NonNull;
+
+import com.iloo.params.utils.VoidResult;
+
+/**
+ * Implementation of {@link IParameterTransaction} validated optimistically.
+ *
+ * Staging records the version of each category the first time it is read or
+ * touched, without locking. The commit takes the tree write lock only to check
+ * these versions, to check the staged mutations against the current tree and to
+ * apply them as a single batch.
+ */
+final class ParameterTransaction implements IParameterTransaction {
+
+	/**
+	 * The tree the transaction is committed to.
+	 */
+	private final ParameterTree tree;
+
+	/**
+	 * The version of each category read or touched, when it was first read.
+	 */
+	private final Map<ParameterCategory, Long> readVersions = new IdentityHashMap<>();
+
+	/**
+	 * The staged mutations, in order.
+	 */
+	private final List<Operation> operations = new ArrayList<>();
+
+	/**
+	 * The first staging error, or {@code null}.
+	 */
+	private VoidResult stagingError;
+
+	/**
+	 * Constructs a new empty transaction.
+	 *
+	 * @param tree the tree the transaction is committed to.
+	 */
+	private ParameterTransaction(ParameterTree tree) {
+		this.tree = tree;
+	}
+
+	/**
+	 * Runs a transaction until it commits without conflict.
+	 *
+	 * @param tree        the tree the transaction is committed to.
+	 * @param body        the body staging the mutations, run once per attempt.
+	 * @param maxAttempts the maximum number of attempts.
+	 * @return the result of the commit.
+	 */
+	static VoidResult run(ParameterTree tree, @NonNull Consumer<IParameterTransaction> body, int maxAttempts) {
+		Objects.requireNonNull(body, "Transaction body cannot be null");
+		if (maxAttempts <= 0) {
+			throw new IllegalArgumentException("Maximum attempts must be positive");
+		}
+		for (int attempt = 0; attempt < maxAttempts; attempt++) {
+			ParameterTransaction transaction = new ParameterTransaction(tree);
+			body.accept(transaction);
+			VoidResult[] result = new VoidResult[1];
+			tree.runBatch(() -> result[0] = transaction.commit());
+			if (result[0] != null) {
+				return result[0];
+			}
+		}
+		return VoidResult.error("Transaction conflicted with concurrent writers " + maxAttempts + " times");
+	}
+
+	@Override
+	public Map<String, IParameterItem<?>> getParameterItems(@NonNull IParameterCategory category) {
+		Objects.requireNonNull(category, "Parameter category cannot be null");
+		ParameterCategory parameterCategory = read(category);
+		if (parameterCategory == null) {
+			return Map.of();
+		}
+		// The items are copied again until no commit ran during the copy, so that the
+		// body never sees a partial one. A commit after the recorded version still
+		// fails the validation.
+		while (true) {
+			long modificationVersion = stableVersion(parameterCategory);
+			Map<String, IParameterItem<?>> items = Map.copyOf(parameterCategory.peekParameterItems());
+			if (parameterCategory.getModificationVersion() == modificationVersion) {
+				return items;
+			}
+		}
+	}
+
+	@Override
+	public VoidResult addParameterItem(@NonNull IParameterCategory category, @NonNull IParameterItem<?> parameterItem) {
+		Objects.requireNonNull(category, "Parameter category cannot be null");
+		Objects.requireNonNull(parameterItem, "Parameter item cannot be null");
+		ParameterCategory parameterCategory = read(category);
+		return parameterCategory == null ? stagingError : stage(new AddItem(parameterCategory, parameterItem));
+	}
+
+	@Override
+	public VoidResult removeParameterItem(@NonNull IParameterCategory category,
+			@NonNull IParameterItem<?> parameterItem) {
+		Objects.requireNonNull(category, "Parameter category cannot be null");
+		Objects.requireNonNull(parameterItem, "Parameter item cannot be null");
+		ParameterCategory parameterCategory = read(category);
+		return parameterCategory == null ? stagingError : stage(new RemoveItem(parameterCategory, parameterItem));
+	}
+
+	@Override
+	public VoidResult setActive(@NonNull IParameterItem<?> parameterItem, boolean active) {
+		Objects.requireNonNull(parameterItem, "Parameter item cannot be null");
+		return stage(new SetActive(parameterItem, active, parameterItem.isActive()));
+	}
+
+	@Override
+	public VoidResult link(@NonNull IParameterCategory childCategory, @NonNull IParameterCategory parentCategory) {
+		Objects.requireNonNull(childCategory, "Parameter category cannot be null");
+		Objects.requireNonNull(parentCategory, "Parameter category cannot be null");
+		ParameterCategory child = read(childCategory);
+		ParameterCategory parent = read(parentCategory);
+		return (child == null) || (parent == null) ? stagingError : stage(new Link(child, parent));
+	}
+
+	@Override
+	public int getOperationCount() {
+		return operations.size();
+	}
+
+	/**
+	 * Commits the staged mutations, under the tree write lock.
+	 *
+	 * @return the result of the commit, or {@code null} if a category or item
+	 *         changed since it was read and the transaction must be run again.
+	 */
+	private VoidResult commit() {
+		if (stagingError != null) {
+			return stagingError;
+		}
+		for (Map.Entry<ParameterCategory, Long> read : readVersions.entrySet()) {
+			if (read.getKey().isRemoved() || (read.getKey().getModificationVersion() != read.getValue())) {
+				return null;
+			}
+		}
+		if (operations.stream().anyMatch(Operation::conflicts)) {
+			return null;
+		}
+
+		// Every check is done before the first mutation, so that none is applied on
+		// failure
+		Simulation simulation = new Simulation();
+		for (Operation operation : operations) {
+			String error = operation.check(simulation);
+			if (error != null) {
+				return VoidResult.error(error);
+			}
+		}
+		operations.forEach(Operation::apply);
+		return VoidResult.ok();
+	}
+
+	/**
+	 * Records the version of a category the first time it is read.
+	 *
+	 * @param category the category.
+	 * @return the category, or {@code null} if it belongs to another tree.
+	 */
+	private ParameterCategory read(IParameterCategory category) {
+		if (!(category instanceof ParameterCategory parameterCategory) || (parameterCategory.getTree() != tree)) {
+			fail("Category '" + category.getLabel() + "' belongs to another parameter tree");
+			return null;
+		}
+		if (!readVersions.containsKey(parameterCategory)) {
+			readVersions.put(parameterCategory, stableVersion(parameterCategory));
+		}
+		return parameterCategory;
+	}
+
+	/**
+	 * Returns the version of a category, waiting for the end of the batch
+	 * mutating it, if any. A transaction run by the thread holding the write lock,
+	 * such as a listener, reads the version as is: no other writer can change it,
+	 * and the batch in progress cannot end while the thread waits for it.
+	 *
+	 * @param category the category.
+	 * @return the version of the last mutation of the category.
+	 */
+	private long stableVersion(ParameterCategory category) {
+		long modificationVersion = category.getModificationVersion();
+		if (tree.isWriteLockHeldByCurrentThread()) {
+			return modificationVersion;
+		}
+		while (modificationVersion < 0) {
+			tree.runLocked(() -> {
+				// The lock is held by the batch until it ends
+			});
+			modificationVersion = category.getModificationVersion();
+		}
+		return modificationVersion;
+	}
+
+	private VoidResult stage(Operation operation) {
+		operations.add(operation);
+		return VoidResult.ok();
+	}
+
+	private void fail(String message) {
+		if (stagingError == null) {
+			stagingError = VoidResult.error(message);
+		}
+	}
+
+	/**
+	 * A staged mutation.
+	 */
+	private interface Operation {
+
+		/**
+		 * Returns {@code true} if the mutation conflicts with a concurrent one,
+		 * {@code false} otherwise.
+		 *
+		 * @return {@code true} if the mutation conflicts with a concurrent one.
+		 */
+		default boolean conflicts() {
+			return false;
+		}
+
+		/**
+		 * Checks the mutation against the tree as modified by the previous staged
+		 * mutations, and records its effect.
+		 *
+		 * @param simulation the tree as modified by the previous staged mutations.
+		 * @return the error message, or {@code null} if the mutation can be applied.
+		 */
+		String check(Simulation simulation);
+
+		/**
+		 * Applies the mutation.
+		 */
+		void apply();
+	}
+
+	/**
+	 * The staged addition of an item.
+	 *
+	 * @param category the category.
+	 * @param item     the added item.
+	 */
+	private record AddItem(ParameterCategory category, IParameterItem<?> item) implements Operation {
+
+		@Override
+		public String check(Simulation simulation) {
+			if (simulation.itemsOf(category).putIfAbsent(item.getLabel(), item) != null) {
+				return "Parameter item '" + item.getLabel() + "' already exists in category '" + category.getLabel()
+						+ "'";
+			}
+			return null;
+		}
+
+		@Override
+		public void apply() {
+			category.addParameterItem(item);
+		}
+	}
+
+	/**
+	 * The staged removal of an item.
+	 *
+	 * @param category the category.
+	 * @param item     the removed item.
+	 */
+	private record RemoveItem(ParameterCategory category, IParameterItem<?> item) implements Operation {
+
+		@Override
+		public String check(Simulation simulation) {
+			simulation.itemsOf(category).remove(item.getLabel(), item);
+			return null;
+		}
+
+		@Override
+		public void apply() {
+			category.removeParameterItem(item);
+		}
+	}
+
+	/**
+	 * The staged change of the active state of an item.
+	 *
+	 * @param item     the item.
+	 * @param active   the new active state.
+	 * @param expected the active state when the change was staged.
+	 */
+	private record SetActive(IParameterItem<?> item, boolean active, boolean expected) implements Operation {
+
+		@Override
+		public boolean conflicts() {
+			return item.isActive() != expected;
+		}
+
+		@Override
+		public String check(Simulation simulation) {
+			return null;
+		}
+
+		@Override
+		public void apply() {
+			item.setActive(active);
+		}
+	}
+
+	/**
+	 * The staged link of a category.
+	 *
+	 * @param child  the child category.
+	 * @param parent the parent category.
+	 */
+	private record Link(ParameterCategory child, ParameterCategory parent) implements Operation {
+
+		@Override
+		public String check(Simulation simulation) {
+			IParameterCategory ancestor = parent;
+			while (ancestor != null) {
+				if (ancestor == child) {
+					return "Linking category '" + child.getLabel() + "' to '" + parent.getLabel()
+							+ "' creates a cycle";
+				}
+				if (ancestor.getLabel().equals(child.getLabel())) {
+					return "Category '" + child.getLabel() + "' has the same label as one of its new parents";
+				}
+				ancestor = simulation.parentOf(ancestor);
+			}
+			simulation.parents.put(child, parent);
+			return null;
+		}
+
+		@Override
+		public void apply() {
+			if (child.isRoot()) {
+				child.setParentCategory(parent);
+			} else {
+				child.moveTo(parent);
+			}
+		}
+	}
+
+	/**
+	 * The items and parents of the categories as modified by the staged
+	 * mutations already checked.
+	 */
+	private static final class Simulation {
+
+		/**
+		 * The items of the modified categories.
+		 */
+		private final Map<IParameterCategory, Map<String, IParameterItem<?>>> items = new IdentityHashMap<>();
+
+		/**
+		 * The parents of the linked categories.
+		 */
+		private final Map<IParameterCategory, IParameterCategory> parents = new IdentityHashMap<>();
+
+		/**
+		 * Returns the items of a category.
+		 *
+		 * @param category the category.
+		 * @return the modifiable items of the category.
+		 */
+		Map<String, IParameterItem<?>> itemsOf(IParameterCategory category) {
+			return items.computeIfAbsent(category, c -> new HashMap<>(c.peekParameterItems()));
+		}
+
+		/**
+		 * Returns the parent of a category.
+		 *
+		 * @param category the category.
+		 * @return the parent of the category, or {@code null} for a root category.
+		 */
+		IParameterCategory parentOf(IParameterCategory category) {
+			return parents.containsKey(category) ? parents.get(category)
+					: category.getParentCategory().orElse(null);
+		}
+	}
+}
@@ -0,0 +1,59 @@
+package com.iloo.params.core;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A Flight Recorder event emitted for each depth-first or breadth-first search,
+ * disabled by default.
+ */
+@Name("com.iloo.params.Traversal")
+@Label("Parameter Traversal")
+@Category("Parameters")
+@Description("A search of a parameter subtree")
+@Enabled(false)
+@StackTrace(false)
+final class ParameterTraversalEvent extends Event {
+
+	/**
+	 * The kind of search, {@code DFS} or {@code BFS}.
+	 */
+	@Label("Kind")
+	String kind;
+
+	/**
+	 * The label of the category the search started from.
+	 */
+	@Label("Category")
+	String categoryLabel;
+
+	/**
+	 * The depth of the category the search started from, {@code 1} for a root
+	 * category.
+	 */
+	@Label("Depth")
+	int depth;
+
+	/**
+	 * The number of items held by the category the search started from.
+	 */
+	@Label("Item Count")
+	int itemCount;
+
+	/**
+	 * The number of categories visited.
+	 */
+	@Label("Visited Categories")
+	int nodesVisited;
+
+	/**
+	 * The number of categories matching the predicate.
+	 */
+	@Label("Matches")
+	int matchCount;
+}
@@ -0,0 +1,299 @@
+package com.iloo.params.core;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BooleanSupplier;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.iloo.params.core.ParameterTreeEvent.EventType;
+import com.iloo.params.exceptions.InvalidParameterCategoryException;
+
+/**
+ * Holds the state shared by all the categories and items created by a same
+ * {@link ParameterFactory}.
+ *
+ * Every mutation goes through {@link #write}, which serializes the writers,
+ * increments the version and notifies the listeners in mutation order. The
+ * mutations grouped by {@link #runBatch} share a single version, and the
+ * categories they touch are stamped in progress until the batch ends, when the
+ * listeners are notified of the commit. Readers never take the lock.
+ */
+final class ParameterTree {
+
+	/**
+	 * The logger.
+	 */
+	private static final Logger LOGGER = LogManager.getLogger(ParameterTree.class);
+
+	/**
+	 * The version of the tree, incremented on each mutation.
+	 */
+	private final AtomicLong version = new AtomicLong();
+
+	/**
+	 * The lock serializing the writers.
+	 */
+	private final ReentrantLock writeLock = new ReentrantLock();
+
+	/**
+	 * The listeners notified of the mutations.
+	 */
+	private final List<IParameterTreeListener> listeners = new CopyOnWriteArrayList<>();
+
+	/**
+	 * The only thread allowed to mutate the tree, or {@code null} if every thread
+	 * is.
+	 */
+	private volatile Thread owner;
+
+	/**
+	 * The metrics of the tree.
+	 */
+	private final ParameterMetrics metrics = new ParameterMetrics();
+
+	/**
+	 * Whether the mutations are grouped in a batch. Guarded by the write lock.
+	 */
+	private boolean batching;
+
+	/**
+	 * Whether a mutation of the current batch was applied, so that the next ones
+	 * share its version. Guarded by the write lock.
+	 */
+	private boolean batchApplied;
+
+	/**
+	 * The categories mutated by the current batch, stamped with the negated
+	 * version until it ends. Guarded by the write lock.
+	 */
+	private final List<ParameterCategory> batchCategories = new ArrayList<>();
+
+	/**
+	 * Returns the metrics of the tree.
+	 *
+	 * @return the metrics of the tree.
+	 */
+	ParameterMetrics getMetrics() {
+		return metrics;
+	}
+
+	/**
+	 * Returns the current version of the tree.
+	 *
+	 * @return the current version of the tree.
+	 */
+	long getVersion() {
+		return version.get();
+	}
+
+	/**
+	 * Performs a mutation of the tree and notifies the listeners if it changed
+	 * something.
+	 *
+	 * @param mutation        the mutation, returning {@code true} if the tree
+	 *                        changed.
+	 * @param type            the type of the mutation.
+	 * @param category        the mutated category.
+	 * @param relatedCategory the related category, if any.
+	 * @param item            the mutated item, if any.
+	 * @throws InvalidParameterCategoryException if the tree is restricted to
+	 *                                           another thread.
+	 */
+	void write(BooleanSupplier mutation, EventType type, IParameterCategory category,
+			IParameterCategory relatedCategory, IParameterItem<?> item) {
+		checkOwner();
+
+		ParameterMutationEvent event = new ParameterMutationEvent();
+		event.begin();
+		boolean applied = false;
+		writeLock.lock();
+		try {
+			if (batching) {
+				// Stamped before the mutation, so that a reader never takes a partial batch
+				// for a committed one
+				stamp(category, version.get() + 1);
+				stamp(relatedCategory, version.get() + 1);
+			}
+			applied = mutation.getAsBoolean();
+			if (applied) {
+				long eventVersion = batchApplied ? version.get() : version.incrementAndGet();
+				batchApplied = batching;
+				stamp(category, eventVersion);
+				stamp(relatedCategory, eventVersion);
+				ParameterTreeEvent treeEvent = new ParameterTreeEvent(type, eventVersion, category, relatedCategory,
+						item);
+				metrics.recordMutation(treeEvent);
+				publish(treeEvent);
+				if (!batching) {
+					publishCommit(eventVersion);
+				}
+			}
+		} finally {
+			writeLock.unlock();
+			if (event.shouldCommit()) {
+				event.operation = type.name();
+				event.applied = applied;
+				event.itemLabel = item == null ? null : item.getLabel();
+				if (category != null) {
+					event.categoryLabel = category.getLabel();
+					event.depth = category.getDepth();
+					event.itemCount = category.peekParameterItems().size();
+				}
+				event.commit();
+			}
+		}
+	}
+
+	/**
+	 * Runs the given mutations as a batch: they are serialized with the other
+	 * writers and share a single version, so that a snapshot sees either none or
+	 * all of them. A batch run from within another one joins it.
+	 *
+	 * @param mutations the mutations to run.
+	 * @throws InvalidParameterCategoryException if the tree is restricted to
+	 *                                           another thread.
+	 */
+	void runBatch(Runnable mutations) {
+		checkOwner();
+		writeLock.lock();
+		boolean outermost = !batching;
+		batching = true;
+		try {
+			mutations.run();
+		} finally {
+			if (outermost) {
+				boolean applied = batchApplied;
+				batching = false;
+				batchApplied = false;
+				batchCategories.forEach(category -> category.setModificationVersion(version.get()));
+				batchCategories.clear();
+				if (applied) {
+					publishCommit(version.get());
+				}
+			}
+			writeLock.unlock();
+		}
+	}
+
+	private void checkOwner() {
+		Thread currentOwner = owner;
+		if ((currentOwner != null) && (currentOwner != Thread.currentThread())) {
+			throw InvalidParameterCategoryException.forReadOnlyTree();
+		}
+	}
+
+	/**
+	 * Stamps a mutated category with the version of the mutation, or with its
+	 * negation while a batch is in progress.
+	 *
+	 * @param category            the mutated category, if any.
+	 * @param modificationVersion the version of the mutation.
+	 */
+	private void stamp(IParameterCategory category, long modificationVersion) {
+		if (category instanceof ParameterCategory parameterCategory) {
+			if (batching) {
+				batchCategories.add(parameterCategory);
+				parameterCategory.setModificationVersion(-modificationVersion);
+			} else {
+				parameterCategory.setModificationVersion(modificationVersion);
+			}
+		}
+	}
+
+	/**
+	 * Returns a category and its descendants, in depth-first order.
+	 *
+	 * @param root the root of the subtree.
+	 * @return the categories of the subtree.
+	 */
+	static List<IParameterCategory> subtreeOf(IParameterCategory root) {
+		List<IParameterCategory> subtree = new ArrayList<>();
+		Deque<IParameterCategory> pending = new ArrayDeque<>();
+		pending.push(root);
+		while (!pending.isEmpty()) {
+			IParameterCategory category = pending.pop();
+			subtree.add(category);
+			category.getChildCategoryList().forEach(pending::push);
+		}
+		return subtree;
+	}
+
+	/**
+	 * Runs the given action while no mutation can happen.
+	 *
+	 * @param action the action to run.
+	 */
+	void runLocked(Runnable action) {
+		writeLock.lock();
+		try {
+			action.run();
+		} finally {
+			writeLock.unlock();
+		}
+	}
+
+	/**
+	 * Returns {@code true} if the current thread holds the write lock, i.e. runs a
+	 * mutation, a batch or a listener.
+	 *
+	 * @return {@code true} if the current thread holds the write lock.
+	 */
+	boolean isWriteLockHeldByCurrentThread() {
+		return writeLock.isHeldByCurrentThread();
+	}
+
+	/**
+	 * Adds a listener notified of the mutations.
+	 *
+	 * @param listener the listener to add.
+	 */
+	void addListener(IParameterTreeListener listener) {
+		listeners.add(listener);
+	}
+
+	/**
+	 * Removes a listener.
+	 *
+	 * @param listener the listener to remove.
+	 */
+	void removeListener(IParameterTreeListener listener) {
+		listeners.remove(listener);
+	}
+
+	/**
+	 * Restricts the mutations to the given thread.
+	 *
+	 * @param thread the only thread allowed to mutate the tree, or {@code null}
+	 *               to allow every thread.
+	 */
+	void setOwner(Thread thread) {
+		this.owner = thread;
+	}
+
+	private void publish(ParameterTreeEvent event) {
+		for (IParameterTreeListener listener : listeners) {
+			try {
+				listener.onEvent(event);
+			} catch (RuntimeException e) {
+				LOGGER.error("Listener failed on {}", event.type(), e);
+			}
+		}
+	}
+
+	private void publishCommit(long committedVersion) {
+		for (IParameterTreeListener listener : listeners) {
+			try {
+				listener.onCommit(committedVersion);
+			} catch (RuntimeException e) {
+				LOGGER.error("Listener failed on the commit of version {}", committedVersion, e);
+			}
+		}
+	}
+}
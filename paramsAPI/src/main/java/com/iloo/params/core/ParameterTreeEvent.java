@@ -0,0 +1,63 @@
+package com.iloo.params.core;
+
+/**
+ * Describes a mutation of a parameter tree, as notified to the
+ * {@link IParameterTreeListener}s of its {@link IParameterFactory}.
+ *
+ * @param type             the type of the mutation.
+ * @param version          the version of the tree after the mutation.
+ * @param category         the mutated category, or {@code null} for
+ *                         {@link EventType#ITEM_ACTIVATION_CHANGED}.
+ * @param relatedCategory  the parent category for
+ *                         {@link EventType#CATEGORY_LINKED}, the new parent
+ *                         category for {@link EventType#CATEGORY_MOVED}, the
+ *                         former parent category, if any, for
+ *                         {@link EventType#SUBTREE_REMOVED}, {@code null}
+ *                         otherwise.
+ * @param item             the added, removed or toggled item, {@code null} for
+ *                         category events.
+ */
+public record ParameterTreeEvent(EventType type, long version, IParameterCategory category,
+		IParameterCategory relatedCategory, IParameterItem<?> item) {
+
+	/**
+	 * Enum defining the types of mutation.
+	 */
+	public enum EventType {
+		/**
+		 * A category was created by the factory.
+		 */
+		CATEGORY_CREATED,
+
+		/**
+		 * A category was linked to a parent category.
+		 */
+		CATEGORY_LINKED,
+
+		/**
+		 * A category was moved, with its subtree, under another parent category.
+		 */
+		CATEGORY_MOVED,
+
+		/**
+		 * A category was removed, with its subtree. The removed subtree is still
+		 * intact while the listeners are notified.
+		 */
+		SUBTREE_REMOVED,
+
+		/**
+		 * An item was added to a category.
+		 */
+		ITEM_ADDED,
+
+		/**
+		 * An item was removed from a category.
+		 */
+		ITEM_REMOVED,
+
+		/**
+		 * The active state of an item changed.
+		 */
+		ITEM_ACTIVATION_CHANGED
+	}
+}
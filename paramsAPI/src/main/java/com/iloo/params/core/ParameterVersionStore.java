@@ -0,0 +1,369 @@
+package com.iloo.params.core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import com.iloo.params.core.ParameterTreeEvent.EventType;
+import com.iloo.params.exceptions.InvalidParameterCategoryException;
+
+/**
+ * Keeps the history of the categories of a tree needed by the pinned
+ * {@link IParameterSnapshot}s.
+ *
+ * Each category holds a chain of immutable {@link CategoryState}s, newest
+ * first. A new state is built from each mutation event and the previous one is
+ * retained only while a snapshot may still need it: states older than the
+ * oldest pinned version are unlinked as soon as they are shadowed. The store is
+ * attached to the tree when a version is pinned while none is, and detached,
+ * with all its states dropped, once the last pin is released: mutations do not
+ * pay for the history while no snapshot is open. All its fields are guarded by
+ * the tree write lock.
+ */
+final class ParameterVersionStore implements IParameterTreeListener {
+
+	/**
+	 * The tree whose history is kept.
+	 */
+	private final ParameterTree tree;
+
+	/**
+	 * The categories of the tree.
+	 */
+	private final ParameterCategoryList categoryList;
+
+	/**
+	 * The number of snapshots pinning each version.
+	 */
+	private final TreeMap<Long, Integer> pins = new TreeMap<>();
+
+	/**
+	 * The categories holding each item.
+	 */
+	private final Map<IParameterItem<?>, List<ParameterCategory>> itemCategories = new IdentityHashMap<>();
+
+	/**
+	 * The categories whose chain holds more than one state.
+	 */
+	private final Set<ParameterCategory> retainedChains = Collections.newSetFromMap(new IdentityHashMap<>());
+
+	/**
+	 * The removed categories a pinned snapshot may still see, read without
+	 * locking by the snapshots.
+	 */
+	private final List<ParameterCategory> removedCategories = new CopyOnWriteArrayList<>();
+
+	/**
+	 * Whether the store is listening to the tree.
+	 */
+	private boolean attached;
+
+	/**
+	 * Constructs a new store.
+	 *
+	 * @param tree         the tree whose history is kept.
+	 * @param categoryList the categories of the tree.
+	 */
+	ParameterVersionStore(ParameterTree tree, ParameterCategoryList categoryList) {
+		this.tree = tree;
+		this.categoryList = categoryList;
+	}
+
+	/**
+	 * Pins the given version.
+	 *
+	 * @param version the version to pin, {@code -1} for the current version.
+	 * @return a snapshot of the tree at that version.
+	 * @throws InvalidParameterCategoryException if the history of the version is
+	 *                                           no longer available.
+	 */
+	IParameterSnapshot pin(long version) {
+		ParameterSnapshot[] snapshot = new ParameterSnapshot[1];
+		tree.runLocked(() -> {
+			long current = tree.getVersion();
+			long pinned = version < 0 ? current : version;
+			boolean retained = !pins.isEmpty() && (pins.firstKey() <= pinned);
+			if ((pinned > current) || ((pinned < current) && !retained)) {
+				throw InvalidParameterCategoryException.forUnavailableVersion(pinned);
+			}
+			attach();
+			pins.merge(pinned, 1, Integer::sum);
+			snapshot[0] = new ParameterSnapshot(this, categoryList, pinned);
+		});
+		return snapshot[0];
+	}
+
+	/**
+	 * Releases a pinned version and reclaims the history no longer needed.
+	 *
+	 * @param version the pinned version.
+	 */
+	void release(long version) {
+		tree.runLocked(() -> {
+			pins.computeIfPresent(version, (v, count) -> count > 1 ? count - 1 : null);
+			if (pins.isEmpty()) {
+				detach();
+				return;
+			}
+			for (ParameterCategory category : List.copyOf(retainedChains)) {
+				prune(category);
+			}
+			long oldestPinned = pins.firstKey();
+			removedCategories.removeIf(category -> {
+				if (category.getVersionedState().version > oldestPinned) {
+					return false;
+				}
+				forget(category);
+				return true;
+			});
+		});
+	}
+
+	/**
+	 * Returns the removed categories a pinned snapshot may still see.
+	 *
+	 * @return the removed categories.
+	 */
+	List<ParameterCategory> getRemovedCategories() {
+		return removedCategories;
+	}
+
+	/**
+	 * Returns the state of a category at the given version.
+	 *
+	 * @param category the category.
+	 * @param version  the version.
+	 * @return the state, or {@code null} if the category did not exist at that
+	 *         version.
+	 */
+	static CategoryState stateAt(ParameterCategory category, long version) {
+		CategoryState state = category.getVersionedState();
+		while ((state != null) && (state.version > version)) {
+			state = state.previous;
+		}
+		return (state == null) || state.isRemoved() ? null : state;
+	}
+
+	@Override
+	public void onEvent(ParameterTreeEvent event) {
+		long version = event.version();
+		switch (event.type()) {
+		case CATEGORY_CREATED -> install((ParameterCategory) event.category(),
+				new CategoryState(version, Map.of(), null, List.of()));
+		case CATEGORY_LINKED, CATEGORY_MOVED -> {
+			ParameterCategory child = (ParameterCategory) event.category();
+			ParameterCategory parent = (ParameterCategory) event.relatedCategory();
+			CategoryState childState = child.getVersionedState();
+			if ((event.type() == EventType.CATEGORY_MOVED) && (childState.parent != null)) {
+				ParameterCategory oldParent = (ParameterCategory) childState.parent;
+				CategoryState oldParentState = oldParent.getVersionedState();
+				List<IParameterCategory> oldChildren = new ArrayList<>(oldParentState.children);
+				oldChildren.removeIf(oldChild -> oldChild == child);
+				install(oldParent, new CategoryState(version, oldParentState.items, oldParentState.parent,
+						List.copyOf(oldChildren)));
+			}
+			install(child, new CategoryState(version, childState.items, parent, childState.children));
+			CategoryState parentState = parent.getVersionedState();
+			List<IParameterCategory> children = new ArrayList<>(parentState.children);
+			children.add(child);
+			install(parent, new CategoryState(version, parentState.items, parentState.parent, List.copyOf(children)));
+		}
+		case ITEM_ADDED -> {
+			ParameterCategory category = (ParameterCategory) event.category();
+			itemCategories.computeIfAbsent(event.item(), item -> new ArrayList<>(1)).add(category);
+			putItem(category, event.item(), version);
+		}
+		case ITEM_REMOVED -> {
+			ParameterCategory category = (ParameterCategory) event.category();
+			unindexItem(event.item(), category);
+			CategoryState state = category.getVersionedState();
+			Map<String, ItemState> items = new HashMap<>(state.items);
+			items.remove(event.item().getLabel());
+			install(category,
+					new CategoryState(version, Collections.unmodifiableMap(items), state.parent, state.children));
+		}
+		case ITEM_ACTIVATION_CHANGED -> itemCategories.getOrDefault(event.item(), List.of())
+				.forEach(category -> putItem(category, event.item(), version));
+		case SUBTREE_REMOVED -> {
+			ParameterCategory root = (ParameterCategory) event.category();
+			if (event.relatedCategory() instanceof ParameterCategory parent) {
+				CategoryState parentState = parent.getVersionedState();
+				List<IParameterCategory> children = new ArrayList<>(parentState.children);
+				children.removeIf(child -> child == root);
+				install(parent,
+						new CategoryState(version, parentState.items, parentState.parent, List.copyOf(children)));
+			}
+			for (IParameterCategory removed : ParameterTree.subtreeOf(root)) {
+				ParameterCategory category = (ParameterCategory) removed;
+				category.peekParameterItems().values().forEach(item -> unindexItem(item, category));
+				install(category, CategoryState.removed(version));
+				removedCategories.add(category);
+			}
+		}
+		}
+	}
+
+	private void unindexItem(IParameterItem<?> item, ParameterCategory category) {
+		List<ParameterCategory> categories = itemCategories.get(item);
+		if (categories != null) {
+			categories.remove(category);
+			if (categories.isEmpty()) {
+				itemCategories.remove(item);
+			}
+		}
+	}
+
+	private void forget(ParameterCategory category) {
+		category.setVersionedState(null);
+		retainedChains.remove(category);
+	}
+
+	private void attach() {
+		if (attached) {
+			return;
+		}
+		long version = tree.getVersion();
+		for (IParameterCategory category : categoryList.getParameterCategories()) {
+			ParameterCategory parameterCategory = (ParameterCategory) category;
+			Map<String, ItemState> items = new LinkedHashMap<>();
+			parameterCategory.peekParameterItems().values().forEach(item -> {
+				items.put(item.getLabel(), new ItemState(item, item.isActive()));
+				itemCategories.computeIfAbsent(item, i -> new ArrayList<>(1)).add(parameterCategory);
+			});
+			parameterCategory.setVersionedState(new CategoryState(version, Collections.unmodifiableMap(items),
+					parameterCategory.getParentCategory().orElse(null), parameterCategory.getChildCategoryList()));
+		}
+		tree.addListener(this);
+		attached = true;
+	}
+
+	/**
+	 * Stops listening to the tree and drops the whole history, once no version is
+	 * pinned anymore.
+	 */
+	private void detach() {
+		tree.removeListener(this);
+		categoryList.getParameterCategories()
+				.forEach(category -> ((ParameterCategory) category).setVersionedState(null));
+		removedCategories.forEach(category -> category.setVersionedState(null));
+		removedCategories.clear();
+		itemCategories.clear();
+		retainedChains.clear();
+		attached = false;
+	}
+
+	private void putItem(ParameterCategory category, IParameterItem<?> item, long version) {
+		CategoryState state = category.getVersionedState();
+		Map<String, ItemState> items = new HashMap<>(state.items);
+		items.put(item.getLabel(), new ItemState(item, item.isActive()));
+		install(category, new CategoryState(version, Collections.unmodifiableMap(items), state.parent, state.children));
+	}
+
+	private void install(ParameterCategory category, CategoryState state) {
+		// The store only listens while a version is pinned
+		state.previous = category.getVersionedState();
+		if (state.previous != null) {
+			retainedChains.add(category);
+		}
+		category.setVersionedState(state);
+		prune(category);
+	}
+
+	private void prune(ParameterCategory category) {
+		CategoryState state = category.getVersionedState();
+		long oldestPinned = pins.firstKey();
+		while ((state != null) && (state.version > oldestPinned)) {
+			state = state.previous;
+		}
+		if (state != null) {
+			state.previous = null;
+		}
+		if (category.getVersionedState().previous == null) {
+			retainedChains.remove(category);
+		}
+	}
+
+	/**
+	 * The state of a category at a given version.
+	 */
+	static final class CategoryState {
+
+		/**
+		 * The version this state was created at.
+		 */
+		final long version;
+
+		/**
+		 * The items of the category, keyed by label, or {@code null} once the
+		 * category is removed.
+		 */
+		final Map<String, ItemState> items;
+
+		/**
+		 * The parent of the category, or {@code null} for a root category.
+		 */
+		final IParameterCategory parent;
+
+		/**
+		 * The children of the category.
+		 */
+		final List<IParameterCategory> children;
+
+		/**
+		 * The state preceding this one, or {@code null} if no snapshot needs it.
+		 */
+		volatile CategoryState previous;
+
+		/**
+		 * Returns the state of a removed category.
+		 *
+		 * @param version the version the category was removed at.
+		 * @return the state of the removed category.
+		 */
+		static CategoryState removed(long version) {
+			return new CategoryState(version, null, null, List.of());
+		}
+
+		/**
+		 * Returns {@code true} if this state marks the removal of the category,
+		 * {@code false} otherwise.
+		 *
+		 * @return {@code true} if this state marks the removal of the category.
+		 */
+		boolean isRemoved() {
+			return items == null;
+		}
+
+		/**
+		 * Constructs a new state.
+		 *
+		 * @param version  the version this state was created at.
+		 * @param items    the items of the category.
+		 * @param parent   the parent of the category.
+		 * @param children the children of the category.
+		 */
+		CategoryState(long version, Map<String, ItemState> items, IParameterCategory parent,
+				List<IParameterCategory> children) {
+			this.version = version;
+			this.items = items;
+			this.parent = parent;
+			this.children = children;
+		}
+	}
+
+	/**
+	 * The state of an item at a given version.
+	 *
+	 * @param item   the live item.
+	 * @param active the active state of the item.
+	 */
+	record ItemState(IParameterItem<?> item, boolean active) {
+	}
+}
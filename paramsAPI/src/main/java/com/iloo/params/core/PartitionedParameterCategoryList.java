@@ -0,0 +1,112 @@
+package com.iloo.params.core;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+import org.eclipse.jdt.annotation.NonNull;
+
+/**
+ * A unified view of the categories of the partitions of a
+ * {@link PartitionedParameterFactory}.
+ */
+final class PartitionedParameterCategoryList implements IParameterCategoryList {
+
+	/**
+	 * The partitioned factory.
+	 */
+	private final PartitionedParameterFactory factory;
+
+	/**
+	 * Constructs a new view of the partitions of the given factory.
+	 *
+	 * @param factory the partitioned factory.
+	 */
+	PartitionedParameterCategoryList(@NonNull PartitionedParameterFactory factory) {
+		this.factory = factory;
+	}
+
+	/**
+	 * Returns the categories of every partition, partition by partition.
+	 *
+	 * @return the categories of every partition
+	 */
+	@Override
+	public List<IParameterCategory> getParameterCategories() {
+		List<IParameterCategory> categories = new ArrayList<>();
+		factory.getPartitions().forEach(
+				partition -> categories.addAll(partition.getParameterCategoryList().getParameterCategories()));
+		return categories;
+	}
+
+	/**
+	 * Returns the number of categories of every partition.
+	 *
+	 * @return the number of categories
+	 */
+	@Override
+	public int getSize() {
+		return factory.getPartitions().stream().mapToInt(partition -> partition.getParameterCategoryList().getSize())
+				.sum();
+	}
+
+	/**
+	 * Checks if every partition is empty.
+	 *
+	 * @return true if every partition is empty, false otherwise
+	 */
+	@Override
+	public boolean isEmpty() {
+		return factory.getPartitions().stream().allMatch(partition -> partition.getParameterCategoryList().isEmpty());
+	}
+
+	/**
+	 * Returns the sum of the versions of the partitions, which is incremented on
+	 * each mutation of any partition.
+	 *
+	 * @return the version of the categories
+	 */
+	@Override
+	public long getVersion() {
+		return factory.getPartitions().stream()
+				.mapToLong(partition -> partition.getParameterCategoryList().getVersion()).sum();
+	}
+
+	/**
+	 * Finds a category by its path in the partition owning the root label of the
+	 * path.
+	 *
+	 * @param path the labels from the root category to the searched category
+	 * @return an optional containing the category, or an empty optional if no
+	 *         category matches the path
+	 */
+	@Override
+	public Optional<IParameterCategory> findCategory(List<String> path) {
+		if (path.isEmpty()) {
+			return Optional.empty();
+		}
+		return factory.getPartition(path.get(0)).getParameterCategoryList().findCategory(path);
+	}
+
+	/**
+	 * Returns the date items of every partition whose date is in the given range,
+	 * in date order.
+	 *
+	 * @param from the start of the range, inclusive
+	 * @param to   the end of the range, exclusive
+	 * @return the date items whose date is in the range
+	 */
+	@Override
+	public List<IDateParameterItem<?>> findDateItemsBetween(@NonNull Instant from, @NonNull Instant to) {
+		Objects.requireNonNull(from, "Start cannot be null");
+		Objects.requireNonNull(to, "End cannot be null");
+		List<IDateParameterItem<?>> items = new ArrayList<>();
+		factory.getPartitions()
+				.forEach(partition -> items.addAll(partition.getParameterCategoryList().findDateItemsBetween(from, to)));
+		items.sort(Comparator.comparing(IDateParameterItem::getInstant));
+		return items;
+	}
+}
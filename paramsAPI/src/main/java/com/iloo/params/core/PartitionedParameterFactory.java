@@ -0,0 +1,324 @@
+package com.iloo.params.core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+import org.eclipse.jdt.annotation.NonNull;
+
+import com.iloo.params.exceptions.InvalidParameterCategoryException;
+import com.iloo.params.utils.VoidResult;
+
+/**
+ * Shards the root categories across several {@link ParameterFactory}
+ * partitions, so that independent subtrees are loaded and mutated in parallel.
+ *
+ * Each partition has its own tree, with its own lock, version and listeners.
+ * The partition of a root category is chosen by consistent hashing of its
+ * label over a ring of virtual nodes, and a subtree stays in the partition of
+ * its root: child categories and items must be created through
+ * {@link #createChildCategory(IParameterCategory, String, String)} and
+ * {@link #createParameterItem(IParameterCategory, String, Object, boolean)}.
+ * The categories of every partition are read through a unified
+ * {@link IParameterCategoryList}.
+ */
+public final class PartitionedParameterFactory {
+
+	/**
+	 * The default number of virtual nodes of each partition on the hash ring.
+	 */
+	public static final int DEFAULT_VIRTUAL_NODES = 64;
+
+	/**
+	 * The partitions.
+	 */
+	private final List<ParameterFactory> partitions;
+
+	/**
+	 * The hash ring, mapping the hash of each virtual node to its partition.
+	 */
+	private final NavigableMap<Integer, ParameterFactory> ring = new TreeMap<>();
+
+	/**
+	 * The unified view of the categories of the partitions.
+	 */
+	private final PartitionedParameterCategoryList categoryList = new PartitionedParameterCategoryList(this);
+
+	/**
+	 * Constructs a new factory with the given number of partitions and the
+	 * default number of virtual nodes.
+	 *
+	 * @param partitionCount the number of partitions.
+	 */
+	public PartitionedParameterFactory(int partitionCount) {
+		this(partitionCount, DEFAULT_VIRTUAL_NODES);
+	}
+
+	/**
+	 * Constructs a new factory with the given number of partitions.
+	 *
+	 * @param partitionCount the number of partitions.
+	 * @param virtualNodes   the number of virtual nodes of each partition on the
+	 *                       hash ring.
+	 */
+	public PartitionedParameterFactory(int partitionCount, int virtualNodes) {
+		if ((partitionCount <= 0) || (virtualNodes <= 0)) {
+			throw new IllegalArgumentException("Partition and virtual node counts must be positive");
+		}
+		List<ParameterFactory> factories = new ArrayList<>(partitionCount);
+		for (int partition = 0; partition < partitionCount; partition++) {
+			ParameterFactory factory = new ParameterFactory();
+			factories.add(factory);
+			for (int node = 0; node < virtualNodes; node++) {
+				ring.put(hash("partition-" + partition + "#" + node), factory);
+			}
+		}
+		this.partitions = List.copyOf(factories);
+	}
+
+	/**
+	 * Creates a root category in the partition owning its label.
+	 *
+	 * @param label       the label of the category.
+	 * @param description the description of the category.
+	 * @return the root category.
+	 */
+	public IParameterCategory createParameterCategory(@NonNull String label, @NonNull String description) {
+		return getPartition(label).createParameterCategory(label, description);
+	}
+
+	/**
+	 * Creates a category in the partition of the given parent and links it to the
+	 * parent.
+	 *
+	 * @param parent      the parent category.
+	 * @param label       the label of the category.
+	 * @param description the description of the category.
+	 * @return the child category.
+	 */
+	public IParameterCategory createChildCategory(@NonNull IParameterCategory parent, @NonNull String label,
+			@NonNull String description) {
+		IParameterCategory child = getPartitionOf(parent).createParameterCategory(label, description);
+		child.setParentCategory(parent);
+		return child;
+	}
+
+	/**
+	 * Creates an item in the partition of the given category, without adding it.
+	 *
+	 * @param <T>      the type of the value.
+	 * @param category the category the item is meant for.
+	 * @param label    the label of the item.
+	 * @param value    the value of the item.
+	 * @param active   whether the item is active.
+	 * @return the item.
+	 */
+	public <T> IParameterItem<T> createParameterItem(@NonNull IParameterCategory category, String label, T value,
+			boolean active) {
+		return getPartitionOf(category).createParameterItem(label, value, active);
+	}
+
+	/**
+	 * Returns the partition owning the given root label.
+	 *
+	 * @param rootLabel the label of a root category.
+	 * @return the factory of the partition.
+	 */
+	public IParameterFactory getPartition(@NonNull String rootLabel) {
+		Objects.requireNonNull(rootLabel, "Label cannot be null");
+		Map.Entry<Integer, ParameterFactory> node = ring.ceilingEntry(hash(rootLabel));
+		return (node == null ? ring.firstEntry() : node).getValue();
+	}
+
+	/**
+	 * Returns the partition holding the given category.
+	 *
+	 * @param category the category.
+	 * @return the factory of the partition.
+	 * @throws InvalidParameterCategoryException if the category belongs to none of
+	 *                                           the partitions.
+	 */
+	public IParameterFactory getPartitionOf(@NonNull IParameterCategory category) {
+		Objects.requireNonNull(category, "Parameter category cannot be null");
+		if (category instanceof ParameterCategory parameterCategory) {
+			for (ParameterFactory partition : partitions) {
+				if (partition.tree == parameterCategory.getTree()) {
+					return partition;
+				}
+			}
+		}
+		throw InvalidParameterCategoryException.forForeignCategory(category.getLabel());
+	}
+
+	/**
+	 * Returns the partitions.
+	 *
+	 * @return the factories of the partitions.
+	 */
+	public List<IParameterFactory> getPartitions() {
+		return List.copyOf(partitions);
+	}
+
+	/**
+	 * Returns a unified view of the categories of every partition.
+	 *
+	 * @return the categories of every partition.
+	 */
+	public IParameterCategoryList getParameterCategoryList() {
+		return categoryList;
+	}
+
+	/**
+	 * Adds a listener notified of the mutations of every partition. A listener
+	 * may be notified concurrently by different partitions.
+	 *
+	 * @param listener the listener.
+	 */
+	public void addTreeListener(@NonNull IParameterTreeListener listener) {
+		partitions.forEach(partition -> partition.addTreeListener(listener));
+	}
+
+	/**
+	 * Removes a listener from every partition.
+	 *
+	 * @param listener the listener.
+	 */
+	public void removeTreeListener(IParameterTreeListener listener) {
+		partitions.forEach(partition -> partition.removeTreeListener(listener));
+	}
+
+	/**
+	 * Loads root subtrees in parallel, one thread per partition.
+	 *
+	 * Each loader is given the factory of the partition owning its root label,
+	 * through which it must create the root category with that label and its
+	 * subtree. The loaders of a partition run one after the other, while the
+	 * partitions are loaded in parallel without contending for a lock.
+	 *
+	 * Nothing is loaded if a root category already holds one of the labels. Once
+	 * loaded, a new root category whose label has no loader, belongs to another
+	 * partition or is held by another new root category is removed with its
+	 * subtree, and reported as an error.
+	 *
+	 * @param loaders the loader of each root label.
+	 * @return the result of the operation, in error if a root label already
+	 *         exists, a loader failed or a loader created an invalid root
+	 *         category.
+	 */
+	public VoidResult bulkLoad(@NonNull Map<String, ? extends Consumer<IParameterFactory>> loaders) {
+		Objects.requireNonNull(loaders, "Loaders cannot be null");
+		Set<String> rootLabels = new HashSet<>();
+		getRootCategories().forEach(root -> rootLabels.add(root.getLabel()));
+		for (String rootLabel : loaders.keySet()) {
+			if (rootLabels.contains(rootLabel)) {
+				return VoidResult.error(InvalidParameterCategoryException.forInvalidLabelValue(rootLabel,
+						"Root category already exists"));
+			}
+		}
+		Set<IParameterCategory> existing = Collections.newSetFromMap(new IdentityHashMap<>());
+		partitions.forEach(
+				partition -> existing.addAll(partition.getParameterCategoryList().getParameterCategories()));
+
+		Map<IParameterFactory, List<Consumer<IParameterFactory>>> byPartition = new LinkedHashMap<>();
+		loaders.forEach((rootLabel, loader) -> byPartition
+				.computeIfAbsent(getPartition(rootLabel), partition -> new ArrayList<>()).add(loader));
+		if (byPartition.isEmpty()) {
+			return VoidResult.ok();
+		}
+
+		ExecutorService executor = Executors.newFixedThreadPool(byPartition.size(), runnable -> {
+			Thread thread = new Thread(runnable, "params-bulk-loader");
+			thread.setDaemon(true);
+			return thread;
+		});
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			byPartition.forEach((partition, partitionLoaders) -> futures
+					.add(executor.submit(() -> partitionLoaders.forEach(loader -> loader.accept(partition)))));
+			List<String> errors = new ArrayList<>();
+			Throwable firstError = null;
+			for (Future<?> future : futures) {
+				try {
+					future.get();
+				} catch (ExecutionException e) {
+					errors.add(String.valueOf(e.getCause().getMessage()));
+					firstError = firstError == null ? e.getCause() : firstError;
+				}
+			}
+			for (InvalidParameterCategoryException e : removeInvalidRoots(loaders.keySet(), existing)) {
+				errors.add(e.getMessage());
+				firstError = firstError == null ? e : firstError;
+			}
+			return errors.isEmpty() ? VoidResult.ok()
+					: VoidResult.error("Cannot load partitions: " + String.join("; ", errors), firstError);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return VoidResult.error("Bulk load interrupted", e);
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private List<IParameterCategory> getRootCategories() {
+		List<IParameterCategory> roots = new ArrayList<>();
+		partitions.forEach(partition -> partition.getParameterCategoryList().getParameterCategories().stream()
+				.filter(category -> category.getParentCategory().isEmpty()).forEach(roots::add));
+		return roots;
+	}
+
+	/**
+	 * Removes the invalid root categories created by a bulk load.
+	 *
+	 * @param rootLabels the labels of the loaded root categories.
+	 * @param existing   the categories created before the bulk load.
+	 * @return the errors describing the removed root categories.
+	 */
+	private List<InvalidParameterCategoryException> removeInvalidRoots(Set<String> rootLabels,
+			Set<IParameterCategory> existing) {
+		List<InvalidParameterCategoryException> errors = new ArrayList<>();
+		Set<String> loaded = new HashSet<>();
+		for (IParameterCategory root : getRootCategories()) {
+			if (existing.contains(root)) {
+				continue;
+			}
+			String label = root.getLabel();
+			String error = null;
+			if (!rootLabels.contains(label)) {
+				error = "Root category created without a loader";
+			} else if (getPartitionOf(root) != getPartition(label)) {
+				error = "Root category created in another partition";
+			} else if (!loaded.add(label)) {
+				error = "Root category created twice";
+			}
+			if (error != null) {
+				root.removeSubtree();
+				errors.add(InvalidParameterCategoryException.forInvalidLabelValue(label, error));
+			}
+		}
+		return errors;
+	}
+
+	private static int hash(String key) {
+		// Murmur3 finalizer, spreading the similar hash codes of similar labels
+		int hash = key.hashCode();
+		hash ^= hash >>> 16;
+		hash *= 0x85ebca6b;
+		hash ^= hash >>> 13;
+		hash *= 0xc2b2ae35;
+		hash ^= hash >>> 16;
+		return hash;
+	}
+}
@@ -0,0 +1,416 @@
+package com.iloo.params.dispatch;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.eclipse.jdt.annotation.NonNull;
+
+import com.iloo.params.core.IParameterItem;
+
+/**
+ * Invokes consumer-valued parameter items asynchronously, so that callers do
+ * not wait for consumers doing I/O.
+ *
+ * Each item has its own lane: the invocations of an item run one at a time, in
+ * the order they were dispatched, while the lanes of different items run in
+ * parallel on a bounded executor. A lane is drained in micro-batches of at most
+ * {@link #getBatchSize()} invocations per executor task, so that a busy item
+ * cannot monopolize a thread. The consumer is read from the item when the
+ * invocation is dispatched. A lane is dropped once drained, so that only the
+ * items with pending invocations are tracked.
+ */
+public final class ParameterConsumerDispatcher implements AutoCloseable {
+
+	/**
+	 * The default maximum number of invocations run by a single executor task.
+	 */
+	public static final int DEFAULT_BATCH_SIZE = 32;
+
+	/**
+	 * The logger.
+	 */
+	private static final Logger LOGGER = LogManager.getLogger(ParameterConsumerDispatcher.class);
+
+	/**
+	 * The executor running the batches.
+	 */
+	private final Executor executor;
+
+	/**
+	 * The executor owned by this dispatcher, or {@code null} if it was given.
+	 */
+	private final ExecutorService ownedExecutor;
+
+	/**
+	 * The maximum number of invocations run by a single executor task.
+	 */
+	private final int batchSize;
+
+	/**
+	 * The lane of each item with pending invocations. A lane is created and
+	 * dropped under the lock of the map.
+	 */
+	private final Map<IParameterItem<?>, Lane> lanes = Collections.synchronizedMap(new IdentityHashMap<>());
+
+	/**
+	 * The number of invocations dispatched but not run yet.
+	 */
+	private final AtomicLong queueDepth = new AtomicLong();
+
+	/**
+	 * The number of completed invocations.
+	 */
+	private final LongAdder completed = new LongAdder();
+
+	/**
+	 * The number of invocations whose consumer threw.
+	 */
+	private final LongAdder failed = new LongAdder();
+
+	/**
+	 * The sum of the latencies of the completed invocations, in nanoseconds.
+	 */
+	private final LongAdder totalLatency = new LongAdder();
+
+	/**
+	 * The maximum latency of the completed invocations, in nanoseconds.
+	 */
+	private final LongAccumulator maxLatency = new LongAccumulator(Math::max, 0);
+
+	/**
+	 * Whether the dispatcher is closed.
+	 */
+	private volatile boolean closed;
+
+	/**
+	 * Constructs a new dispatcher running the batches of the default size on an
+	 * owned pool of the given number of threads.
+	 *
+	 * @param threads the number of threads.
+	 */
+	public ParameterConsumerDispatcher(int threads) {
+		this(threads, DEFAULT_BATCH_SIZE);
+	}
+
+	/**
+	 * Constructs a new dispatcher running the batches on an owned pool of the
+	 * given number of threads.
+	 *
+	 * @param threads   the number of threads.
+	 * @param batchSize the maximum number of invocations run by a single executor
+	 *                  task.
+	 */
+	public ParameterConsumerDispatcher(int threads, int batchSize) {
+		this(Executors.newFixedThreadPool(threads, runnable -> {
+			Thread thread = new Thread(runnable, "params-dispatcher");
+			thread.setDaemon(true);
+			return thread;
+		}), batchSize, true);
+	}
+
+	/**
+	 * Constructs a new dispatcher running the batches on the given executor, which
+	 * is not shut down on {@link #close()}.
+	 *
+	 * @param executor  the executor running the batches.
+	 * @param batchSize the maximum number of invocations run by a single executor
+	 *                  task.
+	 */
+	public ParameterConsumerDispatcher(@NonNull Executor executor, int batchSize) {
+		this(executor, batchSize, false);
+	}
+
+	private ParameterConsumerDispatcher(Executor executor, int batchSize, boolean owned) {
+		this.executor = Objects.requireNonNull(executor, "Executor cannot be null");
+		if (batchSize <= 0) {
+			throw new IllegalArgumentException("Batch size must be positive");
+		}
+		this.batchSize = batchSize;
+		this.ownedExecutor = owned ? (ExecutorService) executor : null;
+	}
+
+	/**
+	 * Queues an invocation of the consumer held by the given item.
+	 *
+	 * @param <T>      the type of the argument.
+	 * @param item     the consumer-valued item.
+	 * @param argument the argument of the consumer.
+	 * @return a future completed once the consumer ran, exceptionally if it threw.
+	 * @throws IllegalStateException if the dispatcher is closed.
+	 */
+	public <T> CompletableFuture<Void> dispatch(@NonNull IParameterItem<? extends Consumer<? super T>> item,
+			T argument) {
+		Objects.requireNonNull(item, "Parameter item cannot be null");
+		if (closed) {
+			throw new IllegalStateException("Dispatcher is closed");
+		}
+		Consumer<? super T> consumer = item.getValue();
+		Invocation invocation = new Invocation(() -> consumer.accept(argument), System.nanoTime(),
+				new CompletableFuture<>());
+		queueDepth.incrementAndGet();
+		boolean[] idle = new boolean[1];
+		Lane lane = lanes.compute(item, (i, current) -> {
+			Lane target = current == null ? new Lane(i) : current;
+			idle[0] = target.offer(invocation);
+			return target;
+		});
+		if (idle[0]) {
+			schedule(lane);
+		}
+		return invocation.future;
+	}
+
+	/**
+	 * Returns the maximum number of invocations run by a single executor task.
+	 *
+	 * @return the maximum number of invocations run by a single executor task.
+	 */
+	public int getBatchSize() {
+		return batchSize;
+	}
+
+	/**
+	 * Returns the number of items with pending invocations.
+	 *
+	 * @return the number of items with pending invocations.
+	 */
+	public int getLaneCount() {
+		return lanes.size();
+	}
+
+	/**
+	 * Returns a snapshot of the metrics of the dispatcher.
+	 *
+	 * @return a snapshot of the metrics of the dispatcher.
+	 */
+	public Metrics getMetrics() {
+		long completedCount = completed.sum();
+		long averageLatency = completedCount == 0 ? 0 : totalLatency.sum() / completedCount;
+		return new Metrics(queueDepth.get(), completedCount, failed.sum(), Duration.ofNanos(averageLatency),
+				Duration.ofNanos(maxLatency.get()));
+	}
+
+	/**
+	 * Stops accepting invocations and, if the executor is owned, waits for the
+	 * queued ones to run.
+	 */
+	@Override
+	public void close() {
+		closed = true;
+		if (ownedExecutor == null) {
+			return;
+		}
+		ownedExecutor.shutdown();
+		try {
+			if (!ownedExecutor.awaitTermination(10, TimeUnit.SECONDS)) {
+				LOGGER.warn("Dispatcher closed with {} queued invocations", queueDepth.get());
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private void schedule(Lane lane) {
+		try {
+			executor.execute(() -> drain(lane));
+		} catch (RejectedExecutionException e) {
+			for (Invocation invocation : lane.discard()) {
+				queueDepth.decrementAndGet();
+				invocation.future.completeExceptionally(e);
+			}
+			if (!release(lane)) {
+				schedule(lane);
+			}
+		}
+	}
+
+	private void drain(Lane lane) {
+		boolean pending = true;
+		try {
+			List<Invocation> batch = lane.poll(batchSize);
+			run(batch);
+			// Once closed, the owned executor rejects new tasks: finish the lane here
+			while (closed && !batch.isEmpty()) {
+				batch = lane.poll(batchSize);
+				run(batch);
+			}
+			pending = !batch.isEmpty() || !release(lane);
+		} finally {
+			if (pending) {
+				// Yield the thread to the other lanes before the next batch
+				schedule(lane);
+			}
+		}
+	}
+
+	/**
+	 * Drops a lane if no invocation was queued since it was drained.
+	 *
+	 * @param lane the drained lane.
+	 * @return {@code true} if the lane was dropped, {@code false} if it must be
+	 *         drained again.
+	 */
+	private boolean release(Lane lane) {
+		boolean[] released = new boolean[1];
+		lanes.computeIfPresent(lane.item, (item, current) -> {
+			released[0] = current.releaseIfEmpty();
+			return released[0] ? null : current;
+		});
+		return released[0];
+	}
+
+	private void run(List<Invocation> batch) {
+		for (Invocation invocation : batch) {
+			queueDepth.decrementAndGet();
+			Throwable failure = null;
+			try {
+				invocation.task.run();
+			} catch (Throwable e) {
+				// An error thrown by a consumer must not stop the lane
+				failure = e;
+				failed.increment();
+				LOGGER.warn("Consumer invocation failed", e);
+			}
+			// Record the metrics before completing, so that callers observe them
+			long latency = System.nanoTime() - invocation.enqueuedAt;
+			completed.increment();
+			totalLatency.add(latency);
+			maxLatency.accumulate(latency);
+			if (failure == null) {
+				invocation.future.complete(null);
+			} else {
+				invocation.future.completeExceptionally(failure);
+			}
+		}
+	}
+
+	/**
+	 * A snapshot of the metrics of a dispatcher.
+	 *
+	 * @param queueDepth     the number of invocations dispatched but not run yet.
+	 * @param completed      the number of completed invocations, failed ones
+	 *                       included.
+	 * @param failed         the number of invocations whose consumer threw.
+	 * @param averageLatency the average time between the dispatch and the
+	 *                       completion of an invocation.
+	 * @param maxLatency     the maximum time between the dispatch and the
+	 *                       completion of an invocation.
+	 */
+	public record Metrics(long queueDepth, long completed, long failed, Duration averageLatency,
+			Duration maxLatency) {
+	}
+
+	/**
+	 * A queued invocation.
+	 *
+	 * @param task       the invocation of the consumer.
+	 * @param enqueuedAt the {@link System#nanoTime()} of the dispatch.
+	 * @param future     the future completed once the consumer ran.
+	 */
+	private record Invocation(Runnable task, long enqueuedAt, CompletableFuture<Void> future) {
+	}
+
+	/**
+	 * The queued invocations of an item, drained by at most one task at a time.
+	 */
+	private static final class Lane {
+
+		/**
+		 * The item whose invocations are queued.
+		 */
+		private final IParameterItem<?> item;
+
+		/**
+		 * The queued invocations.
+		 */
+		private final Deque<Invocation> queue = new ArrayDeque<>();
+
+		/**
+		 * Whether a task is draining the lane.
+		 */
+		private boolean scheduled;
+
+		/**
+		 * Constructs a new empty lane.
+		 *
+		 * @param item the item whose invocations are queued.
+		 */
+		Lane(IParameterItem<?> item) {
+			this.item = item;
+		}
+
+		/**
+		 * Queues an invocation.
+		 *
+		 * @param invocation the invocation.
+		 * @return {@code true} if the lane must be scheduled, {@code false} if a task
+		 *         is already draining it.
+		 */
+		synchronized boolean offer(Invocation invocation) {
+			queue.add(invocation);
+			if (scheduled) {
+				return false;
+			}
+			scheduled = true;
+			return true;
+		}
+
+		/**
+		 * Takes the next batch of invocations.
+		 *
+		 * @param maxSize the maximum size of the batch.
+		 * @return the batch, empty if the lane is drained.
+		 */
+		synchronized List<Invocation> poll(int maxSize) {
+			List<Invocation> batch = new ArrayList<>(Math.min(maxSize, queue.size()));
+			while ((batch.size() < maxSize) && !queue.isEmpty()) {
+				batch.add(queue.poll());
+			}
+			return batch;
+		}
+
+		/**
+		 * Releases the lane if it is empty.
+		 *
+		 * @return {@code true} if the lane was released, {@code false} if
+		 *         invocations are queued.
+		 */
+		synchronized boolean releaseIfEmpty() {
+			if (!queue.isEmpty()) {
+				return false;
+			}
+			scheduled = false;
+			return true;
+		}
+
+		/**
+		 * Takes all the queued invocations.
+		 *
+		 * @return the queued invocations.
+		 */
+		synchronized List<Invocation> discard() {
+			List<Invocation> discarded = new ArrayList<>(queue);
+			queue.clear();
+			return discarded;
+		}
+	}
+}
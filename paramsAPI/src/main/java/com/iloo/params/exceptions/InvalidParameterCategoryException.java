@@ -30,6 +30,19 @@ public class InvalidParameterCategoryException extends RuntimeException {
 		return new InvalidParameterCategoryException("Circular dependency detected for parameter");
 	}
 
+	/**
+	 * Constructs an exception indicating that a parameter category belongs to
+	 * another parameter tree than the one it is used with.
+	 *
+	 * @param categoryLabel the label of the foreign category.
+	 * @return an InvalidParameterCategoryException with a message indicating a
+	 *         category of another tree.
+	 */
+	public static InvalidParameterCategoryException forForeignCategory(String categoryLabel) {
+		return new InvalidParameterCategoryException(
+				"Parameter category '" + categoryLabel + "' belongs to another parameter tree");
+	}
+
 	/**
 	 * Constructs an exception indicating that the specified value is invalid for
 	 * the parameter with the specified label.
@@ -57,4 +70,39 @@ public class InvalidParameterCategoryException extends RuntimeException {
 			String message) {
 		return new InvalidParameterCategoryException("Invalid value for parameter '" + parameterItem + "': " + message);
 	}
+
+	/**
+	 * Constructs an exception indicating that the parameter tree cannot be mutated,
+	 * either because it is a snapshot or because it is owned by another thread.
+	 *
+	 * @return an InvalidParameterCategoryException with a message indicating a
+	 *         read-only tree.
+	 */
+	public static InvalidParameterCategoryException forReadOnlyTree() {
+		return new InvalidParameterCategoryException("Parameter tree is read-only");
+	}
+
+	/**
+	 * Constructs an exception indicating that a parameter category was removed
+	 * from its tree and can no longer be mutated.
+	 *
+	 * @param categoryLabel the label of the removed category.
+	 * @return an InvalidParameterCategoryException with a message indicating a
+	 *         removed category.
+	 */
+	public static InvalidParameterCategoryException forRemovedCategory(String categoryLabel) {
+		return new InvalidParameterCategoryException("Parameter category '" + categoryLabel + "' was removed");
+	}
+
+	/**
+	 * Constructs an exception indicating that the specified version of the
+	 * parameter tree can no longer be read.
+	 *
+	 * @param version the requested version.
+	 * @return an InvalidParameterCategoryException with a message indicating an
+	 *         unavailable version.
+	 */
+	public static InvalidParameterCategoryException forUnavailableVersion(long version) {
+		return new InvalidParameterCategoryException("Version " + version + " of the parameter tree is not available");
+	}
 }
@@ -28,4 +28,15 @@ public class InvalidParameterItemException extends RuntimeException {
 		return new InvalidParameterItemException("Value must be of type String, Number, Date, or Path.");
 	}
 
+	/**
+	 * Constructs an exception indicating that the specified value type cannot be
+	 * stored outside the heap.
+	 *
+	 * @return an InvalidParameterItemException with a message indicating an
+	 *         unsupported off-heap value type.
+	 */
+	public static InvalidParameterItemException forUnsupportedOffHeapType() {
+		return new InvalidParameterItemException("Off-heap value must be of type String or Number.");
+	}
+
 }
@@ -0,0 +1,12 @@
+package com.iloo.params.index;
+
+import com.iloo.params.core.IParameterCategory;
+
+/**
+ * A category found by an index, along with its depth.
+ *
+ * @param category the category.
+ * @param depth    the depth of the category, {@code 1} for a root category.
+ */
+public record CategoryDepth(IParameterCategory category, int depth) {
+}
@@ -0,0 +1,13 @@
+package com.iloo.params.index;
+
+import com.iloo.params.core.IParameterCategory;
+import com.iloo.params.core.IParameterItem;
+
+/**
+ * An item found by an index, along with the category holding it.
+ *
+ * @param category the category holding the item.
+ * @param item     the item.
+ */
+public record IndexedItem(IParameterCategory category, IParameterItem<?> item) {
+}
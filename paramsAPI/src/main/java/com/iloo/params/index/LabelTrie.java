@@ -0,0 +1,123 @@
+package com.iloo.params.index;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+
+/**
+ * A prefix tree mapping lower-cased labels to values. Not thread-safe.
+ *
+ * @param <V> the type of the values.
+ */
+final class LabelTrie<V> {
+
+	/**
+	 * The root node, matching the empty prefix.
+	 */
+	private final Node<V> root = new Node<>();
+
+	/**
+	 * Adds a value under a key.
+	 *
+	 * @param key   the lower-cased key.
+	 * @param value the value.
+	 */
+	void add(String key, V value) {
+		Node<V> node = root;
+		for (int i = 0; i < key.length(); i++) {
+			node = node.children.computeIfAbsent(key.charAt(i), c -> new Node<>());
+		}
+		node.values.add(value);
+	}
+
+	/**
+	 * Removes the first value matching a predicate from under a key.
+	 *
+	 * @param key     the lower-cased key.
+	 * @param matcher the predicate matching the value to remove.
+	 */
+	void remove(String key, Predicate<V> matcher) {
+		Deque<Node<V>> path = new ArrayDeque<>();
+		Node<V> node = root;
+		for (int i = 0; (node != null) && (i < key.length()); i++) {
+			path.push(node);
+			node = node.children.get(key.charAt(i));
+		}
+		if (node == null) {
+			return;
+		}
+		for (Iterator<V> iterator = node.values.iterator(); iterator.hasNext();) {
+			if (matcher.test(iterator.next())) {
+				iterator.remove();
+				break;
+			}
+		}
+		// Prune the nodes left without values nor children
+		for (int i = key.length() - 1; (i >= 0) && node.values.isEmpty() && node.children.isEmpty(); i--) {
+			Node<V> parent = path.pop();
+			parent.children.remove(key.charAt(i));
+			node = parent;
+		}
+	}
+
+	/**
+	 * Returns the values whose key starts with the given prefix, in key order.
+	 *
+	 * @param prefix the lower-cased prefix.
+	 * @param limit  the maximum number of values.
+	 * @return the values whose key starts with the prefix.
+	 */
+	List<V> find(String prefix, int limit) {
+		Node<V> node = root;
+		for (int i = 0; (node != null) && (i < prefix.length()); i++) {
+			node = node.children.get(prefix.charAt(i));
+		}
+		List<V> result = new ArrayList<>();
+		if (node != null) {
+			collect(node, limit, result);
+		}
+		return result;
+	}
+
+	private static <V> void collect(Node<V> node, int limit, List<V> result) {
+		Deque<Node<V>> stack = new ArrayDeque<>();
+		stack.push(node);
+		while (!stack.isEmpty() && (result.size() < limit)) {
+			Node<V> current = stack.pop();
+			for (V value : current.values) {
+				if (result.size() == limit) {
+					return;
+				}
+				result.add(value);
+			}
+			// Push in reverse order so that the children are visited in key order
+			List<Node<V>> children = new ArrayList<>(current.children.values());
+			for (int i = children.size() - 1; i >= 0; i--) {
+				stack.push(children.get(i));
+			}
+		}
+	}
+
+	/**
+	 * A node of the tree.
+	 *
+	 * @param <V> the type of the values.
+	 */
+	private static final class Node<V> {
+
+		/**
+		 * The children, keyed by the next character.
+		 */
+		final Map<Character, Node<V>> children = new TreeMap<>();
+
+		/**
+		 * The values whose key ends at this node.
+		 */
+		final List<V> values = new ArrayList<>(1);
+	}
+}
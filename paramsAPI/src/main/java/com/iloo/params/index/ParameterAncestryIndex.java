@@ -0,0 +1,445 @@
+package com.iloo.params.index;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.eclipse.jdt.annotation.NonNull;
+
+import com.iloo.params.core.IParameterCategory;
+import com.iloo.params.core.IParameterFactory;
+import com.iloo.params.core.IParameterTreeListener;
+import com.iloo.params.core.ParameterTreeEvent;
+
+/**
+ * Answers depth, ancestry and lowest-common-ancestor queries in constant time.
+ *
+ * Each tree of the forest is indexed by an Euler tour, along with the entry
+ * and exit times of its categories and a sparse table of the depths along the
+ * tour. A structural change only marks the trees it touches as stale: they are
+ * rebuilt on the next query, from the parent links of the categories, while
+ * the other trees are kept as they are.
+ */
+public final class ParameterAncestryIndex implements AutoCloseable {
+
+	/**
+	 * The factory notifying the mutations.
+	 */
+	private final IParameterFactory factory;
+
+	/**
+	 * The listener marking the changed trees as stale.
+	 */
+	private final IParameterTreeListener listener = this::onEvent;
+
+	/**
+	 * The lock guarding the tours.
+	 */
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+	/**
+	 * The tour of each indexed category.
+	 */
+	private final Map<IParameterCategory, Tour> tours = new IdentityHashMap<>();
+
+	/**
+	 * The categories whose tree must be rebuilt.
+	 */
+	private final Set<IParameterCategory> stale = Collections.newSetFromMap(new IdentityHashMap<>());
+
+	/**
+	 * The number of trees built since the creation of the index.
+	 */
+	private int rebuildCount;
+
+	/**
+	 * Constructs a new index of the current trees of the factory, maintained as
+	 * they change.
+	 *
+	 * @param factory the factory owning the trees.
+	 */
+	public ParameterAncestryIndex(@NonNull IParameterFactory factory) {
+		this.factory = Objects.requireNonNull(factory, "Factory cannot be null");
+		factory.replayTree(listener, () -> factory.addTreeListener(listener));
+	}
+
+	/**
+	 * Returns the depth of a category.
+	 *
+	 * @param category the category.
+	 * @return the depth of the category, {@code 1} for a root category.
+	 */
+	public int getDepth(@NonNull IParameterCategory category) {
+		Objects.requireNonNull(category, "Parameter category cannot be null");
+		lock.readLock().lock();
+		try {
+			Tour tour = tourOf(category);
+			if (tour != null) {
+				return tour.depthOf(category);
+			}
+		} finally {
+			lock.readLock().unlock();
+		}
+		lock.writeLock().lock();
+		try {
+			return rebuild(category).depthOf(category);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Checks if a category is a strict ancestor of another one.
+	 *
+	 * @param ancestor   the candidate ancestor.
+	 * @param descendant the candidate descendant.
+	 * @return {@code true} if the first category is an ancestor of the second
+	 *         one, {@code false} otherwise.
+	 */
+	public boolean isAncestor(@NonNull IParameterCategory ancestor, @NonNull IParameterCategory descendant) {
+		Objects.requireNonNull(ancestor, "Parameter category cannot be null");
+		Objects.requireNonNull(descendant, "Parameter category cannot be null");
+		if (ancestor == descendant) {
+			return false;
+		}
+		lock.readLock().lock();
+		try {
+			Tour ancestorTour = tourOf(ancestor);
+			Tour descendantTour = tourOf(descendant);
+			if ((ancestorTour != null) && (descendantTour != null)) {
+				return (ancestorTour == descendantTour) && ancestorTour.contains(ancestor, descendant);
+			}
+		} finally {
+			lock.readLock().unlock();
+		}
+		lock.writeLock().lock();
+		try {
+			Tour ancestorTour = rebuild(ancestor);
+			return (ancestorTour == rebuild(descendant)) && ancestorTour.contains(ancestor, descendant);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Finds the lowest common ancestor of two categories, i.e. the deepest
+	 * category being one of them or an ancestor of both.
+	 *
+	 * @param first  the first category.
+	 * @param second the second category.
+	 * @return the lowest common ancestor, or an empty optional if the categories
+	 *         belong to different trees.
+	 */
+	public Optional<IParameterCategory> findLowestCommonAncestor(@NonNull IParameterCategory first,
+			@NonNull IParameterCategory second) {
+		Objects.requireNonNull(first, "Parameter category cannot be null");
+		Objects.requireNonNull(second, "Parameter category cannot be null");
+		lock.readLock().lock();
+		try {
+			Tour firstTour = tourOf(first);
+			Tour secondTour = tourOf(second);
+			if ((firstTour != null) && (secondTour != null)) {
+				return firstTour == secondTour ? Optional.of(firstTour.lowestCommonAncestor(first, second))
+						: Optional.empty();
+			}
+		} finally {
+			lock.readLock().unlock();
+		}
+		lock.writeLock().lock();
+		try {
+			Tour firstTour = rebuild(first);
+			return firstTour == rebuild(second) ? Optional.of(firstTour.lowestCommonAncestor(first, second))
+					: Optional.empty();
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Stops maintaining the index.
+	 */
+	@Override
+	public void close() {
+		factory.removeTreeListener(listener);
+	}
+
+	/**
+	 * Returns the number of trees built since the creation of the index.
+	 *
+	 * @return the number of built trees.
+	 */
+	int getRebuildCount() {
+		lock.readLock().lock();
+		try {
+			return rebuildCount;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	private void onEvent(ParameterTreeEvent event) {
+		lock.writeLock().lock();
+		try {
+			switch (event.type()) {
+			case CATEGORY_CREATED -> stale.add(event.category());
+			case CATEGORY_LINKED, CATEGORY_MOVED -> {
+				// The tree the child left is stale as well as the one it joined
+				markStale(event.category());
+				markStale(event.relatedCategory());
+			}
+			case SUBTREE_REMOVED -> {
+				if (event.relatedCategory() != null) {
+					markStale(event.relatedCategory());
+				}
+				event.category().depthFirstSearch(category -> true).forEach(category -> {
+					tours.remove(category);
+					stale.remove(category);
+				});
+			}
+			default -> {
+				// Items do not change the shape of the trees
+			}
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	private void markStale(IParameterCategory category) {
+		stale.add(category);
+		Tour tour = tours.get(category);
+		if (tour != null) {
+			tour.stale = true;
+			stale.add(tour.root);
+		}
+	}
+
+	/**
+	 * Returns the up-to-date tour of a category.
+	 *
+	 * @param category the category.
+	 * @return the tour, or {@code null} if it must be rebuilt.
+	 */
+	private Tour tourOf(IParameterCategory category) {
+		Tour tour = tours.get(category);
+		return (tour == null) || tour.stale || stale.contains(category) ? null : tour;
+	}
+
+	/**
+	 * Rebuilds the stale trees, then returns the tour of a category.
+	 *
+	 * @param category the category.
+	 * @return the tour of the category.
+	 */
+	private Tour rebuild(IParameterCategory category) {
+		if (tourOf(category) == null) {
+			stale.add(category);
+		}
+		Set<IParameterCategory> roots = Collections.newSetFromMap(new IdentityHashMap<>());
+		for (IParameterCategory staleCategory : stale) {
+			roots.add(rootOf(staleCategory));
+		}
+		stale.clear();
+		for (IParameterCategory root : roots) {
+			Tour tour = new Tour(root);
+			tour.categories().forEach(indexed -> tours.put(indexed, tour));
+			rebuildCount++;
+		}
+		return tours.get(category);
+	}
+
+	private static IParameterCategory rootOf(IParameterCategory category) {
+		IParameterCategory root = category;
+		Optional<IParameterCategory> parent = root.getParentCategory();
+		while (parent.isPresent()) {
+			root = parent.get();
+			parent = root.getParentCategory();
+		}
+		return root;
+	}
+
+	/**
+	 * The Euler tour of a tree, with a sparse table of the depths along the tour.
+	 */
+	private static final class Tour {
+
+		/**
+		 * The root of the tree.
+		 */
+		final IParameterCategory root;
+
+		/**
+		 * The categories along the tour, each category being visited once on entry
+		 * and once after each of its children.
+		 */
+		private final IParameterCategory[] euler;
+
+		/**
+		 * The depth of each category along the tour.
+		 */
+		private final int[] eulerDepths;
+
+		/**
+		 * The entry time, exit time, first tour position and depth of each
+		 * category.
+		 */
+		private final Map<IParameterCategory, int[]> positions = new IdentityHashMap<>();
+
+		/**
+		 * The position along the tour of the shallowest category of each range of
+		 * 2^k positions: {@code sparse[k][i]} covers [i, i + 2^k).
+		 */
+		private final int[][] sparse;
+
+		/**
+		 * Whether the tree changed since the tour was built.
+		 */
+		boolean stale;
+
+		/**
+		 * Builds the tour of a tree, following the children whose parent link
+		 * points back to their parent.
+		 *
+		 * @param root the root of the tree.
+		 */
+		Tour(IParameterCategory root) {
+			this.root = root;
+			List<IParameterCategory> tour = new ArrayList<>();
+			List<Integer> depths = new ArrayList<>();
+			Deque<Frame> stack = new ArrayDeque<>();
+			int time = 0;
+			stack.push(new Frame(root, 1, children(root)));
+			positions.put(root, new int[] { time++, 0, 0, 1 });
+			tour.add(root);
+			depths.add(1);
+			while (!stack.isEmpty()) {
+				Frame frame = stack.peek();
+				if (frame.next < frame.children.size()) {
+					IParameterCategory child = frame.children.get(frame.next++);
+					positions.put(child, new int[] { time++, 0, tour.size(), frame.depth + 1 });
+					tour.add(child);
+					depths.add(frame.depth + 1);
+					stack.push(new Frame(child, frame.depth + 1, children(child)));
+				} else {
+					stack.pop();
+					positions.get(frame.category)[1] = time - 1;
+					if (!stack.isEmpty()) {
+						tour.add(stack.peek().category);
+						depths.add(stack.peek().depth);
+					}
+				}
+			}
+			this.euler = tour.toArray(IParameterCategory[]::new);
+			this.eulerDepths = depths.stream().mapToInt(Integer::intValue).toArray();
+			this.sparse = buildSparseTable(eulerDepths);
+		}
+
+		/**
+		 * Returns the categories of the tree.
+		 *
+		 * @return the categories of the tree.
+		 */
+		Set<IParameterCategory> categories() {
+			return positions.keySet();
+		}
+
+		int depthOf(IParameterCategory category) {
+			return positions.get(category)[3];
+		}
+
+		boolean contains(IParameterCategory ancestor, IParameterCategory descendant) {
+			int[] ancestorPosition = positions.get(ancestor);
+			int[] descendantPosition = positions.get(descendant);
+			return (ancestorPosition[0] <= descendantPosition[0]) && (descendantPosition[1] <= ancestorPosition[1]);
+		}
+
+		IParameterCategory lowestCommonAncestor(IParameterCategory first, IParameterCategory second) {
+			int from = positions.get(first)[2];
+			int to = positions.get(second)[2];
+			if (from > to) {
+				int swap = from;
+				from = to;
+				to = swap;
+			}
+			int level = 31 - Integer.numberOfLeadingZeros(to - from + 1);
+			int left = sparse[level][from];
+			int right = sparse[level][to - (1 << level) + 1];
+			return euler[eulerDepths[left] <= eulerDepths[right] ? left : right];
+		}
+
+		private static int[][] buildSparseTable(int[] depths) {
+			int levels = 32 - Integer.numberOfLeadingZeros(depths.length);
+			int[][] table = new int[levels][];
+			table[0] = new int[depths.length];
+			for (int i = 0; i < depths.length; i++) {
+				table[0][i] = i;
+			}
+			for (int level = 1; level < levels; level++) {
+				int width = 1 << level;
+				table[level] = new int[depths.length - width + 1];
+				for (int i = 0; i < table[level].length; i++) {
+					int left = table[level - 1][i];
+					int right = table[level - 1][i + (width >> 1)];
+					table[level][i] = depths[left] <= depths[right] ? left : right;
+				}
+			}
+			return table;
+		}
+
+		private static List<IParameterCategory> children(IParameterCategory category) {
+			// A category moved to another parent may still be listed by the previous one
+			Set<IParameterCategory> children = Collections.newSetFromMap(new IdentityHashMap<>());
+			return category.getChildCategoryList().stream()
+					.filter(child -> (child.getParentCategory().orElse(null) == category) && children.add(child))
+					.toList();
+		}
+
+		/**
+		 * A category being toured, with the position of its next child.
+		 */
+		private static final class Frame {
+
+			/**
+			 * The toured category.
+			 */
+			final IParameterCategory category;
+
+			/**
+			 * The depth of the category.
+			 */
+			final int depth;
+
+			/**
+			 * The children of the category.
+			 */
+			final List<IParameterCategory> children;
+
+			/**
+			 * The position of the next child to tour.
+			 */
+			int next;
+
+			/**
+			 * Constructs a new frame.
+			 *
+			 * @param category the toured category.
+			 * @param depth    the depth of the category.
+			 * @param children the children of the category.
+			 */
+			Frame(IParameterCategory category, int depth, List<IParameterCategory> children) {
+				this.category = category;
+				this.depth = depth;
+				this.children = children;
+			}
+		}
+	}
+}
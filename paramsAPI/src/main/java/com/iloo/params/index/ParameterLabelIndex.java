@@ -0,0 +1,196 @@
+package com.iloo.params.index;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.eclipse.jdt.annotation.NonNull;
+
+import com.iloo.params.core.IParameterCategory;
+import com.iloo.params.core.IParameterFactory;
+import com.iloo.params.core.IParameterTreeListener;
+import com.iloo.params.core.ParameterTreeEvent;
+
+/**
+ * Indexes the categories of a tree by the labels of the items they hold.
+ *
+ * For each label, the index keeps the categories holding an item with that
+ * label along with their depth, so that the categories defining a label, the
+ * ones overriding an ancestor definition and the category an inherited item is
+ * resolved from are found without scanning the forest. Depths are updated when
+ * a subtree is linked to a new parent.
+ */
+public final class ParameterLabelIndex implements AutoCloseable {
+
+	/**
+	 * The factory notifying the mutations.
+	 */
+	private final IParameterFactory factory;
+
+	/**
+	 * The listener maintaining the index.
+	 */
+	private final IParameterTreeListener listener = this::onEvent;
+
+	/**
+	 * The lock guarding the index, written under the tree write lock.
+	 */
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+	/**
+	 * The depth of the categories holding each label.
+	 */
+	private final Map<String, Map<IParameterCategory, Integer>> holders = new HashMap<>();
+
+	/**
+	 * Constructs a new index of the current items of the factory, maintained as
+	 * they change.
+	 *
+	 * @param factory the factory owning the tree.
+	 */
+	public ParameterLabelIndex(@NonNull IParameterFactory factory) {
+		this.factory = Objects.requireNonNull(factory, "Factory cannot be null");
+		factory.replayTree(listener, () -> factory.addTreeListener(listener));
+	}
+
+	/**
+	 * Returns the categories holding an item with the given label, shallowest
+	 * first.
+	 *
+	 * @param label the label of the item.
+	 * @return the categories holding the label.
+	 */
+	public List<CategoryDepth> findDefinitions(@NonNull String label) {
+		Objects.requireNonNull(label, "Label cannot be null");
+		lock.readLock().lock();
+		try {
+			List<CategoryDepth> definitions = new ArrayList<>();
+			holders.getOrDefault(label, Map.of())
+					.forEach((category, depth) -> definitions.add(new CategoryDepth(category, depth)));
+			definitions.sort(Comparator.comparingInt(CategoryDepth::depth));
+			return definitions;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Returns the categories holding an item with the given label which shadows
+	 * the item of one of their ancestors, shallowest first.
+	 *
+	 * @param label the label of the item.
+	 * @return the categories overriding the label.
+	 */
+	public List<CategoryDepth> findOverrides(@NonNull String label) {
+		Objects.requireNonNull(label, "Label cannot be null");
+		lock.readLock().lock();
+		try {
+			Map<IParameterCategory, Integer> categories = holders.getOrDefault(label, Map.of());
+			List<CategoryDepth> overrides = new ArrayList<>();
+			categories.forEach((category, depth) -> {
+				if (category.getParentCategory().flatMap(parent -> findHolder(categories, parent)).isPresent()) {
+					overrides.add(new CategoryDepth(category, depth));
+				}
+			});
+			overrides.sort(Comparator.comparingInt(CategoryDepth::depth));
+			return overrides;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Returns the category the item with the given label is resolved from in the
+	 * inherited view of a category, i.e. the nearest of the category and its
+	 * ancestors holding the label.
+	 *
+	 * @param category the category.
+	 * @param label    the label of the item.
+	 * @return the category holding the resolved item, or an empty optional if the
+	 *         label is not inherited.
+	 */
+	public Optional<IParameterCategory> findOwner(@NonNull IParameterCategory category, @NonNull String label) {
+		Objects.requireNonNull(category, "Parameter category cannot be null");
+		Objects.requireNonNull(label, "Label cannot be null");
+		lock.readLock().lock();
+		try {
+			return findHolder(holders.getOrDefault(label, Map.of()), category);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Stops maintaining the index.
+	 */
+	@Override
+	public void close() {
+		factory.removeTreeListener(listener);
+	}
+
+	private static Optional<IParameterCategory> findHolder(Map<IParameterCategory, Integer> categories,
+			IParameterCategory category) {
+		Optional<IParameterCategory> current = Optional.of(category);
+		while (current.isPresent() && !categories.containsKey(current.get())) {
+			current = current.get().getParentCategory();
+		}
+		return current;
+	}
+
+	private void onEvent(ParameterTreeEvent event) {
+		lock.writeLock().lock();
+		try {
+			switch (event.type()) {
+			case ITEM_ADDED -> holders.computeIfAbsent(event.item().getLabel(), label -> new IdentityHashMap<>())
+					.put(event.category(), event.category().getDepth());
+			case ITEM_REMOVED -> removeHolder(event.item().getLabel(), event.category());
+			case CATEGORY_LINKED, CATEGORY_MOVED -> updateDepths(event.category());
+			case SUBTREE_REMOVED -> event.category().depthFirstSearch(category -> true).forEach(category -> category
+					.peekParameterItems().keySet().forEach(itemLabel -> removeHolder(itemLabel, category)));
+			default -> {
+				// New categories hold no item yet, and active states do not matter
+			}
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	private void removeHolder(String itemLabel, IParameterCategory category) {
+		holders.computeIfPresent(itemLabel, (label, categories) -> {
+			categories.remove(category);
+			return categories.isEmpty() ? null : categories;
+		});
+	}
+
+	private void updateDepths(IParameterCategory root) {
+		Deque<IParameterCategory> stack = new ArrayDeque<>();
+		stack.push(root);
+		int rootDepth = root.getDepth();
+		Map<IParameterCategory, Integer> depths = new IdentityHashMap<>();
+		depths.put(root, rootDepth);
+		while (!stack.isEmpty()) {
+			IParameterCategory category = stack.pop();
+			int depth = depths.get(category);
+			category.peekParameterItems().keySet().forEach(label -> {
+				Map<IParameterCategory, Integer> categories = holders.get(label);
+				if (categories != null) {
+					categories.computeIfPresent(category, (c, previous) -> depth);
+				}
+			});
+			for (IParameterCategory child : category.getChildCategoryList()) {
+				depths.put(child, depth + 1);
+				stack.push(child);
+			}
+		}
+	}
+}
@@ -0,0 +1,624 @@
+package com.iloo.params.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.OptionalDouble;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.eclipse.jdt.annotation.NonNull;
+
+import com.iloo.params.core.IParameterCategory;
+import com.iloo.params.core.IParameterFactory;
+import com.iloo.params.core.IParameterItem;
+import com.iloo.params.core.IParameterTreeListener;
+import com.iloo.params.core.ParameterTreeEvent;
+import com.iloo.params.core.ParameterTreeEvent.EventType;
+
+/**
+ * Indexes the numeric items held by the categories of a tree by value.
+ *
+ * The values are kept in indexable skip lists, one per label and one across all
+ * labels, so that inserting or removing a value runs in {@code O(log n)}, range
+ * and top-k queries in {@code O(log n + k)} and percentile queries in
+ * {@code O(log n)}. The items held when the index is created are sorted once
+ * and linked in a single pass. Queries share a read lock, and the mutations
+ * take the write lock. Values are converted with {@link Number#doubleValue()},
+ * NaN values are not indexed, and inactive items are indexed like active ones.
+ */
+public final class ParameterNumericIndex implements AutoCloseable {
+
+	/**
+	 * The factory notifying the mutations.
+	 */
+	private final IParameterFactory factory;
+
+	/**
+	 * The listener maintaining the index.
+	 */
+	private final IParameterTreeListener listener = this::onEvent;
+
+	/**
+	 * The lock guarding the values.
+	 */
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+	/**
+	 * The values of each label. Guarded by {@link #lock}.
+	 */
+	private final Map<String, SortedValues> byLabel = new HashMap<>();
+
+	/**
+	 * The values across all labels. Guarded by {@link #lock}.
+	 */
+	private final SortedValues all = new SortedValues();
+
+	/**
+	 * The sequence number of each indexed item, by category, ordering the equal
+	 * values. Guarded by {@link #lock}.
+	 */
+	private final Map<IParameterCategory, Map<IParameterItem<?>, Long>> sequences = new IdentityHashMap<>();
+
+	/**
+	 * The next sequence number. Guarded by {@link #lock}.
+	 */
+	private long nextSequence;
+
+	/**
+	 * Constructs a new index of the items currently held by the categories of the
+	 * factory, maintained as they change.
+	 *
+	 * @param factory the factory owning the tree.
+	 */
+	public ParameterNumericIndex(@NonNull IParameterFactory factory) {
+		this.factory = Objects.requireNonNull(factory, "Factory cannot be null");
+		List<Entry> replayed = new ArrayList<>();
+		factory.replayTree(event -> {
+			if (event.type() == EventType.ITEM_ADDED) {
+				collect(event.category(), event.item(), replayed);
+			}
+		}, () -> {
+			build(replayed);
+			factory.addTreeListener(listener);
+		});
+	}
+
+	/**
+	 * Returns the items whose value is in the given range, in ascending order.
+	 *
+	 * @param min the minimum value, inclusive.
+	 * @param max the maximum value, inclusive.
+	 * @return the items whose value is in the range.
+	 */
+	public List<IndexedItem> findInRange(double min, double max) {
+		lock.readLock().lock();
+		try {
+			return all.range(min, max);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Returns the items with the given label whose value is in the given range, in
+	 * ascending order.
+	 *
+	 * @param label the label of the items.
+	 * @param min   the minimum value, inclusive.
+	 * @param max   the maximum value, inclusive.
+	 * @return the items whose value is in the range.
+	 */
+	public List<IndexedItem> findInRange(@NonNull String label, double min, double max) {
+		Objects.requireNonNull(label, "Label cannot be null");
+		lock.readLock().lock();
+		try {
+			SortedValues values = byLabel.get(label);
+			return values == null ? List.of() : values.range(min, max);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Returns the items with the highest values, in descending order.
+	 *
+	 * @param k the maximum number of items.
+	 * @return the items with the highest values.
+	 */
+	public List<IndexedItem> findTop(int k) {
+		lock.readLock().lock();
+		try {
+			return all.top(k);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Returns the items with the given label with the highest values, in
+	 * descending order.
+	 *
+	 * @param label the label of the items.
+	 * @param k     the maximum number of items.
+	 * @return the items with the highest values.
+	 */
+	public List<IndexedItem> findTop(@NonNull String label, int k) {
+		Objects.requireNonNull(label, "Label cannot be null");
+		lock.readLock().lock();
+		try {
+			SortedValues values = byLabel.get(label);
+			return values == null ? List.of() : values.top(k);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Returns the given percentile of the values, using the nearest-rank method.
+	 *
+	 * @param percentile the percentile, between {@code 0} and {@code 100}.
+	 * @return the percentile, or an empty optional if no value is indexed.
+	 */
+	public OptionalDouble getPercentile(double percentile) {
+		checkPercentile(percentile);
+		lock.readLock().lock();
+		try {
+			return all.percentile(percentile);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Returns the given percentile of the values of the items with the given
+	 * label, using the nearest-rank method.
+	 *
+	 * @param label      the label of the items.
+	 * @param percentile the percentile, between {@code 0} and {@code 100}.
+	 * @return the percentile, or an empty optional if no value is indexed.
+	 */
+	public OptionalDouble getPercentile(@NonNull String label, double percentile) {
+		Objects.requireNonNull(label, "Label cannot be null");
+		checkPercentile(percentile);
+		lock.readLock().lock();
+		try {
+			SortedValues values = byLabel.get(label);
+			return values == null ? OptionalDouble.empty() : values.percentile(percentile);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Returns the number of indexed items.
+	 *
+	 * @return the number of indexed items.
+	 */
+	public int getSize() {
+		lock.readLock().lock();
+		try {
+			return all.size;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Stops maintaining the index.
+	 */
+	@Override
+	public void close() {
+		factory.removeTreeListener(listener);
+	}
+
+	private static void checkPercentile(double percentile) {
+		if ((percentile < 0) || (percentile > 100)) {
+			throw new IllegalArgumentException("Percentile must be between 0 and 100");
+		}
+	}
+
+	private void onEvent(ParameterTreeEvent event) {
+		switch (event.type()) {
+		case ITEM_ADDED -> addItem(event.category(), event.item());
+		case ITEM_REMOVED -> removeItem(event.category(), event.item());
+		case SUBTREE_REMOVED -> removeCategories(event.category().depthFirstSearch(category -> true));
+		default -> {
+			// The value of an item never changes
+		}
+		}
+	}
+
+	/**
+	 * Returns the indexed value of an item, with {@code -0.0} folded into
+	 * {@code 0.0} so that equal values compare equal.
+	 *
+	 * @param item the item.
+	 * @return the value, or NaN if the item is not indexed.
+	 */
+	private static double valueOf(IParameterItem<?> item) {
+		return item.getValue() instanceof Number number ? number.doubleValue() + 0.0 : Double.NaN;
+	}
+
+	private void collect(IParameterCategory category, IParameterItem<?> item, List<Entry> replayed) {
+		double value = valueOf(item);
+		if (!Double.isNaN(value)) {
+			long sequence = nextSequence++;
+			sequences.computeIfAbsent(category, c -> new IdentityHashMap<>()).put(item, sequence);
+			replayed.add(new Entry(value, sequence, new IndexedItem(category, item)));
+		}
+	}
+
+	private void build(List<Entry> replayed) {
+		// Stable, so that equal values stay in sequence order
+		replayed.sort(Comparator.comparingDouble(Entry::value));
+		lock.writeLock().lock();
+		try {
+			for (Entry entry : replayed) {
+				all.append(entry);
+				byLabel.computeIfAbsent(entry.item().item().getLabel(), label -> new SortedValues()).append(entry);
+			}
+			all.seal();
+			byLabel.values().forEach(SortedValues::seal);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	private void addItem(IParameterCategory category, IParameterItem<?> item) {
+		double value = valueOf(item);
+		if (Double.isNaN(value)) {
+			return;
+		}
+		lock.writeLock().lock();
+		try {
+			long sequence = nextSequence++;
+			sequences.computeIfAbsent(category, c -> new IdentityHashMap<>()).put(item, sequence);
+			Entry entry = new Entry(value, sequence, new IndexedItem(category, item));
+			all.insert(entry);
+			byLabel.computeIfAbsent(item.getLabel(), label -> new SortedValues()).insert(entry);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	private void removeItem(IParameterCategory category, IParameterItem<?> item) {
+		lock.writeLock().lock();
+		try {
+			Map<IParameterItem<?>, Long> items = sequences.get(category);
+			Long sequence = items == null ? null : items.remove(item);
+			if (sequence == null) {
+				return;
+			}
+			if (items.isEmpty()) {
+				sequences.remove(category);
+			}
+			remove(item, valueOf(item), sequence);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	private void removeCategories(List<IParameterCategory> categories) {
+		lock.writeLock().lock();
+		try {
+			for (IParameterCategory category : categories) {
+				Map<IParameterItem<?>, Long> items = sequences.remove(category);
+				if (items != null) {
+					items.forEach((item, sequence) -> remove(item, valueOf(item), sequence));
+				}
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	private void remove(IParameterItem<?> item, double value, long sequence) {
+		all.remove(value, sequence);
+		SortedValues values = byLabel.get(item.getLabel());
+		if ((values != null) && values.remove(value, sequence) && (values.size == 0)) {
+			byLabel.remove(item.getLabel());
+		}
+	}
+
+	/**
+	 * An indexed value.
+	 *
+	 * @param value    the value.
+	 * @param sequence the sequence number ordering the equal values.
+	 * @param item     the item.
+	 */
+	private record Entry(double value, long sequence, IndexedItem item) {
+	}
+
+	/**
+	 * An indexable skip list of values in ascending order, along with their items.
+	 *
+	 * Each link records its width, the number of values it skips plus one, so that
+	 * the value of a given rank is found in {@code O(log n)}. The links of the
+	 * last node of each level point past the end of the list, at rank
+	 * {@code size + 1}.
+	 */
+	private static final class SortedValues {
+
+		/**
+		 * The maximum number of levels, enough for {@code 4^16} values.
+		 */
+		private static final int MAX_LEVEL = 16;
+
+		/**
+		 * The head of the list, before the first value.
+		 */
+		private final Node head = new Node(null, MAX_LEVEL);
+
+		/**
+		 * The number of values.
+		 */
+		private int size;
+
+		/**
+		 * The last node of each level while the list is built, or {@code null} once
+		 * sealed.
+		 */
+		private Node[] tails = filledTails();
+
+		/**
+		 * The rank of the last node of each level while the list is built.
+		 */
+		private int[] tailRanks = new int[MAX_LEVEL];
+
+		/**
+		 * Constructs a new empty list.
+		 */
+		SortedValues() {
+			Arrays.fill(head.widths, 1);
+		}
+
+		/**
+		 * Appends a value greater than or equal to the last one, while the list is
+		 * built.
+		 *
+		 * @param entry the value.
+		 */
+		void append(Entry entry) {
+			int rank = ++size;
+			// Deterministic levels: every fourth node is promoted, as the random levels would be
+			Node node = new Node(entry, Math.min(1 + (Integer.numberOfTrailingZeros(rank) / 2), MAX_LEVEL));
+			for (int i = 0; i < node.next.length; i++) {
+				tails[i].next[i] = node;
+				tails[i].widths[i] = rank - tailRanks[i];
+				tails[i] = node;
+				tailRanks[i] = rank;
+			}
+		}
+
+		/**
+		 * Ends the build of the list, linking the last node of each level past the
+		 * end.
+		 */
+		void seal() {
+			if (tails != null) {
+				for (int i = 0; i < MAX_LEVEL; i++) {
+					tails[i].widths[i] = size + 1 - tailRanks[i];
+				}
+				tails = null;
+				tailRanks = null;
+			}
+		}
+
+		/**
+		 * Inserts a value.
+		 *
+		 * @param entry the value.
+		 */
+		void insert(Entry entry) {
+			seal();
+			Node[] update = new Node[MAX_LEVEL];
+			int[] ranks = new int[MAX_LEVEL];
+			Node node = head;
+			int rank = 0;
+			for (int i = MAX_LEVEL - 1; i >= 0; i--) {
+				while ((node.next[i] != null) && node.next[i].isBefore(entry.value(), entry.sequence())) {
+					rank += node.widths[i];
+					node = node.next[i];
+				}
+				update[i] = node;
+				ranks[i] = rank;
+			}
+
+			Node inserted = new Node(entry, randomLevel());
+			int position = rank + 1;
+			for (int i = 0; i < MAX_LEVEL; i++) {
+				if (i < inserted.next.length) {
+					inserted.next[i] = update[i].next[i];
+					inserted.widths[i] = (ranks[i] + update[i].widths[i]) - rank;
+					update[i].next[i] = inserted;
+					update[i].widths[i] = position - ranks[i];
+				} else {
+					update[i].widths[i]++;
+				}
+			}
+			size++;
+		}
+
+		/**
+		 * Removes a value.
+		 *
+		 * @param value    the value.
+		 * @param sequence the sequence number of the value.
+		 * @return {@code true} if the value was removed, {@code false} if it was not
+		 *         found.
+		 */
+		boolean remove(double value, long sequence) {
+			seal();
+			Node[] update = new Node[MAX_LEVEL];
+			Node node = head;
+			for (int i = MAX_LEVEL - 1; i >= 0; i--) {
+				while ((node.next[i] != null) && node.next[i].isBefore(value, sequence)) {
+					node = node.next[i];
+				}
+				update[i] = node;
+			}
+			Node removed = node.next[0];
+			if ((removed == null) || (removed.entry.sequence() != sequence)) {
+				return false;
+			}
+			for (int i = 0; i < MAX_LEVEL; i++) {
+				if (update[i].next[i] == removed) {
+					update[i].widths[i] += removed.widths[i] - 1;
+					update[i].next[i] = removed.next[i];
+				} else {
+					update[i].widths[i]--;
+				}
+			}
+			size--;
+			return true;
+		}
+
+		/**
+		 * Returns the items whose value is in the given range.
+		 *
+		 * @param min the minimum value, inclusive.
+		 * @param max the maximum value, inclusive.
+		 * @return the items, in ascending order.
+		 */
+		List<IndexedItem> range(double min, double max) {
+			List<IndexedItem> range = new ArrayList<>();
+			for (Node node = ceiling(min); (node != null) && (node.entry.value() <= max); node = node.next[0]) {
+				range.add(node.entry.item());
+			}
+			return range;
+		}
+
+		/**
+		 * Returns the items with the highest values.
+		 *
+		 * @param k the maximum number of items.
+		 * @return the items, in descending order.
+		 */
+		List<IndexedItem> top(int k) {
+			int count = Math.min(Math.max(k, 0), size);
+			List<IndexedItem> top = new ArrayList<>(count);
+			for (Node node = count == 0 ? null : get(size - count); node != null; node = node.next[0]) {
+				top.add(node.entry.item());
+			}
+			Collections.reverse(top);
+			return top;
+		}
+
+		/**
+		 * Returns the given percentile, using the nearest-rank method.
+		 *
+		 * @param percentile the percentile, between {@code 0} and {@code 100}.
+		 * @return the percentile, or an empty optional if the list is empty.
+		 */
+		OptionalDouble percentile(double percentile) {
+			if (size == 0) {
+				return OptionalDouble.empty();
+			}
+			int rank = (int) Math.ceil((percentile / 100) * size);
+			return OptionalDouble.of(get(Math.max(rank, 1) - 1).entry.value());
+		}
+
+		/**
+		 * Returns the node of the given index.
+		 *
+		 * @param index the index, from {@code 0}.
+		 * @return the node.
+		 */
+		private Node get(int index) {
+			Node node = head;
+			int rank = 0;
+			for (int i = MAX_LEVEL - 1; i >= 0; i--) {
+				while ((node.next[i] != null) && (rank + node.widths[i] <= index + 1)) {
+					rank += node.widths[i];
+					node = node.next[i];
+				}
+			}
+			return node;
+		}
+
+		/**
+		 * Returns the first node whose value is greater than or equal to the given
+		 * one.
+		 *
+		 * @param value the value.
+		 * @return the node, or {@code null} if all the values are lower.
+		 */
+		private Node ceiling(double value) {
+			Node node = head;
+			for (int i = MAX_LEVEL - 1; i >= 0; i--) {
+				while ((node.next[i] != null) && (node.next[i].entry.value() < value)) {
+					node = node.next[i];
+				}
+			}
+			return node.next[0];
+		}
+
+		private Node[] filledTails() {
+			Node[] filled = new Node[MAX_LEVEL];
+			Arrays.fill(filled, head);
+			return filled;
+		}
+
+		private static int randomLevel() {
+			int level = 1;
+			ThreadLocalRandom random = ThreadLocalRandom.current();
+			while ((level < MAX_LEVEL) && (random.nextInt(4) == 0)) {
+				level++;
+			}
+			return level;
+		}
+	}
+
+	/**
+	 * A node of a skip list.
+	 */
+	private static final class Node {
+
+		/**
+		 * The value, or {@code null} for the head of the list.
+		 */
+		final Entry entry;
+
+		/**
+		 * The next node of each level.
+		 */
+		final Node[] next;
+
+		/**
+		 * The width of the link of each level.
+		 */
+		final int[] widths;
+
+		/**
+		 * Constructs a new unlinked node.
+		 *
+		 * @param entry the value, or {@code null} for the head of the list.
+		 * @param level the number of levels of the node.
+		 */
+		Node(Entry entry, int level) {
+			this.entry = entry;
+			this.next = new Node[level];
+			this.widths = new int[level];
+		}
+
+		/**
+		 * Returns {@code true} if this node is ordered before the given value.
+		 *
+		 * @param value    the value.
+		 * @param sequence the sequence number of the value.
+		 * @return {@code true} if this node is ordered before the value.
+		 */
+		boolean isBefore(double value, long sequence) {
+			return (entry.value() < value) || ((entry.value() == value) && (entry.sequence() < sequence));
+		}
+	}
+}
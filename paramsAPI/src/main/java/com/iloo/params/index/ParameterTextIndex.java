@@ -0,0 +1,247 @@
+package com.iloo.params.index;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.eclipse.jdt.annotation.NonNull;
+
+import com.iloo.params.core.IParameterCategory;
+import com.iloo.params.core.IParameterFactory;
+import com.iloo.params.core.IParameterItem;
+import com.iloo.params.core.IParameterTreeListener;
+import com.iloo.params.core.ParameterTreeEvent;
+
+/**
+ * Indexes the labels and descriptions of a tree for text search.
+ *
+ * The labels of the categories and of the items held by the categories are kept
+ * in prefix trees, so that an autocompletion walks the prefix and collects the
+ * first matches only. The descriptions of the categories are split into
+ * trigrams, and a search intersects the posting lists of the trigrams of the
+ * query before checking the few remaining candidates. Queries shorter than a
+ * trigram scan the descriptions. All matches are case-insensitive.
+ */
+public final class ParameterTextIndex implements AutoCloseable {
+
+	/**
+	 * The length of the indexed n-grams.
+	 */
+	private static final int GRAM_LENGTH = 3;
+
+	/**
+	 * The factory notifying the mutations.
+	 */
+	private final IParameterFactory factory;
+
+	/**
+	 * The listener maintaining the index.
+	 */
+	private final IParameterTreeListener listener = this::onEvent;
+
+	/**
+	 * The lock guarding the index, written under the tree write lock.
+	 */
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+	/**
+	 * The categories, keyed by lower-cased label.
+	 */
+	private final LabelTrie<IParameterCategory> categoryLabels = new LabelTrie<>();
+
+	/**
+	 * The items held by the categories, keyed by lower-cased label.
+	 */
+	private final LabelTrie<IndexedItem> itemLabels = new LabelTrie<>();
+
+	/**
+	 * The categories whose description contains each trigram.
+	 */
+	private final Map<String, Set<IParameterCategory>> postings = new HashMap<>();
+
+	/**
+	 * The lower-cased descriptions of the categories.
+	 */
+	private final Map<IParameterCategory, String> descriptions = new IdentityHashMap<>();
+
+	/**
+	 * Constructs a new index of the current categories and items of the factory,
+	 * maintained as they change.
+	 *
+	 * @param factory the factory owning the tree.
+	 */
+	public ParameterTextIndex(@NonNull IParameterFactory factory) {
+		this.factory = Objects.requireNonNull(factory, "Factory cannot be null");
+		factory.replayTree(listener, () -> factory.addTreeListener(listener));
+	}
+
+	/**
+	 * Returns the categories whose label starts with the given prefix, in label
+	 * order.
+	 *
+	 * @param prefix the prefix.
+	 * @param limit  the maximum number of categories.
+	 * @return the categories whose label starts with the prefix.
+	 * @throws IllegalArgumentException if {@code limit} is negative.
+	 */
+	public List<IParameterCategory> findCategoriesByLabelPrefix(@NonNull String prefix, int limit) {
+		String key = normalize(prefix);
+		checkLimit(limit);
+		lock.readLock().lock();
+		try {
+			return categoryLabels.find(key, limit);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Returns the items whose label starts with the given prefix, in label order.
+	 *
+	 * @param prefix the prefix.
+	 * @param limit  the maximum number of items.
+	 * @return the items whose label starts with the prefix.
+	 * @throws IllegalArgumentException if {@code limit} is negative.
+	 */
+	public List<IndexedItem> findItemsByLabelPrefix(@NonNull String prefix, int limit) {
+		String key = normalize(prefix);
+		checkLimit(limit);
+		lock.readLock().lock();
+		try {
+			return itemLabels.find(key, limit);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Returns the categories whose description contains the given text.
+	 *
+	 * @param text  the text.
+	 * @param limit the maximum number of categories.
+	 * @return the categories whose description contains the text.
+	 * @throws IllegalArgumentException if {@code limit} is negative.
+	 */
+	public List<IParameterCategory> searchDescriptions(@NonNull String text, int limit) {
+		String query = normalize(text);
+		checkLimit(limit);
+		lock.readLock().lock();
+		try {
+			Iterable<IParameterCategory> candidates = query.length() < GRAM_LENGTH ? descriptions.keySet()
+					: candidates(query);
+			List<IParameterCategory> result = new ArrayList<>();
+			for (IParameterCategory category : candidates) {
+				if (result.size() == limit) {
+					break;
+				}
+				if (descriptions.get(category).contains(query)) {
+					result.add(category);
+				}
+			}
+			return result;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Stops maintaining the index.
+	 */
+	@Override
+	public void close() {
+		factory.removeTreeListener(listener);
+	}
+
+	private static void checkLimit(int limit) {
+		if (limit < 0) {
+			throw new IllegalArgumentException("Limit cannot be negative");
+		}
+	}
+
+	private Set<IParameterCategory> candidates(String query) {
+		List<Set<IParameterCategory>> lists = new ArrayList<>();
+		for (String gram : grams(query)) {
+			Set<IParameterCategory> posting = postings.get(gram);
+			if (posting == null) {
+				return Set.of();
+			}
+			lists.add(posting);
+		}
+		// Intersect from the shortest posting list
+		lists.sort(Comparator.comparingInt(Set::size));
+		Set<IParameterCategory> result = Collections.newSetFromMap(new IdentityHashMap<>());
+		result.addAll(lists.get(0));
+		for (int i = 1; (i < lists.size()) && !result.isEmpty(); i++) {
+			result.retainAll(lists.get(i));
+		}
+		return result;
+	}
+
+	private void onEvent(ParameterTreeEvent event) {
+		lock.writeLock().lock();
+		try {
+			switch (event.type()) {
+			case CATEGORY_CREATED -> addCategory(event.category());
+			case ITEM_ADDED -> itemLabels.add(normalize(event.item().getLabel()),
+					new IndexedItem(event.category(), event.item()));
+			case ITEM_REMOVED -> removeItem(event.category(), event.item());
+			case SUBTREE_REMOVED -> event.category().depthFirstSearch(category -> true).forEach(this::removeCategory);
+			default -> {
+				// Links and active states do not change the text
+			}
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	private void addCategory(IParameterCategory category) {
+		categoryLabels.add(normalize(category.getLabel()), category);
+		String description = normalize(category.getDescription());
+		descriptions.put(category, description);
+		for (String gram : grams(description)) {
+			postings.computeIfAbsent(gram, g -> Collections.newSetFromMap(new IdentityHashMap<>())).add(category);
+		}
+	}
+
+	private void removeCategory(IParameterCategory category) {
+		categoryLabels.remove(normalize(category.getLabel()), indexed -> indexed == category);
+		String description = descriptions.remove(category);
+		if (description != null) {
+			for (String gram : grams(description)) {
+				postings.computeIfPresent(gram, (g, posting) -> {
+					posting.remove(category);
+					return posting.isEmpty() ? null : posting;
+				});
+			}
+		}
+		category.peekParameterItems().values().forEach(item -> removeItem(category, item));
+	}
+
+	private void removeItem(IParameterCategory category, IParameterItem<?> item) {
+		itemLabels.remove(normalize(item.getLabel()),
+				indexed -> (indexed.category() == category) && (indexed.item() == item));
+	}
+
+	private static Set<String> grams(String text) {
+		Set<String> grams = new LinkedHashSet<>();
+		for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+			grams.add(text.substring(i, i + GRAM_LENGTH));
+		}
+		return grams;
+	}
+
+	private static String normalize(String text) {
+		return Objects.requireNonNull(text, "Text cannot be null").toLowerCase(Locale.ROOT);
+	}
+}
@@ -0,0 +1,354 @@
+package com.iloo.params.interpolation;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import org.eclipse.jdt.annotation.NonNull;
+
+import com.iloo.params.core.IParameterCategory;
+import com.iloo.params.core.IParameterFactory;
+import com.iloo.params.core.IParameterItem;
+import com.iloo.params.core.IParameterTreeListener;
+import com.iloo.params.core.ParameterTreeEvent;
+import com.iloo.params.exceptions.InvalidParameterCategoryException;
+import com.iloo.params.interpolation.Template.Literal;
+import com.iloo.params.interpolation.Template.Placeholder;
+import com.iloo.params.interpolation.Template.Segment;
+import com.iloo.params.utils.VoidResult;
+
+/**
+ * Resolves the placeholders of string items, such as
+ * {@code ${db.host}:${db.port}}, through the inherited item view of a
+ * category.
+ *
+ * Each distinct string value is parsed once into a {@link Template}, kept in a
+ * bounded cache which evicts the least recently used templates. Resolved
+ * values are memoized per category and label along with the labels they were
+ * resolved from, so that adding or removing an item only discards the values
+ * depending on its label; linking categories discards all of them. Values which
+ * are not strings are interpolated with {@link String#valueOf(Object)}.
+ */
+public final class ParameterInterpolator implements AutoCloseable {
+
+	/**
+	 * The default maximum number of cached templates.
+	 */
+	public static final int DEFAULT_TEMPLATE_CACHE_SIZE = 1024;
+
+	/**
+	 * The factory notifying the mutations.
+	 */
+	private final IParameterFactory factory;
+
+	/**
+	 * The listener discarding the resolved values.
+	 */
+	private final IParameterTreeListener listener = this::onEvent;
+
+	/**
+	 * The maximum number of cached templates.
+	 */
+	private final int templateCacheSize;
+
+	/**
+	 * The compiled templates, keyed by string value, in access order. Guarded by
+	 * itself.
+	 */
+	private final Map<String, Template> templates;
+
+	/**
+	 * The resolved values. Guarded by {@code this}.
+	 */
+	private final Map<Key, Resolution> resolved = new HashMap<>();
+
+	/**
+	 * The resolved values depending on each label. Guarded by {@code this}.
+	 */
+	private final Map<String, Set<Key>> dependents = new HashMap<>();
+
+	/**
+	 * The number of invalidations, used to drop values resolved concurrently with
+	 * one. Guarded by {@code this}.
+	 */
+	private long generation;
+
+	/**
+	 * Constructs a new interpolator caching at most
+	 * {@link #DEFAULT_TEMPLATE_CACHE_SIZE} templates.
+	 *
+	 * @param factory the factory which created the categories.
+	 */
+	public ParameterInterpolator(@NonNull IParameterFactory factory) {
+		this(factory, DEFAULT_TEMPLATE_CACHE_SIZE);
+	}
+
+	/**
+	 * Constructs a new interpolator.
+	 *
+	 * @param factory           the factory which created the categories.
+	 * @param templateCacheSize the maximum number of cached templates.
+	 */
+	public ParameterInterpolator(@NonNull IParameterFactory factory, int templateCacheSize) {
+		this.factory = Objects.requireNonNull(factory, "Factory cannot be null");
+		if (templateCacheSize <= 0) {
+			throw new IllegalArgumentException("Template cache size must be positive");
+		}
+		this.templateCacheSize = templateCacheSize;
+		this.templates = newTemplateCache();
+		factory.addTreeListener(listener);
+	}
+
+	/**
+	 * Returns the interpolated value of an item of the inherited view of a
+	 * category.
+	 *
+	 * @param category the category.
+	 * @param label    the label of the item.
+	 * @return the interpolated value.
+	 * @throws InvalidParameterCategoryException if a referenced item does not
+	 *                                           exist, a placeholder is malformed
+	 *                                           or the references are circular.
+	 */
+	public String resolve(@NonNull IParameterCategory category, @NonNull String label) {
+		Objects.requireNonNull(category, "Parameter category cannot be null");
+		Objects.requireNonNull(label, "Label cannot be null");
+		Key key = new Key(category, label);
+		long resolvedGeneration;
+		synchronized (this) {
+			Resolution resolution = resolved.get(key);
+			if (resolution != null) {
+				return resolution.value();
+			}
+			resolvedGeneration = generation;
+		}
+
+		Set<String> labels = new HashSet<>();
+		String value = evaluate(category.getAllParentParameterItems(), label, new LinkedHashSet<>(), labels);
+		synchronized (this) {
+			if (resolvedGeneration == generation) {
+				resolved.put(key, new Resolution(value, labels));
+				labels.forEach(dependency -> dependents.computeIfAbsent(dependency, d -> new HashSet<>()).add(key));
+			}
+		}
+		return value;
+	}
+
+	/**
+	 * Adds an item to a category after checking that its placeholders do not
+	 * introduce a circular reference in the category or one of its descendants.
+	 * The check and the add run in a single batch of the factory, so that no
+	 * concurrent mutation can introduce a circular reference in between.
+	 *
+	 * @param category the category.
+	 * @param item     the item to add.
+	 * @return {@code VoidResult}, an error holding an
+	 *         {@link InvalidParameterCategoryException} if the item introduces a
+	 *         circular reference or holds a malformed placeholder.
+	 */
+	public VoidResult addParameterItem(@NonNull IParameterCategory category, @NonNull IParameterItem<?> item) {
+		Objects.requireNonNull(category, "Parameter category cannot be null");
+		Objects.requireNonNull(item, "Parameter item cannot be null");
+		VoidResult[] result = new VoidResult[1];
+		factory.runBatch(() -> {
+			try {
+				for (IParameterCategory scope : category.depthFirstSearch(c -> true)) {
+					Map<String, IParameterItem<?>> view = new HashMap<>(scope.getAllParentParameterItems());
+					if ((scope == category) || !scope.peekParameterItems().containsKey(item.getLabel())) {
+						view.put(item.getLabel(), item);
+					}
+					checkAcyclic(view, item.getLabel(), new LinkedHashSet<>());
+				}
+			} catch (InvalidParameterCategoryException e) {
+				result[0] = VoidResult.error(e);
+				return;
+			}
+			result[0] = category.addParameterItem(item);
+		});
+		return result[0];
+	}
+
+	/**
+	 * Stops tracking the mutations of the tree.
+	 */
+	@Override
+	public void close() {
+		factory.removeTreeListener(listener);
+	}
+
+	private String evaluate(Map<String, IParameterItem<?>> view, String label, Set<String> path,
+			Set<String> labels) {
+		if (!path.add(label)) {
+			throw InvalidParameterCategoryException.forCircularDependency();
+		}
+		labels.add(label);
+		IParameterItem<?> item = view.get(label);
+		if (item == null) {
+			throw InvalidParameterCategoryException.forInvalidLabelValue(label, "No item to interpolate");
+		}
+
+		String result;
+		if (item.getValue() instanceof String value) {
+			StringBuilder builder = new StringBuilder();
+			for (Segment segment : template(label, value).getSegments()) {
+				if (segment instanceof Placeholder placeholder) {
+					builder.append(evaluate(view, placeholder.label(), path, labels));
+				} else {
+					builder.append(((Literal) segment).text());
+				}
+			}
+			result = builder.toString();
+		} else {
+			result = String.valueOf(item.getValue());
+		}
+		path.remove(label);
+		return result;
+	}
+
+	private void checkAcyclic(Map<String, IParameterItem<?>> view, String label, Set<String> path) {
+		if (!path.add(label)) {
+			throw InvalidParameterCategoryException.forCircularDependency();
+		}
+		IParameterItem<?> item = view.get(label);
+		if ((item != null) && (item.getValue() instanceof String value)) {
+			for (String reference : template(label, value).getReferences()) {
+				checkAcyclic(view, reference, path);
+			}
+		}
+		path.remove(label);
+	}
+
+	/**
+	 * Returns the number of cached templates.
+	 *
+	 * @return the number of cached templates.
+	 */
+	int getTemplateCount() {
+		synchronized (templates) {
+			return templates.size();
+		}
+	}
+
+	private Template template(String label, String value) {
+		synchronized (templates) {
+			Template template = templates.get(value);
+			if (template != null) {
+				return template;
+			}
+		}
+		// Compile outside the lock, a concurrent compilation of the same value is harmless
+		Template template = Template.compile(label, value);
+		synchronized (templates) {
+			templates.putIfAbsent(value, template);
+		}
+		return template;
+	}
+
+	private Map<String, Template> newTemplateCache() {
+		return new LinkedHashMap<>(16, 0.75f, true) {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, Template> eldest) {
+				return size() > templateCacheSize;
+			}
+		};
+	}
+
+	private void onEvent(ParameterTreeEvent event) {
+		switch (event.type()) {
+		case ITEM_ADDED, ITEM_REMOVED -> invalidate(event.item().getLabel());
+		case CATEGORY_LINKED, CATEGORY_MOVED, SUBTREE_REMOVED -> invalidateAll();
+		default -> {
+			// The active state and the new categories do not change the values
+		}
+		}
+	}
+
+	private synchronized void invalidate(String label) {
+		generation++;
+		Set<Key> keys = dependents.remove(label);
+		if (keys == null) {
+			return;
+		}
+		for (Key key : keys) {
+			Resolution resolution = resolved.remove(key);
+			if (resolution == null) {
+				continue;
+			}
+			for (String dependency : resolution.labels()) {
+				Set<Key> others = dependents.get(dependency);
+				if (others != null) {
+					others.remove(key);
+					if (others.isEmpty()) {
+						dependents.remove(dependency);
+					}
+				}
+			}
+		}
+	}
+
+	private synchronized void invalidateAll() {
+		generation++;
+		resolved.clear();
+		dependents.clear();
+	}
+
+	/**
+	 * A resolved value.
+	 *
+	 * @param value  the interpolated value.
+	 * @param labels the labels the value was resolved from.
+	 */
+	private record Resolution(String value, Set<String> labels) {
+	}
+
+	/**
+	 * A category and a label, compared by category identity.
+	 */
+	private static final class Key {
+
+		/**
+		 * The category.
+		 */
+		private final IParameterCategory category;
+
+		/**
+		 * The label.
+		 */
+		private final String label;
+
+		/**
+		 * Constructs a new key.
+		 *
+		 * @param category the category.
+		 * @param label    the label.
+		 */
+		Key(IParameterCategory category, String label) {
+			this.category = category;
+			this.label = label;
+		}
+
+		@Override
+		public int hashCode() {
+			return (31 * System.identityHashCode(category)) + label.hashCode();
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof Key)) {
+				return false;
+			}
+			Key other = (Key) obj;
+			return (category == other.category) && label.equals(other.label);
+		}
+	}
+}
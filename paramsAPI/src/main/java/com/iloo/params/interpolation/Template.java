@@ -0,0 +1,120 @@
+package com.iloo.params.interpolation;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import com.iloo.params.exceptions.InvalidParameterCategoryException;
+
+/**
+ * A string value parsed into literal and placeholder segments.
+ *
+ * A placeholder is written {@code ${label}} and refers to another item by
+ * label. A value without placeholders compiles to a single literal segment.
+ */
+final class Template {
+
+	/**
+	 * The opening of a placeholder.
+	 */
+	private static final String OPENING = "${";
+
+	/**
+	 * The closing of a placeholder.
+	 */
+	private static final char CLOSING = '}';
+
+	/**
+	 * The segments, in order.
+	 */
+	private final List<Segment> segments;
+
+	/**
+	 * The labels referenced by the placeholders.
+	 */
+	private final Set<String> references;
+
+	private Template(List<Segment> segments, Set<String> references) {
+		this.segments = segments;
+		this.references = references;
+	}
+
+	/**
+	 * Parses a string value.
+	 *
+	 * @param label the label of the item holding the value.
+	 * @param value the value.
+	 * @return the compiled template.
+	 * @throws InvalidParameterCategoryException if a placeholder is not closed or
+	 *                                           empty.
+	 */
+	static Template compile(String label, String value) {
+		List<Segment> segments = new ArrayList<>();
+		Set<String> references = new LinkedHashSet<>();
+		int position = 0;
+
+		while (position < value.length()) {
+			int opening = value.indexOf(OPENING, position);
+			if (opening < 0) {
+				segments.add(new Literal(value.substring(position)));
+				break;
+			}
+			if (opening > position) {
+				segments.add(new Literal(value.substring(position, opening)));
+			}
+			int closing = value.indexOf(CLOSING, opening + OPENING.length());
+			if (closing < 0) {
+				throw InvalidParameterCategoryException.forInvalidLabelValue(label, "Unclosed placeholder");
+			}
+			String reference = value.substring(opening + OPENING.length(), closing).trim();
+			if (reference.isEmpty()) {
+				throw InvalidParameterCategoryException.forInvalidLabelValue(label, "Empty placeholder");
+			}
+			segments.add(new Placeholder(reference));
+			references.add(reference);
+			position = closing + 1;
+		}
+		return new Template(List.copyOf(segments), Set.copyOf(references));
+	}
+
+	/**
+	 * Returns the segments, in order.
+	 *
+	 * @return the segments, in order.
+	 */
+	List<Segment> getSegments() {
+		return segments;
+	}
+
+	/**
+	 * Returns the labels referenced by the placeholders.
+	 *
+	 * @return the labels referenced by the placeholders.
+	 */
+	Set<String> getReferences() {
+		return references;
+	}
+
+	/**
+	 * A segment of a template.
+	 */
+	sealed interface Segment permits Literal, Placeholder {
+	}
+
+	/**
+	 * A literal segment.
+	 *
+	 * @param text the text of the segment.
+	 */
+	record Literal(String text) implements Segment {
+	}
+
+	/**
+	 * A placeholder segment.
+	 *
+	 * @param label the label of the referenced item.
+	 */
+	record Placeholder(String label) implements Segment {
+	}
+}
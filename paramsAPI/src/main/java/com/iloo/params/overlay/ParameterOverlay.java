@@ -0,0 +1,174 @@
+package com.iloo.params.overlay;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.eclipse.jdt.annotation.NonNull;
+
+import com.iloo.params.core.IParameterItem;
+import com.iloo.params.utils.VoidResult;
+
+/**
+ * A layer of items overriding the items of a base tree, e.g. the settings of an
+ * environment or a region.
+ *
+ * The items of a layer are keyed by the path of the category they override,
+ * i.e. the labels from a root category down to the category, so that a layer
+ * can be stacked over any tree holding that path. A layer only patches the own
+ * items of a category: the overriding item is then inherited by the
+ * descendants of the category which do not hold an item with the same label.
+ */
+public final class ParameterOverlay {
+
+	/**
+	 * The name of the layer.
+	 */
+	private final String name;
+
+	/**
+	 * The overriding items of each category path, by label.
+	 */
+	private final Map<List<String>, Map<String, IParameterItem<?>>> items = new ConcurrentHashMap<>();
+
+	/**
+	 * The listeners notified of the changed path and label.
+	 */
+	private final List<IOverlayListener> listeners = new CopyOnWriteArrayList<>();
+
+	/**
+	 * Constructs a new empty layer.
+	 *
+	 * @param name the name of the layer.
+	 */
+	public ParameterOverlay(@NonNull String name) {
+		this.name = Objects.requireNonNull(name, "Name cannot be null");
+	}
+
+	/**
+	 * Returns the name of the layer.
+	 *
+	 * @return the name of the layer.
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * Overrides the item with the same label in the category at the given path,
+	 * replacing any previous override.
+	 *
+	 * @param path the labels from the root category to the overridden category.
+	 * @param item the overriding item.
+	 * @return the result of the operation.
+	 */
+	public VoidResult setItem(@NonNull List<String> path, @NonNull IParameterItem<?> item) {
+		Objects.requireNonNull(path, "Path cannot be null");
+		Objects.requireNonNull(item, "Parameter item cannot be null");
+		if (path.isEmpty()) {
+			return VoidResult.error("Path cannot be empty");
+		}
+		List<String> key = List.copyOf(path);
+		items.computeIfAbsent(key, p -> new ConcurrentHashMap<>()).put(item.getLabel(), item);
+		listeners.forEach(listener -> listener.onChange(key, item.getLabel()));
+		return VoidResult.ok();
+	}
+
+	/**
+	 * Removes the override of the given label in the category at the given path.
+	 *
+	 * @param path  the labels from the root category to the overridden category.
+	 * @param label the label of the overriding item.
+	 * @return the result of the operation.
+	 */
+	public VoidResult removeItem(@NonNull List<String> path, @NonNull String label) {
+		Objects.requireNonNull(path, "Path cannot be null");
+		Objects.requireNonNull(label, "Label cannot be null");
+		List<String> key = List.copyOf(path);
+		Map<String, IParameterItem<?>> pathItems = items.get(key);
+		if ((pathItems == null) || (pathItems.remove(label) == null)) {
+			return VoidResult.error("No override of '" + label + "' at " + key);
+		}
+		items.computeIfPresent(key, (p, remaining) -> remaining.isEmpty() ? null : remaining);
+		listeners.forEach(listener -> listener.onChange(key, label));
+		return VoidResult.ok();
+	}
+
+	/**
+	 * Returns the overriding items of the category at the given path, by label.
+	 *
+	 * @param path the labels from the root category to the overridden category.
+	 * @return the overriding items of the category.
+	 */
+	public Map<String, IParameterItem<?>> getItems(@NonNull List<String> path) {
+		Objects.requireNonNull(path, "Path cannot be null");
+		return Map.copyOf(items.getOrDefault(path, Map.of()));
+	}
+
+	/**
+	 * Returns the overriding item of the given label in the category at the given
+	 * path.
+	 *
+	 * @param path  the labels from the root category to the overridden category.
+	 * @param label the label of the item.
+	 * @return the overriding item, or {@code null} if the layer does not override
+	 *         the label.
+	 */
+	IParameterItem<?> getItem(List<String> path, String label) {
+		Map<String, IParameterItem<?>> pathItems = items.get(path);
+		return pathItems == null ? null : pathItems.get(label);
+	}
+
+	/**
+	 * Returns the overridden labels of each category path.
+	 *
+	 * @return the overridden labels of each category path.
+	 */
+	Map<List<String>, Set<String>> getOverriddenLabels() {
+		Map<List<String>, Set<String>> labels = new HashMap<>();
+		items.forEach((path, pathItems) -> labels.put(path, Set.copyOf(pathItems.keySet())));
+		return labels;
+	}
+
+	/**
+	 * Adds a listener notified after each change of the layer.
+	 *
+	 * @param listener the listener.
+	 */
+	void addListener(IOverlayListener listener) {
+		listeners.add(listener);
+	}
+
+	/**
+	 * Removes a listener.
+	 *
+	 * @param listener the listener.
+	 */
+	void removeListener(IOverlayListener listener) {
+		listeners.remove(listener);
+	}
+
+	@Override
+	public String toString() {
+		return name;
+	}
+
+	/**
+	 * A listener notified of the changes of a layer.
+	 */
+	@FunctionalInterface
+	interface IOverlayListener {
+
+		/**
+		 * Called after the override of a label changed.
+		 *
+		 * @param path  the path of the overridden category.
+		 * @param label the label of the changed override.
+		 */
+		void onChange(List<String> path, String label);
+	}
+}
@@ -0,0 +1,328 @@
+package com.iloo.params.overlay;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.eclipse.jdt.annotation.NonNull;
+
+import com.iloo.params.core.IParameterCategory;
+import com.iloo.params.core.IParameterFactory;
+import com.iloo.params.core.IParameterItem;
+import com.iloo.params.core.IParameterTreeListener;
+import com.iloo.params.core.ParameterTreeEvent;
+import com.iloo.params.overlay.ParameterOverlay.IOverlayListener;
+import com.iloo.params.utils.VoidResult;
+
+/**
+ * Stacks {@link ParameterOverlay} layers over the tree of a factory, without
+ * copying the tree.
+ *
+ * The own items of a category are the items of the base category, overridden
+ * by the items the layers hold for the path of the category, the topmost layer
+ * winning. The merged view of a category, i.e. its own items over the merged
+ * view of its parent, is precomputed for every category and maintained as the
+ * base tree or a layer changes: a change of a label only updates the merged
+ * views of the affected category and of the descendants inheriting the label,
+ * so that resolving an item is a single lookup whatever the number of layers.
+ *
+ * As {@link IParameterCategory#getAllParentParameterItems()}, the merged views
+ * hold the inactive items as well.
+ */
+public final class ParameterOverlayStack implements AutoCloseable {
+
+	/**
+	 * The factory owning the base tree.
+	 */
+	private final IParameterFactory factory;
+
+	/**
+	 * The listener maintaining the merged views as the base tree changes.
+	 */
+	private final IParameterTreeListener treeListener = this::onEvent;
+
+	/**
+	 * The listener maintaining the merged views as a layer changes.
+	 */
+	private final IOverlayListener layerListener = this::onLayerChange;
+
+	/**
+	 * The stacked layers, bottom first.
+	 */
+	private final List<ParameterOverlay> layers = new CopyOnWriteArrayList<>();
+
+	/**
+	 * The lock guarding the merged views.
+	 */
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+	/**
+	 * The immutable merged view of each category.
+	 */
+	private final Map<IParameterCategory, Map<String, IParameterItem<?>>> mergedItems = new IdentityHashMap<>();
+
+	/**
+	 * Constructs a new stack without layer over the tree of the given factory.
+	 *
+	 * @param factory the factory owning the base tree.
+	 */
+	public ParameterOverlayStack(@NonNull IParameterFactory factory) {
+		this.factory = Objects.requireNonNull(factory, "Factory cannot be null");
+		factory.replayTree(treeListener, () -> factory.addTreeListener(treeListener));
+	}
+
+	/**
+	 * Stacks a layer on top of the others.
+	 *
+	 * @param layer the layer.
+	 * @return the result of the operation.
+	 */
+	public VoidResult addLayer(@NonNull ParameterOverlay layer) {
+		Objects.requireNonNull(layer, "Layer cannot be null");
+		lock.writeLock().lock();
+		try {
+			if (layers.stream().anyMatch(stacked -> stacked == layer)) {
+				return VoidResult.error("Layer '" + layer.getName() + "' is already stacked");
+			}
+			layers.add(layer);
+			layer.addListener(layerListener);
+			updateLayer(layer);
+			return VoidResult.ok();
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Removes a layer from the stack.
+	 *
+	 * @param layer the layer.
+	 * @return the result of the operation.
+	 */
+	public VoidResult removeLayer(@NonNull ParameterOverlay layer) {
+		Objects.requireNonNull(layer, "Layer cannot be null");
+		lock.writeLock().lock();
+		try {
+			if (!layers.removeIf(stacked -> stacked == layer)) {
+				return VoidResult.error("Layer '" + layer.getName() + "' is not stacked");
+			}
+			layer.removeListener(layerListener);
+			updateLayer(layer);
+			return VoidResult.ok();
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Returns the stacked layers, bottom first.
+	 *
+	 * @return the stacked layers.
+	 */
+	public List<ParameterOverlay> getLayers() {
+		return List.copyOf(layers);
+	}
+
+	/**
+	 * Returns the merged view of a category, i.e. the items it holds or inherits
+	 * once the layers are applied, by label.
+	 *
+	 * @param category the category of the base tree.
+	 * @return the immutable merged view of the category.
+	 */
+	public Map<String, IParameterItem<?>> getMergedItems(@NonNull IParameterCategory category) {
+		Objects.requireNonNull(category, "Parameter category cannot be null");
+		lock.readLock().lock();
+		try {
+			return mergedItems.getOrDefault(category, Map.of());
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Resolves an item in the merged view of a category.
+	 *
+	 * @param category the category of the base tree.
+	 * @param label    the label of the item.
+	 * @return the resolved item, or an empty optional if the label is neither
+	 *         held nor inherited.
+	 */
+	public Optional<IParameterItem<?>> resolve(@NonNull IParameterCategory category, @NonNull String label) {
+		Objects.requireNonNull(label, "Label cannot be null");
+		return Optional.ofNullable(getMergedItems(category).get(label));
+	}
+
+	/**
+	 * Stops maintaining the merged views.
+	 */
+	@Override
+	public void close() {
+		factory.removeTreeListener(treeListener);
+		layers.forEach(layer -> layer.removeListener(layerListener));
+	}
+
+	private void onEvent(ParameterTreeEvent event) {
+		lock.writeLock().lock();
+		try {
+			switch (event.type()) {
+			case CATEGORY_CREATED, CATEGORY_LINKED, CATEGORY_MOVED ->
+				updateSubtree(event.category(), pathOf(event.category()));
+			case SUBTREE_REMOVED -> event.category().depthFirstSearch(category -> true).forEach(mergedItems::remove);
+			case ITEM_ADDED, ITEM_REMOVED ->
+				updateLabel(event.category(), pathOf(event.category()), event.item().getLabel());
+			default -> {
+				// Merged views hold the inactive items as well
+			}
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	private void onLayerChange(List<String> path, String label) {
+		lock.writeLock().lock();
+		try {
+			categoriesAt(path).forEach(category -> updateLabel(category, path, label));
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	private void updateLayer(ParameterOverlay layer) {
+		layer.getOverriddenLabels().forEach((path, labels) -> categoriesAt(path)
+				.forEach(category -> labels.forEach(label -> updateLabel(category, path, label))));
+	}
+
+	/**
+	 * Returns every category at the given path, since sibling categories may
+	 * share a label.
+	 *
+	 * @param path the path.
+	 * @return the categories at the path.
+	 */
+	private List<IParameterCategory> categoriesAt(List<String> path) {
+		if (path.isEmpty()) {
+			return List.of();
+		}
+		List<IParameterCategory> categories = factory.getParameterCategoryList().getParameterCategories().stream()
+				.filter(root -> root.isRoot() && root.getLabel().equals(path.get(0))).toList();
+		for (String label : path.subList(1, path.size())) {
+			categories = categories.stream().flatMap(parent -> parent.getChildCategoryList().stream())
+					.filter(child -> child.getLabel().equals(label)).toList();
+		}
+		return categories;
+	}
+
+	/**
+	 * Recomputes the merged views of a category and of its descendants.
+	 *
+	 * @param category the category.
+	 * @param path     the path of the category.
+	 */
+	private void updateSubtree(IParameterCategory category, List<String> path) {
+		Deque<PathedCategory> pending = new ArrayDeque<>();
+		pending.push(new PathedCategory(category, path));
+		while (!pending.isEmpty()) {
+			PathedCategory current = pending.pop();
+			Map<String, IParameterItem<?>> items = new HashMap<>(parentItems(current.category()));
+			items.putAll(current.category().peekParameterItems());
+			layers.forEach(layer -> items.putAll(layer.getItems(current.path())));
+			mergedItems.put(current.category(), Map.copyOf(items));
+			pushChildren(pending, current);
+		}
+	}
+
+	/**
+	 * Updates a label in the merged views of a category and of the descendants
+	 * inheriting it, stopping at the descendants whose view does not change.
+	 *
+	 * @param category the category.
+	 * @param path     the path of the category.
+	 * @param label    the changed label.
+	 */
+	private void updateLabel(IParameterCategory category, List<String> path, String label) {
+		Deque<PathedCategory> pending = new ArrayDeque<>();
+		pending.push(new PathedCategory(category, path));
+		while (!pending.isEmpty()) {
+			PathedCategory next = pending.pop();
+			Map<String, IParameterItem<?>> current = mergedItems.get(next.category());
+			if (current == null) {
+				updateSubtree(next.category(), next.path());
+				continue;
+			}
+			IParameterItem<?> item = ownItem(next.category(), next.path(), label);
+			if (item == null) {
+				item = parentItems(next.category()).get(label);
+			}
+			if (current.get(label) == item) {
+				continue;
+			}
+			Map<String, IParameterItem<?>> items = new HashMap<>(current);
+			if (item == null) {
+				items.remove(label);
+			} else {
+				items.put(label, item);
+			}
+			mergedItems.put(next.category(), Map.copyOf(items));
+			pushChildren(pending, next);
+		}
+	}
+
+	private static void pushChildren(Deque<PathedCategory> pending, PathedCategory parent) {
+		for (IParameterCategory child : parent.category().getChildCategoryList()) {
+			pending.push(new PathedCategory(child, append(parent.path(), child.getLabel())));
+		}
+	}
+
+	private IParameterItem<?> ownItem(IParameterCategory category, List<String> path, String label) {
+		for (int i = layers.size() - 1; i >= 0; i--) {
+			IParameterItem<?> item = layers.get(i).getItem(path, label);
+			if (item != null) {
+				return item;
+			}
+		}
+		return category.peekParameterItems().get(label);
+	}
+
+	private Map<String, IParameterItem<?>> parentItems(IParameterCategory category) {
+		return category.getParentCategory().map(parent -> mergedItems.getOrDefault(parent, Map.of()))
+				.orElse(Map.of());
+	}
+
+	private static List<String> pathOf(IParameterCategory category) {
+		List<String> path = new ArrayList<>();
+		Optional<IParameterCategory> current = Optional.of(category);
+		while (current.isPresent()) {
+			path.add(current.get().getLabel());
+			current = current.get().getParentCategory();
+		}
+		Collections.reverse(path);
+		return List.copyOf(path);
+	}
+
+	private static List<String> append(List<String> path, String label) {
+		List<String> childPath = new ArrayList<>(path);
+		childPath.add(label);
+		return List.copyOf(childPath);
+	}
+
+	/**
+	 * A category with its path, pending an update of its merged view.
+	 *
+	 * @param category the category.
+	 * @param path     the path of the category.
+	 */
+	private record PathedCategory(IParameterCategory category, List<String> path) {
+	}
+}
@@ -0,0 +1,32 @@
+package com.iloo.params.path;
+
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+
+/**
+ * The cached metadata of a path.
+ *
+ * @param exists           whether the path exists.
+ * @param directory        whether the path is a directory.
+ * @param size             the size of the file in bytes, {@code 0} if the path
+ *                         does not exist.
+ * @param lastModifiedTime the last modification time, or {@code null} if the
+ *                         path does not exist.
+ */
+public record PathMetadata(boolean exists, boolean directory, long size, FileTime lastModifiedTime) {
+
+	/**
+	 * The metadata of a missing path.
+	 */
+	public static final PathMetadata MISSING = new PathMetadata(false, false, 0, null);
+
+	/**
+	 * Returns the metadata of an existing path.
+	 *
+	 * @param attributes the attributes of the path.
+	 * @return the metadata of the path.
+	 */
+	static PathMetadata of(BasicFileAttributes attributes) {
+		return new PathMetadata(true, attributes.isDirectory(), attributes.size(), attributes.lastModifiedTime());
+	}
+}
@@ -0,0 +1,311 @@
+package com.iloo.params.path;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileVisitOption;
+import java.nio.file.FileVisitResult;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.eclipse.jdt.annotation.NonNull;
+
+import com.iloo.params.core.IParameterItem;
+
+/**
+ * Caches the metadata of the paths held by path-valued parameter items.
+ *
+ * The paths are grouped by parent directory. When the metadata of a path is
+ * missing or older than the time to live, the metadata of every tracked path
+ * of its directory is refreshed at once, with a single sweep of the directory
+ * entries. A {@link WatchService} can optionally expire a directory as soon as
+ * one of its entries changes; the time to live still applies, since some file
+ * systems report the changes late or not at all.
+ */
+public final class PathMetadataCache implements AutoCloseable {
+
+	/**
+	 * The default time to live of the metadata.
+	 */
+	public static final Duration DEFAULT_TTL = Duration.ofSeconds(1);
+
+	/**
+	 * The logger.
+	 */
+	private static final Logger LOGGER = LogManager.getLogger(PathMetadataCache.class);
+
+	/**
+	 * The time to live of the metadata, in nanoseconds.
+	 */
+	private final long ttlNanos;
+
+	/**
+	 * The watch service, or {@code null} if the directories are not watched.
+	 */
+	private final WatchService watchService;
+
+	/**
+	 * The metadata of the tracked paths, keyed by absolute path.
+	 */
+	private final Map<Path, PathMetadata> metadata = new ConcurrentHashMap<>();
+
+	/**
+	 * The tracked directories.
+	 */
+	private final Map<Path, Directory> directories = new ConcurrentHashMap<>();
+
+	/**
+	 * The number of directory sweeps.
+	 */
+	private final LongAdder sweeps = new LongAdder();
+
+	/**
+	 * Constructs a new cache with the default time to live, without watching the
+	 * directories.
+	 */
+	public PathMetadataCache() {
+		this(DEFAULT_TTL);
+	}
+
+	/**
+	 * Constructs a new cache without watching the directories.
+	 *
+	 * @param ttl the time to live of the metadata.
+	 */
+	public PathMetadataCache(@NonNull Duration ttl) {
+		this(ttl, (WatchService) null);
+	}
+
+	/**
+	 * Constructs a new cache.
+	 *
+	 * @param ttl   the time to live of the metadata.
+	 * @param watch whether the directories are watched for changes.
+	 * @throws IOException if the watch service cannot be created.
+	 */
+	public PathMetadataCache(@NonNull Duration ttl, boolean watch) throws IOException {
+		this(ttl, watch ? FileSystems.getDefault().newWatchService() : null);
+	}
+
+	private PathMetadataCache(Duration ttl, WatchService watchService) {
+		this.ttlNanos = Objects.requireNonNull(ttl, "Time to live cannot be null").toNanos();
+		this.watchService = watchService;
+		if (watchService != null) {
+			Thread watcher = new Thread(this::watch, "params-path-watcher");
+			watcher.setDaemon(true);
+			watcher.start();
+		}
+	}
+
+	/**
+	 * Tracks the paths held by the given items without reading their metadata, so
+	 * that the first lookup sweeps each of their directories only once.
+	 *
+	 * @param items the path-valued items.
+	 */
+	public void track(@NonNull Collection<? extends IParameterItem<? extends Path>> items) {
+		Objects.requireNonNull(items, "Parameter items cannot be null");
+		for (IParameterItem<? extends Path> item : items) {
+			Path absolute = item.getValue().toAbsolutePath().normalize();
+			Path parent = absolute.getParent();
+			if (parent != null) {
+				directories.computeIfAbsent(parent, this::newDirectory).paths.add(absolute);
+			}
+		}
+	}
+
+	/**
+	 * Returns the metadata of the path held by the given item.
+	 *
+	 * @param item the path-valued item.
+	 * @return the metadata of the path.
+	 */
+	public PathMetadata getMetadata(@NonNull IParameterItem<? extends Path> item) {
+		Objects.requireNonNull(item, "Parameter item cannot be null");
+		return getMetadata(item.getValue());
+	}
+
+	/**
+	 * Returns the metadata of the given path.
+	 *
+	 * @param path the path.
+	 * @return the metadata of the path.
+	 */
+	public PathMetadata getMetadata(@NonNull Path path) {
+		Path absolute = Objects.requireNonNull(path, "Path cannot be null").toAbsolutePath().normalize();
+		Path parent = absolute.getParent();
+		if (parent == null) {
+			// The root of a file system has no directory to sweep
+			return readAttributes(absolute);
+		}
+
+		Directory directory = directories.computeIfAbsent(parent, this::newDirectory);
+		PathMetadata cached = metadata.get(absolute);
+		if ((cached != null) && !directory.isExpired()) {
+			return cached;
+		}
+		directory.paths.add(absolute);
+		synchronized (directory) {
+			cached = metadata.get(absolute);
+			if ((cached == null) || directory.isExpired()) {
+				sweep(parent, directory);
+				cached = metadata.get(absolute);
+			}
+		}
+		return cached;
+	}
+
+	/**
+	 * Expires the metadata of every tracked path.
+	 */
+	public void invalidate() {
+		directories.values().forEach(Directory::expire);
+	}
+
+	/**
+	 * Returns the number of directory sweeps.
+	 *
+	 * @return the number of directory sweeps.
+	 */
+	public long getSweepCount() {
+		return sweeps.sum();
+	}
+
+	/**
+	 * Stops watching the directories.
+	 */
+	@Override
+	public void close() {
+		if (watchService != null) {
+			try {
+				watchService.close();
+			} catch (IOException e) {
+				LOGGER.warn("Cannot close the watch service", e);
+			}
+		}
+	}
+
+	private Directory newDirectory(Path parent) {
+		Directory directory = new Directory();
+		if (watchService != null) {
+			try {
+				directory.watchKey = parent.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+						StandardWatchEventKinds.ENTRY_DELETE, StandardWatchEventKinds.ENTRY_MODIFY);
+			} catch (IOException | ClosedWatchServiceException e) {
+				LOGGER.debug("Cannot watch directory '{}', relying on the time to live", parent, e);
+			}
+		}
+		return directory;
+	}
+
+	private void sweep(Path parent, Directory directory) {
+		sweeps.increment();
+		long sweptAt = System.nanoTime();
+		// Cleared first, so that a change reported during the sweep expires it again
+		directory.expired = false;
+		Set<Path> remaining = new HashSet<>(directory.paths);
+		try {
+			Files.walkFileTree(parent, EnumSet.of(FileVisitOption.FOLLOW_LINKS), 1, new SimpleFileVisitor<>() {
+
+				@Override
+				public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) {
+					if (remaining.remove(file)) {
+						metadata.put(file, PathMetadata.of(attributes));
+					}
+					return remaining.isEmpty() ? FileVisitResult.TERMINATE : FileVisitResult.CONTINUE;
+				}
+
+				@Override
+				public FileVisitResult visitFileFailed(Path file, IOException e) {
+					return FileVisitResult.CONTINUE;
+				}
+			});
+		} catch (IOException e) {
+			LOGGER.debug("Cannot sweep directory '{}'", parent, e);
+		}
+		remaining.forEach(path -> metadata.put(path, PathMetadata.MISSING));
+		directory.sweptAt = sweptAt;
+	}
+
+	private static PathMetadata readAttributes(Path path) {
+		try {
+			return PathMetadata.of(Files.readAttributes(path, BasicFileAttributes.class));
+		} catch (IOException e) {
+			return PathMetadata.MISSING;
+		}
+	}
+
+	private void watch() {
+		try {
+			while (true) {
+				WatchKey watchKey = watchService.take();
+				watchKey.pollEvents();
+				directories.values().stream().filter(directory -> directory.watchKey == watchKey)
+						.forEach(Directory::expire);
+				watchKey.reset();
+			}
+		} catch (ClosedWatchServiceException e) {
+			// Cache closed
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * A tracked directory.
+	 */
+	private final class Directory {
+
+		/**
+		 * The tracked paths of the directory.
+		 */
+		final Set<Path> paths = ConcurrentHashMap.newKeySet();
+
+		/**
+		 * The {@link System#nanoTime()} of the last sweep.
+		 */
+		volatile long sweptAt;
+
+		/**
+		 * Whether the directory was expired since the last sweep.
+		 */
+		volatile boolean expired = true;
+
+		/**
+		 * The key watching the directory, or {@code null} if it is not watched.
+		 */
+		volatile WatchKey watchKey;
+
+		/**
+		 * Returns {@code true} if the metadata of the directory must be refreshed.
+		 *
+		 * @return {@code true} if the metadata of the directory must be refreshed.
+		 */
+		boolean isExpired() {
+			return expired || (System.nanoTime() - sweptAt > ttlNanos);
+		}
+
+		/**
+		 * Expires the metadata of the directory.
+		 */
+		void expire() {
+			expired = true;
+		}
+	}
+}
@@ -0,0 +1,237 @@
+package com.iloo.params.pipeline;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import org.eclipse.jdt.annotation.NonNull;
+
+import com.iloo.params.core.IParameterCategory;
+import com.iloo.params.core.IParameterFactory;
+import com.iloo.params.core.IParameterItem;
+import com.iloo.params.core.IParameterTreeListener;
+import com.iloo.params.core.ParameterTreeEvent;
+import com.iloo.params.exceptions.InvalidParameterCategoryException;
+
+/**
+ * Composes an ordered chain of function-valued items into a single function.
+ *
+ * The items are resolved by label through the inherited view of a category
+ * (see {@link IParameterCategory#getAllParentParameterItems()}), so a category
+ * can override a step defined by one of its ancestors. Inactive items are
+ * skipped. The chain is compiled once and recompiled lazily after any mutation
+ * which may change it: an item with one of the chain labels added to or removed
+ * from the category or one of its ancestors, a participating item toggled, or
+ * the category or one of its ancestors linked to a new parent. Results can be
+ * memoized in a bounded cache keyed by input, which evicts the least recently
+ * used entries and is cleared on recompilation.
+ *
+ * @param <T> the type of the input of the pipeline.
+ * @param <R> the type of the result of the pipeline.
+ */
+public final class ParameterFunctionPipeline<T, R> implements Function<T, R>, AutoCloseable {
+
+	/**
+	 * The factory notifying the mutations.
+	 */
+	private final IParameterFactory factory;
+
+	/**
+	 * The category resolving the items.
+	 */
+	private final IParameterCategory category;
+
+	/**
+	 * The labels of the chained items, in application order.
+	 */
+	private final List<String> labels;
+
+	/**
+	 * The maximum number of memoized results, {@code 0} to disable memoization.
+	 */
+	private final int cacheSize;
+
+	/**
+	 * The generation of the chain, incremented when it may have changed.
+	 */
+	private final AtomicLong generation = new AtomicLong();
+
+	/**
+	 * The listener invalidating the chain.
+	 */
+	private final IParameterTreeListener listener = this::onEvent;
+
+	/**
+	 * The compiled chain, or {@code null} before the first call.
+	 */
+	private volatile Compiled compiled;
+
+	/**
+	 * Constructs a new pipeline.
+	 *
+	 * @param factory   the factory which created the category.
+	 * @param category  the category resolving the items.
+	 * @param labels    the labels of the chained items, in application order.
+	 * @param cacheSize the maximum number of memoized results, {@code 0} to
+	 *                  disable memoization.
+	 */
+	public ParameterFunctionPipeline(@NonNull IParameterFactory factory, @NonNull IParameterCategory category,
+			@NonNull List<String> labels, int cacheSize) {
+		this.factory = Objects.requireNonNull(factory, "Factory cannot be null");
+		this.category = Objects.requireNonNull(category, "Parameter category cannot be null");
+		this.labels = List.copyOf(Objects.requireNonNull(labels, "Labels cannot be null"));
+		if (cacheSize < 0) {
+			throw new IllegalArgumentException("Cache size cannot be negative");
+		}
+		this.cacheSize = cacheSize;
+		factory.addTreeListener(listener);
+	}
+
+	/**
+	 * Applies the compiled chain to the given input.
+	 *
+	 * @param input the input of the pipeline.
+	 * @return the result of the last function of the chain.
+	 * @throws InvalidParameterCategoryException if a label of the chain does not
+	 *                                           resolve to a function-valued item.
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public R apply(T input) {
+		Compiled current = compiled;
+		if ((current == null) || (current.generation != generation.get())) {
+			current = compile();
+			compiled = current;
+		}
+		if (current.cache == null) {
+			return (R) current.function.apply(input);
+		}
+
+		synchronized (current.cache) {
+			if (current.cache.containsKey(input)) {
+				factory.getMetrics().recordCacheRead(true);
+				return (R) current.cache.get(input);
+			}
+		}
+		factory.getMetrics().recordCacheRead(false);
+		Object result = current.function.apply(input);
+		synchronized (current.cache) {
+			current.cache.put(input, result);
+		}
+		return (R) result;
+	}
+
+	/**
+	 * Stops tracking the mutations of the tree.
+	 */
+	@Override
+	public void close() {
+		factory.removeTreeListener(listener);
+	}
+
+	@SuppressWarnings("unchecked")
+	private Compiled compile() {
+		long compiledGeneration = generation.get();
+		Map<String, IParameterItem<?>> items = category.getAllParentParameterItems();
+		Function<Object, Object> function = Function.identity();
+		Set<IParameterItem<?>> participants = Collections.newSetFromMap(new IdentityHashMap<>());
+
+		for (String label : labels) {
+			IParameterItem<?> item = items.get(label);
+			if ((item == null) || !(item.getValue() instanceof Function)) {
+				throw InvalidParameterCategoryException.forInvalidLabelValue(label,
+						"Pipeline step is not a function-valued item");
+			}
+			participants.add(item);
+			if (item.isActive()) {
+				function = function.andThen((Function<Object, Object>) item.getValue());
+			}
+		}
+		return new Compiled(compiledGeneration, function, participants, cacheSize > 0 ? newCache() : null);
+	}
+
+	private Map<Object, Object> newCache() {
+		return new LinkedHashMap<>(16, 0.75f, true) {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Object, Object> eldest) {
+				return size() > cacheSize;
+			}
+		};
+	}
+
+	private void onEvent(ParameterTreeEvent event) {
+		boolean invalidated = switch (event.type()) {
+		case ITEM_ADDED, ITEM_REMOVED -> labels.contains(event.item().getLabel()) && isInChain(event.category());
+		case ITEM_ACTIVATION_CHANGED -> Optional.ofNullable(compiled)
+				.map(current -> current.participants.contains(event.item())).orElse(false);
+		case CATEGORY_LINKED, CATEGORY_MOVED, SUBTREE_REMOVED -> isInChain(event.category());
+		case CATEGORY_CREATED -> false;
+		};
+		if (invalidated) {
+			generation.incrementAndGet();
+		}
+	}
+
+	private boolean isInChain(IParameterCategory mutated) {
+		Optional<IParameterCategory> ancestor = Optional.of(category);
+		while (ancestor.isPresent()) {
+			if (ancestor.get() == mutated) {
+				return true;
+			}
+			ancestor = ancestor.get().getParentCategory();
+		}
+		return false;
+	}
+
+	/**
+	 * A compiled chain.
+	 */
+	private static final class Compiled {
+
+		/**
+		 * The generation the chain was compiled at.
+		 */
+		final long generation;
+
+		/**
+		 * The composed function.
+		 */
+		final Function<Object, Object> function;
+
+		/**
+		 * The items the chain was compiled from.
+		 */
+		final Set<IParameterItem<?>> participants;
+
+		/**
+		 * The memoized results, or {@code null} if memoization is disabled.
+		 */
+		final Map<Object, Object> cache;
+
+		/**
+		 * Constructs a new compiled chain.
+		 *
+		 * @param generation   the generation the chain was compiled at.
+		 * @param function     the composed function.
+		 * @param participants the items the chain was compiled from.
+		 * @param cache        the memoized results.
+		 */
+		Compiled(long generation, Function<Object, Object> function, Set<IParameterItem<?>> participants,
+				Map<Object, Object> cache) {
+			this.generation = generation;
+			this.function = function;
+			this.participants = participants;
+			this.cache = cache;
+		}
+	}
+}
@@ -0,0 +1,479 @@
+package com.iloo.params.query;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Optional;
+
+import org.eclipse.jdt.annotation.NonNull;
+
+import com.iloo.params.core.IParameterCategory;
+import com.iloo.params.core.IParameterItem;
+
+/**
+ * A declarative search for categories, planned by a
+ * {@link ParameterQueryPlanner}.
+ *
+ * A query is a conjunction of conditions on the label, the description, the
+ * depth and the position of a category, and on the items it holds (its own
+ * items, not the inherited ones). The depth follows the vertical level of a
+ * category: {@code 1} for a root category. Label conditions are
+ * case-sensitive, description conditions are not.
+ */
+public final class ParameterQuery {
+
+	/**
+	 * The exact label, or {@code null}.
+	 */
+	final String label;
+
+	/**
+	 * The label prefix, or {@code null}.
+	 */
+	final String labelPrefix;
+
+	/**
+	 * The lower-cased text of the description, or {@code null}.
+	 */
+	final String descriptionText;
+
+	/**
+	 * The minimum depth.
+	 */
+	final int minDepth;
+
+	/**
+	 * The maximum depth.
+	 */
+	final int maxDepth;
+
+	/**
+	 * Whether the category must be a root, a non-root, or {@code null} for any.
+	 */
+	final Boolean root;
+
+	/**
+	 * Whether the category must be a leaf, a non-leaf, or {@code null} for any.
+	 */
+	final Boolean leaf;
+
+	/**
+	 * The conditions on the items.
+	 */
+	final List<ItemCondition> itemConditions;
+
+	private ParameterQuery(Builder builder) {
+		this.label = builder.label;
+		this.labelPrefix = builder.labelPrefix;
+		this.descriptionText = builder.descriptionText;
+		this.minDepth = builder.minDepth;
+		this.maxDepth = builder.maxDepth;
+		this.root = builder.root;
+		this.leaf = builder.leaf;
+		this.itemConditions = List.copyOf(builder.itemConditions);
+	}
+
+	/**
+	 * Returns a new builder matching every category.
+	 *
+	 * @return a new builder.
+	 */
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	/**
+	 * Returns the maximum depth a matching category can have.
+	 *
+	 * @return the maximum depth, {@code 1} if the category must be a root.
+	 */
+	int getDepthLimit() {
+		return Boolean.TRUE.equals(root) ? Math.min(maxDepth, 1) : maxDepth;
+	}
+
+	/**
+	 * Returns {@code true} if the given category matches every condition.
+	 *
+	 * @param category the category.
+	 * @param depth    the depth of the category.
+	 * @return {@code true} if the category matches every condition.
+	 */
+	boolean matches(IParameterCategory category, int depth) {
+		if ((depth < minDepth) || (depth > maxDepth)) {
+			return false;
+		}
+		if (((label != null) && !label.equals(category.getLabel()))
+				|| ((labelPrefix != null) && !category.getLabel().startsWith(labelPrefix))) {
+			return false;
+		}
+		if ((descriptionText != null)
+				&& !category.getDescription().toLowerCase(Locale.ROOT).contains(descriptionText)) {
+			return false;
+		}
+		if (((root != null) && (root != category.isRoot())) || ((leaf != null) && (leaf != category.isLeaf()))) {
+			return false;
+		}
+		return itemConditions.stream().allMatch(condition -> condition
+				.test(Optional.ofNullable(category.peekParameterItems().get(condition.label()))));
+	}
+
+	@Override
+	public String toString() {
+		List<String> conditions = new ArrayList<>();
+		if (label != null) {
+			conditions.add("label = '" + label + "'");
+		}
+		if (labelPrefix != null) {
+			conditions.add("label starts with '" + labelPrefix + "'");
+		}
+		if (descriptionText != null) {
+			conditions.add("description contains '" + descriptionText + "'");
+		}
+		if (minDepth > 1) {
+			conditions.add("depth >= " + minDepth);
+		}
+		if (maxDepth < Integer.MAX_VALUE) {
+			conditions.add("depth <= " + maxDepth);
+		}
+		if (root != null) {
+			conditions.add(root ? "root" : "not root");
+		}
+		if (leaf != null) {
+			conditions.add(leaf ? "leaf" : "not leaf");
+		}
+		itemConditions.forEach(condition -> conditions.add(condition.toString()));
+		return conditions.isEmpty() ? "true" : String.join(" and ", conditions);
+	}
+
+	/**
+	 * A condition on the item of a category with a given label.
+	 */
+	sealed interface ItemCondition permits ItemExists, ItemEquals, ItemInRange, ItemActive {
+
+		/**
+		 * Returns the label of the item.
+		 *
+		 * @return the label of the item.
+		 */
+		String label();
+
+		/**
+		 * Returns {@code true} if the given item matches the condition.
+		 *
+		 * @param item the item of the category with the label, if any.
+		 * @return {@code true} if the item matches the condition.
+		 */
+		boolean test(Optional<IParameterItem<?>> item);
+	}
+
+	/**
+	 * The category holds an item with the label.
+	 *
+	 * @param label the label of the item.
+	 */
+	record ItemExists(String label) implements ItemCondition {
+
+		@Override
+		public boolean test(Optional<IParameterItem<?>> item) {
+			return item.isPresent();
+		}
+
+		@Override
+		public String toString() {
+			return "has item '" + label + "'";
+		}
+	}
+
+	/**
+	 * The category holds an item with the label and the value. Numbers are
+	 * compared by value, whatever their type, so that {@code 5} matches
+	 * {@code 5L} and {@code 5.0}.
+	 *
+	 * @param label the label of the item.
+	 * @param value the value of the item.
+	 */
+	record ItemEquals(String label, Object value) implements ItemCondition {
+
+		@Override
+		public boolean test(Optional<IParameterItem<?>> item) {
+			return item.map(IParameterItem::getValue).filter(this::matches).isPresent();
+		}
+
+		private boolean matches(Object other) {
+			if ((value instanceof Number number) && (other instanceof Number otherNumber)) {
+				return compare(number, otherNumber) == 0;
+			}
+			return value.equals(other);
+		}
+
+		private static int compare(Number first, Number second) {
+			if (isIntegral(first) && isIntegral(second)) {
+				return Long.compare(first.longValue(), second.longValue());
+			}
+			BigDecimal firstDecimal = toBigDecimal(first);
+			BigDecimal secondDecimal = toBigDecimal(second);
+			if ((firstDecimal == null) || (secondDecimal == null)) {
+				// NaN or infinite
+				return Double.compare(first.doubleValue(), second.doubleValue());
+			}
+			return firstDecimal.compareTo(secondDecimal);
+		}
+
+		private static boolean isIntegral(Number number) {
+			return (number instanceof Byte) || (number instanceof Short) || (number instanceof Integer)
+					|| (number instanceof Long);
+		}
+
+		private static BigDecimal toBigDecimal(Number number) {
+			if (number instanceof BigDecimal decimal) {
+				return decimal;
+			}
+			if (number instanceof BigInteger integer) {
+				return new BigDecimal(integer);
+			}
+			if (isIntegral(number)) {
+				return BigDecimal.valueOf(number.longValue());
+			}
+			double value = number.doubleValue();
+			return Double.isFinite(value) ? new BigDecimal(value) : null;
+		}
+
+		@Override
+		public String toString() {
+			return "item '" + label + "' = " + value;
+		}
+	}
+
+	/**
+	 * The category holds a numeric item with the label and a value in the range.
+	 *
+	 * @param label the label of the item.
+	 * @param min   the minimum value, inclusive.
+	 * @param max   the maximum value, inclusive.
+	 */
+	record ItemInRange(String label, double min, double max) implements ItemCondition {
+
+		@Override
+		public boolean test(Optional<IParameterItem<?>> item) {
+			return item.map(IParameterItem::getValue).filter(Number.class::isInstance)
+					.map(value -> ((Number) value).doubleValue()).filter(value -> (value >= min) && (value <= max))
+					.isPresent();
+		}
+
+		@Override
+		public String toString() {
+			return "item '" + label + "' in [" + min + ", " + max + "]";
+		}
+	}
+
+	/**
+	 * The category holds an item with the label and the active state.
+	 *
+	 * @param label  the label of the item.
+	 * @param active the active state of the item.
+	 */
+	record ItemActive(String label, boolean active) implements ItemCondition {
+
+		@Override
+		public boolean test(Optional<IParameterItem<?>> item) {
+			return item.filter(i -> i.isActive() == active).isPresent();
+		}
+
+		@Override
+		public String toString() {
+			return "item '" + label + "' " + (active ? "active" : "inactive");
+		}
+	}
+
+	/**
+	 * Builds a {@link ParameterQuery}. Each call adds a condition.
+	 */
+	public static final class Builder {
+
+		/**
+		 * The exact label, or {@code null}.
+		 */
+		private String label;
+
+		/**
+		 * The label prefix, or {@code null}.
+		 */
+		private String labelPrefix;
+
+		/**
+		 * The lower-cased text of the description, or {@code null}.
+		 */
+		private String descriptionText;
+
+		/**
+		 * The minimum depth.
+		 */
+		private int minDepth = 1;
+
+		/**
+		 * The maximum depth.
+		 */
+		private int maxDepth = Integer.MAX_VALUE;
+
+		/**
+		 * Whether the category must be a root, or {@code null}.
+		 */
+		private Boolean root;
+
+		/**
+		 * Whether the category must be a leaf, or {@code null}.
+		 */
+		private Boolean leaf;
+
+		/**
+		 * The conditions on the items.
+		 */
+		private final List<ItemCondition> itemConditions = new ArrayList<>();
+
+		private Builder() {
+			// Use ParameterQuery.builder()
+		}
+
+		/**
+		 * Matches the categories with the given label.
+		 *
+		 * @param label the label.
+		 * @return this builder.
+		 */
+		public Builder labelEquals(@NonNull String label) {
+			this.label = Objects.requireNonNull(label, "Label cannot be null");
+			return this;
+		}
+
+		/**
+		 * Matches the categories whose label starts with the given prefix.
+		 *
+		 * @param prefix the prefix.
+		 * @return this builder.
+		 */
+		public Builder labelStartsWith(@NonNull String prefix) {
+			this.labelPrefix = Objects.requireNonNull(prefix, "Prefix cannot be null");
+			return this;
+		}
+
+		/**
+		 * Matches the categories whose description contains the given text, ignoring
+		 * case.
+		 *
+		 * @param text the text.
+		 * @return this builder.
+		 */
+		public Builder descriptionContains(@NonNull String text) {
+			this.descriptionText = Objects.requireNonNull(text, "Text cannot be null").toLowerCase(Locale.ROOT);
+			return this;
+		}
+
+		/**
+		 * Matches the categories at the given depth or deeper.
+		 *
+		 * @param depth the minimum depth, {@code 1} for the roots.
+		 * @return this builder.
+		 */
+		public Builder minDepth(int depth) {
+			this.minDepth = depth;
+			return this;
+		}
+
+		/**
+		 * Matches the categories at the given depth or shallower.
+		 *
+		 * @param depth the maximum depth, {@code 1} for the roots.
+		 * @return this builder.
+		 */
+		public Builder maxDepth(int depth) {
+			this.maxDepth = depth;
+			return this;
+		}
+
+		/**
+		 * Matches the root categories, or the non-root ones.
+		 *
+		 * @param root {@code true} to match the roots, {@code false} otherwise.
+		 * @return this builder.
+		 */
+		public Builder root(boolean root) {
+			this.root = root;
+			return this;
+		}
+
+		/**
+		 * Matches the leaf categories, or the non-leaf ones.
+		 *
+		 * @param leaf {@code true} to match the leaves, {@code false} otherwise.
+		 * @return this builder.
+		 */
+		public Builder leaf(boolean leaf) {
+			this.leaf = leaf;
+			return this;
+		}
+
+		/**
+		 * Matches the categories holding an item with the given label.
+		 *
+		 * @param label the label of the item.
+		 * @return this builder.
+		 */
+		public Builder hasItem(@NonNull String label) {
+			itemConditions.add(new ItemExists(Objects.requireNonNull(label, "Label cannot be null")));
+			return this;
+		}
+
+		/**
+		 * Matches the categories holding an item with the given label and value.
+		 * Numbers are compared by value, whatever their type.
+		 *
+		 * @param label the label of the item.
+		 * @param value the value of the item.
+		 * @return this builder.
+		 */
+		public Builder itemEquals(@NonNull String label, @NonNull Object value) {
+			itemConditions.add(new ItemEquals(Objects.requireNonNull(label, "Label cannot be null"),
+					Objects.requireNonNull(value, "Value cannot be null")));
+			return this;
+		}
+
+		/**
+		 * Matches the categories holding a numeric item with the given label and a
+		 * value in the given range.
+		 *
+		 * @param label the label of the item.
+		 * @param min   the minimum value, inclusive.
+		 * @param max   the maximum value, inclusive.
+		 * @return this builder.
+		 */
+		public Builder itemBetween(@NonNull String label, double min, double max) {
+			itemConditions.add(new ItemInRange(Objects.requireNonNull(label, "Label cannot be null"), min, max));
+			return this;
+		}
+
+		/**
+		 * Matches the categories holding an item with the given label and active
+		 * state.
+		 *
+		 * @param label  the label of the item.
+		 * @param active the active state of the item.
+		 * @return this builder.
+		 */
+		public Builder itemActive(@NonNull String label, boolean active) {
+			itemConditions.add(new ItemActive(Objects.requireNonNull(label, "Label cannot be null"), active));
+			return this;
+		}
+
+		/**
+		 * Builds the query.
+		 *
+		 * @return the query.
+		 */
+		public ParameterQuery build() {
+			return new ParameterQuery(this);
+		}
+	}
+}
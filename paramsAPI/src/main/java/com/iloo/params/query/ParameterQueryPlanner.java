@@ -0,0 +1,151 @@
+package com.iloo.params.query;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+import org.eclipse.jdt.annotation.NonNull;
+
+import com.iloo.params.core.IParameterCategory;
+import com.iloo.params.core.IParameterCategoryList;
+import com.iloo.params.index.CategoryDepth;
+import com.iloo.params.index.IndexedItem;
+import com.iloo.params.index.ParameterLabelIndex;
+import com.iloo.params.index.ParameterNumericIndex;
+import com.iloo.params.index.ParameterTextIndex;
+import com.iloo.params.query.ParameterQuery.ItemCondition;
+import com.iloo.params.query.ParameterQuery.ItemInRange;
+
+/**
+ * Plans the execution of {@link ParameterQuery}s over a list of categories.
+ *
+ * The planner picks the most selective access path available for a query: a
+ * label lookup in a {@link ParameterTextIndex}, a description search in the
+ * same index, a range lookup in a {@link ParameterNumericIndex}, a lookup of
+ * the categories holding an item label in a {@link ParameterLabelIndex}, or,
+ * when no index applies, a breadth-first traversal from the roots which does not
+ * descend below the maximum depth of the query. The candidates of the access
+ * path are then filtered by every condition of the query.
+ */
+public final class ParameterQueryPlanner {
+
+	/**
+	 * The categories to search.
+	 */
+	private final IParameterCategoryList categoryList;
+
+	/**
+	 * The text index, or {@code null}.
+	 */
+	private ParameterTextIndex textIndex;
+
+	/**
+	 * The numeric index, or {@code null}.
+	 */
+	private ParameterNumericIndex numericIndex;
+
+	/**
+	 * The label index, or {@code null}.
+	 */
+	private ParameterLabelIndex labelIndex;
+
+	/**
+	 * Constructs a new planner without index.
+	 *
+	 * @param categoryList the categories to search.
+	 */
+	public ParameterQueryPlanner(@NonNull IParameterCategoryList categoryList) {
+		this.categoryList = Objects.requireNonNull(categoryList, "Parameter category list cannot be null");
+	}
+
+	/**
+	 * Uses the given text index, which must index the same tree.
+	 *
+	 * @param index the text index.
+	 * @return this planner.
+	 */
+	public ParameterQueryPlanner withIndex(@NonNull ParameterTextIndex index) {
+		this.textIndex = Objects.requireNonNull(index, "Index cannot be null");
+		return this;
+	}
+
+	/**
+	 * Uses the given numeric index, which must index the same tree.
+	 *
+	 * @param index the numeric index.
+	 * @return this planner.
+	 */
+	public ParameterQueryPlanner withIndex(@NonNull ParameterNumericIndex index) {
+		this.numericIndex = Objects.requireNonNull(index, "Index cannot be null");
+		return this;
+	}
+
+	/**
+	 * Uses the given label index, which must index the same tree.
+	 *
+	 * @param index the label index.
+	 * @return this planner.
+	 */
+	public ParameterQueryPlanner withIndex(@NonNull ParameterLabelIndex index) {
+		this.labelIndex = Objects.requireNonNull(index, "Index cannot be null");
+		return this;
+	}
+
+	/**
+	 * Plans the given query.
+	 *
+	 * @param query the query.
+	 * @return the plan of the query.
+	 */
+	public QueryPlan plan(@NonNull ParameterQuery query) {
+		Objects.requireNonNull(query, "Query cannot be null");
+		if (textIndex != null) {
+			if (query.label != null) {
+				return new QueryPlan(query, "label index lookup of '" + query.label + "'",
+						() -> textIndex.findCategoriesByLabelPrefix(query.label, Integer.MAX_VALUE));
+			}
+			if (query.labelPrefix != null) {
+				return new QueryPlan(query, "label index lookup of prefix '" + query.labelPrefix + "'",
+						() -> textIndex.findCategoriesByLabelPrefix(query.labelPrefix, Integer.MAX_VALUE));
+			}
+			if (query.descriptionText != null) {
+				return new QueryPlan(query, "description index search of '" + query.descriptionText + "'",
+						() -> textIndex.searchDescriptions(query.descriptionText, Integer.MAX_VALUE));
+			}
+		}
+		if (numericIndex != null) {
+			for (ItemCondition condition : query.itemConditions) {
+				if (condition instanceof ItemInRange range) {
+					return new QueryPlan(query, "numeric index range scan of " + range,
+							() -> categoriesOf(numericIndex.findInRange(range.label(), range.min(), range.max())));
+				}
+			}
+		}
+		if ((labelIndex != null) && !query.itemConditions.isEmpty()) {
+			String label = query.itemConditions.get(0).label();
+			return new QueryPlan(query, "label index lookup of the holders of '" + label + "'",
+					() -> labelIndex.findDefinitions(label).stream().map(CategoryDepth::category).toList());
+		}
+		return new QueryPlan(query, categoryList);
+	}
+
+	/**
+	 * Returns the distinct categories of the given items.
+	 *
+	 * @param items the items.
+	 * @return the distinct categories, in the order of the items.
+	 */
+	static List<IParameterCategory> categoriesOf(List<IndexedItem> items) {
+		Set<IParameterCategory> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+		List<IParameterCategory> categories = new ArrayList<>();
+		for (IndexedItem item : items) {
+			if (seen.add(item.category())) {
+				categories.add(item.category());
+			}
+		}
+		return categories;
+	}
+}
@@ -0,0 +1,118 @@
+package com.iloo.params.query;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.function.Supplier;
+
+import com.iloo.params.core.IParameterCategory;
+import com.iloo.params.core.IParameterCategoryList;
+
+/**
+ * The execution plan of a {@link ParameterQuery}, built by a
+ * {@link ParameterQueryPlanner}. A plan can be executed several times; each
+ * execution reads the current state of the tree and of the indexes.
+ */
+public final class QueryPlan {
+
+	/**
+	 * The planned query.
+	 */
+	private final ParameterQuery query;
+
+	/**
+	 * The description of the access path.
+	 */
+	private final String access;
+
+	/**
+	 * The candidates found by an index, or {@code null} for a traversal.
+	 */
+	private final Supplier<List<IParameterCategory>> candidates;
+
+	/**
+	 * The categories to traverse, or {@code null} for an index lookup.
+	 */
+	private final IParameterCategoryList categoryList;
+
+	/**
+	 * Constructs a new plan looking the candidates up in an index.
+	 *
+	 * @param query      the planned query.
+	 * @param access     the description of the index lookup.
+	 * @param candidates the candidates found by the index.
+	 */
+	QueryPlan(ParameterQuery query, String access, Supplier<List<IParameterCategory>> candidates) {
+		this.query = query;
+		this.access = access;
+		this.candidates = candidates;
+		this.categoryList = null;
+	}
+
+	/**
+	 * Constructs a new plan traversing the categories.
+	 *
+	 * @param query        the planned query.
+	 * @param categoryList the categories to traverse.
+	 */
+	QueryPlan(ParameterQuery query, IParameterCategoryList categoryList) {
+		this.query = query;
+		int depthLimit = query.getDepthLimit();
+		this.access = "breadth-first traversal from the roots"
+				+ (depthLimit < Integer.MAX_VALUE ? ", pruned below depth " + depthLimit : "");
+		this.candidates = null;
+		this.categoryList = categoryList;
+	}
+
+	/**
+	 * Executes the plan.
+	 *
+	 * @return the matching categories.
+	 */
+	public List<IParameterCategory> execute() {
+		List<IParameterCategory> result = new ArrayList<>();
+		if (candidates != null) {
+			for (IParameterCategory candidate : candidates.get()) {
+				if (query.matches(candidate, candidate.getDepth())) {
+					result.add(candidate);
+				}
+			}
+			return result;
+		}
+
+		int depthLimit = query.getDepthLimit();
+		Deque<IParameterCategory> queue = new ArrayDeque<>();
+		categoryList.getParameterCategories().stream().filter(IParameterCategory::isRoot).forEach(queue::add);
+		int depth = 1;
+		while (!queue.isEmpty() && (depth <= depthLimit)) {
+			// Visit one level at a time to know the depth of each category
+			for (int i = queue.size(); i > 0; i--) {
+				IParameterCategory category = queue.poll();
+				if (query.matches(category, depth)) {
+					result.add(category);
+				}
+				if (depth < depthLimit) {
+					queue.addAll(category.getChildCategoryList());
+				}
+			}
+			depth++;
+		}
+		return result;
+	}
+
+	/**
+	 * Describes the plan: the access path, then the conditions filtering its
+	 * candidates.
+	 *
+	 * @return the description of the plan.
+	 */
+	public String explain() {
+		return "Access: " + access + System.lineSeparator() + "Filter: " + query;
+	}
+
+	@Override
+	public String toString() {
+		return explain();
+	}
+}
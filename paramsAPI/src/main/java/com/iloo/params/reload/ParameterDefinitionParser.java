@@ -0,0 +1,114 @@
+package com.iloo.params.reload;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.iloo.params.exceptions.InvalidParameterItemException;
+
+/**
+ * Parser of parameter definition files.
+ *
+ * A definition file is made of sections, each one naming a category by its path
+ * from the root category (labels separated by {@code /}), followed by the items
+ * of that category:
+ *
+ * <pre>
+ * # database settings
+ * [Application/Database]
+ * host = localhost
+ * !port = 5432
+ * </pre>
+ *
+ * An item label prefixed by {@code !} is created inactive. Blank lines and lines
+ * starting with {@code #} are ignored.
+ */
+final class ParameterDefinitionParser {
+
+	/**
+	 * The separator between the labels of a category path.
+	 */
+	static final String PATH_SEPARATOR = "/";
+
+	/**
+	 * The prefix of an inactive item label.
+	 */
+	private static final String INACTIVE_PREFIX = "!";
+
+	/**
+	 * ParameterDefinitionParser constructor.
+	 */
+	private ParameterDefinitionParser() {
+		// Hide implicit constructor
+	}
+
+	/**
+	 * Parses the given definition file.
+	 *
+	 * @param file the file to parse.
+	 * @return the item definitions keyed by category path, then by item label.
+	 * @throws IOException                   if the file cannot be read.
+	 * @throws InvalidParameterItemException if a line is malformed.
+	 */
+	static Map<List<String>, Map<String, ParameterDefinition>> parse(Path file) throws IOException {
+		Map<List<String>, Map<String, ParameterDefinition>> definitions = new LinkedHashMap<>();
+		Map<String, ParameterDefinition> currentSection = null;
+		int lineNumber = 0;
+
+		for (String rawLine : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+			lineNumber++;
+			String line = rawLine.strip();
+			if (line.isEmpty() || line.startsWith("#")) {
+				continue;
+			}
+
+			if (line.startsWith("[") && line.endsWith("]")) {
+				List<String> path = Arrays.stream(line.substring(1, line.length() - 1).split(PATH_SEPARATOR))
+						.map(String::strip).toList();
+				if (path.stream().anyMatch(String::isEmpty)) {
+					throw invalidLine(file, lineNumber, "empty category label");
+				}
+				currentSection = definitions.computeIfAbsent(path, p -> new LinkedHashMap<>());
+				continue;
+			}
+
+			int separator = line.indexOf('=');
+			if (separator < 0) {
+				throw invalidLine(file, lineNumber, "missing '='");
+			}
+			if (currentSection == null) {
+				throw invalidLine(file, lineNumber, "item defined outside of a category section");
+			}
+
+			String label = line.substring(0, separator).strip();
+			boolean active = !label.startsWith(INACTIVE_PREFIX);
+			if (!active) {
+				label = label.substring(INACTIVE_PREFIX.length()).strip();
+			}
+			if (label.isEmpty()) {
+				throw invalidLine(file, lineNumber, "empty item label");
+			}
+			currentSection.put(label, new ParameterDefinition(line.substring(separator + 1).strip(), active));
+		}
+		return definitions;
+	}
+
+	private static InvalidParameterItemException invalidLine(Path file, int lineNumber, String message) {
+		return new InvalidParameterItemException(
+				"Invalid parameter definition in '" + file + "' at line " + lineNumber + ": " + message);
+	}
+
+	/**
+	 * The definition of a parameter item read from a file.
+	 *
+	 * @param value  the value of the item.
+	 * @param active the active state of the item.
+	 */
+	record ParameterDefinition(String value, boolean active) {
+	}
+}
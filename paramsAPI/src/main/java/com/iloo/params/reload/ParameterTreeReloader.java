@@ -0,0 +1,334 @@
+package com.iloo.params.reload;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.eclipse.jdt.annotation.NonNull;
+
+import com.iloo.params.core.IParameterCategory;
+import com.iloo.params.core.IParameterFactory;
+import com.iloo.params.core.IParameterItem;
+import com.iloo.params.reload.ParameterDefinitionParser.ParameterDefinition;
+import com.iloo.params.utils.VoidResult;
+
+/**
+ * Reloads parameter trees from definition files when they change on disk.
+ *
+ * The reloader watches a directory with a {@link WatchService}, debounces the
+ * bursts of events emitted for a single edit and parses only the changed file.
+ * The parsed definitions are compared with the ones last applied from that
+ * file, and only the differences are applied to the live tree: new items are
+ * added, vanished items are removed, items whose value changed are replaced and
+ * items whose active state changed are toggled in place. Missing categories are
+ * created on the fly. See {@link ParameterDefinitionParser} for the file format.
+ */
+public final class ParameterTreeReloader implements AutoCloseable {
+
+	/**
+	 * The extension of the parameter definition files.
+	 */
+	public static final String FILE_EXTENSION = ".params";
+
+	/**
+	 * The default delay during which file events are coalesced.
+	 */
+	public static final Duration DEFAULT_DEBOUNCE = Duration.ofMillis(200);
+
+	/**
+	 * The logger.
+	 */
+	private static final Logger LOGGER = LogManager.getLogger(ParameterTreeReloader.class);
+
+	/**
+	 * The factory owning the live tree.
+	 */
+	private final IParameterFactory factory;
+
+	/**
+	 * The watched directory.
+	 */
+	private final Path directory;
+
+	/**
+	 * The delay during which file events are coalesced.
+	 */
+	private final Duration debounce;
+
+	/**
+	 * The definitions last applied, keyed by file.
+	 */
+	private final Map<Path, Map<List<String>, Map<String, ParameterDefinition>>> appliedDefinitions = new HashMap<>();
+
+	/**
+	 * The pending reloads, keyed by file.
+	 */
+	private final Map<Path, ScheduledFuture<?>> pendingReloads = new ConcurrentHashMap<>();
+
+	/**
+	 * The scheduler running the debounced reloads.
+	 */
+	private final ScheduledExecutorService scheduler;
+
+	/**
+	 * The watch service, or {@code null} before {@link #start()}.
+	 */
+	private WatchService watchService;
+
+	/**
+	 * Constructs a new reloader with the default debounce delay.
+	 *
+	 * @param factory   the factory owning the live tree.
+	 * @param directory the directory containing the definition files.
+	 */
+	public ParameterTreeReloader(@NonNull IParameterFactory factory, @NonNull Path directory) {
+		this(factory, directory, DEFAULT_DEBOUNCE);
+	}
+
+	/**
+	 * Constructs a new reloader.
+	 *
+	 * @param factory   the factory owning the live tree.
+	 * @param directory the directory containing the definition files.
+	 * @param debounce  the delay during which file events are coalesced.
+	 */
+	public ParameterTreeReloader(@NonNull IParameterFactory factory, @NonNull Path directory,
+			@NonNull Duration debounce) {
+		this.factory = Objects.requireNonNull(factory, "Factory cannot be null");
+		this.directory = Objects.requireNonNull(directory, "Directory cannot be null");
+		this.debounce = Objects.requireNonNull(debounce, "Debounce cannot be null");
+		this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "params-reloader");
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	/**
+	 * Loads every definition file of the directory, then starts watching it.
+	 *
+	 * @return {@code VoidResult}
+	 */
+	public synchronized VoidResult start() {
+		if (watchService != null) {
+			return VoidResult.error("Reloader is already started");
+		}
+
+		List<String> errors = new ArrayList<>();
+		try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + FILE_EXTENSION)) {
+			files.forEach(file -> {
+				VoidResult result = reload(file);
+				if (result.isError()) {
+					errors.add(describe(result));
+				}
+			});
+
+			watchService = directory.getFileSystem().newWatchService();
+			directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+					StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+		} catch (IOException e) {
+			return VoidResult.error("Cannot watch directory '" + directory + "'", e);
+		}
+
+		Thread watcher = new Thread(this::watch, "params-watcher");
+		watcher.setDaemon(true);
+		watcher.start();
+
+		return errors.isEmpty() ? VoidResult.ok() : VoidResult.error(String.join("; ", errors));
+	}
+
+	/**
+	 * Parses the given file and applies its differences with the definitions last
+	 * applied from it. A missing file removes every item it defined.
+	 *
+	 * @param file the definition file.
+	 * @return {@code VoidResult}
+	 */
+	public synchronized VoidResult reload(@NonNull Path file) {
+		Path key = Objects.requireNonNull(file, "File cannot be null").toAbsolutePath().normalize();
+		Map<List<String>, Map<String, ParameterDefinition>> definitions;
+		try {
+			definitions = Files.exists(key) ? ParameterDefinitionParser.parse(key) : Map.of();
+		} catch (IOException | RuntimeException e) {
+			return VoidResult.error("Cannot parse '" + key + "'", e);
+		}
+		return apply(key, definitions);
+	}
+
+	/**
+	 * Stops watching the directory. The live tree is left as is.
+	 */
+	@Override
+	public synchronized void close() {
+		scheduler.shutdownNow();
+		if (watchService != null) {
+			try {
+				watchService.close();
+			} catch (IOException e) {
+				LOGGER.warn("Cannot close the watch service of '{}'", directory, e);
+			}
+		}
+	}
+
+	private void watch() {
+		try {
+			while (true) {
+				WatchKey watchKey = watchService.take();
+				for (WatchEvent<?> event : watchKey.pollEvents()) {
+					if (event.context() instanceof Path name && name.toString().endsWith(FILE_EXTENSION)) {
+						scheduleReload(directory.resolve(name));
+					}
+				}
+				if (!watchKey.reset()) {
+					LOGGER.warn("Directory '{}' is no longer watched", directory);
+					return;
+				}
+			}
+		} catch (ClosedWatchServiceException e) {
+			// Reloader closed
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private void scheduleReload(Path file) {
+		pendingReloads.compute(file, (path, pending) -> {
+			if (pending != null) {
+				pending.cancel(false);
+			}
+			try {
+				return scheduler.schedule(() -> {
+					pendingReloads.remove(path);
+					VoidResult result = reload(path);
+					if (result.isError()) {
+						LOGGER.error("Cannot reload '{}': {}", path, describe(result), result.exception());
+					}
+				}, debounce.toMillis(), TimeUnit.MILLISECONDS);
+			} catch (RejectedExecutionException e) {
+				// Reloader closed while the event was handled
+				return null;
+			}
+		});
+	}
+
+	private VoidResult apply(Path file, Map<List<String>, Map<String, ParameterDefinition>> definitions) {
+		Map<List<String>, Map<String, ParameterDefinition>> applied = new LinkedHashMap<>();
+		appliedDefinitions.getOrDefault(file, Map.of())
+				.forEach((path, items) -> applied.put(path, new LinkedHashMap<>(items)));
+		List<String> errors = new ArrayList<>();
+
+		// Remove the items which are no longer defined
+		for (Map.Entry<List<String>, Map<String, ParameterDefinition>> section : List.copyOf(applied.entrySet())) {
+			Map<String, ParameterDefinition> newItems = definitions.getOrDefault(section.getKey(), Map.of());
+			Optional<IParameterCategory> category = factory.getParameterCategoryList()
+					.findCategory(section.getKey());
+			for (String label : List.copyOf(section.getValue().keySet())) {
+				if (!newItems.containsKey(label)) {
+					category.ifPresent(c -> removeItem(c, label));
+					section.getValue().remove(label);
+				}
+			}
+			if (section.getValue().isEmpty()) {
+				applied.remove(section.getKey());
+			}
+		}
+
+		// Add, replace or toggle the items which are new or changed
+		definitions.forEach((path, items) -> {
+			IParameterCategory category;
+			try {
+				category = resolveCategory(path, file);
+			} catch (RuntimeException e) {
+				errors.add("category " + path + ": " + e.getMessage());
+				return;
+			}
+			Map<String, ParameterDefinition> appliedItems = applied.computeIfAbsent(path, p -> new LinkedHashMap<>());
+			items.forEach((label, definition) -> {
+				ParameterDefinition previous = appliedItems.get(label);
+				if (definition.equals(previous)) {
+					return;
+				}
+				VoidResult result = VoidResult.of(() -> {
+					if ((previous != null) && previous.value().equals(definition.value())) {
+						category.peekParameterItems().get(label).setActive(definition.active());
+					} else {
+						// Replaced in a single batch, so that no version lacks the item
+						IParameterItem<?> item = factory.createParameterItem(label, definition.value(),
+								definition.active());
+						factory.runBatch(() -> {
+							if (previous != null) {
+								removeItem(category, label);
+							}
+							category.addParameterItem(item);
+						});
+					}
+				});
+				if (result.isSuccess()) {
+					appliedItems.put(label, definition);
+				} else {
+					errors.add("item '" + label + "' of " + path + ": " + describe(result));
+				}
+			});
+		});
+
+		appliedDefinitions.put(file, applied);
+		return errors.isEmpty() ? VoidResult.ok()
+				: VoidResult.error("Cannot apply '" + file + "': " + String.join("; ", errors));
+	}
+
+	private IParameterCategory resolveCategory(List<String> path, Path file) {
+		Optional<IParameterCategory> existing = factory.getParameterCategoryList().findCategory(path);
+		if (existing.isPresent()) {
+			return existing.get();
+		}
+		IParameterCategory parent = path.size() > 1 ? resolveCategory(path.subList(0, path.size() - 1), file) : null;
+		IParameterCategory category = factory.createParameterCategory(path.get(path.size() - 1),
+				"Loaded from " + file.getFileName());
+		if (parent != null) {
+			try {
+				category.setParentCategory(parent);
+			} catch (RuntimeException e) {
+				// Not left behind as a root
+				category.removeSubtree();
+				throw e;
+			}
+		}
+		return category;
+	}
+
+	private static void removeItem(IParameterCategory category, String label) {
+		IParameterItem<?> item = category.peekParameterItems().get(label);
+		if (item != null) {
+			category.removeParameterItem(item);
+		}
+	}
+
+	private static String describe(VoidResult result) {
+		if (result.exception() == null) {
+			return result.errorMessage();
+		}
+		return result.exception().getMessage() != null ? result.exception().getMessage() : result.errorMessage();
+	}
+}
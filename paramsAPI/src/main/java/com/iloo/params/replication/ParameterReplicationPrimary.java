@@ -0,0 +1,354 @@
+package com.iloo.params.replication;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.eclipse.jdt.annotation.NonNull;
+
+import com.iloo.params.core.IParameterCategory;
+import com.iloo.params.core.IParameterFactory;
+import com.iloo.params.core.IParameterItem;
+import com.iloo.params.core.IParameterTreeListener;
+import com.iloo.params.core.ParameterTreeEvent;
+import com.iloo.params.core.ParameterTreeEvent.EventType;
+import com.iloo.params.replication.ReplicationMessage.Opcode;
+
+/**
+ * Streams the mutations of a writable parameter tree to
+ * {@link ParameterReplicationReplica}s over TCP.
+ *
+ * Each replica connecting receives a snapshot of the whole tree, taken while
+ * the tree is locked for writing, followed by every later mutation in order
+ * and by a commit after the mutations sharing a version.
+ * Messages are queued per replica; a replica falling more than
+ * {@link #DEFAULT_QUEUE_CAPACITY} messages behind is disconnected and catches up
+ * from a new snapshot when it reconnects. Items whose value cannot be
+ * serialized (functions, suppliers and consumers) are not replicated.
+ */
+public final class ParameterReplicationPrimary implements AutoCloseable {
+
+	/**
+	 * The default number of messages queued per replica.
+	 */
+	public static final int DEFAULT_QUEUE_CAPACITY = 65_536;
+
+	/**
+	 * The logger.
+	 */
+	private static final Logger LOGGER = LogManager.getLogger(ParameterReplicationPrimary.class);
+
+	/**
+	 * The factory owning the replicated tree.
+	 */
+	private final IParameterFactory factory;
+
+	/**
+	 * The socket accepting the replicas.
+	 */
+	private final ServerSocket serverSocket;
+
+	/**
+	 * The thread accepting the replicas.
+	 */
+	private final Thread acceptor;
+
+	/**
+	 * The identifiers of the categories. Only accessed while the tree is locked.
+	 */
+	private final Map<IParameterCategory, Integer> categoryIds = new IdentityHashMap<>();
+
+	/**
+	 * The identifier of the next identified category, since the identifiers of
+	 * the removed categories are never reused. Only accessed while the tree is
+	 * locked.
+	 */
+	private int nextCategoryId;
+
+	/**
+	 * The categories holding each item. Only accessed while the tree is locked.
+	 */
+	private final Map<IParameterItem<?>, List<IParameterCategory>> itemCategories = new IdentityHashMap<>();
+
+	/**
+	 * The connected replicas.
+	 */
+	private final List<ReplicaSession> sessions = new CopyOnWriteArrayList<>();
+
+	/**
+	 * The listener forwarding the mutations to the replicas.
+	 */
+	private final IParameterTreeListener listener = new IParameterTreeListener() {
+
+		@Override
+		public void onEvent(ParameterTreeEvent event) {
+			ParameterReplicationPrimary.this.onEvent(event);
+		}
+
+		@Override
+		public void onCommit(long version) {
+			ReplicationMessage commit = ReplicationMessage.of(Opcode.VERSION, version);
+			sessions.forEach(session -> session.offer(commit));
+		}
+	};
+
+	/**
+	 * Constructs a new primary.
+	 *
+	 * @param factory the factory owning the replicated tree.
+	 * @param address the address to bind, with port {@code 0} for an ephemeral
+	 *                port.
+	 * @throws IOException if the address cannot be bound.
+	 */
+	public ParameterReplicationPrimary(@NonNull IParameterFactory factory, @NonNull InetSocketAddress address)
+			throws IOException {
+		this.factory = Objects.requireNonNull(factory, "Factory cannot be null");
+		this.serverSocket = new ServerSocket();
+		serverSocket.setReuseAddress(true);
+		serverSocket.bind(Objects.requireNonNull(address, "Address cannot be null"));
+		this.acceptor = new Thread(this::accept, "params-replication-acceptor");
+		acceptor.setDaemon(true);
+	}
+
+	/**
+	 * Starts tracking the tree and accepting replicas.
+	 */
+	public void start() {
+		factory.replayTree(this::track, () -> factory.addTreeListener(listener));
+		acceptor.start();
+	}
+
+	/**
+	 * Returns the port the primary is bound to.
+	 *
+	 * @return the port the primary is bound to.
+	 */
+	public int getPort() {
+		return serverSocket.getLocalPort();
+	}
+
+	/**
+	 * Returns the number of connected replicas.
+	 *
+	 * @return the number of connected replicas.
+	 */
+	public int getReplicaCount() {
+		return sessions.size();
+	}
+
+	/**
+	 * Stops accepting replicas and disconnects the connected ones. The address
+	 * can be bound again once this method returns.
+	 */
+	@Override
+	public void close() {
+		factory.removeTreeListener(listener);
+		try {
+			serverSocket.close();
+		} catch (IOException e) {
+			LOGGER.warn("Cannot close the replication socket", e);
+		}
+		sessions.forEach(ReplicaSession::close);
+
+		// The listening socket is only released once the pending accept returned
+		try {
+			acceptor.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private void accept() {
+		while (!serverSocket.isClosed()) {
+			try {
+				Socket socket = serverSocket.accept();
+				ReplicaSession session = new ReplicaSession(socket);
+				factory.replayTree(event -> session.snapshot.addAll(toMessages(event)), () -> {
+					session.snapshot.add(ReplicationMessage.of(Opcode.SNAPSHOT_END,
+							factory.getParameterCategoryList().getVersion()));
+					sessions.add(session);
+				});
+				session.start();
+			} catch (SocketException e) {
+				// Primary closed
+			} catch (IOException e) {
+				LOGGER.error("Cannot accept a replica", e);
+			}
+		}
+	}
+
+	private void onEvent(ParameterTreeEvent event) {
+		track(event);
+		List<ReplicationMessage> messages = toMessages(event);
+		if (event.type() == EventType.SUBTREE_REMOVED) {
+			// The removed categories are identified in the message, then forgotten
+			forget(event.category());
+		}
+		for (ReplicaSession session : sessions) {
+			messages.forEach(session::offer);
+		}
+	}
+
+	private void track(ParameterTreeEvent event) {
+		switch (event.type()) {
+		case ITEM_ADDED -> itemCategories.computeIfAbsent(event.item(), item -> new ArrayList<>(1))
+				.add(event.category());
+		case ITEM_REMOVED -> {
+			List<IParameterCategory> categories = itemCategories.get(event.item());
+			if (categories != null) {
+				categories.remove(event.category());
+				if (categories.isEmpty()) {
+					itemCategories.remove(event.item());
+				}
+			}
+		}
+		default -> {
+			// Categories are identified lazily
+		}
+		}
+	}
+
+	private void forget(IParameterCategory root) {
+		for (IParameterCategory category : root.depthFirstSearch(removed -> true)) {
+			categoryIds.remove(category);
+			category.peekParameterItems().values().forEach(item -> itemCategories.computeIfPresent(item,
+					(i, categories) -> {
+						categories.removeIf(holder -> holder == category);
+						return categories.isEmpty() ? null : categories;
+					}));
+		}
+	}
+
+	private List<ReplicationMessage> toMessages(ParameterTreeEvent event) {
+		long version = event.version();
+		List<ReplicationMessage> messages = new ArrayList<>(1);
+		switch (event.type()) {
+		case CATEGORY_CREATED -> messages.add(new ReplicationMessage(Opcode.CREATE, version, idOf(event.category()),
+				-1, event.category().getLabel(), event.category().getDescription(), null, false));
+		case CATEGORY_LINKED -> messages.add(new ReplicationMessage(Opcode.LINK, version, idOf(event.category()),
+				idOf(event.relatedCategory()), null, null, null, false));
+		case CATEGORY_MOVED -> messages.add(new ReplicationMessage(Opcode.MOVE, version, idOf(event.category()),
+				idOf(event.relatedCategory()), null, null, null, false));
+		case SUBTREE_REMOVED -> messages.add(new ReplicationMessage(Opcode.REMOVE_SUBTREE, version,
+				idOf(event.category()), -1, null, null, null, false));
+		case ITEM_ADDED -> {
+			Object value = event.item().getValue();
+			if (ReplicationMessage.isReplicable(value)) {
+				messages.add(new ReplicationMessage(Opcode.ADD_ITEM, version, idOf(event.category()), -1,
+						event.item().getLabel(), null, value, event.item().isActive()));
+			}
+		}
+		case ITEM_REMOVED -> messages.add(new ReplicationMessage(Opcode.REMOVE_ITEM, version,
+				idOf(event.category()), -1, event.item().getLabel(), null, null, false));
+		case ITEM_ACTIVATION_CHANGED -> itemCategories.getOrDefault(event.item(), List.of())
+				.forEach(category -> messages.add(new ReplicationMessage(Opcode.SET_ACTIVE, version,
+						idOf(category), -1, event.item().getLabel(), null, null, event.item().isActive())));
+		}
+		return messages;
+	}
+
+	private int idOf(IParameterCategory category) {
+		return categoryIds.computeIfAbsent(category, c -> nextCategoryId++);
+	}
+
+	/**
+	 * The connection with a replica.
+	 */
+	private final class ReplicaSession {
+
+		/**
+		 * The socket connected to the replica.
+		 */
+		private final Socket socket;
+
+		/**
+		 * The messages describing the tree when the replica connected.
+		 */
+		private final List<ReplicationMessage> snapshot = new ArrayList<>();
+
+		/**
+		 * The mutations waiting to be sent.
+		 */
+		private final BlockingQueue<ReplicationMessage> queue = new ArrayBlockingQueue<>(DEFAULT_QUEUE_CAPACITY);
+
+		/**
+		 * Constructs a new session.
+		 *
+		 * @param socket the socket connected to the replica.
+		 */
+		ReplicaSession(Socket socket) {
+			this.socket = socket;
+			snapshot.add(ReplicationMessage.of(Opcode.SNAPSHOT_BEGIN, factory.getParameterCategoryList().getVersion()));
+		}
+
+		/**
+		 * Queues a mutation, disconnecting the replica if it is too far behind.
+		 *
+		 * @param message the message to send.
+		 */
+		void offer(ReplicationMessage message) {
+			if (!queue.offer(message)) {
+				LOGGER.warn("Replica {} is too far behind, disconnecting", socket.getRemoteSocketAddress());
+				close();
+			}
+		}
+
+		/**
+		 * Starts sending the queued messages.
+		 */
+		void start() {
+			Thread sender = new Thread(this::send, "params-replication-" + socket.getRemoteSocketAddress());
+			sender.setDaemon(true);
+			sender.start();
+		}
+
+		/**
+		 * Disconnects the replica.
+		 */
+		void close() {
+			sessions.remove(this);
+			try {
+				socket.close();
+			} catch (IOException e) {
+				LOGGER.warn("Cannot close the connection with {}", socket.getRemoteSocketAddress(), e);
+			}
+		}
+
+		private void send() {
+			try (DataOutputStream output = new DataOutputStream(
+					new BufferedOutputStream(socket.getOutputStream()))) {
+				for (ReplicationMessage message : snapshot) {
+					message.writeTo(output);
+				}
+				snapshot.clear();
+				output.flush();
+				while (!socket.isClosed()) {
+					queue.take().writeTo(output);
+					if (queue.isEmpty()) {
+						output.flush();
+					}
+				}
+			} catch (IOException e) {
+				LOGGER.debug("Connection with {} lost", socket.getRemoteSocketAddress(), e);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			} finally {
+				close();
+			}
+		}
+	}
+}
@@ -0,0 +1,348 @@
+package com.iloo.params.replication;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.ProtocolException;
+import java.net.Socket;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.eclipse.jdt.annotation.NonNull;
+
+import com.iloo.params.core.IParameterCategory;
+import com.iloo.params.core.IParameterCategoryList;
+import com.iloo.params.core.IParameterFactory;
+import com.iloo.params.core.IParameterItem;
+import com.iloo.params.core.ParameterFactory;
+import com.iloo.params.replication.ReplicationMessage.Opcode;
+
+/**
+ * Maintains a read-only copy of a parameter tree streamed by a
+ * {@link ParameterReplicationPrimary}.
+ *
+ * The replica applies the received mutations from a single background thread,
+ * which is the only thread allowed to mutate the local tree. After a
+ * disconnection, the replica reconnects and rebuilds its tree from a new
+ * snapshot; the rebuilt tree replaces the previous one only once complete, so
+ * that readers never observe a partial snapshot. Likewise, the mutations sharing
+ * a version are only applied, as a batch, once the primary committed them. An
+ * invalid message also triggers a reconnection. Readers should therefore call
+ * {@link #getParameterCategoryList()} again rather than keep the returned list.
+ */
+public final class ParameterReplicationReplica implements AutoCloseable {
+
+	/**
+	 * The default delay between two connection attempts.
+	 */
+	public static final Duration DEFAULT_RETRY_DELAY = Duration.ofMillis(500);
+
+	/**
+	 * The logger.
+	 */
+	private static final Logger LOGGER = LogManager.getLogger(ParameterReplicationReplica.class);
+
+	/**
+	 * The address of the primary.
+	 */
+	private final InetSocketAddress primaryAddress;
+
+	/**
+	 * The delay between two connection attempts.
+	 */
+	private final Duration retryDelay;
+
+	/**
+	 * The thread applying the mutations.
+	 */
+	private final Thread applier;
+
+	/**
+	 * The factory owning the current local tree.
+	 */
+	private volatile IParameterFactory factory;
+
+	/**
+	 * The version of the primary tree last applied locally. Guarded by
+	 * {@code this}.
+	 */
+	private long version = -1;
+
+	/**
+	 * The socket connected to the primary, or {@code null} if disconnected.
+	 */
+	private volatile Socket socket;
+
+	/**
+	 * Whether the replica is closed.
+	 */
+	private volatile boolean closed;
+
+	/**
+	 * Constructs a new replica with the default retry delay.
+	 *
+	 * @param primaryAddress the address of the primary.
+	 */
+	public ParameterReplicationReplica(@NonNull InetSocketAddress primaryAddress) {
+		this(primaryAddress, DEFAULT_RETRY_DELAY);
+	}
+
+	/**
+	 * Constructs a new replica.
+	 *
+	 * @param primaryAddress the address of the primary.
+	 * @param retryDelay     the delay between two connection attempts.
+	 */
+	public ParameterReplicationReplica(@NonNull InetSocketAddress primaryAddress, @NonNull Duration retryDelay) {
+		this.primaryAddress = Objects.requireNonNull(primaryAddress, "Primary address cannot be null");
+		this.retryDelay = Objects.requireNonNull(retryDelay, "Retry delay cannot be null");
+		this.applier = new Thread(this::run, "params-replica");
+		applier.setDaemon(true);
+		this.factory = newLocalFactory();
+	}
+
+	/**
+	 * Starts connecting to the primary.
+	 */
+	public void start() {
+		applier.start();
+	}
+
+	/**
+	 * Returns the categories of the current local tree.
+	 *
+	 * @return the categories of the current local tree.
+	 */
+	public IParameterCategoryList getParameterCategoryList() {
+		return factory.getParameterCategoryList();
+	}
+
+	/**
+	 * Returns the version of the primary tree last applied locally.
+	 *
+	 * @return the version last applied, or {@code -1} before the first snapshot.
+	 */
+	public synchronized long getVersion() {
+		return version;
+	}
+
+	/**
+	 * Waits until the given version of the primary tree is applied locally.
+	 *
+	 * @param expectedVersion the version to wait for.
+	 * @param timeout         the maximum time to wait.
+	 * @return {@code true} if the version was applied, {@code false} if the
+	 *         timeout elapsed.
+	 * @throws InterruptedException if the current thread is interrupted.
+	 */
+	public synchronized boolean awaitVersion(long expectedVersion, @NonNull Duration timeout)
+			throws InterruptedException {
+		long deadline = System.nanoTime() + timeout.toNanos();
+		while (version < expectedVersion) {
+			long remaining = deadline - System.nanoTime();
+			if (remaining <= 0) {
+				return false;
+			}
+			wait(Math.max(1, remaining / 1_000_000));
+		}
+		return true;
+	}
+
+	/**
+	 * Disconnects from the primary and stops applying mutations.
+	 */
+	@Override
+	public void close() {
+		closed = true;
+		closeSocket();
+		applier.interrupt();
+	}
+
+	private void run() {
+		while (!closed) {
+			try (Socket connection = new Socket()) {
+				// While the primary is down, a connection to its loopback address can be
+				// bound to the same ephemeral port and connect to itself: the address is
+				// reusable so that the closed connection does not prevent the primary from
+				// binding it again
+				connection.setReuseAddress(true);
+				connection.connect(primaryAddress);
+				if (connection.getLocalSocketAddress().equals(connection.getRemoteSocketAddress())) {
+					throw new IOException("Connection to the primary " + primaryAddress + " connected to itself");
+				}
+				socket = connection;
+				receive(new DataInputStream(new BufferedInputStream(connection.getInputStream())));
+			} catch (ProtocolException e) {
+				// The tree is rebuilt from the snapshot sent on reconnection
+				LOGGER.warn("Invalid message from the primary {}, resynchronizing", primaryAddress, e);
+			} catch (RuntimeException e) {
+				LOGGER.error("Cannot follow the primary {}, resynchronizing", primaryAddress, e);
+			} catch (IOException e) {
+				if (!closed) {
+					LOGGER.debug("Connection with the primary {} lost", primaryAddress, e);
+				}
+			} finally {
+				socket = null;
+			}
+
+			try {
+				Thread.sleep(retryDelay.toMillis());
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			}
+		}
+	}
+
+	private void receive(DataInputStream input) throws IOException {
+		IParameterFactory target = null;
+		Map<Integer, IParameterCategory> categories = new HashMap<>();
+		List<ReplicationMessage> pending = new ArrayList<>();
+
+		while (!closed) {
+			ReplicationMessage message = ReplicationMessage.readFrom(input);
+			if (message.opcode() == Opcode.SNAPSHOT_BEGIN) {
+				target = newLocalFactory();
+				categories = new HashMap<>();
+				pending.clear();
+				continue;
+			}
+			if (target == null) {
+				throw new ProtocolException(message.opcode() + " received before the snapshot");
+			}
+			switch (message.opcode()) {
+			case SNAPSHOT_END -> {
+				factory = target;
+				advance(message.version());
+			}
+			case VERSION -> {
+				commit(target, categories, pending);
+				advance(message.version());
+			}
+			default -> {
+				if (factory != target) {
+					// The snapshot only becomes visible once complete
+					apply(categories, target, message);
+				} else if (pending.isEmpty() || (pending.get(0).version() == message.version())) {
+					// The mutations sharing a version become visible together
+					pending.add(message);
+				} else {
+					throw new ProtocolException("Version " + pending.get(0).version() + " was not committed");
+				}
+			}
+			}
+		}
+	}
+
+	private static void commit(IParameterFactory target, Map<Integer, IParameterCategory> categories,
+			List<ReplicationMessage> pending) throws ProtocolException {
+		ProtocolException[] failure = new ProtocolException[1];
+		target.runBatch(() -> {
+			for (ReplicationMessage message : pending) {
+				try {
+					apply(categories, target, message);
+				} catch (ProtocolException e) {
+					failure[0] = e;
+					return;
+				}
+			}
+		});
+		pending.clear();
+		if (failure[0] != null) {
+			throw failure[0];
+		}
+	}
+
+	private static void apply(Map<Integer, IParameterCategory> categories, IParameterFactory target,
+			ReplicationMessage message) throws ProtocolException {
+		try {
+			mutate(categories, target, message);
+		} catch (RuntimeException e) {
+			ProtocolException failure = new ProtocolException(
+					"Cannot apply " + message.opcode() + " of version " + message.version());
+			failure.initCause(e);
+			throw failure;
+		}
+	}
+
+	private static void mutate(Map<Integer, IParameterCategory> categories, IParameterFactory target,
+			ReplicationMessage message) throws ProtocolException {
+		if (message.opcode() == Opcode.CREATE) {
+			categories.put(message.categoryId(),
+					target.createParameterCategory(message.label(), message.description()));
+			return;
+		}
+
+		IParameterCategory category = categoryOf(categories, message.categoryId());
+		switch (message.opcode()) {
+		case LINK -> category.setParentCategory(categoryOf(categories, message.relatedId()));
+		case MOVE -> category.moveTo(categoryOf(categories, message.relatedId()));
+		case REMOVE_SUBTREE -> {
+			Set<IParameterCategory> removed = Collections.newSetFromMap(new IdentityHashMap<>());
+			removed.addAll(category.depthFirstSearch(descendant -> true));
+			category.removeSubtree();
+			categories.values().removeIf(removed::contains);
+		}
+		case ADD_ITEM -> {
+			removeItem(category, message.label());
+			category.addParameterItem(target.createParameterItem(message.label(), message.value(), message.active()));
+		}
+		case REMOVE_ITEM -> removeItem(category, message.label());
+		case SET_ACTIVE -> {
+			IParameterItem<?> item = category.peekParameterItems().get(message.label());
+			if (item != null) {
+				item.setActive(message.active());
+			}
+		}
+		default -> throw new ProtocolException("Unexpected message " + message.opcode());
+		}
+	}
+
+	private static IParameterCategory categoryOf(Map<Integer, IParameterCategory> categories, int id)
+			throws ProtocolException {
+		IParameterCategory category = categories.get(id);
+		if (category == null) {
+			throw new ProtocolException("Unknown category " + id);
+		}
+		return category;
+	}
+
+	private static void removeItem(IParameterCategory category, String label) {
+		IParameterItem<?> item = category.peekParameterItems().get(label);
+		if (item != null) {
+			category.removeParameterItem(item);
+		}
+	}
+
+	private synchronized void advance(long newVersion) {
+		version = newVersion;
+		notifyAll();
+	}
+
+	private IParameterFactory newLocalFactory() {
+		IParameterFactory localFactory = new ParameterFactory();
+		localFactory.restrictWritesTo(applier);
+		return localFactory;
+	}
+
+	private void closeSocket() {
+		Socket connection = socket;
+		if (connection != null) {
+			try {
+				connection.close();
+			} catch (IOException e) {
+				LOGGER.warn("Cannot close the connection with the primary {}", primaryAddress, e);
+			}
+		}
+	}
+}
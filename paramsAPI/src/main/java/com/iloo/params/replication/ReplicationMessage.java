@@ -0,0 +1,326 @@
+package com.iloo.params.replication;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.net.ProtocolException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Date;
+
+/**
+ * A message of the replication protocol.
+ *
+ * A connection starts with {@link Opcode#SNAPSHOT_BEGIN}, followed by the
+ * messages rebuilding the whole tree and by {@link Opcode#SNAPSHOT_END}. The
+ * mutations of the primary tree are then streamed in order, each version being
+ * closed by {@link Opcode#VERSION}. Categories are
+ * identified by an identifier assigned by the primary, since labels are only
+ * unique along an ancestor chain.
+ *
+ * @param opcode      the operation.
+ * @param version     the version of the primary tree after the operation.
+ * @param categoryId  the identifier of the category.
+ * @param relatedId   the identifier of the parent category for
+ *                    {@link Opcode#LINK} and {@link Opcode#MOVE}.
+ * @param label       the label of the category or item.
+ * @param description the description of the category for
+ *                    {@link Opcode#CREATE}.
+ * @param value       the value of the item for {@link Opcode#ADD_ITEM}.
+ * @param active      the active state of the item.
+ */
+record ReplicationMessage(Opcode opcode, long version, int categoryId, int relatedId, String label,
+		String description, Object value, boolean active) {
+
+	/**
+	 * Enum defining the operations of the protocol.
+	 */
+	enum Opcode {
+		/**
+		 * Starts a snapshot: the replica rebuilds its tree from scratch.
+		 */
+		SNAPSHOT_BEGIN,
+
+		/**
+		 * Ends a snapshot: the rebuilt tree replaces the previous one.
+		 */
+		SNAPSHOT_END,
+
+		/**
+		 * Creates a category.
+		 */
+		CREATE,
+
+		/**
+		 * Links a category to its parent.
+		 */
+		LINK,
+
+		/**
+		 * Adds an item to a category.
+		 */
+		ADD_ITEM,
+
+		/**
+		 * Removes an item from a category.
+		 */
+		REMOVE_ITEM,
+
+		/**
+		 * Changes the active state of an item of a category.
+		 */
+		SET_ACTIVE,
+
+		/**
+		 * Commits the mutations sharing its version: the replica makes them visible
+		 * together and advances its version.
+		 */
+		VERSION,
+
+		/**
+		 * Moves a category, with its subtree, under another parent.
+		 */
+		MOVE,
+
+		/**
+		 * Removes a category, with its subtree.
+		 */
+		REMOVE_SUBTREE
+	}
+
+	/**
+	 * The operations, indexed by their ordinal.
+	 */
+	private static final Opcode[] OPCODES = Opcode.values();
+
+	/**
+	 * Type tag of a String value.
+	 */
+	private static final byte TAG_STRING = 0;
+
+	/**
+	 * Type tag of an Integer value.
+	 */
+	private static final byte TAG_INTEGER = 1;
+
+	/**
+	 * Type tag of a Long value.
+	 */
+	private static final byte TAG_LONG = 2;
+
+	/**
+	 * Type tag of a Double value.
+	 */
+	private static final byte TAG_DOUBLE = 3;
+
+	/**
+	 * Type tag of a Float value.
+	 */
+	private static final byte TAG_FLOAT = 4;
+
+	/**
+	 * Type tag of a Short value.
+	 */
+	private static final byte TAG_SHORT = 5;
+
+	/**
+	 * Type tag of a Byte value.
+	 */
+	private static final byte TAG_BYTE = 6;
+
+	/**
+	 * Type tag of a BigDecimal value.
+	 */
+	private static final byte TAG_BIG_DECIMAL = 7;
+
+	/**
+	 * Type tag of a BigInteger value.
+	 */
+	private static final byte TAG_BIG_INTEGER = 8;
+
+	/**
+	 * Type tag of a Date value.
+	 */
+	private static final byte TAG_DATE = 9;
+
+	/**
+	 * Type tag of a Path value.
+	 */
+	private static final byte TAG_PATH = 10;
+
+	/**
+	 * Creates a message without category nor item.
+	 *
+	 * @param opcode  the operation.
+	 * @param version the version of the primary tree.
+	 * @return the message.
+	 */
+	static ReplicationMessage of(Opcode opcode, long version) {
+		return new ReplicationMessage(opcode, version, -1, -1, null, null, null, false);
+	}
+
+	/**
+	 * Checks that the given value can be replicated.
+	 *
+	 * @param value the value to check.
+	 * @return {@code true} if the value can be written by
+	 *         {@link #writeTo(DataOutputStream)}.
+	 */
+	static boolean isReplicable(Object value) {
+		return value instanceof String || value instanceof Integer || value instanceof Long
+				|| value instanceof Double || value instanceof Float || value instanceof Short
+				|| value instanceof Byte || value instanceof BigDecimal || value instanceof BigInteger
+				|| value instanceof Date || value instanceof Path;
+	}
+
+	/**
+	 * Writes this message.
+	 *
+	 * @param output the stream to write to.
+	 * @throws IOException if the message cannot be written.
+	 */
+	void writeTo(DataOutputStream output) throws IOException {
+		output.writeByte(opcode.ordinal());
+		output.writeLong(version);
+		switch (opcode) {
+		case CREATE -> {
+			output.writeInt(categoryId);
+			writeString(output, label);
+			writeString(output, description);
+		}
+		case LINK, MOVE -> {
+			output.writeInt(categoryId);
+			output.writeInt(relatedId);
+		}
+		case ADD_ITEM -> {
+			output.writeInt(categoryId);
+			writeString(output, label);
+			writeValue(output, value);
+			output.writeBoolean(active);
+		}
+		case REMOVE_ITEM -> {
+			output.writeInt(categoryId);
+			writeString(output, label);
+		}
+		case SET_ACTIVE -> {
+			output.writeInt(categoryId);
+			writeString(output, label);
+			output.writeBoolean(active);
+		}
+		case REMOVE_SUBTREE -> output.writeInt(categoryId);
+		default -> {
+			// No payload
+		}
+		}
+	}
+
+	/**
+	 * Reads a message.
+	 *
+	 * @param input the stream to read from.
+	 * @return the message.
+	 * @throws ProtocolException if the message is malformed.
+	 * @throws IOException       if the message cannot be read.
+	 */
+	static ReplicationMessage readFrom(DataInputStream input) throws IOException {
+		int ordinal = input.readUnsignedByte();
+		if (ordinal >= OPCODES.length) {
+			throw new ProtocolException("Unknown opcode " + ordinal);
+		}
+		Opcode opcode = OPCODES[ordinal];
+		long version = input.readLong();
+		try {
+			return read(opcode, version, input);
+		} catch (IllegalArgumentException | NegativeArraySizeException e) {
+			// Malformed numbers or paths, and negative lengths
+			ProtocolException failure = new ProtocolException("Malformed " + opcode + " message");
+			failure.initCause(e);
+			throw failure;
+		}
+	}
+
+	private static ReplicationMessage read(Opcode opcode, long version, DataInputStream input) throws IOException {
+		return switch (opcode) {
+		case CREATE -> new ReplicationMessage(opcode, version, input.readInt(), -1, readString(input),
+				readString(input), null, false);
+		case LINK, MOVE -> new ReplicationMessage(opcode, version, input.readInt(), input.readInt(), null, null, null,
+				false);
+		case ADD_ITEM -> new ReplicationMessage(opcode, version, input.readInt(), -1, readString(input), null,
+				readValue(input), input.readBoolean());
+		case REMOVE_ITEM -> new ReplicationMessage(opcode, version, input.readInt(), -1, readString(input), null,
+				null, false);
+		case SET_ACTIVE -> new ReplicationMessage(opcode, version, input.readInt(), -1, readString(input), null,
+				null, input.readBoolean());
+		case REMOVE_SUBTREE -> new ReplicationMessage(opcode, version, input.readInt(), -1, null, null, null, false);
+		default -> of(opcode, version);
+		};
+	}
+
+	private static void writeString(DataOutputStream output, String value) throws IOException {
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		output.writeInt(bytes.length);
+		output.write(bytes);
+	}
+
+	private static String readString(DataInputStream input) throws IOException {
+		byte[] bytes = new byte[input.readInt()];
+		input.readFully(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	private static void writeValue(DataOutputStream output, Object value) throws IOException {
+		if (value instanceof Integer integer) {
+			output.writeByte(TAG_INTEGER);
+			output.writeInt(integer);
+		} else if (value instanceof Long longValue) {
+			output.writeByte(TAG_LONG);
+			output.writeLong(longValue);
+		} else if (value instanceof Double doubleValue) {
+			output.writeByte(TAG_DOUBLE);
+			output.writeDouble(doubleValue);
+		} else if (value instanceof Float floatValue) {
+			output.writeByte(TAG_FLOAT);
+			output.writeFloat(floatValue);
+		} else if (value instanceof Short shortValue) {
+			output.writeByte(TAG_SHORT);
+			output.writeShort(shortValue);
+		} else if (value instanceof Byte byteValue) {
+			output.writeByte(TAG_BYTE);
+			output.writeByte(byteValue);
+		} else if (value instanceof BigDecimal) {
+			output.writeByte(TAG_BIG_DECIMAL);
+			writeString(output, value.toString());
+		} else if (value instanceof BigInteger) {
+			output.writeByte(TAG_BIG_INTEGER);
+			writeString(output, value.toString());
+		} else if (value instanceof Date date) {
+			output.writeByte(TAG_DATE);
+			output.writeLong(date.getTime());
+		} else if (value instanceof Path) {
+			output.writeByte(TAG_PATH);
+			writeString(output, value.toString());
+		} else {
+			output.writeByte(TAG_STRING);
+			writeString(output, value.toString());
+		}
+	}
+
+	private static Object readValue(DataInputStream input) throws IOException {
+		byte tag = input.readByte();
+		return switch (tag) {
+		case TAG_INTEGER -> input.readInt();
+		case TAG_LONG -> input.readLong();
+		case TAG_DOUBLE -> input.readDouble();
+		case TAG_FLOAT -> input.readFloat();
+		case TAG_SHORT -> input.readShort();
+		case TAG_BYTE -> input.readByte();
+		case TAG_BIG_DECIMAL -> new BigDecimal(readString(input));
+		case TAG_BIG_INTEGER -> new BigInteger(readString(input));
+		case TAG_DATE -> new Date(input.readLong());
+		case TAG_PATH -> Path.of(readString(input));
+		default -> readString(input);
+		};
+	}
+}
@@ -0,0 +1,267 @@
+package com.iloo.params.server;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.eclipse.jdt.annotation.NonNull;
+
+import com.iloo.params.core.IParameterCategory;
+import com.iloo.params.core.IParameterCategoryList;
+import com.iloo.params.core.IParameterItem;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Serves the resolved parameter items of an {@link IParameterCategoryList}
+ * over HTTP with the JDK built-in {@link HttpServer}.
+ *
+ * A {@code GET /categories/Root/Child} request returns, as JSON, the items of
+ * the category at that path merged with the items inherited from its parents
+ * (see {@link IParameterCategory#getAllParentParameterItems()}). Every
+ * response carries a strong {@code ETag} derived from
+ * {@link IParameterCategoryList#getVersion()}, so that a poll of an existing
+ * category sending back an unchanged tag gets an empty
+ * {@code 304 Not Modified} answer. Response bodies are cached per category
+ * path for the current version only, so that the cache never holds more
+ * entries than there are categories.
+ */
+public final class ParameterHttpServer implements AutoCloseable {
+
+	/**
+	 * The context path of the categories resource.
+	 */
+	public static final String CONTEXT_PATH = "/categories/";
+
+	/**
+	 * The content type of the responses.
+	 */
+	private static final String CONTENT_TYPE = "application/json; charset=utf-8";
+
+	/**
+	 * The categories served.
+	 */
+	private final IParameterCategoryList categoryList;
+
+	/**
+	 * The underlying HTTP server.
+	 */
+	private final HttpServer server;
+
+	/**
+	 * The executor created by this server, or {@code null} if it was provided by
+	 * the caller.
+	 */
+	private final ExecutorService ownedExecutor;
+
+	/**
+	 * The response bodies computed for the last version served.
+	 */
+	private final AtomicReference<ResponseCache> responses = new AtomicReference<>(new ResponseCache(-1));
+
+	/**
+	 * Constructs a new server handling each request on its own thread.
+	 *
+	 * @param categoryList the categories to serve.
+	 * @param address      the address to bind, with port {@code 0} for an
+	 *                     ephemeral port.
+	 * @throws IOException if the address cannot be bound.
+	 */
+	public ParameterHttpServer(@NonNull IParameterCategoryList categoryList, @NonNull InetSocketAddress address)
+			throws IOException {
+		this(categoryList, address, null);
+	}
+
+	/**
+	 * Constructs a new server handling requests with the given executor. On a
+	 * runtime providing virtual threads, an executor creating one virtual thread
+	 * per task is the recommended choice.
+	 *
+	 * @param categoryList the categories to serve.
+	 * @param address      the address to bind, with port {@code 0} for an
+	 *                     ephemeral port.
+	 * @param executor     the executor handling the requests, or {@code null} to
+	 *                     handle each request on its own thread.
+	 * @throws IOException if the address cannot be bound.
+	 */
+	public ParameterHttpServer(@NonNull IParameterCategoryList categoryList, @NonNull InetSocketAddress address,
+			Executor executor) throws IOException {
+		this.categoryList = Objects.requireNonNull(categoryList, "Category list cannot be null");
+		this.server = HttpServer.create(Objects.requireNonNull(address, "Address cannot be null"), 0);
+		this.ownedExecutor = executor == null ? Executors.newCachedThreadPool(runnable -> {
+			Thread thread = new Thread(runnable, "params-http");
+			thread.setDaemon(true);
+			return thread;
+		}) : null;
+		server.setExecutor(executor == null ? ownedExecutor : executor);
+		server.createContext(CONTEXT_PATH, this::handle);
+	}
+
+	/**
+	 * Starts serving requests.
+	 */
+	public void start() {
+		server.start();
+	}
+
+	/**
+	 * Returns the port the server is bound to.
+	 *
+	 * @return the port the server is bound to.
+	 */
+	public int getPort() {
+		return server.getAddress().getPort();
+	}
+
+	/**
+	 * Stops the server immediately.
+	 */
+	@Override
+	public void close() {
+		server.stop(0);
+		if (ownedExecutor != null) {
+			ownedExecutor.shutdownNow();
+		}
+	}
+
+	private void handle(HttpExchange exchange) throws IOException {
+		try (exchange) {
+			String method = exchange.getRequestMethod();
+			if (!"GET".equals(method) && !"HEAD".equals(method)) {
+				exchange.getResponseHeaders().set("Allow", "GET, HEAD");
+				exchange.sendResponseHeaders(405, -1);
+				return;
+			}
+
+			// The path is resolved first, so that an unknown path is never answered as
+			// not modified
+			long version = categoryList.getVersion();
+			List<String> labels = toLabels(exchange.getRequestURI().getRawPath().substring(CONTEXT_PATH.length()));
+			ResponseCache cache = responses
+					.updateAndGet(current -> current.version() < version ? new ResponseCache(version) : current);
+			byte[] body = cache.version() == version ? cache.bodies().get(labels) : null;
+			Optional<IParameterCategory> category = Optional.empty();
+			if (body == null) {
+				category = categoryList.findCategory(labels);
+				if (category.isEmpty()) {
+					exchange.sendResponseHeaders(404, -1);
+					return;
+				}
+			}
+
+			String etag = "\"" + version + "\"";
+			String ifNoneMatch = exchange.getRequestHeaders().getFirst("If-None-Match");
+			if ((ifNoneMatch != null) && matches(ifNoneMatch, etag)) {
+				exchange.getResponseHeaders().set("ETag", etag);
+				exchange.sendResponseHeaders(304, -1);
+				return;
+			}
+			if (category.isPresent()) {
+				body = toJson(category.get(), version);
+				if (cache.version() == version) {
+					cache.bodies().put(labels, body);
+				}
+			}
+
+			exchange.getResponseHeaders().set("ETag", etag);
+			exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+			if ("HEAD".equals(method)) {
+				exchange.sendResponseHeaders(200, -1);
+				return;
+			}
+			exchange.sendResponseHeaders(200, body.length);
+			try (OutputStream output = exchange.getResponseBody()) {
+				output.write(body);
+			}
+		}
+	}
+
+	/**
+	 * Returns the number of response bodies cached for the last version served.
+	 *
+	 * @return the number of cached response bodies.
+	 */
+	int getCachedResponseCount() {
+		return responses.get().bodies().size();
+	}
+
+	private static boolean matches(String ifNoneMatch, String etag) {
+		return Arrays.stream(ifNoneMatch.split(",")).map(String::strip)
+				.anyMatch(tag -> "*".equals(tag) || etag.equals(tag));
+	}
+
+	private static List<String> toLabels(String rawPath) {
+		return Arrays.stream(rawPath.split("/")).filter(segment -> !segment.isEmpty())
+				.map(segment -> URLDecoder.decode(segment, StandardCharsets.UTF_8)).toList();
+	}
+
+	private static byte[] toJson(IParameterCategory category, long version) {
+		StringBuilder json = new StringBuilder("{\"category\":");
+		appendString(json, category.getLabel());
+		json.append(",\"version\":").append(version).append(",\"items\":{");
+		String separator = "";
+		for (Map.Entry<String, IParameterItem<?>> entry : new TreeMap<>(category.getAllParentParameterItems())
+				.entrySet()) {
+			json.append(separator);
+			appendString(json, entry.getKey());
+			json.append(":{\"value\":");
+			appendString(json, String.valueOf(entry.getValue().getValue()));
+			json.append(",\"active\":").append(entry.getValue().isActive()).append('}');
+			separator = ",";
+		}
+		return json.append("}}").toString().getBytes(StandardCharsets.UTF_8);
+	}
+
+	private static void appendString(StringBuilder json, String value) {
+		json.append('"');
+		for (char c : value.toCharArray()) {
+			switch (c) {
+			case '"' -> json.append("\\\"");
+			case '\\' -> json.append("\\\\");
+			case '\n' -> json.append("\\n");
+			case '\r' -> json.append("\\r");
+			case '\t' -> json.append("\\t");
+			default -> {
+				if (c < 0x20) {
+					json.append(String.format("\\u%04x", (int) c));
+				} else {
+					json.append(c);
+				}
+			}
+			}
+		}
+		json.append('"');
+	}
+
+	/**
+	 * The response bodies computed for a given version, keyed by the decoded
+	 * labels of the category path.
+	 *
+	 * @param version the version the bodies were computed for.
+	 * @param bodies  the encoded bodies.
+	 */
+	private record ResponseCache(long version, Map<List<String>, byte[]> bodies) {
+
+		/**
+		 * Constructs an empty cache.
+		 *
+		 * @param version the version the bodies are computed for.
+		 */
+		ResponseCache(long version) {
+			this(version, new ConcurrentHashMap<>());
+		}
+	}
+}
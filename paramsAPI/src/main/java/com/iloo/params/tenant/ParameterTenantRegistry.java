@@ -0,0 +1,163 @@
+package com.iloo.params.tenant;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.jdt.annotation.NonNull;
+
+import com.iloo.params.core.IParameterCategory;
+import com.iloo.params.core.IParameterFactory;
+import com.iloo.params.core.IParameterItem;
+import com.iloo.params.core.IParameterTreeListener;
+import com.iloo.params.core.ParameterTreeEvent;
+import com.iloo.params.utils.VoidResult;
+
+/**
+ * Holds the views of the tenants sharing the tree of a factory.
+ *
+ * The categories and items of the base tree are shared by every tenant: a
+ * {@link ParameterTenantView} only stores the delta of its tenant, so that the
+ * cost of a tenant is proportional to its number of overrides rather than to
+ * the size of the tree. The inherited items of the base tree are resolved once
+ * for all the tenants, and a resolution is only dropped when an item with its
+ * label is added or removed, or when a category is linked, moved or removed.
+ */
+public final class ParameterTenantRegistry implements AutoCloseable {
+
+	/**
+	 * The factory owning the base tree.
+	 */
+	private final IParameterFactory factory;
+
+	/**
+	 * The listener tracking the structural changes of the base tree.
+	 */
+	private final IParameterTreeListener listener = this::onEvent;
+
+	/**
+	 * The resolved inherited items of the base tree, by label and category.
+	 */
+	private final Map<String, Map<IParameterCategory, Optional<IParameterItem<?>>>> resolved =
+			new ConcurrentHashMap<>();
+
+	/**
+	 * The view of each tenant.
+	 */
+	private final Map<String, ParameterTenantView> tenants = new ConcurrentHashMap<>();
+
+	/**
+	 * Constructs a new registry without tenant over the tree of the given
+	 * factory.
+	 *
+	 * @param factory the factory owning the base tree.
+	 */
+	public ParameterTenantRegistry(@NonNull IParameterFactory factory) {
+		this.factory = Objects.requireNonNull(factory, "Factory cannot be null");
+		factory.addTreeListener(listener);
+	}
+
+	/**
+	 * Returns the view of a tenant, created without override if needed.
+	 *
+	 * @param tenantId the identifier of the tenant.
+	 * @return the view of the tenant.
+	 */
+	public ParameterTenantView getTenant(@NonNull String tenantId) {
+		Objects.requireNonNull(tenantId, "Tenant identifier cannot be null");
+		return tenants.computeIfAbsent(tenantId, id -> new ParameterTenantView(id, this));
+	}
+
+	/**
+	 * Finds the view of a tenant.
+	 *
+	 * @param tenantId the identifier of the tenant.
+	 * @return the view of the tenant, or an empty optional if the tenant is
+	 *         unknown.
+	 */
+	public Optional<ParameterTenantView> findTenant(@NonNull String tenantId) {
+		Objects.requireNonNull(tenantId, "Tenant identifier cannot be null");
+		return Optional.ofNullable(tenants.get(tenantId));
+	}
+
+	/**
+	 * Removes the view of a tenant and its overrides.
+	 *
+	 * @param tenantId the identifier of the tenant.
+	 * @return the result of the operation.
+	 */
+	public VoidResult removeTenant(@NonNull String tenantId) {
+		Objects.requireNonNull(tenantId, "Tenant identifier cannot be null");
+		return tenants.remove(tenantId) == null ? VoidResult.error("Unknown tenant '" + tenantId + "'")
+				: VoidResult.ok();
+	}
+
+	/**
+	 * Returns the number of tenants.
+	 *
+	 * @return the number of tenants.
+	 */
+	public int getTenantCount() {
+		return tenants.size();
+	}
+
+	/**
+	 * Stops tracking the base tree. The views of the tenants must not be used
+	 * afterwards.
+	 */
+	@Override
+	public void close() {
+		factory.removeTreeListener(listener);
+	}
+
+	/**
+	 * Resolves an item in the inherited view of a category of the base tree, i.e.
+	 * in the category or in its nearest ancestor holding the label.
+	 *
+	 * @param category the category of the base tree.
+	 * @param label    the label of the item.
+	 * @return the resolved item, or an empty optional if the label is not
+	 *         inherited.
+	 */
+	Optional<IParameterItem<?>> resolveBase(IParameterCategory category, String label) {
+		// Taken before resolving, so that an invalidation detaches it along with the result
+		Map<IParameterCategory, Optional<IParameterItem<?>>> items = resolved.computeIfAbsent(label,
+				l -> Collections.synchronizedMap(new IdentityHashMap<>()));
+		Optional<IParameterItem<?>> item = items.get(category);
+		if (item == null) {
+			item = Optional.empty();
+			for (Optional<IParameterCategory> current = Optional.of(category); current.isPresent()
+					&& item.isEmpty(); current = current.get().getParentCategory()) {
+				item = Optional.ofNullable(current.get().peekParameterItems().get(label));
+			}
+			items.putIfAbsent(category, item);
+		}
+		return item;
+	}
+
+	private void onEvent(ParameterTreeEvent event) {
+		switch (event.type()) {
+		case ITEM_ADDED, ITEM_REMOVED -> {
+			String label = event.item().getLabel();
+			resolved.remove(label);
+			tenants.values().forEach(tenant -> tenant.invalidate(label));
+		}
+		case CATEGORY_LINKED, CATEGORY_MOVED -> {
+			resolved.clear();
+			tenants.values().forEach(ParameterTenantView::invalidateAll);
+		}
+		case SUBTREE_REMOVED -> {
+			resolved.clear();
+			List<IParameterCategory> removed = event.category().depthFirstSearch(category -> true);
+			tenants.values().forEach(tenant -> tenant.removeOverrides(removed));
+		}
+		default -> {
+			// Resolved items are shared, so their active state is read through
+		}
+		}
+	}
+}
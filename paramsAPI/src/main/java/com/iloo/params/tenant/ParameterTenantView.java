@@ -0,0 +1,317 @@
+package com.iloo.params.tenant;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.jdt.annotation.NonNull;
+
+import com.iloo.params.core.IParameterCategory;
+import com.iloo.params.core.IParameterItem;
+import com.iloo.params.utils.VoidResult;
+
+/**
+ * The view of a tenant over a shared base tree.
+ *
+ * The view only stores the delta of the tenant, in a sparse map per overridden
+ * category: an added or replaced item, a removed label, or a base item seen
+ * with another active flag. Lookups of the inherited view of a label the tenant
+ * does not override are answered from the base resolution shared by all the
+ * tenants. Only the overridden labels are resolved and cached per tenant, and
+ * the cache of a label is dropped when the label changes in the base tree or in
+ * the delta.
+ */
+public final class ParameterTenantView {
+
+	/**
+	 * The identifier of the tenant.
+	 */
+	private final String tenantId;
+
+	/**
+	 * The registry tracking the base tree.
+	 */
+	private final ParameterTenantRegistry registry;
+
+	/**
+	 * The delta of each overridden category, by label: the item seen by the
+	 * tenant, or {@code null} if the tenant removed the label.
+	 */
+	private final Map<IParameterCategory, Map<String, IParameterItem<?>>> deltas = new IdentityHashMap<>();
+
+	/**
+	 * The number of overrides of each label, over all the categories. Updated under
+	 * the lock of {@link #deltas}.
+	 */
+	private final Map<String, Integer> overrides = new ConcurrentHashMap<>();
+
+	/**
+	 * The resolved inherited items of the overridden labels, by label and
+	 * category.
+	 */
+	private final Map<String, Map<IParameterCategory, Optional<IParameterItem<?>>>> resolved =
+			new ConcurrentHashMap<>();
+
+	/**
+	 * Constructs a new view without override.
+	 *
+	 * @param tenantId the identifier of the tenant.
+	 * @param registry the registry tracking the base tree.
+	 */
+	ParameterTenantView(String tenantId, ParameterTenantRegistry registry) {
+		this.tenantId = tenantId;
+		this.registry = registry;
+	}
+
+	/**
+	 * Returns the identifier of the tenant.
+	 *
+	 * @return the identifier of the tenant.
+	 */
+	public String getTenantId() {
+		return tenantId;
+	}
+
+	/**
+	 * Adds an item to a category for this tenant, replacing the item with the same
+	 * label if any.
+	 *
+	 * @param category the category of the base tree.
+	 * @param item     the item of the tenant.
+	 * @return the result of the operation.
+	 */
+	public VoidResult addParameterItem(@NonNull IParameterCategory category, @NonNull IParameterItem<?> item) {
+		Objects.requireNonNull(category, "Parameter category cannot be null");
+		Objects.requireNonNull(item, "Parameter item cannot be null");
+		putDelta(category, item.getLabel(), item);
+		return VoidResult.ok();
+	}
+
+	/**
+	 * Removes the item with the given label from a category for this tenant.
+	 *
+	 * @param category the category of the base tree.
+	 * @param label    the label of the item.
+	 * @return the result of the operation.
+	 */
+	public VoidResult removeParameterItem(@NonNull IParameterCategory category, @NonNull String label) {
+		Objects.requireNonNull(category, "Parameter category cannot be null");
+		Objects.requireNonNull(label, "Label cannot be null");
+		if (getParameterItem(category, label).isEmpty()) {
+			return VoidResult.error("No item '" + label + "' in '" + category.getLabel() + "'");
+		}
+		if (category.peekParameterItems().containsKey(label)) {
+			putDelta(category, label, null);
+		} else {
+			resetParameterItem(category, label);
+		}
+		return VoidResult.ok();
+	}
+
+	/**
+	 * Sets the active flag of an item of a category for this tenant. The flag of a
+	 * shared base item is left unchanged for the other tenants.
+	 *
+	 * @param category the category of the base tree.
+	 * @param label    the label of the item.
+	 * @param active   the active flag of the tenant.
+	 * @return the result of the operation.
+	 */
+	public VoidResult setActive(@NonNull IParameterCategory category, @NonNull String label, boolean active) {
+		Objects.requireNonNull(category, "Parameter category cannot be null");
+		Objects.requireNonNull(label, "Label cannot be null");
+		Optional<IParameterItem<?>> item = getParameterItem(category, label);
+		if (item.isEmpty()) {
+			return VoidResult.error("No item '" + label + "' in '" + category.getLabel() + "'");
+		}
+		if (item.get() == category.peekParameterItems().get(label)) {
+			putDelta(category, label, new TenantParameterItem<>(item.get(), active));
+			return VoidResult.ok();
+		}
+		return item.get().setActive(active);
+	}
+
+	/**
+	 * Drops the override of a label in a category, so that the tenant sees the
+	 * base item again.
+	 *
+	 * @param category the category of the base tree.
+	 * @param label    the label of the item.
+	 * @return the result of the operation.
+	 */
+	public VoidResult resetParameterItem(@NonNull IParameterCategory category, @NonNull String label) {
+		Objects.requireNonNull(category, "Parameter category cannot be null");
+		Objects.requireNonNull(label, "Label cannot be null");
+		synchronized (deltas) {
+			Map<String, IParameterItem<?>> delta = deltas.get(category);
+			if ((delta == null) || !delta.containsKey(label)) {
+				return VoidResult.error("No override of '" + label + "' in '" + category.getLabel() + "'");
+			}
+			delta.remove(label);
+			if (delta.isEmpty()) {
+				deltas.remove(category);
+			}
+			overrides.computeIfPresent(label, (l, count) -> count == 1 ? null : count - 1);
+		}
+		invalidate(label);
+		return VoidResult.ok();
+	}
+
+	/**
+	 * Returns the item with the given label held by a category for this tenant.
+	 *
+	 * @param category the category of the base tree.
+	 * @param label    the label of the item.
+	 * @return the item, or an empty optional if the category does not hold the
+	 *         label for this tenant.
+	 */
+	public Optional<IParameterItem<?>> getParameterItem(@NonNull IParameterCategory category,
+			@NonNull String label) {
+		Objects.requireNonNull(category, "Parameter category cannot be null");
+		Objects.requireNonNull(label, "Label cannot be null");
+		synchronized (deltas) {
+			Map<String, IParameterItem<?>> delta = deltas.get(category);
+			IParameterItem<?> baseItem = category.peekParameterItems().get(label);
+			if ((delta != null) && delta.containsKey(label)) {
+				IParameterItem<?> item = delta.get(label);
+				// An active flag only applies to the base item it was set on
+				if (!(item instanceof TenantParameterItem<?> tenantItem) || (tenantItem.getBaseItem() == baseItem)) {
+					return Optional.ofNullable(item);
+				}
+			}
+			return Optional.ofNullable(baseItem);
+		}
+	}
+
+	/**
+	 * Returns the items held by a category for this tenant, by label.
+	 *
+	 * @param category the category of the base tree.
+	 * @return the items held by the category.
+	 */
+	public Map<String, IParameterItem<?>> getParameterItems(@NonNull IParameterCategory category) {
+		Objects.requireNonNull(category, "Parameter category cannot be null");
+		Map<String, IParameterItem<?>> items = new HashMap<>(category.peekParameterItems());
+		synchronized (deltas) {
+			deltas.getOrDefault(category, Map.of()).keySet().forEach(label -> getParameterItem(category, label)
+					.ifPresentOrElse(item -> items.put(label, item), () -> items.remove(label)));
+		}
+		return items;
+	}
+
+	/**
+	 * Resolves an item in the inherited view of a category for this tenant, i.e.
+	 * in the category or in its nearest ancestor holding the label.
+	 *
+	 * @param category the category of the base tree.
+	 * @param label    the label of the item.
+	 * @return the resolved item, or an empty optional if the label is not
+	 *         inherited.
+	 */
+	public Optional<IParameterItem<?>> resolve(@NonNull IParameterCategory category, @NonNull String label) {
+		Objects.requireNonNull(category, "Parameter category cannot be null");
+		Objects.requireNonNull(label, "Label cannot be null");
+		if (!overrides.containsKey(label)) {
+			return registry.resolveBase(category, label);
+		}
+		// Taken before resolving, so that an invalidation detaches it along with the result
+		Map<IParameterCategory, Optional<IParameterItem<?>>> items = resolved.computeIfAbsent(label,
+				l -> Collections.synchronizedMap(new IdentityHashMap<>()));
+		Optional<IParameterItem<?>> item = items.get(category);
+		if (item == null) {
+			item = resolveUncached(category, label);
+			items.putIfAbsent(category, item);
+		}
+		return item;
+	}
+
+	/**
+	 * Returns the number of overridden labels of this tenant.
+	 *
+	 * @return the number of overridden labels.
+	 */
+	public int getDeltaSize() {
+		synchronized (deltas) {
+			return deltas.values().stream().mapToInt(Map::size).sum();
+		}
+	}
+
+	/**
+	 * Drops the overrides of the categories removed from the base tree.
+	 *
+	 * @param categories the removed categories.
+	 */
+	void removeOverrides(List<IParameterCategory> categories) {
+		synchronized (deltas) {
+			for (IParameterCategory category : categories) {
+				Map<String, IParameterItem<?>> delta = deltas.remove(category);
+				if (delta != null) {
+					delta.keySet().forEach(
+							label -> overrides.computeIfPresent(label, (l, count) -> count == 1 ? null : count - 1));
+				}
+			}
+		}
+		invalidateAll();
+	}
+
+	/**
+	 * Drops the resolved items with the given label.
+	 *
+	 * @param label the label of the items.
+	 */
+	void invalidate(String label) {
+		resolved.remove(label);
+	}
+
+	/**
+	 * Drops all the resolved items.
+	 */
+	void invalidateAll() {
+		resolved.clear();
+	}
+
+	/**
+	 * Returns the number of labels whose resolved items are cached by this view.
+	 *
+	 * @return the number of cached labels.
+	 */
+	int getCachedLabelCount() {
+		return resolved.size();
+	}
+
+	private Optional<IParameterItem<?>> resolveUncached(IParameterCategory category, String label) {
+		Optional<IParameterCategory> current = Optional.of(category);
+		while (current.isPresent()) {
+			Optional<IParameterItem<?>> item = getParameterItem(current.get(), label);
+			if (item.isPresent() || isRemoved(current.get(), label)) {
+				return item;
+			}
+			current = current.get().getParentCategory();
+		}
+		return Optional.empty();
+	}
+
+	private boolean isRemoved(IParameterCategory category, String label) {
+		synchronized (deltas) {
+			Map<String, IParameterItem<?>> delta = deltas.get(category);
+			return (delta != null) && delta.containsKey(label) && (delta.get(label) == null);
+		}
+	}
+
+	private void putDelta(IParameterCategory category, String label, IParameterItem<?> item) {
+		synchronized (deltas) {
+			// Most categories are overridden for a label or two
+			Map<String, IParameterItem<?>> delta = deltas.computeIfAbsent(category, c -> new HashMap<>(2));
+			if (!delta.containsKey(label)) {
+				overrides.merge(label, 1, Integer::sum);
+			}
+			delta.put(label, item);
+		}
+		invalidate(label);
+	}
+}
@@ -0,0 +1,74 @@
+package com.iloo.params.tenant;
+
+import com.iloo.params.core.IParameterItem;
+import com.iloo.params.utils.VoidResult;
+
+/**
+ * A shared base item seen by a tenant with its own active flag.
+ *
+ * @param <T> the type of the value.
+ */
+final class TenantParameterItem<T> implements IParameterItem<T> {
+
+	/**
+	 * The shared base item.
+	 */
+	private final IParameterItem<T> baseItem;
+
+	/**
+	 * The active flag of the tenant.
+	 */
+	private volatile boolean active;
+
+	/**
+	 * Constructs a new tenant item.
+	 *
+	 * @param baseItem the shared base item.
+	 * @param active   the active flag of the tenant.
+	 */
+	TenantParameterItem(IParameterItem<T> baseItem, boolean active) {
+		this.baseItem = baseItem;
+		this.active = active;
+	}
+
+	/**
+	 * Returns the shared base item.
+	 *
+	 * @return the shared base item.
+	 */
+	IParameterItem<T> getBaseItem() {
+		return baseItem;
+	}
+
+	@Override
+	public String getLabel() {
+		return baseItem.getLabel();
+	}
+
+	@Override
+	public T getValue() {
+		return baseItem.getValue();
+	}
+
+	/**
+	 * Sets the active flag of the tenant, leaving the base item unchanged.
+	 *
+	 * @param active the active flag of the tenant.
+	 * @return the result of the operation.
+	 */
+	@Override
+	public VoidResult setActive(boolean active) {
+		this.active = active;
+		return VoidResult.ok();
+	}
+
+	@Override
+	public boolean isActive() {
+		return active;
+	}
+
+	@Override
+	public String toString() {
+		return baseItem.toString();
+	}
+}
@@ -0,0 +1,228 @@
+package com.iloo.params.utils;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.eclipse.jdt.annotation.NonNull;
+
+/**
+ * A {@link Supplier} caching the value of a delegate supplier for a given time
+ * to live.
+ *
+ * Only the first call waits for the delegate. Once the value is older than the
+ * time to live, the next call triggers a refresh on the executor and still
+ * returns the last value, so that callers never wait for the delegate again. At
+ * most one refresh runs at a time; a failed refresh keeps the last value.
+ *
+ * After a failure, the delegate is not called again before a backoff delay,
+ * starting at {@link #INITIAL_BACKOFF} and doubling with each consecutive
+ * failure up to {@link #MAX_BACKOFF}. Until the first value is computed, the
+ * calls made during the backoff fail immediately.
+ *
+ * @param <T> the type of the supplied value.
+ */
+public final class MemoizingSupplier<T> implements Supplier<T> {
+
+	/**
+	 * The delay before calling the delegate again after a first failure.
+	 */
+	public static final Duration INITIAL_BACKOFF = Duration.ofMillis(100);
+
+	/**
+	 * The maximum delay before calling the delegate again after a failure.
+	 */
+	public static final Duration MAX_BACKOFF = Duration.ofMinutes(1);
+
+	/**
+	 * The logger.
+	 */
+	private static final Logger LOGGER = LogManager.getLogger(MemoizingSupplier.class);
+
+	/**
+	 * The supplier computing the value.
+	 */
+	private final Supplier<T> delegate;
+
+	/**
+	 * The time to live of a value, in nanoseconds.
+	 */
+	private final long ttlNanos;
+
+	/**
+	 * The executor running the refreshes.
+	 */
+	private final Executor executor;
+
+	/**
+	 * Whether a refresh is running.
+	 */
+	private final AtomicBoolean refreshing = new AtomicBoolean();
+
+	/**
+	 * The last value, or {@code null} before the first call.
+	 */
+	private final AtomicReference<Memo<T>> memo = new AtomicReference<>();
+
+	/**
+	 * The number of invalidations, so that a refresh started before one stores an
+	 * already expired value.
+	 */
+	private final AtomicLong invalidations = new AtomicLong();
+
+	/**
+	 * The last consecutive failure of the delegate, or {@code null} if its last
+	 * call succeeded.
+	 */
+	private volatile Failure failure;
+
+	/**
+	 * Constructs a new memoizing supplier refreshing on the common pool.
+	 *
+	 * @param delegate the supplier computing the value.
+	 * @param ttl      the time to live of a value.
+	 */
+	public MemoizingSupplier(@NonNull Supplier<T> delegate, @NonNull Duration ttl) {
+		this(delegate, ttl, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Constructs a new memoizing supplier.
+	 *
+	 * @param delegate the supplier computing the value.
+	 * @param ttl      the time to live of a value.
+	 * @param executor the executor running the refreshes.
+	 */
+	public MemoizingSupplier(@NonNull Supplier<T> delegate, @NonNull Duration ttl, @NonNull Executor executor) {
+		this.delegate = Objects.requireNonNull(delegate, "Supplier cannot be null");
+		this.ttlNanos = Objects.requireNonNull(ttl, "Time to live cannot be null").toNanos();
+		this.executor = Objects.requireNonNull(executor, "Executor cannot be null");
+	}
+
+	/**
+	 * Returns the last value, computing it on the first call and triggering an
+	 * asynchronous refresh once it expired.
+	 *
+	 * @return the last value.
+	 * @throws IllegalStateException if no value was computed yet and the delegate
+	 *                               failed less than a backoff delay ago.
+	 */
+	@Override
+	public T get() {
+		Memo<T> current = memo.get();
+		if (current == null) {
+			return load();
+		}
+		long now = System.nanoTime();
+		if ((now - current.timestamp() > ttlNanos) && isBackoffElapsed(now)
+				&& refreshing.compareAndSet(false, true)) {
+			try {
+				executor.execute(this::refresh);
+			} catch (RuntimeException e) {
+				refreshing.set(false);
+				LOGGER.warn("Cannot schedule the refresh of {}", delegate, e);
+			}
+		}
+		return current.value();
+	}
+
+	/**
+	 * Expires the last value, so that the next call triggers a refresh. A refresh
+	 * already running when this method is called stores an expired value.
+	 */
+	public void invalidate() {
+		invalidations.incrementAndGet();
+		memo.updateAndGet(
+				current -> current == null ? null : new Memo<>(current.value(), expiredAt(System.nanoTime())));
+	}
+
+	/**
+	 * Returns {@code true} if a refresh is running, {@code false} otherwise.
+	 *
+	 * @return {@code true} if a refresh is running, {@code false} otherwise.
+	 */
+	public boolean isRefreshing() {
+		return refreshing.get();
+	}
+
+	private synchronized T load() {
+		Memo<T> current = memo.get();
+		if (current != null) {
+			return current.value();
+		}
+		Failure last = failure;
+		if (!isBackoffElapsed(System.nanoTime())) {
+			throw new IllegalStateException("Supplier " + delegate + " failed, retrying after a backoff delay",
+					last.cause());
+		}
+		try {
+			T value = delegate.get();
+			memo.set(new Memo<>(value, System.nanoTime()));
+			failure = null;
+			return value;
+		} catch (RuntimeException e) {
+			recordFailure(e);
+			throw e;
+		}
+	}
+
+	private void refresh() {
+		try {
+			long invalidation = invalidations.get();
+			T value = delegate.get();
+			long now = System.nanoTime();
+			memo.updateAndGet(current -> new Memo<>(value, invalidations.get() == invalidation ? now : expiredAt(now)));
+			failure = null;
+		} catch (RuntimeException e) {
+			recordFailure(e);
+			LOGGER.warn("Cannot refresh {}, keeping the last value", delegate, e);
+		} finally {
+			refreshing.set(false);
+		}
+	}
+
+	private boolean isBackoffElapsed(long now) {
+		Failure last = failure;
+		return (last == null) || (now - last.retryAt() >= 0);
+	}
+
+	private void recordFailure(RuntimeException cause) {
+		Failure last = failure;
+		int count = last == null ? 1 : last.count() + 1;
+		long backoff = Math.min(INITIAL_BACKOFF.toNanos() << Math.min(count - 1, Integer.SIZE - 2),
+				MAX_BACKOFF.toNanos());
+		failure = new Failure(count, System.nanoTime() + backoff, cause);
+	}
+
+	private long expiredAt(long now) {
+		return now - ttlNanos - 1;
+	}
+
+	/**
+	 * A value and the time it was computed at.
+	 *
+	 * @param <T>       the type of the value.
+	 * @param value     the value.
+	 * @param timestamp the {@link System#nanoTime()} the value was computed at.
+	 */
+	private record Memo<T>(T value, long timestamp) {
+	}
+
+	/**
+	 * The last consecutive failure of the delegate.
+	 *
+	 * @param count   the number of consecutive failures.
+	 * @param retryAt the {@link System#nanoTime()} after which the delegate can be
+	 *                called again.
+	 * @param cause   the exception thrown by the delegate.
+	 */
+	private record Failure(int count, long retryAt, RuntimeException cause) {
+	}
+}
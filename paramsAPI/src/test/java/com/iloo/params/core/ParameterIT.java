@@ -1,19 +1,47 @@
 package com.iloo.params.core;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -22,6 +50,9 @@ import org.junit.jupiter.params.provider.CsvSource;
 
 import com.iloo.params.exceptions.InvalidParameterCategoryException;
 import com.iloo.params.exceptions.InvalidParameterItemException;
+import com.iloo.params.pipeline.ParameterFunctionPipeline;
+import com.iloo.params.utils.MemoizingSupplier;
+import com.iloo.params.utils.VoidResult;
 
 class ParameterIT {
 
@@ -256,4 +287,618 @@ class ParameterIT {
 		assertEquals(List.of(category3), matchingCategories);
 	}
 
+	@ParameterizedTest(name = "Creating off-heap parameter item with label ''{0}'' and a payload of {1} characters")
+	@CsvSource({ "Label_certificate, 16384" })
+	@DisplayName("Test an off-heap parameter item")
+	void testOffHeapParameterItem(String label, int payloadSize) {
+		String payload = "x".repeat(payloadSize);
+		IParameterItem<String> stringItem = factory.createOffHeapParameterItem(label, payload, true);
+		assertEquals(label, stringItem.getLabel());
+		assertEquals(payload, stringItem.getValue());
+		assertTrue(stringItem.isActive());
+
+		IParameterItem<Long> longItem = factory.createOffHeapParameterItem("Label_long", Long.MAX_VALUE, false);
+		assertEquals(Long.MAX_VALUE, longItem.getValue());
+		IParameterItem<Double> doubleItem = factory.createOffHeapParameterItem("Label_double", 0.5d, false);
+		assertEquals(0.5d, doubleItem.getValue());
+
+		IParameterCategory category = factory.createParameterCategory("Label 1", "Description 1");
+		category.addParameterItem(stringItem);
+		assertEquals(payload, category.getAllParentParameterItems().get(label).getValue());
+
+		Path path = Path.of(label);
+		assertThrows(InvalidParameterItemException.class,
+				() -> factory.createOffHeapParameterItem(label, path, true));
+	}
+
+	@ParameterizedTest(name = "Reclaiming off-heap values of {1} characters in chunks of {0} bytes")
+	@CsvSource({ "1024, 200" })
+	@DisplayName("Test the reclamation of off-heap values")
+	void testOffHeapReclamation(int chunkSize, int valueSize) {
+		OffHeapValueStore store = new OffHeapValueStore(chunkSize, 0);
+		ParameterTree tree = ((ParameterFactory) factory).tree;
+		IParameterCategory category = factory.createParameterCategory("Label 1", "Description 1");
+		IParameterCategory child = factory.createParameterCategory("Label 2", "Description 2");
+		child.setParentCategory(category);
+		List<OffHeapParameterItem<String>> items = IntStream.range(0, 8)
+				.mapToObj(i -> new OffHeapParameterItem<>(tree, store, "Label_" + i,
+						String.valueOf(i).repeat(valueSize), true))
+				.toList();
+		// Values are only stored off-heap once added
+		assertEquals(0L, store.getReservedBytes());
+		items.forEach(child::addParameterItem);
+		assertEquals(2L * chunkSize, store.getReservedBytes());
+
+		// Freeing most of the first chunk moves its last live value to a new chunk
+		items.subList(0, 3).forEach(child::removeParameterItem);
+		assertEquals(2L * chunkSize, store.getReservedBytes());
+		assertEquals("3".repeat(valueSize), items.get(3).getValue());
+		assertEquals("0".repeat(valueSize), items.get(0).getValue());
+
+		// Removing the subtree frees every chunk but the current one
+		child.removeSubtree();
+		assertEquals(chunkSize, store.getReservedBytes());
+		items.forEach(item -> assertEquals(String.valueOf(item.getLabel().charAt(6)).repeat(valueSize),
+				item.getValue()));
+
+		// An item added back is stored off-heap again
+		category.addParameterItem(items.get(0));
+		assertEquals("0".repeat(valueSize), category.getParameterItems().get("Label_0").getValue());
+		category.removeParameterItem(items.get(0));
+		assertEquals("0".repeat(valueSize), items.get(0).getValue());
+	}
+
+	@ParameterizedTest
+	@CsvSource({ "Label 1, Description 1" })
+	@DisplayName("Test a point-in-time read of a category hierarchy")
+	void testParameterSnapshot(String label, String description) {
+		IParameterCategory category1 = factory.createParameterCategory(label, description);
+		IParameterItem<String> item1 = factory.createParameterItem("Label_parameter1", "Value_parameter1", true);
+		category1.addParameterItem(item1);
+		IParameterCategory category2 = factory.createParameterCategory("Label_category2", "Description_category2");
+		category2.setParentCategory(category1);
+		category2.addParameterItem(factory.createParameterItem("Label_parameter2", "Value_parameter2", true));
+
+		long version = factory.getParameterCategoryList().getVersion();
+		try (IParameterSnapshot snapshot = factory.readLatest()) {
+			assertEquals(version, snapshot.getVersion());
+			item1.setActive(false);
+			category2.addParameterItem(factory.createParameterItem("Label_parameter1", "Value_parameter3", true));
+			IParameterCategory category3 = factory.createParameterCategory("Label_category3", "Description_category3");
+			category3.setParentCategory(category2);
+
+			IParameterCategory pinned = snapshot.getCategory(category2).orElseThrow();
+			Map<String, IParameterItem<?>> parameters = pinned.getAllParentParameterItems();
+			assertEquals(2, parameters.size());
+			assertEquals("Value_parameter1", parameters.get("Label_parameter1").getValue());
+			assertTrue(parameters.get("Label_parameter1").isActive());
+			assertTrue(pinned.isLeaf());
+			assertTrue(snapshot.getCategory(category3).isEmpty());
+			assertEquals(2, snapshot.getParameterCategories().size());
+			assertEquals(List.of(pinned), snapshot.findCategory(List.of(label)).orElseThrow()
+					.depthFirstSearch(IParameterCategory::isLeaf));
+			assertThrows(InvalidParameterCategoryException.class, () -> pinned.addParameterItem(item1));
+
+			assertEquals("Value_parameter3", category2.getAllParentParameterItems().get("Label_parameter1").getValue());
+			try (IParameterSnapshot samePin = factory.readAt(version)) {
+				assertEquals(2, samePin.getParameterCategories().size());
+			}
+		}
+		assertThrows(InvalidParameterCategoryException.class, () -> factory.readAt(version));
+
+		// Once no version is pinned, the history is dropped and no longer maintained
+		category1.addParameterItem(factory.createParameterItem("Label_parameter4", "Value_parameter4", true));
+		assertTrue(factory.getParameterCategoryList().getParameterCategories().stream()
+				.allMatch(category -> ((ParameterCategory) category).getVersionedState() == null));
+		try (IParameterSnapshot snapshot = factory.readLatest()) {
+			assertEquals(2, snapshot.getCategory(category1).orElseThrow().getParameterItems().size());
+		}
+	}
+
+	@ParameterizedTest(name = "Creating memoizing supplier item with label ''{0}'' and a time to live of {1} ms")
+	@CsvSource({ "Label_supplier, 200" })
+	@DisplayName("Test a memoizing supplier parameter item")
+	void testMemoizingSupplierItem(String label, long ttlMillis) throws InterruptedException {
+		AtomicInteger calls = new AtomicInteger();
+		IParameterItem<Supplier<Integer>> item = factory.createMemoizingSupplierItem(label, calls::incrementAndGet,
+				Duration.ofMillis(ttlMillis), true);
+		assertEquals(1, item.getValue().get());
+		assertEquals(1, item.getValue().get());
+		assertEquals(1, calls.get());
+
+		Thread.sleep(ttlMillis * 2);
+		// The expired value is still served while the refresh runs in the background
+		assertEquals(1, item.getValue().get());
+		long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+		while ((item.getValue().get() == 1) && (System.nanoTime() < deadline)) {
+			Thread.sleep(10);
+		}
+		assertEquals(2, item.getValue().get());
+		assertEquals(2, calls.get());
+	}
+
+	@ParameterizedTest(name = "Creating failing memoizing supplier item with label ''{0}''")
+	@CsvSource({ "Label_supplier" })
+	@DisplayName("Test the backoff of a failing memoizing supplier")
+	void testMemoizingSupplierBackoff(String label) throws InterruptedException {
+		AtomicInteger calls = new AtomicInteger();
+		Supplier<Integer> failingAfterFirst = () -> {
+			if (calls.incrementAndGet() > 1) {
+				throw new IllegalStateException("Unavailable");
+			}
+			return 1;
+		};
+		// The refreshes run on the calling thread
+		IParameterItem<Supplier<Integer>> item = factory.createMemoizingSupplierItem(label, failingAfterFirst,
+				Duration.ZERO, Runnable::run, true);
+		assertEquals(1, item.getValue().get());
+		for (int i = 0; i < 10; i++) {
+			assertEquals(1, item.getValue().get());
+		}
+		assertEquals(2, calls.get());
+		Thread.sleep(MemoizingSupplier.INITIAL_BACKOFF.toMillis() * 2);
+		assertEquals(1, item.getValue().get());
+		assertEquals(3, calls.get());
+
+		// Without a value to serve, the calls during the backoff fail without calling the delegate
+		calls.set(1);
+		IParameterItem<Supplier<Integer>> failing = factory.createMemoizingSupplierItem(label, failingAfterFirst,
+				Duration.ZERO, Runnable::run, true);
+		assertThrows(IllegalStateException.class, failing.getValue()::get);
+		IllegalStateException backoff = assertThrows(IllegalStateException.class, failing.getValue()::get);
+		assertEquals("Unavailable", backoff.getCause().getMessage());
+		assertEquals(2, calls.get());
+
+		// An invalidated value is served once more while it is refreshed
+		MemoizingSupplier<Integer> memoizing = new MemoizingSupplier<>(calls::incrementAndGet, Duration.ofHours(1),
+				Runnable::run);
+		assertEquals(3, memoizing.get());
+		memoizing.invalidate();
+		assertEquals(3, memoizing.get());
+		assertEquals(4, memoizing.get());
+	}
+
+	@ParameterizedTest(name = "Creating date items in category ''{0}''")
+	@CsvSource({ "Label_dates, Description_dates" })
+	@DisplayName("Test date parameter items and the time index")
+	void testDateParameterItem(String label, String description) {
+		IParameterCategory category = factory.createParameterCategory(label, description);
+		Instant cutOver = Instant.parse("2030-01-01T00:00:00Z");
+		java.util.Date date = java.util.Date.from(cutOver);
+		IParameterItem<java.util.Date> item = factory.createParameterItem("cutover", date, true);
+		assertInstanceOf(IDateParameterItem.class, item);
+		IDateParameterItem<java.util.Date> dateItem = (IDateParameterItem<java.util.Date>) item;
+
+		// Neither the original date nor the returned copies alias the item
+		date.setTime(0);
+		item.getValue().setTime(0);
+		assertEquals(cutOver, dateItem.getInstant());
+		assertEquals(LocalDate.of(2030, 1, 1), dateItem.getLocalDate(ZoneOffset.UTC));
+
+		Timestamp timestamp = Timestamp.from(cutOver.plusNanos(123_456_789));
+		IDateParameterItem<Timestamp> timestampItem = factory.createDateParameterItem("timestamp", timestamp, true);
+		assertEquals(timestamp, timestampItem.getValue());
+		assertEquals(Date.class, factory.createParameterItem("day", Date.valueOf("2030-06-01"), true).getValue()
+				.getClass());
+
+		category.addParameterItem(item);
+		category.addParameterItem(timestampItem);
+		category.addParameterItem(factory.createParameterItem("later", java.util.Date.from(cutOver.plusSeconds(3600)),
+				true));
+		IParameterCategoryList categoryList = factory.getParameterCategoryList();
+		assertEquals(List.of(item, timestampItem), categoryList.findDateItemsBetween(cutOver, cutOver.plusSeconds(60)));
+		assertEquals(3, categoryList.findDateItemsBetween(Instant.MIN, Instant.MAX).size());
+
+		category.removeParameterItem(item);
+		assertEquals(List.of(timestampItem), categoryList.findDateItemsBetween(cutOver, cutOver.plusSeconds(60)));
+	}
+
+	@ParameterizedTest(name = "Loading {0} roots in partitions")
+	@CsvSource({ "64" })
+	@DisplayName("Test the partitioned factory and its unified category list")
+	void testPartitionedParameterFactory(int rootCount) {
+		PartitionedParameterFactory partitioned = new PartitionedParameterFactory(4);
+		Map<String, Consumer<IParameterFactory>> loaders = new LinkedHashMap<>();
+		for (int i = 0; i < rootCount; i++) {
+			String label = "Root_" + i;
+			loaders.put(label, partition -> {
+				IParameterCategory root = partition.createParameterCategory(label, "Root");
+				IParameterCategory child = partition.createParameterCategory("Child", "Child");
+				child.setParentCategory(root);
+				child.addParameterItem(partition.createParameterItem("value", label, true));
+			});
+		}
+		assertTrue(partitioned.bulkLoad(loaders).isSuccess());
+
+		IParameterCategoryList categoryList = partitioned.getParameterCategoryList();
+		assertEquals(rootCount * 2, categoryList.getSize());
+		assertTrue(partitioned.getPartitions().stream()
+				.allMatch(partition -> !partition.getParameterCategoryList().isEmpty()));
+		IParameterCategory child = categoryList.findCategory(List.of("Root_7", "Child")).orElseThrow();
+		assertEquals("Root_7", child.getParameterItems().get("value").getValue());
+		assertSame(partitioned.getPartition("Root_7"), partitioned.getPartitionOf(child));
+
+		IParameterCategory grandChild = partitioned.createChildCategory(child, "GrandChild", "Grand child");
+		grandChild.addParameterItem(partitioned.createParameterItem(grandChild, "deep", 42, true));
+		assertEquals(2, grandChild.getAllParentParameterItems().size());
+		assertThrows(InvalidParameterCategoryException.class,
+				() -> partitioned.getPartitionOf(factory.createParameterCategory("Other", "Other")));
+
+		assertTrue(partitioned.bulkLoad(Map.of("Root_X", partition -> {
+			throw new IllegalStateException("Failed loader");
+		})).isError());
+
+		// Root labels are unique across the partitions
+		int before = categoryList.getSize();
+		assertTrue(partitioned.bulkLoad(Map.of("Root_0", partition -> partition.createParameterCategory("Root_0", "")))
+				.isError());
+		String foreign = IntStream.range(0, 100).mapToObj(i -> "Foreign_" + i)
+				.filter(label -> partitioned.getPartition(label) != partitioned.getPartition("Loaded")).findFirst()
+				.orElseThrow();
+		VoidResult invalid = partitioned.bulkLoad(Map.of("Loaded", partition -> {
+			partition.createParameterCategory("Loaded", "Loaded root");
+			partition.createParameterCategory("Loaded", "Duplicate root");
+			partition.createParameterCategory(foreign, "Root of another partition");
+		}));
+		assertTrue(invalid.isError());
+		assertInstanceOf(InvalidParameterCategoryException.class, invalid.exception());
+		assertEquals(before + 1, categoryList.getSize());
+		assertTrue(categoryList.findCategory(List.of("Loaded")).isPresent());
+	}
+
+	@ParameterizedTest(name = "Measuring category ''{0}''")
+	@CsvSource({ "Label_metrics, Description_metrics" })
+	@DisplayName("Test the metrics of the tree and their MBean")
+	void testParameterMetrics(String label, String description) throws JMException, InterruptedException {
+		ParameterMetrics metrics = factory.getMetrics();
+		metrics.setSampleRate(1);
+		IParameterCategory parent = factory.createParameterCategory(label, description);
+		IParameterCategory child = factory.createParameterCategory("Child", description);
+		child.setParentCategory(parent);
+		parent.addParameterItem(factory.createParameterItem("a", 1, true));
+		child.addParameterItem(factory.createParameterItem("b", 2, true));
+		assertEquals(2, metrics.getCategoryCount());
+		assertEquals(2, metrics.getItemCount());
+		assertEquals(5, metrics.getMutationCount());
+		assertArrayEquals(new long[] { 1, 1 }, metrics.getDepthDistribution());
+
+		// The rate covers the last complete seconds: reading it does not reset it
+		Thread.sleep(1100);
+		assertTrue(metrics.getMutationRate() > 0);
+		assertTrue(metrics.getMutationRate() > 0);
+
+		metrics.reset();
+		assertEquals(2, child.getAllParentParameterItems().size());
+		assertEquals(1, metrics.getInheritedLookupCount());
+		assertEquals(1, metrics.getInheritanceDepthHistogram()[1]);
+		assertEquals(1, LongStream.of(metrics.getInheritedLookupHistogram()).sum());
+		assertEquals(List.of(child), parent.depthFirstSearch(category -> category == child));
+		assertEquals(List.of(parent, child), parent.breadthFirstSearch(category -> true));
+		assertEquals(2, metrics.getTraversalCount());
+		assertEquals(4, metrics.getTraversalNodesVisited());
+		assertTrue(metrics.getTraversalP99Nanos() > 0);
+
+		// Only the calls made outside of the library count as item lookups
+		assertEquals(0, metrics.getItemLookupCount());
+		assertEquals(1, child.getParameterItems().size());
+		assertEquals(1, metrics.getItemLookupCount());
+
+		try (ParameterFunctionPipeline<Integer, Integer> pipeline = new ParameterFunctionPipeline<>(factory, child,
+				List.of(), 8)) {
+			pipeline.apply(1);
+			pipeline.apply(1);
+		}
+		assertEquals(0.5, metrics.getCacheHitRatio());
+
+		ObjectName name = new ObjectName(ParameterMetrics.DOMAIN + ":type=ParameterMetrics,name=" + ObjectName.quote(label));
+		assertTrue(metrics.register(label).isSuccess());
+		try {
+			assertTrue(metrics.register(label).isError());
+			MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+			assertEquals(2L, server.getAttribute(name, "CategoryCount"));
+		} finally {
+			assertTrue(metrics.unregister().isSuccess());
+		}
+	}
+
+	@ParameterizedTest(name = "Recording category ''{0}''")
+	@CsvSource({ "Label_jfr, Description_jfr" })
+	@DisplayName("Test the Flight Recorder events of mutations and traversals")
+	void testFlightRecorderEvents(String label, String description) throws IOException {
+		Path file = Files.createTempFile("params", ".jfr");
+		try (Recording recording = new Recording()) {
+			recording.enable("com.iloo.params.Mutation");
+			recording.enable("com.iloo.params.Traversal");
+			recording.start();
+			IParameterCategory parent = factory.createParameterCategory(label, description);
+			IParameterCategory child = factory.createParameterCategory("Child", description);
+			parent.setChildCategory(child);
+			IParameterItem<Integer> item = factory.createParameterItem("a", 1, true);
+			child.addParameterItem(item);
+			item.setActive(false);
+			parent.depthFirstSearch(category -> true);
+			recording.stop();
+			recording.dump(file);
+
+			List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+			RecordedEvent added = events.stream()
+					.filter(event -> "ITEM_ADDED".equals(event.getString("operation"))).findFirst().orElseThrow();
+			assertEquals("Child", added.getString("categoryLabel"));
+			assertEquals(2, added.getInt("depth"));
+			assertEquals(1, added.getInt("itemCount"));
+			assertTrue(events.stream().anyMatch(event -> "ITEM_ACTIVATION_CHANGED".equals(event.getString("operation"))
+					&& "a".equals(event.getString("itemLabel"))));
+			RecordedEvent traversal = events.stream()
+					.filter(event -> "com.iloo.params.Traversal".equals(event.getEventType().getName())).findFirst()
+					.orElseThrow();
+			assertEquals("DFS", traversal.getString("kind"));
+			assertEquals(label, traversal.getString("categoryLabel"));
+			assertTrue(traversal.getInt("nodesVisited") >= 2);
+		} finally {
+			Files.deleteIfExists(file);
+		}
+	}
+
+	@ParameterizedTest(name = "Checking {0} roots")
+	@CsvSource({ "200" })
+	@DisplayName("Test the parallel consistency checker")
+	void testConsistencyChecker(int rootCount) {
+		for (int i = 0; i < rootCount; i++) {
+			IParameterCategory root = factory.createParameterCategory("Root_" + i, "Root");
+			root.setChildCategory(factory.createParameterCategory("Child", "Child"));
+		}
+		ParameterConsistencyChecker checker = new ParameterConsistencyChecker(2, ForkJoinPool.commonPool());
+		ConsistencyReport report = checker.check(factory.getParameterCategoryList());
+		assertEquals(rootCount * 2, report.checkedCount());
+		assertTrue(report.isConsistent(), () -> report.violations().toString());
+
+		// Linking a subtree makes the levels of its descendants stale
+		IParameterCategory application = factory.createParameterCategory("Application", "Application");
+		IParameterCategory database = factory.createParameterCategory("Database", "Database");
+		IParameterCategory nested = factory.createParameterCategory("Application", "Nested application");
+		nested.setParentCategory(database);
+		database.setParentCategory(application);
+		// Moving a category leaves it in the children of its previous parent
+		IParameterCategory replica = factory.createParameterCategory("Replica", "Replica");
+		replica.setParentCategory(database);
+		replica.setParentCategory(application);
+		// A parent from another tree is not in the list
+		IParameterCategory foreign = new ParameterFactory().createParameterCategory("Foreign", "Foreign");
+		factory.createParameterCategory("Orphan", "Orphan").setParentCategory(foreign);
+
+		ConsistencyReport inconsistent = checker.check(factory.getParameterCategoryList());
+		assertEquals(List.of(nested), inconsistent.getViolations(ConsistencyViolation.Kind.DUPLICATE_ANCESTOR_LABEL)
+				.stream().map(ConsistencyViolation::category).toList());
+		assertEquals(List.of(nested), inconsistent.getViolations(ConsistencyViolation.Kind.DEPTH_LIMIT).stream()
+				.map(ConsistencyViolation::category).toList());
+		assertTrue(inconsistent.getViolations(ConsistencyViolation.Kind.LEVEL_MISMATCH).stream()
+				.anyMatch(violation -> violation.category() == nested));
+		assertTrue(inconsistent.getViolations(ConsistencyViolation.Kind.LINK_ASYMMETRY).stream()
+				.anyMatch(violation -> violation.category() == database));
+		assertEquals(1, inconsistent.getViolations(ConsistencyViolation.Kind.ORPHAN).size());
+	}
+
+	@ParameterizedTest(name = "Moving category ''{0}''")
+	@CsvSource({ "Replica, Replica settings" })
+	@DisplayName("Test moving a subtree to another parent")
+	void testMoveCategory(String label, String description) {
+		IParameterCategory application = factory.createParameterCategory("Application", "Application");
+		IParameterCategory database = factory.createParameterCategory("Database", "Database");
+		database.setParentCategory(application);
+		IParameterCategory cache = factory.createParameterCategory("Cache", "Cache");
+		cache.setParentCategory(application);
+		IParameterCategory moved = factory.createParameterCategory(label, description);
+		moved.setParentCategory(database);
+		IParameterCategory leaf = factory.createParameterCategory("Leaf", "Leaf");
+		leaf.setParentCategory(moved);
+		IParameterCategory other = factory.createParameterCategory("Other", "Other");
+
+		try (IParameterSnapshot snapshot = factory.readLatest()) {
+			long version = factory.getParameterCategoryList().getVersion();
+			assertTrue(moved.moveTo(other).isSuccess());
+			assertEquals(version + 1, factory.getParameterCategoryList().getVersion());
+			assertSame(other, moved.getParentCategory().orElseThrow());
+			assertTrue(database.getChildCategoryList().isEmpty());
+			assertEquals(List.of(moved), other.getChildCategoryList());
+			assertEquals(0, database.getLevel().getHorizontal());
+			assertEquals(1, other.getLevel().getHorizontal());
+			assertEquals(2, moved.getLevel().getVertical());
+			assertEquals(3, leaf.getLevel().getVertical());
+
+			// A pinned snapshot keeps the previous shape
+			IParameterCategory pinned = snapshot.getCategory(moved).orElseThrow();
+			assertEquals("Database", pinned.getParentCategory().orElseThrow().getLabel());
+			assertEquals(1, snapshot.getCategory(database).orElseThrow().getChildCategoryList().size());
+		}
+
+		// Moving under the current parent changes nothing
+		long version = factory.getParameterCategoryList().getVersion();
+		assertTrue(moved.moveTo(other).isSuccess());
+		assertEquals(version, factory.getParameterCategoryList().getVersion());
+
+		// Cycles and duplicate labels along the new ancestors are rejected
+		assertThrows(InvalidParameterCategoryException.class, () -> moved.moveTo(leaf));
+		assertThrows(InvalidParameterCategoryException.class, () -> moved.moveTo(moved));
+		IParameterCategory nested = factory.createParameterCategory("Other", "Nested other");
+		assertThrows(InvalidParameterCategoryException.class, () -> nested.moveTo(leaf));
+		assertThrows(InvalidParameterCategoryException.class,
+				() -> moved.moveTo(new ParameterFactory().createParameterCategory("Foreign", "Foreign")));
+
+		assertTrue(moved.moveTo(cache).isSuccess());
+		assertEquals(List.of(moved), cache.getChildCategoryList());
+		assertEquals(4, leaf.getLevel().getVertical());
+		ConsistencyReport report = new ParameterConsistencyChecker().check(factory.getParameterCategoryList());
+		assertTrue(report.isConsistent(), () -> report.violations().toString());
+	}
+
+	@ParameterizedTest(name = "Removing a subtree of {0} children")
+	@CsvSource({ "100" })
+	@DisplayName("Test removing a subtree and releasing its items")
+	void testRemoveSubtree(int childCount) {
+		IParameterCategory application = factory.createParameterCategory("Application", "Application");
+		IParameterCategory database = factory.createParameterCategory("Database", "Database");
+		database.setParentCategory(application);
+		IParameterCategory cache = factory.createParameterCategory("Cache", "Cache");
+		cache.setParentCategory(application);
+		Instant expiry = Instant.parse("2030-01-01T00:00:00Z");
+		database.addParameterItem(factory.createParameterItem("expiry", java.util.Date.from(expiry), true));
+		for (int i = 0; i < childCount; i++) {
+			IParameterCategory child = factory.createParameterCategory("Replica_" + i, "Replica");
+			child.setParentCategory(database);
+			child.addParameterItem(factory.createParameterItem("port", 5432 + i, true));
+		}
+		IParameterCategoryList categoryList = factory.getParameterCategoryList();
+		ParameterMetrics metrics = factory.getMetrics();
+		assertEquals(childCount + 3L, metrics.getCategoryCount());
+		IParameterCategory replica = categoryList.findCategory(List.of("Application", "Database", "Replica_0"))
+				.orElseThrow();
+
+		try (IParameterSnapshot snapshot = factory.readLatest()) {
+			long version = categoryList.getVersion();
+			assertTrue(application.removeChildCategory(database).isSuccess());
+
+			// A single mutation unlinks and unregisters the whole subtree
+			assertEquals(version + 1, categoryList.getVersion());
+			assertEquals(List.of(application, cache), categoryList.getParameterCategories());
+			assertEquals(List.of(cache), application.getChildCategoryList());
+			assertEquals(1, application.getLevel().getHorizontal());
+			assertTrue(categoryList.findCategory(List.of("Application", "Database")).isEmpty());
+			assertTrue(categoryList.findDateItemsBetween(Instant.MIN, Instant.MAX).isEmpty());
+			assertEquals(2L, metrics.getCategoryCount());
+			assertEquals(0L, metrics.getItemCount());
+
+			// The removed categories are released and can no longer be mutated
+			assertTrue(database.getParameterItems().isEmpty());
+			assertTrue(database.getChildCategoryList().isEmpty());
+			assertTrue(replica.getParentCategory().isEmpty());
+			assertThrows(InvalidParameterCategoryException.class,
+					() -> replica.addParameterItem(factory.createParameterItem("host", "localhost", true)));
+			assertThrows(InvalidParameterCategoryException.class, () -> replica.setParentCategory(cache));
+			assertThrows(InvalidParameterCategoryException.class, () -> cache.moveTo(database));
+
+			// A snapshot pinned before the removal still sees the subtree
+			assertEquals(childCount + 3, snapshot.getParameterCategories().size());
+			IParameterCategory pinned = snapshot.findCategory(List.of("Application", "Database", "Replica_0"))
+					.orElseThrow();
+			assertEquals(5432, pinned.getParameterItems().get("port").getValue());
+			try (IParameterSnapshot latest = factory.readLatest()) {
+				assertEquals(2, latest.getParameterCategories().size());
+				assertTrue(latest.getCategory(replica).isEmpty());
+			}
+		}
+
+		// Removing a category which is not a child, or twice, fails and changes nothing
+		long version = categoryList.getVersion();
+		assertTrue(cache.removeChildCategory(application).isError());
+		assertTrue(application.removeChildCategory(database).isError());
+		assertTrue(database.removeSubtree().isError());
+		try (IParameterSnapshot snapshot = factory.readLatest()) {
+			IParameterCategory pinned = snapshot.findCategory(List.of("Application")).orElseThrow();
+			assertTrue(application.removeChildCategory(pinned).isError());
+		}
+		assertEquals(version, categoryList.getVersion());
+
+		assertTrue(application.removeSubtree().isSuccess());
+		assertTrue(categoryList.isEmpty());
+		assertEquals(0L, metrics.getCategoryCount());
+	}
+
+	@ParameterizedTest(name = "Running {0} concurrent transactions")
+	@CsvSource({ "200" })
+	@DisplayName("Test optimistic transactions across categories")
+	void testTransaction(int transactionCount) throws InterruptedException {
+		IParameterCategory application = factory.createParameterCategory("Application", "Application");
+		IParameterCategory database = factory.createParameterCategory("Database", "Database");
+		IParameterItem<String> host = factory.createParameterItem("host", "localhost", true);
+		database.addParameterItem(host);
+		IParameterItem<Integer> retries = factory.createParameterItem("retries", 3, true);
+		application.addParameterItem(retries);
+		IParameterCategoryList categoryList = factory.getParameterCategoryList();
+
+		try (IParameterSnapshot before = factory.readLatest()) {
+			IParameterItem<Integer> port = factory.createParameterItem("port", 5432, true);
+			assertTrue(factory.runTransaction(transaction -> {
+				transaction.addParameterItem(database, port);
+				transaction.removeParameterItem(database, host);
+				transaction.setActive(retries, false);
+				transaction.link(database, application);
+				assertEquals(4, transaction.getOperationCount());
+			}).isSuccess());
+
+			// The whole commit shares a single version
+			assertEquals(before.getVersion() + 1, categoryList.getVersion());
+			assertEquals(Map.of("port", port), database.getParameterItems());
+			assertSame(application, database.getParentCategory().orElseThrow());
+			assertFalse(retries.isActive());
+			IParameterCategory pinned = before.getCategory(database).orElseThrow();
+			assertEquals(Set.of("host"), pinned.getParameterItems().keySet());
+			assertTrue(pinned.isRoot());
+		}
+
+		// A mutation which cannot be applied aborts the whole transaction
+		long version = categoryList.getVersion();
+		IParameterItem<String> user = factory.createParameterItem("user", "admin", true);
+		VoidResult failed = factory.runTransaction(transaction -> {
+			transaction.addParameterItem(database, user);
+			transaction.link(application, database);
+		});
+		assertTrue(failed.isError());
+		assertEquals(version, categoryList.getVersion());
+		assertFalse(database.getParameterItems().containsKey("user"));
+
+		// A concurrent write to a read category runs the body again
+		AtomicInteger attempts = new AtomicInteger();
+		assertTrue(factory.runTransaction(transaction -> {
+			transaction.getParameterItems(application);
+			if (attempts.incrementAndGet() == 1) {
+				application.addParameterItem(factory.createParameterItem("timeout", 30, true));
+			}
+			transaction.addParameterItem(database, user);
+		}).isSuccess());
+		assertEquals(2, attempts.get());
+		attempts.set(0);
+		assertTrue(factory.runTransaction(transaction -> {
+			transaction.getParameterItems(application);
+			application.addParameterItem(factory.createParameterItem("attempt_" + attempts.incrementAndGet(), 1, true));
+		}, 3).isError());
+		assertEquals(3, attempts.get());
+
+		// A listener can run a transaction reading a category of the batch notifying it
+		List<Map<String, IParameterItem<?>>> seen = new ArrayList<>();
+		IParameterTreeListener listener = event -> {
+			if ((event.type() == ParameterTreeEvent.EventType.ITEM_ADDED) && (event.category() == database)) {
+				factory.runTransaction(nested -> seen.add(nested.getParameterItems(database)));
+			}
+		};
+		factory.addTreeListener(listener);
+		try {
+			IParameterItem<Integer> pool = factory.createParameterItem("pool", 8, true);
+			assertTimeoutPreemptively(Duration.ofSeconds(10), () -> assertTrue(
+					factory.runTransaction(transaction -> transaction.addParameterItem(database, pool)).isSuccess()));
+		} finally {
+			factory.removeTreeListener(listener);
+		}
+		assertEquals(1, seen.size());
+		assertTrue(seen.get(0).containsKey("pool"));
+
+		// Concurrent read-modify-write transactions never lose an update
+		IParameterCategory counters = factory.createParameterCategory("Counters", "Counters");
+		counters.addParameterItem(factory.createParameterItem("count", 0, true));
+		Runnable increment = () -> assertTrue(factory.runTransaction(transaction -> {
+			IParameterItem<?> count = transaction.getParameterItems(counters).get("count");
+			transaction.removeParameterItem(counters, count);
+			transaction.addParameterItem(counters,
+					factory.createParameterItem("count", (Integer) count.getValue() + 1, true));
+		}, Integer.MAX_VALUE).isSuccess());
+		List<Thread> threads = LongStream.range(0, 4).mapToObj(i -> new Thread(() -> {
+			for (int j = 0; j < transactionCount / 4; j++) {
+				increment.run();
+			}
+		})).toList();
+		threads.forEach(Thread::start);
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		assertEquals(transactionCount, counters.getParameterItems().get("count").getValue());
+	}
 }
@@ -0,0 +1,102 @@
+package com.iloo.params.dispatch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.iloo.params.core.IParameterFactory;
+import com.iloo.params.core.IParameterItem;
+import com.iloo.params.core.ParameterFactory;
+
+class ParameterConsumerDispatcherIT {
+
+	@Test
+	@DisplayName("Test dispatching consumer items in order per item")
+	void testDispatchInOrder() throws InterruptedException, ExecutionException, TimeoutException {
+		IParameterFactory factory = new ParameterFactory();
+		List<Integer> first = new CopyOnWriteArrayList<>();
+		List<Integer> second = new CopyOnWriteArrayList<>();
+		Consumer<Integer> firstConsumer = first::add;
+		Consumer<Integer> secondConsumer = second::add;
+		IParameterItem<Consumer<Integer>> firstItem = factory.createParameterItem("first", firstConsumer, true);
+		IParameterItem<Consumer<Integer>> secondItem = factory.createParameterItem("second", secondConsumer, true);
+
+		try (ParameterConsumerDispatcher dispatcher = new ParameterConsumerDispatcher(4, 8)) {
+			List<CompletableFuture<Void>> futures = new ArrayList<>();
+			for (int i = 0; i < 100; i++) {
+				futures.add(dispatcher.dispatch(firstItem, i));
+				futures.add(dispatcher.dispatch(secondItem, i));
+			}
+			CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).get(10, TimeUnit.SECONDS);
+
+			List<Integer> expected = new ArrayList<>();
+			for (int i = 0; i < 100; i++) {
+				expected.add(i);
+			}
+			assertEquals(expected, first);
+			assertEquals(expected, second);
+
+			ParameterConsumerDispatcher.Metrics metrics = dispatcher.getMetrics();
+			assertEquals(0, metrics.queueDepth());
+			assertEquals(200, metrics.completed());
+			assertEquals(0, metrics.failed());
+			assertTrue(metrics.maxLatency().compareTo(metrics.averageLatency()) >= 0);
+
+			// The drained lanes are dropped
+			long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+			while ((dispatcher.getLaneCount() > 0) && (System.nanoTime() < deadline)) {
+				Thread.sleep(10);
+			}
+			assertEquals(0, dispatcher.getLaneCount());
+		}
+	}
+
+	@Test
+	@DisplayName("Test a failing consumer item")
+	void testDispatchFailure() throws InterruptedException, ExecutionException, TimeoutException {
+		IParameterFactory factory = new ParameterFactory();
+		List<String> received = new CopyOnWriteArrayList<>();
+		Consumer<String> consumer = value -> {
+			if (value.isEmpty()) {
+				throw new IllegalArgumentException("Empty value");
+			}
+			if (value.isBlank()) {
+				throw new AssertionError("Blank value");
+			}
+			received.add(value);
+		};
+		IParameterItem<Consumer<String>> item = factory.createParameterItem("hook", consumer, true);
+
+		ParameterConsumerDispatcher dispatcher = new ParameterConsumerDispatcher(1);
+		CompletableFuture<Void> failure = dispatcher.dispatch(item, "");
+		CompletableFuture<Void> success = dispatcher.dispatch(item, "value");
+		assertThrows(ExecutionException.class, () -> failure.get(10, TimeUnit.SECONDS));
+		success.get(10, TimeUnit.SECONDS);
+		assertEquals(List.of("value"), received);
+		assertEquals(1, dispatcher.getMetrics().failed());
+
+		// An error does not stop the lane of the item
+		CompletableFuture<Void> error = dispatcher.dispatch(item, " ");
+		CompletableFuture<Void> next = dispatcher.dispatch(item, "next");
+		ExecutionException thrown = assertThrows(ExecutionException.class, () -> error.get(10, TimeUnit.SECONDS));
+		assertTrue(thrown.getCause() instanceof AssertionError);
+		next.get(10, TimeUnit.SECONDS);
+		assertEquals(List.of("value", "next"), received);
+		assertEquals(2, dispatcher.getMetrics().failed());
+
+		dispatcher.close();
+		assertThrows(IllegalStateException.class, () -> dispatcher.dispatch(item, "closed"));
+	}
+}
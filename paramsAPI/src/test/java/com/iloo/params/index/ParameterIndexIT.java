@@ -0,0 +1,249 @@
+package com.iloo.params.index;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.iloo.params.core.IParameterCategory;
+import com.iloo.params.core.IParameterFactory;
+import com.iloo.params.core.IParameterItem;
+import com.iloo.params.core.ParameterFactory;
+
+class ParameterIndexIT {
+
+	private IParameterFactory factory;
+
+	@BeforeEach
+	void setUp() {
+		factory = new ParameterFactory();
+	}
+
+	@Test
+	@DisplayName("Test range, top-k and percentile queries on numeric values")
+	void testNumericIndex() {
+		IParameterCategory first = factory.createParameterCategory("First", "First pool");
+		first.addParameterItem(factory.createParameterItem("timeout", 30, true));
+		first.addParameterItem(factory.createParameterItem("host", "localhost", true));
+		IParameterCategory second = factory.createParameterCategory("Second", "Second pool");
+
+		try (ParameterNumericIndex index = new ParameterNumericIndex(factory)) {
+			// Items added before the index was created are indexed too
+			assertEquals(1, index.getSize());
+
+			IParameterItem<Integer> secondTimeout = factory.createParameterItem("timeout", 60, true);
+			second.addParameterItem(secondTimeout);
+			second.addParameterItem(factory.createParameterItem("retries", 3, true));
+			second.addParameterItem(factory.createParameterItem("ratio", 0.5, true));
+
+			assertEquals(List.of(new IndexedItem(second, secondTimeout)), index.findInRange("timeout", 31, 100));
+			assertEquals(3, index.findInRange(1, 60).size());
+			assertTrue(index.findInRange(61, 100).isEmpty());
+
+			List<IndexedItem> top = index.findTop(2);
+			assertEquals(60, ((Number) top.get(0).item().getValue()).intValue());
+			assertEquals(30, ((Number) top.get(1).item().getValue()).intValue());
+			assertEquals(1, index.findTop("retries", 5).size());
+
+			assertEquals(0.5, index.getPercentile(0).getAsDouble());
+			assertEquals(3, index.getPercentile(50).getAsDouble());
+			assertEquals(60, index.getPercentile(100).getAsDouble());
+			assertEquals(30, index.getPercentile("timeout", 50).getAsDouble());
+			assertTrue(index.getPercentile("missing", 50).isEmpty());
+
+			second.removeParameterItem(secondTimeout);
+			assertTrue(index.findInRange("timeout", 31, 100).isEmpty());
+			assertEquals(3, index.getSize());
+
+			second.removeSubtree();
+			assertEquals(1, index.getSize());
+			assertTrue(index.findTop("retries", 5).isEmpty());
+		}
+	}
+
+	@Test
+	@DisplayName("Test the numeric index against a sorted list of the values")
+	void testNumericIndexUpdates() {
+		Random random = new Random(42);
+		List<IParameterCategory> categories = new ArrayList<>();
+		List<IParameterItem<Integer>> items = new ArrayList<>();
+		List<IParameterCategory> holders = new ArrayList<>();
+		for (int i = 0; i < 20; i++) {
+			categories.add(factory.createParameterCategory("Category" + i, "Category " + i));
+		}
+		for (int i = 0; i < 500; i++) {
+			// Few distinct values, so that many of them are equal
+			IParameterItem<Integer> item = factory.createParameterItem("item" + i, random.nextInt(50), true);
+			IParameterCategory holder = categories.get(random.nextInt(categories.size()));
+			holder.addParameterItem(item);
+			items.add(item);
+			holders.add(holder);
+		}
+
+		try (ParameterNumericIndex index = new ParameterNumericIndex(factory)) {
+			for (int step = 0; step < 2000; step++) {
+				if (random.nextBoolean() && !items.isEmpty()) {
+					int removed = random.nextInt(items.size());
+					holders.remove(removed).removeParameterItem(items.remove(removed));
+				} else {
+					IParameterItem<Integer> item = factory.createParameterItem("added" + step, random.nextInt(50),
+							true);
+					IParameterCategory holder = categories.get(random.nextInt(categories.size()));
+					holder.addParameterItem(item);
+					items.add(item);
+					holders.add(holder);
+				}
+				if (step % 100 == 0) {
+					assertMatches(index, items.stream().map(IParameterItem::getValue).sorted().toList());
+				}
+			}
+			assertMatches(index, items.stream().map(IParameterItem::getValue).sorted().toList());
+		}
+	}
+
+	private static void assertMatches(ParameterNumericIndex index, List<Integer> sorted) {
+		assertEquals(sorted.size(), index.getSize());
+		for (int percentile = 0; percentile <= 100; percentile += 10) {
+			int rank = (int) Math.ceil((percentile / 100.0) * sorted.size());
+			double expected = sorted.get(Math.max(rank, 1) - 1);
+			assertEquals(expected, index.getPercentile(percentile).getAsDouble());
+		}
+		assertEquals(sorted.stream().filter(value -> (value >= 10) && (value <= 20)).count(),
+				index.findInRange(10, 20).size());
+		List<Integer> expected = new ArrayList<>(sorted.subList(sorted.size() - 25, sorted.size()));
+		Collections.reverse(expected);
+		assertEquals(expected,
+				index.findTop(25).stream().map(indexed -> (Integer) indexed.item().getValue()).toList());
+	}
+
+	@Test
+	@DisplayName("Test label prefix and description search")
+	void testTextIndex() {
+		IParameterCategory database = factory.createParameterCategory("Database", "Primary relational store");
+		IParameterCategory dataLake = factory.createParameterCategory("DataLake", "Cold object storage");
+		IParameterCategory cache = factory.createParameterCategory("Cache", "In-memory store for sessions");
+		IParameterItem<String> host = factory.createParameterItem("db.host", "localhost", true);
+		database.addParameterItem(host);
+
+		try (ParameterTextIndex index = new ParameterTextIndex(factory)) {
+			assertEquals(List.of(database, dataLake), index.findCategoriesByLabelPrefix("data", 10));
+			assertEquals(List.of(database), index.findCategoriesByLabelPrefix("DATA", 1));
+			assertTrue(index.findCategoriesByLabelPrefix("queue", 10).isEmpty());
+
+			IParameterItem<Integer> port = factory.createParameterItem("db.port", 5432, true);
+			database.addParameterItem(port);
+			assertEquals(List.of(new IndexedItem(database, host), new IndexedItem(database, port)),
+					index.findItemsByLabelPrefix("db.", 10));
+			database.removeParameterItem(host);
+			assertEquals(List.of(new IndexedItem(database, port)), index.findItemsByLabelPrefix("db", 10));
+
+			List<IParameterCategory> stores = index.searchDescriptions("Store", 10);
+			assertEquals(2, stores.size());
+			assertTrue(stores.contains(database) && stores.contains(cache));
+			assertEquals(List.of(dataLake), index.searchDescriptions("object stor", 10));
+			assertTrue(index.searchDescriptions("in", 10).contains(cache));
+			assertTrue(index.searchDescriptions("missing", 10).isEmpty());
+
+			IParameterCategory queue = factory.createParameterCategory("Queue", "Message store");
+			assertEquals(3, index.searchDescriptions("store", 10).size());
+			assertEquals(List.of(queue), index.findCategoriesByLabelPrefix("q", 10));
+
+			queue.removeSubtree();
+			assertTrue(index.findCategoriesByLabelPrefix("q", 10).isEmpty());
+			assertEquals(2, index.searchDescriptions("store", 10).size());
+
+			assertTrue(index.searchDescriptions("store", 0).isEmpty());
+			assertThrows(IllegalArgumentException.class, () -> index.searchDescriptions("store", -1));
+			assertThrows(IllegalArgumentException.class, () -> index.findCategoriesByLabelPrefix("d", -1));
+			assertThrows(IllegalArgumentException.class, () -> index.findItemsByLabelPrefix("db", -1));
+		}
+	}
+
+	@Test
+	@DisplayName("Test finding the categories defining and overriding a label")
+	void testLabelIndex() {
+		IParameterCategory application = factory.createParameterCategory("Application", "Application settings");
+		application.addParameterItem(factory.createParameterItem("timeout", 30, true));
+		IParameterCategory database = factory.createParameterCategory("Database", "Database settings");
+		database.setParentCategory(application);
+		IParameterCategory replica = factory.createParameterCategory("Replica", "Replica settings");
+		IParameterItem<Integer> replicaTimeout = factory.createParameterItem("timeout", 5, true);
+		replica.addParameterItem(replicaTimeout);
+
+		try (ParameterLabelIndex index = new ParameterLabelIndex(factory)) {
+			List<CategoryDepth> definitions = index.findDefinitions("timeout");
+			assertEquals(2, definitions.size());
+			assertTrue(definitions.containsAll(List.of(new CategoryDepth(application, 1), new CategoryDepth(replica, 1))));
+			assertTrue(index.findOverrides("timeout").isEmpty());
+
+			// Linking a subtree updates the depths and the overrides
+			replica.setParentCategory(database);
+			assertEquals(List.of(new CategoryDepth(application, 1), new CategoryDepth(replica, 3)),
+					index.findDefinitions("timeout"));
+			assertEquals(List.of(new CategoryDepth(replica, 3)), index.findOverrides("timeout"));
+			assertEquals(application, index.findOwner(database, "timeout").orElseThrow());
+			assertEquals(replica, index.findOwner(replica, "timeout").orElseThrow());
+			assertTrue(index.findOwner(database, "missing").isEmpty());
+
+			replica.removeParameterItem(replicaTimeout);
+			assertEquals(application, index.findOwner(replica, "timeout").orElseThrow());
+			assertTrue(index.findOverrides("timeout").isEmpty());
+		}
+	}
+
+	@Test
+	@DisplayName("Test depth, ancestry and lowest common ancestor queries")
+	void testAncestryIndex() {
+		IParameterCategory application = factory.createParameterCategory("Application", "Application settings");
+		IParameterCategory database = factory.createParameterCategory("Database", "Database settings");
+		database.setParentCategory(application);
+		IParameterCategory primary = factory.createParameterCategory("Primary", "Primary settings");
+		primary.setParentCategory(database);
+		IParameterCategory replica = factory.createParameterCategory("Replica", "Replica settings");
+		replica.setParentCategory(database);
+		IParameterCategory cache = factory.createParameterCategory("Cache", "Cache settings");
+		cache.setParentCategory(application);
+		IParameterCategory other = factory.createParameterCategory("Other", "Other settings");
+
+		try (ParameterAncestryIndex index = new ParameterAncestryIndex(factory)) {
+			assertEquals(3, index.getDepth(replica));
+			assertEquals(1, index.getDepth(application));
+			assertTrue(index.isAncestor(application, replica));
+			assertFalse(index.isAncestor(replica, application));
+			assertFalse(index.isAncestor(cache, replica));
+			assertEquals(database, index.findLowestCommonAncestor(primary, replica).orElseThrow());
+			assertEquals(application, index.findLowestCommonAncestor(replica, cache).orElseThrow());
+			assertEquals(database, index.findLowestCommonAncestor(database, replica).orElseThrow());
+			assertTrue(index.findLowestCommonAncestor(replica, other).isEmpty());
+			int rebuilds = index.getRebuildCount();
+
+			// Moving a subtree only rebuilds the trees it left and joined
+			IParameterCategory unrelated = factory.createParameterCategory("Unrelated", "Unrelated settings");
+			assertEquals(1, index.getDepth(unrelated));
+			replica.setParentCategory(cache);
+			assertEquals(application, index.findLowestCommonAncestor(primary, replica).orElseThrow());
+			assertEquals(cache, index.findLowestCommonAncestor(replica, cache).orElseThrow());
+			assertEquals(rebuilds + 2, index.getRebuildCount());
+
+			other.setParentCategory(replica);
+			assertEquals(4, index.getDepth(other));
+			assertTrue(index.isAncestor(cache, other));
+			assertEquals(1, index.getDepth(unrelated));
+			assertEquals(rebuilds + 3, index.getRebuildCount());
+
+			// Removing a subtree only rebuilds the tree it left
+			replica.removeSubtree();
+			assertEquals(application, index.findLowestCommonAncestor(primary, cache).orElseThrow());
+			assertEquals(rebuilds + 4, index.getRebuildCount());
+		}
+	}
+}
@@ -0,0 +1,90 @@
+package com.iloo.params.interpolation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.iloo.params.core.IParameterCategory;
+import com.iloo.params.core.IParameterFactory;
+import com.iloo.params.core.IParameterItem;
+import com.iloo.params.core.ParameterFactory;
+import com.iloo.params.exceptions.InvalidParameterCategoryException;
+import com.iloo.params.utils.VoidResult;
+
+class ParameterInterpolatorIT {
+
+	@Test
+	@DisplayName("Test resolving placeholders through the inherited view")
+	void testResolve() {
+		IParameterFactory factory = new ParameterFactory();
+		IParameterCategory database = factory.createParameterCategory("Database", "Database settings");
+		database.addParameterItem(factory.createParameterItem("db.host", "localhost", true));
+		database.addParameterItem(factory.createParameterItem("db.port", 5432, true));
+		IParameterCategory replica = factory.createParameterCategory("Replica", "Replica settings");
+		replica.setParentCategory(database);
+		replica.addParameterItem(factory.createParameterItem("db.url", "jdbc://${db.host}:${db.port}/app", true));
+
+		try (ParameterInterpolator interpolator = new ParameterInterpolator(factory)) {
+			assertEquals("jdbc://localhost:5432/app", interpolator.resolve(replica, "db.url"));
+			assertEquals("localhost", interpolator.resolve(database, "db.host"));
+
+			// Overriding a dependency re-evaluates the dependent value
+			replica.addParameterItem(factory.createParameterItem("db.host", "replica.local", true));
+			assertEquals("jdbc://replica.local:5432/app", interpolator.resolve(replica, "db.url"));
+			assertEquals("localhost", interpolator.resolve(database, "db.host"));
+
+			IParameterItem<?> port = database.getParameterItems().get("db.port");
+			database.removeParameterItem(port);
+			assertThrows(InvalidParameterCategoryException.class, () -> interpolator.resolve(replica, "db.url"));
+		}
+	}
+
+	@Test
+	@DisplayName("Test detecting circular placeholders on add")
+	void testCircularReference() {
+		IParameterFactory factory = new ParameterFactory();
+		IParameterCategory parent = factory.createParameterCategory("Parent", "Parent settings");
+		IParameterCategory child = factory.createParameterCategory("Child", "Child settings");
+		child.setParentCategory(parent);
+
+		try (ParameterInterpolator interpolator = new ParameterInterpolator(factory)) {
+			assertTrue(interpolator.addParameterItem(parent, factory.createParameterItem("a", "${b}", true))
+					.isSuccess());
+			assertTrue(interpolator.addParameterItem(parent, factory.createParameterItem("b", "value", true))
+					.isSuccess());
+			assertEquals("value", interpolator.resolve(child, "a"));
+
+			VoidResult cycle = interpolator.addParameterItem(child, factory.createParameterItem("b", "${a}", true));
+			assertTrue(cycle.isError());
+			assertInstanceOf(InvalidParameterCategoryException.class, cycle.exception());
+			assertFalse(child.getParameterItems().containsKey("b"));
+
+			VoidResult malformed = interpolator.addParameterItem(child,
+					factory.createParameterItem("c", "${unclosed", true));
+			assertTrue(malformed.isError());
+		}
+	}
+
+	@Test
+	@DisplayName("Test bounding the template cache")
+	void testTemplateCacheBound() {
+		IParameterFactory factory = new ParameterFactory();
+		IParameterCategory category = factory.createParameterCategory("Templates", "Template settings");
+		category.addParameterItem(factory.createParameterItem("host", "localhost", true));
+
+		try (ParameterInterpolator interpolator = new ParameterInterpolator(factory, 8)) {
+			for (int i = 0; i < 100; i++) {
+				String label = "url" + i;
+				category.addParameterItem(factory.createParameterItem(label, "http://${host}/" + i, true));
+				assertEquals("http://localhost/" + i, interpolator.resolve(category, label));
+				assertTrue(interpolator.getTemplateCount() <= 8);
+			}
+		}
+		assertThrows(IllegalArgumentException.class, () -> new ParameterInterpolator(factory, 0));
+	}
+}
@@ -0,0 +1,86 @@
+package com.iloo.params.overlay;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.iloo.params.core.IParameterCategory;
+import com.iloo.params.core.IParameterFactory;
+import com.iloo.params.core.IParameterItem;
+import com.iloo.params.core.ParameterFactory;
+
+class ParameterOverlayStackIT {
+
+	@Test
+	@DisplayName("Test resolving items through stacked layers")
+	void testOverlays() {
+		IParameterFactory factory = new ParameterFactory();
+		IParameterCategory application = factory.createParameterCategory("Application", "Application settings");
+		application.addParameterItem(factory.createParameterItem("timeout", 30, true));
+		IParameterCategory database = factory.createParameterCategory("Database", "Database settings");
+		database.setParentCategory(application);
+		IParameterItem<String> host = factory.createParameterItem("host", "localhost", true);
+		database.addParameterItem(host);
+
+		ParameterOverlay prod = new ParameterOverlay("prod");
+		prod.setItem(List.of("Application"), factory.createParameterItem("timeout", 10, true));
+		prod.setItem(List.of("Application", "Database"), factory.createParameterItem("host", "db.prod", true));
+		ParameterOverlay region = new ParameterOverlay("eu-west");
+		IParameterItem<String> regionHost = factory.createParameterItem("host", "db.eu-west", true);
+		region.setItem(List.of("Application", "Database"), regionHost);
+
+		try (ParameterOverlayStack stack = new ParameterOverlayStack(factory)) {
+			assertSame(host, stack.resolve(database, "host").orElseThrow());
+			assertTrue(stack.addLayer(prod).isSuccess());
+			assertTrue(stack.addLayer(region).isSuccess());
+			assertTrue(stack.addLayer(region).isError());
+
+			// The topmost layer wins, and overrides are inherited
+			assertSame(regionHost, stack.resolve(database, "host").orElseThrow());
+			assertEquals(10, stack.resolve(database, "timeout").orElseThrow().getValue());
+			assertEquals(30, application.getAllParentParameterItems().get("timeout").getValue());
+
+			// Changes of a layer and of the base tree are applied incrementally
+			region.removeItem(List.of("Application", "Database"), "host");
+			assertEquals("db.prod", stack.resolve(database, "host").orElseThrow().getValue());
+			database.addParameterItem(factory.createParameterItem("timeout", 60, true));
+			assertEquals(60, stack.resolve(database, "timeout").orElseThrow().getValue());
+			assertEquals(10, stack.resolve(application, "timeout").orElseThrow().getValue());
+
+			IParameterCategory replica = factory.createParameterCategory("Replica", "Replica settings");
+			replica.setParentCategory(database);
+			prod.setItem(List.of("Application", "Database", "Replica"), factory.createParameterItem("lag", 5, true));
+			assertEquals(3, stack.getMergedItems(replica).size());
+			assertEquals("db.prod", stack.resolve(replica, "host").orElseThrow().getValue());
+
+			assertTrue(stack.removeLayer(prod).isSuccess());
+			assertSame(host, stack.resolve(replica, "host").orElseThrow());
+			assertTrue(stack.resolve(replica, "lag").isEmpty());
+		}
+	}
+
+	@Test
+	@DisplayName("Test applying a layer to every category sharing a path")
+	void testSharedPath() {
+		IParameterFactory factory = new ParameterFactory();
+		IParameterCategory first = factory.createParameterCategory("Application", "First application");
+		IParameterCategory second = factory.createParameterCategory("Application", "Second application");
+
+		ParameterOverlay prod = new ParameterOverlay("prod");
+		prod.setItem(List.of("Application"), factory.createParameterItem("timeout", 10, true));
+		try (ParameterOverlayStack stack = new ParameterOverlayStack(factory)) {
+			assertTrue(stack.addLayer(prod).isSuccess());
+			assertEquals(10, stack.resolve(first, "timeout").orElseThrow().getValue());
+			assertEquals(10, stack.resolve(second, "timeout").orElseThrow().getValue());
+
+			prod.setItem(List.of("Application"), factory.createParameterItem("retries", 3, true));
+			assertEquals(3, stack.resolve(first, "retries").orElseThrow().getValue());
+			assertEquals(3, stack.resolve(second, "retries").orElseThrow().getValue());
+		}
+	}
+}
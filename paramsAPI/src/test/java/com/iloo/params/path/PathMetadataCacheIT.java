@@ -0,0 +1,68 @@
+package com.iloo.params.path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.iloo.params.core.IParameterFactory;
+import com.iloo.params.core.IParameterItem;
+import com.iloo.params.core.ParameterFactory;
+
+class PathMetadataCacheIT {
+
+	@Test
+	@DisplayName("Test sweeping a directory once for all its tracked paths")
+	void testBatchedSweep(@TempDir Path directory) throws IOException {
+		IParameterFactory factory = new ParameterFactory();
+		Files.writeString(directory.resolve("a.txt"), "a");
+		Files.writeString(directory.resolve("b.txt"), "bb");
+		Files.createDirectory(directory.resolve("logs"));
+		IParameterItem<Path> a = factory.createParameterItem("a", directory.resolve("a.txt"), true);
+		IParameterItem<Path> b = factory.createParameterItem("b", directory.resolve("b.txt"), true);
+		IParameterItem<Path> logs = factory.createParameterItem("logs", directory.resolve("logs"), true);
+		IParameterItem<Path> missing = factory.createParameterItem("missing", directory.resolve("missing.txt"), true);
+
+		PathMetadataCache cache = new PathMetadataCache(Duration.ofHours(1));
+		cache.track(List.of(a, b, logs, missing));
+		assertEquals(1, cache.getMetadata(a).size());
+		assertEquals(2, cache.getMetadata(b).size());
+		assertTrue(cache.getMetadata(logs).directory());
+		assertFalse(cache.getMetadata(missing).exists());
+		assertEquals(1, cache.getSweepCount());
+
+		// The metadata is served from the cache until it expires
+		Files.writeString(directory.resolve("a.txt"), "aaa");
+		assertEquals(1, cache.getMetadata(a).size());
+		cache.invalidate();
+		assertEquals(3, cache.getMetadata(a).size());
+		assertEquals(2, cache.getSweepCount());
+		cache.close();
+	}
+
+	@Test
+	@DisplayName("Test expiring a directory from the watch service")
+	void testWatchInvalidation(@TempDir Path directory) throws IOException, InterruptedException {
+		Path file = directory.resolve("config.txt");
+		try (PathMetadataCache cache = new PathMetadataCache(Duration.ofHours(1), true)) {
+			assertFalse(cache.getMetadata(file).exists());
+
+			Files.writeString(file, "value");
+			long deadline = System.nanoTime() + Duration.ofSeconds(20).toNanos();
+			while (!cache.getMetadata(file).exists() && (System.nanoTime() < deadline)) {
+				Thread.sleep(20);
+			}
+			assertTrue(cache.getMetadata(file).exists());
+			assertEquals(5, cache.getMetadata(file).size());
+		}
+	}
+}
@@ -0,0 +1,58 @@
+package com.iloo.params.pipeline;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.iloo.params.core.IParameterCategory;
+import com.iloo.params.core.IParameterFactory;
+import com.iloo.params.core.IParameterItem;
+import com.iloo.params.core.ParameterFactory;
+import com.iloo.params.exceptions.InvalidParameterCategoryException;
+
+class ParameterFunctionPipelineIT {
+
+	@Test
+	@DisplayName("Test a function pipeline across a category hierarchy")
+	void testParameterFunctionPipeline() {
+		IParameterFactory factory = new ParameterFactory();
+		IParameterCategory parent = factory.createParameterCategory("Label_pipeline_parent", "Description_pipeline");
+		IParameterCategory child = factory.createParameterCategory("Label_pipeline", "Description_pipeline");
+		child.setParentCategory(parent);
+		AtomicInteger calls = new AtomicInteger();
+		Function<Integer, Integer> increment = x -> {
+			calls.incrementAndGet();
+			return x + 1;
+		};
+		parent.addParameterItem(factory.createParameterItem("increment", increment, true));
+		IParameterItem<Function<Integer, Integer>> doubling = factory.createParameterItem("double", x -> x * 2, true);
+		child.addParameterItem(doubling);
+
+		try (ParameterFunctionPipeline<Integer, Integer> pipeline = new ParameterFunctionPipeline<>(factory, child,
+				List.of("increment", "double"), 2)) {
+			assertEquals(8, pipeline.apply(3));
+			assertEquals(8, pipeline.apply(3));
+			assertEquals(1, calls.get());
+
+			// Overriding a step in the child recompiles the chain
+			Function<Integer, Integer> add10 = x -> x + 10;
+			child.addParameterItem(factory.createParameterItem("increment", add10, true));
+			assertEquals(26, pipeline.apply(3));
+
+			// Inactive steps are skipped
+			doubling.setActive(false);
+			assertEquals(13, pipeline.apply(3));
+
+			ParameterFunctionPipeline<Integer, Integer> missing = new ParameterFunctionPipeline<>(factory, parent,
+					List.of("double"), 0);
+			assertThrows(InvalidParameterCategoryException.class, () -> missing.apply(3));
+			missing.close();
+		}
+	}
+}
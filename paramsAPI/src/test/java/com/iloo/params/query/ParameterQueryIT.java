@@ -0,0 +1,105 @@
+package com.iloo.params.query;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.iloo.params.core.IParameterCategory;
+import com.iloo.params.core.IParameterFactory;
+import com.iloo.params.core.ParameterFactory;
+import com.iloo.params.index.ParameterLabelIndex;
+import com.iloo.params.index.ParameterNumericIndex;
+import com.iloo.params.index.ParameterTextIndex;
+
+class ParameterQueryIT {
+
+	private IParameterFactory factory;
+
+	private IParameterCategory application;
+
+	private IParameterCategory database;
+
+	private IParameterCategory replica;
+
+	private IParameterCategory cache;
+
+	@BeforeEach
+	void setUp() {
+		factory = new ParameterFactory();
+		application = factory.createParameterCategory("Application", "Application settings");
+		database = factory.createParameterCategory("Database", "Relational store");
+		database.setParentCategory(application);
+		database.addParameterItem(factory.createParameterItem("pool", 20, true));
+		replica = factory.createParameterCategory("DatabaseReplica", "Read-only relational store");
+		replica.setParentCategory(database);
+		replica.addParameterItem(factory.createParameterItem("pool", 5, false));
+		cache = factory.createParameterCategory("Cache", "In-memory store");
+		cache.setParentCategory(application);
+	}
+
+	@Test
+	@DisplayName("Test a pruned traversal without index")
+	void testTraversal() {
+		ParameterQueryPlanner planner = new ParameterQueryPlanner(factory.getParameterCategoryList());
+
+		QueryPlan plan = planner.plan(ParameterQuery.builder().descriptionContains("STORE").maxDepth(2).build());
+		assertEquals(List.of(database, cache), plan.execute());
+		assertTrue(plan.explain().contains("pruned below depth 2"));
+
+		assertEquals(List.of(replica), planner.plan(ParameterQuery.builder().leaf(true).hasItem("pool").build())
+				.execute());
+		assertEquals(List.of(application), planner.plan(ParameterQuery.builder().root(true).build()).execute());
+		assertEquals(List.of(database),
+				planner.plan(ParameterQuery.builder().itemActive("pool", true).itemEquals("pool", 20).build())
+						.execute());
+		// Numbers match by value, whatever their type
+		assertEquals(List.of(database), planner.plan(ParameterQuery.builder().itemEquals("pool", 20L).build())
+				.execute());
+		assertEquals(List.of(replica), planner.plan(ParameterQuery.builder().itemEquals("pool", 5.0).build())
+				.execute());
+		assertTrue(planner.plan(ParameterQuery.builder().itemEquals("pool", 5.5).build()).execute().isEmpty());
+		assertTrue(planner.plan(ParameterQuery.builder().itemEquals("pool", "5").build()).execute().isEmpty());
+	}
+
+	@Test
+	@DisplayName("Test index-aware plans")
+	void testIndexPlans() {
+		try (ParameterTextIndex textIndex = new ParameterTextIndex(factory);
+				ParameterNumericIndex numericIndex = new ParameterNumericIndex(factory)) {
+			ParameterQueryPlanner planner = new ParameterQueryPlanner(factory.getParameterCategoryList())
+					.withIndex(textIndex).withIndex(numericIndex);
+
+			QueryPlan byPrefix = planner.plan(ParameterQuery.builder().labelStartsWith("Database").minDepth(3).build());
+			assertTrue(byPrefix.explain().startsWith("Access: label index"));
+			assertEquals(List.of(replica), byPrefix.execute());
+
+			QueryPlan byDescription = planner.plan(ParameterQuery.builder().descriptionContains("read-only").build());
+			assertTrue(byDescription.explain().startsWith("Access: description index"));
+			assertEquals(List.of(replica), byDescription.execute());
+
+			QueryPlan byRange = planner.plan(ParameterQuery.builder().itemBetween("pool", 10, 100).build());
+			assertTrue(byRange.explain().startsWith("Access: numeric index"));
+			assertEquals(List.of(database), byRange.execute());
+
+			// Plans read the current state of the indexes
+			cache.addParameterItem(factory.createParameterItem("pool", 50, true));
+			assertEquals(2, byRange.execute().size());
+		}
+	}
+
+	@Test
+	@DisplayName("Test a plan looking up the holders of an item label")
+	void testLabelIndexPlan() {
+		try (ParameterLabelIndex labelIndex = new ParameterLabelIndex(factory)) {
+			QueryPlan plan = new ParameterQueryPlanner(factory.getParameterCategoryList()).withIndex(labelIndex)
+					.plan(ParameterQuery.builder().itemActive("pool", false).build());
+			assertTrue(plan.explain().startsWith("Access: label index lookup of the holders of 'pool'"));
+			assertEquals(List.of(replica), plan.execute());
+		}
+	}
+}
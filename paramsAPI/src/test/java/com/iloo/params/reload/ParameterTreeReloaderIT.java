@@ -0,0 +1,116 @@
+package com.iloo.params.reload;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.iloo.params.core.IParameterCategory;
+import com.iloo.params.core.IParameterFactory;
+import com.iloo.params.core.IParameterItem;
+import com.iloo.params.core.ParameterFactory;
+
+class ParameterTreeReloaderIT {
+
+	@TempDir
+	Path directory;
+
+	private IParameterFactory factory;
+
+	@BeforeEach
+	void initEach() {
+		factory = new ParameterFactory();
+	}
+
+	@Test
+	@DisplayName("Test an incremental reload of a definition file")
+	void testIncrementalReload() throws IOException {
+		Path file = directory.resolve("database" + ParameterTreeReloader.FILE_EXTENSION);
+		Files.writeString(file, """
+				[Application/Database]
+				host = localhost
+				port = 5432
+				user = admin
+				""");
+
+		try (ParameterTreeReloader reloader = new ParameterTreeReloader(factory, directory)) {
+			assertTrue(reloader.start().isSuccess());
+			IParameterCategory database = factory.getParameterCategoryList()
+					.findCategory(List.of("Application", "Database")).orElseThrow();
+			assertEquals(3, database.getParameterItems().size());
+			assertTrue(database.getParentCategory().isPresent());
+			IParameterItem<?> host = database.getParameterItems().get("host");
+			long version = factory.getParameterCategoryList().getVersion();
+
+			Files.writeString(file, """
+					[Application/Database]
+					!host = localhost
+					port = 5433
+					""");
+			assertTrue(reloader.reload(file).isSuccess());
+			// One version each for the removal of user, the deactivation of host and the replacement of port
+			assertEquals(version + 3, factory.getParameterCategoryList().getVersion());
+
+			Map<String, IParameterItem<?>> items = database.getParameterItems();
+			assertEquals(2, items.size());
+			assertSame(host, items.get("host"));
+			assertFalse(host.isActive());
+			assertEquals("5433", items.get("port").getValue());
+
+			Files.delete(file);
+			assertTrue(reloader.reload(file).isSuccess());
+			assertTrue(database.getParameterItems().isEmpty());
+		}
+	}
+
+	@Test
+	@DisplayName("Test a reload triggered by a file change")
+	void testWatchedReload() throws IOException, InterruptedException {
+		try (ParameterTreeReloader reloader = new ParameterTreeReloader(factory, directory, Duration.ofMillis(50))) {
+			assertTrue(reloader.start().isSuccess());
+			Files.writeString(directory.resolve("cache" + ParameterTreeReloader.FILE_EXTENSION), """
+					[Cache]
+					size = 128
+					""");
+
+			long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+			while (!factory.getParameterCategoryList().findCategory(List.of("Cache"))
+					.map(c -> c.getParameterItems().containsKey("size")).orElse(false)
+					&& (System.nanoTime() < deadline)) {
+				Thread.sleep(20);
+			}
+			IParameterCategory cache = factory.getParameterCategoryList().findCategory(List.of("Cache"))
+					.orElseThrow();
+			assertEquals("128", cache.getParameterItems().get("size").getValue());
+		}
+	}
+
+	@Test
+	@DisplayName("Test a reload of a category which cannot be linked to its parent")
+	void testInvalidCategory() throws IOException {
+		Path file = directory.resolve("invalid" + ParameterTreeReloader.FILE_EXTENSION);
+		Files.writeString(file, """
+				[Application/Application]
+				timeout = 30
+				""");
+
+		try (ParameterTreeReloader reloader = new ParameterTreeReloader(factory, directory)) {
+			assertTrue(reloader.reload(file).isError());
+			// Only the parent remains, the child is not left behind as a second root
+			assertEquals(List.of("Application"), factory.getParameterCategoryList().getParameterCategories()
+					.stream().map(IParameterCategory::getLabel).toList());
+		}
+	}
+}
@@ -0,0 +1,179 @@
+package com.iloo.params.replication;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.iloo.params.core.IParameterCategory;
+import com.iloo.params.core.IParameterCategoryList;
+import com.iloo.params.core.IParameterFactory;
+import com.iloo.params.core.IParameterItem;
+import com.iloo.params.core.ParameterFactory;
+import com.iloo.params.exceptions.InvalidParameterCategoryException;
+import com.iloo.params.replication.ReplicationMessage.Opcode;
+
+class ParameterReplicationIT {
+
+	private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+	@Test
+	@DisplayName("Test a replica catching up from a snapshot then following the mutations")
+	void testReplication() throws IOException, InterruptedException {
+		IParameterFactory factory = new ParameterFactory();
+		IParameterCategory application = factory.createParameterCategory("Application", "Application settings");
+		IParameterItem<Integer> timeout = factory.createParameterItem("timeout", 30, true);
+		application.addParameterItem(timeout);
+		IParameterCategory database = factory.createParameterCategory("Database", "Database settings");
+		database.setParentCategory(application);
+		database.addParameterItem(factory.createParameterItem("host", "localhost", true));
+
+		InetSocketAddress address = new InetSocketAddress(InetAddress.getLoopbackAddress(), 0);
+		try (ParameterReplicationPrimary primary = new ParameterReplicationPrimary(factory, address)) {
+			primary.start();
+			InetSocketAddress primaryAddress = new InetSocketAddress(InetAddress.getLoopbackAddress(),
+					primary.getPort());
+			try (ParameterReplicationReplica replica = new ParameterReplicationReplica(primaryAddress,
+					Duration.ofMillis(20))) {
+				replica.start();
+				assertTrue(replica.awaitVersion(factory.getParameterCategoryList().getVersion(), TIMEOUT));
+
+				IParameterCategoryList replicated = replica.getParameterCategoryList();
+				IParameterCategory replicatedDatabase = replicated.findCategory(List.of("Application", "Database"))
+						.orElseThrow();
+				assertEquals("localhost", replicatedDatabase.getParameterItems().get("host").getValue());
+				assertEquals(30, replicatedDatabase.getAllParentParameterItems().get("timeout").getValue());
+				assertThrows(InvalidParameterCategoryException.class, () -> replicatedDatabase
+						.addParameterItem(new ParameterFactory().createParameterItem("port", 5432, true)));
+
+				timeout.setActive(false);
+				database.addParameterItem(factory.createParameterItem("port", 5432, true));
+				IParameterCategory cache = factory.createParameterCategory("Cache", "Cache settings");
+				cache.setParentCategory(application);
+				assertTrue(replica.awaitVersion(factory.getParameterCategoryList().getVersion(), TIMEOUT));
+
+				replicated = replica.getParameterCategoryList();
+				assertFalse(replicated.findCategory(List.of("Application")).orElseThrow().getParameterItems()
+						.get("timeout").isActive());
+				assertEquals(5432, replicated.findCategory(List.of("Application", "Database")).orElseThrow()
+						.getParameterItems().get("port").getValue());
+				assertTrue(replicated.findCategory(List.of("Application", "Cache")).isPresent());
+
+				database.moveTo(cache);
+				assertTrue(replica.awaitVersion(factory.getParameterCategoryList().getVersion(), TIMEOUT));
+				assertTrue(replica.getParameterCategoryList().findCategory(List.of("Application", "Cache", "Database"))
+						.isPresent());
+
+				application.removeChildCategory(cache);
+				assertTrue(replica.awaitVersion(factory.getParameterCategoryList().getVersion(), TIMEOUT));
+				assertEquals(1, replica.getParameterCategoryList().getSize());
+			}
+		}
+	}
+
+	@Test
+	@DisplayName("Test a replica catching up from a new snapshot after a disconnection")
+	void testReconnection() throws IOException, InterruptedException {
+		IParameterFactory factory = new ParameterFactory();
+		IParameterCategory application = factory.createParameterCategory("Application", "Application settings");
+		application.addParameterItem(factory.createParameterItem("timeout", 30, true));
+
+		ParameterReplicationPrimary primary = new ParameterReplicationPrimary(factory,
+				new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+		primary.start();
+		InetSocketAddress primaryAddress = new InetSocketAddress(InetAddress.getLoopbackAddress(),
+				primary.getPort());
+		try (ParameterReplicationReplica replica = new ParameterReplicationReplica(primaryAddress,
+				Duration.ofMillis(20))) {
+			replica.start();
+			assertTrue(replica.awaitVersion(factory.getParameterCategoryList().getVersion(), TIMEOUT));
+			primary.close();
+
+			application.addParameterItem(factory.createParameterItem("retries", 3, true));
+			try (ParameterReplicationPrimary restarted = new ParameterReplicationPrimary(factory, primaryAddress)) {
+				restarted.start();
+				assertTrue(replica.awaitVersion(factory.getParameterCategoryList().getVersion(), TIMEOUT));
+				assertEquals(3, replica.getParameterCategoryList().findCategory(List.of("Application"))
+						.orElseThrow().getParameterItems().get("retries").getValue());
+			}
+		}
+	}
+
+	@Test
+	@DisplayName("Test a replica applying the mutations of a batch together")
+	void testBatchReplication() throws IOException, InterruptedException {
+		IParameterFactory factory = new ParameterFactory();
+		IParameterCategory application = factory.createParameterCategory("Application", "Application settings");
+
+		try (ParameterReplicationPrimary primary = new ParameterReplicationPrimary(factory,
+				new InetSocketAddress(InetAddress.getLoopbackAddress(), 0))) {
+			primary.start();
+			try (ParameterReplicationReplica replica = new ParameterReplicationReplica(
+					new InetSocketAddress(InetAddress.getLoopbackAddress(), primary.getPort()),
+					Duration.ofMillis(20))) {
+				replica.start();
+				assertTrue(replica.awaitVersion(factory.getParameterCategoryList().getVersion(), TIMEOUT));
+				long localVersion = replica.getParameterCategoryList().getVersion();
+
+				factory.runBatch(() -> {
+					application.addParameterItem(factory.createParameterItem("timeout", 30, true));
+					application.addParameterItem(factory.createParameterItem("retries", 3, true));
+					application.addParameterItem(factory.createParameterItem("host", "localhost", true));
+				});
+				assertTrue(replica.awaitVersion(factory.getParameterCategoryList().getVersion(), TIMEOUT));
+
+				// Applied as a single local batch
+				IParameterCategoryList replicated = replica.getParameterCategoryList();
+				assertEquals(localVersion + 1, replicated.getVersion());
+				assertEquals(3, replicated.findCategory(List.of("Application")).orElseThrow().getParameterItems()
+						.size());
+			}
+		}
+	}
+
+	@Test
+	@DisplayName("Test a replica resynchronizing after an invalid message")
+	void testInvalidMessage() throws IOException, InterruptedException {
+		try (ServerSocket primary = new ServerSocket(0, 1, InetAddress.getLoopbackAddress());
+				ParameterReplicationReplica replica = new ParameterReplicationReplica(
+						new InetSocketAddress(InetAddress.getLoopbackAddress(), primary.getLocalPort()),
+						Duration.ofMillis(20))) {
+			primary.setSoTimeout((int) TIMEOUT.toMillis());
+			replica.start();
+
+			// Links a category to an unknown parent, keeping the connection open
+			try (Socket connection = primary.accept()) {
+				DataOutputStream output = new DataOutputStream(connection.getOutputStream());
+				ReplicationMessage.of(Opcode.SNAPSHOT_BEGIN, 1).writeTo(output);
+				new ReplicationMessage(Opcode.CREATE, 1, 0, -1, "Application", "Application settings", null, false)
+						.writeTo(output);
+				new ReplicationMessage(Opcode.LINK, 1, 0, 7, null, null, null, false).writeTo(output);
+				output.flush();
+
+				// The replica reconnects and rebuilds its tree from a new snapshot
+				try (Socket reconnection = primary.accept()) {
+					DataOutputStream reoutput = new DataOutputStream(reconnection.getOutputStream());
+					ReplicationMessage.of(Opcode.SNAPSHOT_BEGIN, 1).writeTo(reoutput);
+					new ReplicationMessage(Opcode.CREATE, 1, 0, -1, "Application", "Application settings", null,
+							false).writeTo(reoutput);
+					ReplicationMessage.of(Opcode.SNAPSHOT_END, 1).writeTo(reoutput);
+					reoutput.flush();
+					assertTrue(replica.awaitVersion(1, TIMEOUT));
+					assertTrue(replica.getParameterCategoryList().findCategory(List.of("Application")).isPresent());
+				}
+			}
+		}
+	}
+}
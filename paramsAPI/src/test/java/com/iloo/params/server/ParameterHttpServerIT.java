@@ -0,0 +1,110 @@
+package com.iloo.params.server;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.iloo.params.core.IParameterCategory;
+import com.iloo.params.core.IParameterFactory;
+import com.iloo.params.core.ParameterFactory;
+
+class ParameterHttpServerIT {
+
+	@Test
+	@DisplayName("Test serving resolved items with ETag revalidation")
+	void testServeWithETag() throws IOException, InterruptedException {
+		IParameterFactory factory = new ParameterFactory();
+		IParameterCategory application = factory.createParameterCategory("Application", "Application settings");
+		application.addParameterItem(factory.createParameterItem("timeout", 30, true));
+		IParameterCategory database = factory.createParameterCategory("Database", "Database settings");
+		database.setParentCategory(application);
+		database.addParameterItem(factory.createParameterItem("host", "localhost", true));
+
+		try (ParameterHttpServer server = new ParameterHttpServer(factory.getParameterCategoryList(),
+				new InetSocketAddress(InetAddress.getLoopbackAddress(), 0))) {
+			server.start();
+			HttpClient client = HttpClient.newHttpClient();
+			URI uri = URI.create("http://localhost:" + server.getPort() + ParameterHttpServer.CONTEXT_PATH
+					+ "Application/Database");
+
+			HttpResponse<String> response = client.send(HttpRequest.newBuilder(uri).build(),
+					BodyHandlers.ofString());
+			assertEquals(200, response.statusCode());
+			assertTrue(response.body().contains("\"host\":{\"value\":\"localhost\",\"active\":true}"));
+			assertTrue(response.body().contains("\"timeout\":{\"value\":\"30\",\"active\":true}"));
+			String etag = response.headers().firstValue("ETag").orElseThrow();
+
+			HttpResponse<String> notModified = client.send(
+					HttpRequest.newBuilder(uri).header("If-None-Match", etag).build(), BodyHandlers.ofString());
+			assertEquals(304, notModified.statusCode());
+
+			database.addParameterItem(factory.createParameterItem("port", 5432, true));
+			HttpResponse<String> modified = client.send(
+					HttpRequest.newBuilder(uri).header("If-None-Match", etag).build(), BodyHandlers.ofString());
+			assertEquals(200, modified.statusCode());
+			assertNotEquals(etag, modified.headers().firstValue("ETag").orElseThrow());
+			assertTrue(modified.body().contains("\"port\""));
+
+			URI missingUri = URI.create(
+					"http://localhost:" + server.getPort() + ParameterHttpServer.CONTEXT_PATH + "Unknown");
+			HttpResponse<String> missing = client.send(HttpRequest.newBuilder(missingUri).build(),
+					BodyHandlers.ofString());
+			assertEquals(404, missing.statusCode());
+
+			// An unknown path is not found, even with a tag matching the current version
+			String currentEtag = modified.headers().firstValue("ETag").orElseThrow();
+			for (String tag : List.of(currentEtag, "*")) {
+				HttpResponse<String> missingNotModified = client.send(
+						HttpRequest.newBuilder(missingUri).header("If-None-Match", tag).build(),
+						BodyHandlers.ofString());
+				assertEquals(404, missingNotModified.statusCode());
+			}
+		}
+	}
+
+	@Test
+	@DisplayName("Test caching a single response per category and version")
+	void testResponseCache() throws IOException, InterruptedException {
+		IParameterFactory factory = new ParameterFactory();
+		IParameterCategory application = factory.createParameterCategory("Application", "Application settings");
+		IParameterCategory database = factory.createParameterCategory("Database", "Database settings");
+		database.setParentCategory(application);
+
+		try (ParameterHttpServer server = new ParameterHttpServer(factory.getParameterCategoryList(),
+				new InetSocketAddress(InetAddress.getLoopbackAddress(), 0))) {
+			server.start();
+			HttpClient client = HttpClient.newHttpClient();
+			String prefix = "http://localhost:" + server.getPort() + ParameterHttpServer.CONTEXT_PATH;
+
+			// Spellings of a same path share an entry
+			for (String path : List.of("Application/Database", "Application//Database", "Application/Database/",
+					"%41pplication/Database")) {
+				HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(prefix + path)).build(),
+						BodyHandlers.ofString());
+				assertEquals(200, response.statusCode());
+			}
+			assertEquals(1, server.getCachedResponseCount());
+
+			// The entries of the previous version are dropped
+			application.removeChildCategory(database);
+			HttpResponse<String> missing = client.send(
+					HttpRequest.newBuilder(URI.create(prefix + "Application/Database")).build(),
+					BodyHandlers.ofString());
+			assertEquals(404, missing.statusCode());
+			assertEquals(0, server.getCachedResponseCount());
+		}
+	}
+}
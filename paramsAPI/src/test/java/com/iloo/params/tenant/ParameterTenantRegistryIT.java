@@ -0,0 +1,70 @@
+package com.iloo.params.tenant;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.iloo.params.core.IParameterCategory;
+import com.iloo.params.core.IParameterFactory;
+import com.iloo.params.core.IParameterItem;
+import com.iloo.params.core.ParameterFactory;
+
+class ParameterTenantRegistryIT {
+
+	@Test
+	@DisplayName("Test tenant views sharing the base tree")
+	void testTenantViews() {
+		IParameterFactory factory = new ParameterFactory();
+		IParameterCategory application = factory.createParameterCategory("Application", "Application settings");
+		IParameterItem<Integer> timeout = factory.createParameterItem("timeout", 30, true);
+		application.addParameterItem(timeout);
+		IParameterCategory database = factory.createParameterCategory("Database", "Database settings");
+		database.setParentCategory(application);
+		IParameterItem<String> host = factory.createParameterItem("host", "localhost", true);
+		database.addParameterItem(host);
+
+		try (ParameterTenantRegistry registry = new ParameterTenantRegistry(factory)) {
+			ParameterTenantView acme = registry.getTenant("acme");
+			ParameterTenantView globex = registry.getTenant("globex");
+			assertSame(acme, registry.getTenant("acme"));
+			assertEquals(2, registry.getTenantCount());
+
+			assertTrue(acme.addParameterItem(application, factory.createParameterItem("timeout", 5, true)).isSuccess());
+			assertTrue(acme.setActive(database, "host", false).isSuccess());
+			assertEquals(5, acme.resolve(database, "timeout").orElseThrow().getValue());
+			assertFalse(acme.resolve(database, "host").orElseThrow().isActive());
+			assertEquals(2, acme.getDeltaSize());
+
+			// Other tenants and the base tree are left unchanged
+			assertSame(timeout, globex.resolve(database, "timeout").orElseThrow());
+			assertTrue(host.isActive());
+
+			assertTrue(globex.removeParameterItem(application, "timeout").isSuccess());
+			assertTrue(globex.resolve(database, "timeout").isEmpty());
+			assertTrue(globex.getParameterItems(application).isEmpty());
+			assertTrue(globex.removeParameterItem(application, "timeout").isError());
+
+			// Base changes are seen by every tenant without an override
+			database.addParameterItem(factory.createParameterItem("timeout", 60, true));
+			assertEquals(60, acme.resolve(database, "timeout").orElseThrow().getValue());
+			assertEquals(60, globex.resolve(database, "timeout").orElseThrow().getValue());
+
+			// Only the overridden labels are cached per tenant
+			assertSame(host, globex.resolve(database, "host").orElseThrow());
+			assertEquals(1, globex.getCachedLabelCount());
+			IParameterItem<Integer> port = factory.createParameterItem("port", 5432, true);
+			database.addParameterItem(port);
+			assertSame(port, globex.resolve(database, "port").orElseThrow());
+			assertEquals(1, globex.getCachedLabelCount());
+
+			assertTrue(acme.resetParameterItem(database, "host").isSuccess());
+			assertSame(host, acme.resolve(database, "host").orElseThrow());
+			assertTrue(registry.removeTenant("acme").isSuccess());
+			assertTrue(registry.findTenant("acme").isEmpty());
+		}
+	}
+}